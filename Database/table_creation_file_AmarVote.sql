@@ -1,3 +1,6 @@
+-- Reference copy of the schema. The backend now creates and migrates it with Flyway
+-- (backend/src/main/resources/db/migration); the other scripts here predate that.
+
 -- Enable necessary extensions
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 CREATE EXTENSION IF NOT EXISTS "pgcrypto";
@@ -29,7 +32,6 @@ CREATE TABLE IF NOT EXISTS elections (
     status TEXT NOT NULL DEFAULT 'draft', -- Changed from election_status enum
     starting_time TIMESTAMP WITH TIME ZONE NOT NULL,
     ending_time TIMESTAMP WITH TIME ZONE NOT NULL,
-    encrypted_tally TEXT,
     base_hash TEXT,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     profile_pic TEXT,
@@ -41,6 +43,14 @@ CREATE TABLE IF NOT EXISTS elections (
     CONSTRAINT valid_quorum CHECK (election_quorum <= number_of_guardians AND election_quorum > 0)
 );
 
+-- Election Crypto Artifacts Table (large payloads kept out of elections)
+CREATE TABLE IF NOT EXISTS election_crypto_artifacts (
+    election_id INTEGER PRIMARY KEY,
+    encrypted_tally TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
+
 -- Allowed Voters Table
 CREATE TABLE IF NOT EXISTS allowed_voters (
     election_id INTEGER NOT NULL,
@@ -87,12 +97,14 @@ CREATE TABLE IF NOT EXISTS election_choices (
 );
 
 -- Ballot Table
+-- Partitioned by election, see migration V5__partition_ballots_by_election.sql; partition keys must
+-- be part of every unique constraint, so tracking codes are unique per election
 CREATE TABLE IF NOT EXISTS ballots (
-    ballot_id SERIAL PRIMARY KEY,
+    ballot_id SERIAL,
     election_id INTEGER NOT NULL,
     submission_time TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     status TEXT NOT NULL, -- Changed from ballot_status enum
-    cipher_text TEXT NOT NULL,
+    cipher_text BYTEA, -- BallotCodec form, see backend migration V3; NULL once moved to ballot_archive
     hash_code TEXT NOT NULL,
     tracking_code TEXT NOT NULL,
     master_nonce TEXT,
@@ -100,21 +112,64 @@ CREATE TABLE IF NOT EXISTS ballots (
     ballot_style TEXT,
     ballot_nonces JSONB,
     contest_hashes JSONB,
-    CONSTRAINT unique_tracking_code UNIQUE (tracking_code),
+    PRIMARY KEY (election_id, ballot_id),
+    CONSTRAINT unique_election_tracking_code UNIQUE (election_id, tracking_code),
     CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
     CONSTRAINT valid_ballot_status CHECK (status IN ('cast', 'spoiled', 'challenged'))
-);
-
+) PARTITION BY LIST (election_id);
 
+-- Cipher texts and proofs of ballots in decrypted elections, moved out of ballots by the backend
+CREATE TABLE IF NOT EXISTS ballot_archive (
+    ballot_id INTEGER PRIMARY KEY,
+    election_id INTEGER NOT NULL,
+    cipher_text BYTEA NOT NULL,
+    master_nonce TEXT,
+    proof TEXT,
+    ballot_style TEXT,
+    ballot_nonces JSONB,
+    contest_hashes JSONB,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
 
 -- Submitted Ballots Table (for ElectionGuard tally results)
 CREATE TABLE IF NOT EXISTS submitted_ballots (
-    submitted_ballot_id SERIAL PRIMARY KEY,
+    submitted_ballot_id SERIAL,
     election_id INTEGER NOT NULL,
-    cipher_text TEXT NOT NULL,
+    cipher_text BYTEA NOT NULL, -- BallotCodec form, see backend migration V3
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (election_id, submitted_ballot_id),
     CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
-);
+) PARTITION BY LIST (election_id);
+
+-- One partition of ballots and submitted_ballots per election. The backend calls this right after
+-- an election is created, in a short transaction of its own (BallotPartitionService). There is no
+-- default partition: DETACH PARTITION CONCURRENTLY is refused while one exists
+CREATE OR REPLACE FUNCTION create_ballot_partitions(p_election_id INTEGER) RETURNS VOID AS $$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['ballots', 'submitted_ballots'] LOOP
+        IF to_regclass(format('%s_e%s', parent, p_election_id)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS, '
+                    || 'CONSTRAINT %I CHECK (election_id = %s))',
+                    parent || '_e' || p_election_id, parent, parent || '_e' || p_election_id || '_key', p_election_id);
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES IN (%s)',
+                    parent, parent || '_e' || p_election_id, p_election_id);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I',
+                    parent || '_e' || p_election_id, parent || '_e' || p_election_id || '_key');
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Deleting an election: dropping an attached partition locks all of ballots/submitted_ballots
+-- ACCESS EXCLUSIVE and stops casting in every election. Detach the partitions first, each statement
+-- on its own outside a transaction (only SHARE UPDATE EXCLUSIVE on the parent), then drop them:
+--   ALTER TABLE ballots DETACH PARTITION ballots_e42 CONCURRENTLY;
+--   ALTER TABLE submitted_ballots DETACH PARTITION submitted_ballots_e42 CONCURRENTLY;
+--   DROP TABLE ballots_e42, submitted_ballots_e42;
+--   DELETE FROM elections WHERE election_id = 42;
 
 CREATE TABLE IF NOT EXISTS compensated_decryptions (
     election_id INTEGER NOT NULL,
@@ -209,8 +264,7 @@ CREATE TABLE IF NOT EXISTS signup_verification (
 -- Create indexes
 CREATE INDEX IF NOT EXISTS idx_compensated_decryptions_pk 
 ON compensated_decryptions(election_id, compensating_guardian_sequence, missing_guardian_sequence);
-CREATE INDEX IF NOT EXISTS idx_ballots_election ON ballots(election_id);
-CREATE INDEX IF NOT EXISTS idx_ballots_tracking ON ballots(tracking_code);
+CREATE INDEX IF NOT EXISTS idx_ballots_hot ON ballots(election_id, ballot_id) WHERE cipher_text IS NOT NULL;
 CREATE INDEX IF NOT EXISTS idx_voters_election ON allowed_voters(election_id);
 CREATE INDEX IF NOT EXISTS idx_voters_user ON allowed_voters(user_id);
 CREATE INDEX IF NOT EXISTS idx_guardians_election ON guardians(election_id);
@@ -221,4 +275,3 @@ CREATE INDEX IF NOT EXISTS idx_audit_log_user ON audit_log(user_id);
 CREATE INDEX IF NOT EXISTS idx_password_reset_email ON password_reset_tokens(email);
 CREATE INDEX IF NOT EXISTS idx_password_reset_token ON password_reset_tokens(token);
 CREATE INDEX IF NOT EXISTS idx_verification_code ON signup_verification(verification_code);
-CREATE INDEX IF NOT EXISTS idx_submitted_ballots_election ON submitted_ballots(election_id);
\ No newline at end of file
@@ -6,18 +6,25 @@ DROP INDEX IF EXISTS idx_choices_election;
 DROP INDEX IF EXISTS idx_guardians_election;
 DROP INDEX IF EXISTS idx_voters_user;
 DROP INDEX IF EXISTS idx_voters_election;
+DROP INDEX IF EXISTS idx_ballots_hot;
 DROP INDEX IF EXISTS idx_ballots_tracking;
 DROP INDEX IF EXISTS idx_ballots_election;
 
+-- Drop the partition helper
+DROP FUNCTION IF EXISTS create_ballot_partitions(INTEGER);
+
 -- Drop tables in reverse order of dependencies
 DROP TABLE IF EXISTS audit_log;
 DROP TABLE IF EXISTS blocked_connections;
 DROP TABLE IF EXISTS challenges;
 DROP TABLE IF EXISTS decryptions;
+DROP TABLE IF EXISTS ballot_archive;
+DROP TABLE IF EXISTS submitted_ballots;
 DROP TABLE IF EXISTS ballots;
 DROP TABLE IF EXISTS election_choices;
 DROP TABLE IF EXISTS guardians;
 DROP TABLE IF EXISTS allowed_voters;
+DROP TABLE IF EXISTS election_crypto_artifacts;
 DROP TABLE IF EXISTS elections;
 DROP TABLE IF EXISTS users;
 
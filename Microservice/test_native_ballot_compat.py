@@ -0,0 +1,52 @@
+#!/usr/bin/env python
+
+"""
+Checks that a ballot encrypted by the backend's JVM engine (BallotEncryptor,
+electionguard.ballot.engine=native) passes ElectionGuard's own validation.
+
+io/native_encrypted_ballot.json holds the request fields plus the Java
+encrypted_ballot; regenerate it from the backend when the encryptor changes.
+"""
+
+import json
+
+from electionguard.ballot import CiphertextBallot
+from electionguard.serialize import from_raw
+from electionguard_tools.helpers.election_builder import ElectionBuilder
+from electionguard.group import int_to_p, int_to_q
+from electionguard.utils import get_optional
+from services.create_encrypted_ballot import create_election_manifest
+
+
+def load_context(request):
+    manifest = create_election_manifest(request['party_names'], request['candidate_names'])
+    builder = ElectionBuilder(
+        number_of_guardians=request['number_of_guardians'],
+        quorum=request['quorum'],
+        manifest=manifest
+    )
+    builder.set_public_key(int_to_p(int(request['joint_public_key'])))
+    builder.set_commitment_hash(int_to_q(int(request['commitment_hash'])))
+    return get_optional(builder.build())
+
+
+def test_native_ballot_compat():
+    """Validate the Java-encrypted ballot with the Python library."""
+
+    with open('io/native_encrypted_ballot.json', 'r') as f:
+        fixture = json.load(f)
+
+    internal_manifest, context = load_context(fixture)
+    ballot = from_raw(CiphertextBallot, fixture['encrypted_ballot'])
+
+    assert ballot.crypto_hash.to_hex() == fixture['ballot_hash'], "ballot hash mismatch"
+    assert ballot.is_valid_encryption(
+        internal_manifest.manifest_hash,
+        context.elgamal_public_key,
+        context.crypto_extended_base_hash,
+    ), "Java ballot failed ElectionGuard validation"
+    print("✅ Java-encrypted ballot passes ElectionGuard validation")
+
+
+if __name__ == "__main__":
+    test_native_ballot_compat()
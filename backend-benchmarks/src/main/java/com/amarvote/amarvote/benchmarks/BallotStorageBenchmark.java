@@ -0,0 +1,122 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.electionguard.TallyAccumulator;
+
+/**
+ * Reading {@code cipher_text} rows of three-candidate ballots: as the plain JSON the column used
+ * to hold versus the {@link BallotCodec} form, either rebuilt to JSON for the ElectionGuard
+ * service or read straight into ballots. The {@code tally*} variants accumulate the whole scan as
+ * the tally does. Stored bytes per ballot are printed at setup. Scores are per scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BallotStorageBenchmark {
+
+    @Param({"1000"})
+    public int ballots;
+
+    private List<byte[]> plainRows;
+    private List<byte[]> encodedRows;
+    private List<String> json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> candidates = List.of("Alice", "Bob", "Carol");
+        ElectionManifest manifest = ElectionManifest.create(List.of("Red", "Blue", "Green"), candidates);
+        ElectionContext context = ElectionContext.create(3, 2, Group.gPowP(BigInteger.valueOf(2025)),
+                BigInteger.valueOf(7), manifest.getManifestHash());
+        // Ballots are random group elements either way; reuse a small pool so setup stays fast
+        List<String> pool = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            pool.add(BallotJson.toJson(
+                    BallotEncryptor.encrypt(manifest, context, "ballot-" + i, candidates.get(i % 3)).withoutNonces()));
+        }
+        plainRows = new ArrayList<>(ballots);
+        encodedRows = new ArrayList<>(ballots);
+        json = new ArrayList<>(ballots);
+        for (int i = 0; i < ballots; i++) {
+            String ballot = pool.get(i % pool.size());
+            json.add(ballot);
+            plainRows.add(ballot.getBytes(StandardCharsets.UTF_8));
+            encodedRows.add(BallotCodec.encode(ballot));
+        }
+        System.out.println("Stored bytes per ballot: plain JSON=" + plainRows.get(0).length
+                + ", encoded=" + encodedRows.get(0).length);
+    }
+
+    @Benchmark
+    public List<byte[]> encode() {
+        List<byte[]> rows = new ArrayList<>(ballots);
+        for (String ballot : json) {
+            rows.add(BallotCodec.encode(ballot));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<String> plainToJson() {
+        List<String> rows = new ArrayList<>(ballots);
+        for (byte[] row : plainRows) {
+            rows.add(new String(row, StandardCharsets.UTF_8));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<String> encodedToJson() {
+        List<String> rows = new ArrayList<>(ballots);
+        for (byte[] row : encodedRows) {
+            rows.add(BallotCodec.decode(row));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public TallyAccumulator tallyFromPlain() {
+        TallyAccumulator tally = new TallyAccumulator();
+        for (byte[] row : plainRows) {
+            tally.add(BallotJson.fromJson(new String(row, StandardCharsets.UTF_8)));
+        }
+        return tally;
+    }
+
+    @Benchmark
+    public TallyAccumulator tallyFromEncoded() {
+        TallyAccumulator tally = new TallyAccumulator();
+        for (byte[] row : encodedRows) {
+            CiphertextBallot ballot = BallotCodec.decodeBallot(row);
+            tally.add(ballot);
+        }
+        return tally;
+    }
+}
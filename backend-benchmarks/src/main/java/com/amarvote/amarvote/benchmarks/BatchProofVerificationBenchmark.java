@@ -0,0 +1,87 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BatchProofVerifier;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+
+/**
+ * Proof verification throughput for a batch of three-candidate ballots (four selection proofs and
+ * one contest proof each): {@code CiphertextBallot.isValidEncryption} one ballot at a time versus
+ * one {@link BatchProofVerifier} batch. {@code oneBadBallot} adds the bisection cost when a single
+ * ballot in the batch carries a bad proof. Scores are per batch; divide by {@code ballots}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchProofVerificationBenchmark {
+
+    @Param({"16", "128"})
+    public int ballots;
+
+    private ElectionContext context;
+    private List<CiphertextBallot> valid;
+    private List<CiphertextBallot> withBadBallot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> candidates = List.of("Alice", "Bob", "Carol");
+        ElectionManifest manifest = ElectionManifest.create(List.of("Red", "Blue", "Green"), candidates);
+        context = ElectionContext.create(3, 2, Group.gPowP(BigInteger.valueOf(2025)), BigInteger.valueOf(7),
+                manifest.getManifestHash());
+        valid = new ArrayList<>();
+        for (int i = 0; i < ballots; i++) {
+            valid.add(BallotEncryptor.encrypt(manifest, context, "ballot-" + i, candidates.get(i % 3)).withoutNonces());
+        }
+        // a ballot encrypted under another key: well-formed, but none of its proofs verify here
+        ElectionContext other = ElectionContext.create(3, 2, Group.gPowP(BigInteger.valueOf(2026)),
+                BigInteger.valueOf(7), manifest.getManifestHash());
+        withBadBallot = new ArrayList<>(valid);
+        withBadBallot.set(ballots / 3, BallotEncryptor.encrypt(manifest, other, "bad", "Bob").withoutNonces());
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        int validCount = 0;
+        for (CiphertextBallot ballot : valid) {
+            if (ballot.isValidEncryption(ballot.manifestHash(), context.elgamalPublicKey(),
+                    context.cryptoExtendedBaseHash())) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    @Benchmark
+    public List<Integer> batch() {
+        return new BatchProofVerifier(context).findInvalid(valid);
+    }
+
+    @Benchmark
+    public List<Integer> oneBadBallot() {
+        return new BatchProofVerifier(context).findInvalid(withBadBallot);
+    }
+}
@@ -0,0 +1,164 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * ElectionGuard-shaped JSON at production sizes (1024 hex digits per
+ * ElementModP, 64 per ElementModQ). Mirrors the test stubs in the backend so
+ * benchmark inputs match what the Python service actually sends back; the
+ * values are random and carry no cryptographic meaning.
+ */
+final class BenchmarkPayloads {
+
+    static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+    static final List<String> PARTIES = List.of("Party A", "Party B", "Party C");
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final ObjectMapper objectMapper;
+    private final Random random;
+
+    BenchmarkPayloads(ObjectMapper objectMapper, long seed) {
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+    }
+
+    String elementModP() {
+        return hex(1024);
+    }
+
+    String elementModQ() {
+        return hex(64);
+    }
+
+    String decimalModP() {
+        return new BigInteger(elementModP(), 16).toString();
+    }
+
+    String decimalModQ() {
+        return new BigInteger(elementModQ(), 16).toString();
+    }
+
+    /** Published {@code CiphertextBallot}: one contest, one selection per candidate. */
+    String encryptedBallot(String ballotId, boolean withNonces) {
+        ObjectNode ballot = objectMapper.createObjectNode();
+        ballot.put("object_id", ballotId);
+        ballot.put("style_id", "ballot-style-1");
+        ballot.put("manifest_hash", elementModQ());
+        ballot.put("code_seed", elementModQ());
+        ObjectNode contest = ballot.putArray("contests").addObject();
+        contest.put("object_id", "contest-1");
+        contest.put("sequence_order", 1);
+        contest.put("description_hash", elementModQ());
+        ArrayNode selections = contest.putArray("ballot_selections");
+        for (int i = 0; i < CANDIDATES.size(); i++) {
+            ObjectNode selection = selections.addObject();
+            selection.put("object_id", CANDIDATES.get(i));
+            selection.put("sequence_order", i);
+            selection.put("description_hash", elementModQ());
+            selection.set("ciphertext", ciphertext());
+            selection.put("is_placeholder_selection", false);
+            selection.put("crypto_hash", elementModQ());
+            nonce(selection, withNonces);
+            ObjectNode proof = selection.putObject("proof");
+            for (String branch : List.of("proof_zero", "proof_one")) {
+                proof.put(branch + "_pad", elementModP());
+                proof.put(branch + "_data", elementModP());
+                proof.put(branch + "_challenge", elementModQ());
+                proof.put(branch + "_response", elementModQ());
+            }
+            proof.put("challenge", elementModQ());
+            proof.put("usage", "Prove selection's value (0 or 1)");
+        }
+        contest.set("ciphertext_accumulation", ciphertext());
+        contest.put("crypto_hash", elementModQ());
+        nonce(contest, withNonces);
+        ObjectNode proof = contest.putObject("proof");
+        proof.put("pad", elementModP());
+        proof.put("data", elementModP());
+        proof.put("challenge", elementModQ());
+        proof.put("response", elementModQ());
+        proof.put("constant", 1);
+        proof.put("usage", "Prove value within selection's limit");
+        ObjectNode extended = contest.putObject("extended_data");
+        extended.put("pad", elementModP());
+        extended.put("data", elementModP());
+        extended.put("mac", elementModQ());
+        ballot.put("code", elementModQ());
+        ballot.put("timestamp", 1_760_000_000L);
+        ballot.put("crypto_hash", elementModQ());
+        nonce(ballot, withNonces);
+        return ballot.toString();
+    }
+
+    /** {@code CiphertextTally} with one accumulated ciphertext per candidate. */
+    String ciphertextTally() {
+        ObjectNode tally = objectMapper.createObjectNode();
+        tally.put("object_id", "election-results");
+        ObjectNode contest = tally.putObject("contests").putObject("contest-1");
+        contest.put("object_id", "contest-1");
+        contest.put("sequence_order", 0);
+        contest.put("description_hash", elementModQ());
+        ObjectNode selections = contest.putObject("selections");
+        for (int i = 0; i < CANDIDATES.size(); i++) {
+            ObjectNode selection = selections.putObject(CANDIDATES.get(i));
+            selection.put("object_id", CANDIDATES.get(i));
+            selection.put("sequence_order", i);
+            selection.put("description_hash", elementModQ());
+            selection.set("ciphertext", ciphertext());
+        }
+        return tally.toString();
+    }
+
+    /** Guardian {@code DecryptionShare} for the tally with one proof per selection. */
+    String tallyShare(String guardianId) {
+        ObjectNode share = objectMapper.createObjectNode();
+        share.put("object_id", "election-results");
+        share.put("guardian_id", guardianId);
+        share.put("public_key", elementModP());
+        ObjectNode selections = share.putObject("contests").putObject("contest-1").putObject("selections");
+        for (String name : CANDIDATES) {
+            ObjectNode selection = selections.putObject(name);
+            selection.put("object_id", name);
+            selection.put("guardian_id", guardianId);
+            selection.put("share", elementModP());
+            ObjectNode proof = selection.putObject("proof");
+            proof.put("pad", elementModP());
+            proof.put("data", elementModP());
+            proof.put("challenge", elementModQ());
+            proof.put("response", elementModQ());
+            proof.put("usage", "Prove equality between two discrete logs");
+        }
+        return share.toString();
+    }
+
+    private ObjectNode ciphertext() {
+        ObjectNode ciphertext = objectMapper.createObjectNode();
+        ciphertext.put("pad", elementModP());
+        ciphertext.put("data", elementModP());
+        return ciphertext;
+    }
+
+    private void nonce(ObjectNode node, boolean withNonces) {
+        if (withNonces) {
+            node.put("nonce", elementModQ());
+        } else {
+            node.putNull("nonce");
+        }
+    }
+
+    private String hex(int digits) {
+        char[] out = new char[digits];
+        out[0] = HEX[1 + random.nextInt(15)];
+        for (int i = 1; i < digits; i++) {
+            out[i] = HEX[random.nextInt(16)];
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,75 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.amarvote.amarvote.controller.ChatbotController;
+
+/**
+ * Intent classification run on every chatbot message. The classifier is
+ * private, so it is reached through a {@link MethodHandle}; the corpus covers
+ * each intent including the off-topic fallthrough, which evaluates every
+ * pattern list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatbotIntentBenchmark {
+
+    private static final List<String> MESSAGES = List.of(
+            "How do I create an election on AmarVote?",
+            "How can I verify my vote was counted using the tracking code?",
+            "Show me the results of the most recent election",
+            "Who was the winner of the latest election?",
+            "What is a guardian in ElectionGuard?",
+            "Explain the Chaum-Pedersen proof used for partial decryption",
+            "Tell me about the encryption technique you use",
+            "Why do democracies hold referendums?",
+            "Can a candidate campaign on polling day?",
+            "What's the weather like in Dhaka today?",
+            "Recommend a good book about cooking");
+
+    private ChatbotController controller;
+    private MethodHandle classifyQueryIntent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        controller = new ChatbotController();
+        Method method = ChatbotController.class.getDeclaredMethod("classifyQueryIntent", String.class);
+        method.setAccessible(true);
+        classifyQueryIntent = MethodHandles.lookup().unreflect(method)
+                .asType(MethodType.methodType(Object.class, ChatbotController.class, String.class));
+    }
+
+    @Benchmark
+    public void classifyCorpus(Blackhole blackhole) throws Throwable {
+        for (String message : MESSAGES) {
+            blackhole.consume((Object) classifyQueryIntent.invokeExact(controller, message));
+        }
+    }
+
+    @Benchmark
+    public Object classifyOffTopic() throws Throwable {
+        return (Object) classifyQueryIntent.invokeExact(controller, "Recommend a good book about cooking");
+    }
+}
@@ -0,0 +1,63 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.DiscreteLogTable;
+import com.amarvote.amarvote.electionguard.Group;
+
+/**
+ * Decoding a tally {@code g^m} with m uniform in {@code [0, 1,000,000]} through a
+ * {@link DiscreteLogTable} of the given number of baby steps. Table bytes and build time are
+ * printed at setup, so the rows show the memory/time trade-off of {@code electionguard.dlog.baby-steps}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscreteLogBenchmark {
+
+    private static final long MAX_VOTES = 1_000_000;
+
+    @Param({"4096", "65536", "1048576"})
+    public int babySteps;
+
+    private DiscreteLogTable table;
+    private BigInteger[] tallies;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long start = System.nanoTime();
+        table = DiscreteLogTable.build(babySteps);
+        System.out.printf("%nDiscrete log table, %d baby steps: %,d bytes, built in %d ms%n", babySteps,
+                DiscreteLogTable.sizeInBytes(babySteps), (System.nanoTime() - start) / 1_000_000);
+        Random random = new Random(36L);
+        tallies = new BigInteger[64];
+        for (int i = 0; i < tallies.length; i++) {
+            tallies[i] = Group.gPowP(BigInteger.valueOf(random.nextLong(MAX_VOTES + 1)));
+        }
+    }
+
+    @Benchmark
+    public long lookup() {
+        next = (next + 1) & (tallies.length - 1);
+        return table.log(tallies[next], MAX_VOTES);
+    }
+}
@@ -0,0 +1,160 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardCombineDecryptionSharesRequest;
+import com.amarvote.amarvote.dto.ElectionGuardTallyRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson round trips for the ElectionGuard DTOs the backend (de)serializes on
+ * every cast, tally and combine. {@code ballots} scales the tally and combine
+ * requests, which carry every submitted ballot as an embedded JSON string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElectionGuardJsonBenchmark {
+
+    @Param({"10", "1000"})
+    public int ballots;
+
+    private ObjectMapper objectMapper;
+
+    private ElectionGuardBallotResponse ballotResponse;
+    private String ballotResponseJson;
+    private ElectionGuardTallyRequest tallyRequest;
+    private String tallyRequestJson;
+    private ElectionGuardCombineDecryptionSharesRequest combineRequest;
+    private String combineRequestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Same leniency Spring Boot's auto-configured mapper applies
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        BenchmarkPayloads payloads = new BenchmarkPayloads(objectMapper, 2025L);
+
+        ballotResponse = ElectionGuardBallotResponse.builder()
+                .status("success")
+                .ballot_id("ballot-0")
+                .ballot_status("CAST")
+                .ballot_hash(payloads.elementModQ())
+                .encrypted_ballot(payloads.encryptedBallot("ballot-0", false))
+                .encrypted_ballot_with_nonce(payloads.encryptedBallot("ballot-0", true))
+                .publication_status("published")
+                .build();
+        ballotResponseJson = objectMapper.writeValueAsString(ballotResponse);
+
+        // Ballots are random hex either way; reuse a small pool so setup stays fast at 1000
+        List<String> pool = new ArrayList<>();
+        for (int i = 0; i < Math.min(ballots, 32); i++) {
+            pool.add(payloads.encryptedBallot("ballot-" + i, false));
+        }
+        List<String> submitted = new ArrayList<>(ballots);
+        for (int i = 0; i < ballots; i++) {
+            submitted.add(pool.get(i % pool.size()));
+        }
+        String jointPublicKey = payloads.decimalModP();
+        String commitmentHash = payloads.decimalModQ();
+
+        tallyRequest = ElectionGuardTallyRequest.builder()
+                .party_names(BenchmarkPayloads.PARTIES)
+                .candidate_names(BenchmarkPayloads.CANDIDATES)
+                .joint_public_key(jointPublicKey)
+                .commitment_hash(commitmentHash)
+                .encrypted_ballots(submitted)
+                .number_of_guardians(3)
+                .quorum(2)
+                .build();
+        tallyRequestJson = objectMapper.writeValueAsString(tallyRequest);
+
+        List<String> guardianIds = List.of("1", "2", "3");
+        List<String> guardianData = new ArrayList<>();
+        List<String> publicKeys = new ArrayList<>();
+        List<String> tallyShares = new ArrayList<>();
+        List<String> ballotShares = new ArrayList<>();
+        for (String guardianId : guardianIds) {
+            guardianData.add(objectMapper.createObjectNode()
+                    .put("id", guardianId)
+                    .put("election_public_key", payloads.elementModP())
+                    .toString());
+            publicKeys.add(payloads.elementModP());
+            tallyShares.add(payloads.tallyShare(guardianId));
+            ballotShares.add("{}");
+        }
+        combineRequest = ElectionGuardCombineDecryptionSharesRequest.builder()
+                .party_names(BenchmarkPayloads.PARTIES)
+                .candidate_names(BenchmarkPayloads.CANDIDATES)
+                .joint_public_key(jointPublicKey)
+                .commitment_hash(commitmentHash)
+                .ciphertext_tally(payloads.ciphertextTally())
+                .submitted_ballots(submitted)
+                .guardian_data(guardianData)
+                .available_guardian_ids(guardianIds)
+                .available_guardian_public_keys(publicKeys)
+                .available_tally_shares(tallyShares)
+                .available_ballot_shares(ballotShares)
+                .missing_guardian_ids(List.of())
+                .compensating_guardian_ids(List.of())
+                .compensated_tally_shares(List.of())
+                .compensated_ballot_shares(List.of())
+                .quorum(2)
+                .number_of_guardians(3)
+                .build();
+        combineRequestJson = objectMapper.writeValueAsString(combineRequest);
+
+        System.out.println("Payload sizes (chars): ballot response=" + ballotResponseJson.length()
+                + ", tally request=" + tallyRequestJson.length()
+                + ", combine request=" + combineRequestJson.length());
+    }
+
+    @Benchmark
+    public String serializeBallotResponse() throws Exception {
+        return objectMapper.writeValueAsString(ballotResponse);
+    }
+
+    @Benchmark
+    public ElectionGuardBallotResponse deserializeBallotResponse() throws Exception {
+        return objectMapper.readValue(ballotResponseJson, ElectionGuardBallotResponse.class);
+    }
+
+    @Benchmark
+    public String serializeTallyRequest() throws Exception {
+        return objectMapper.writeValueAsString(tallyRequest);
+    }
+
+    @Benchmark
+    public ElectionGuardTallyRequest deserializeTallyRequest() throws Exception {
+        return objectMapper.readValue(tallyRequestJson, ElectionGuardTallyRequest.class);
+    }
+
+    @Benchmark
+    public String serializeCombineRequest() throws Exception {
+        return objectMapper.writeValueAsString(combineRequest);
+    }
+
+    @Benchmark
+    public ElectionGuardCombineDecryptionSharesRequest deserializeCombineRequest() throws Exception {
+        return objectMapper.readValue(combineRequestJson, ElectionGuardCombineDecryptionSharesRequest.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.dto.OptimizedElectionResponse;
+
+/**
+ * Mapping of the all-elections query result (one {@code Object[]} per row, in
+ * the repository's column order) to {@link OptimizedElectionResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElectionListMappingBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private List<Object[]> queryResult;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant now = Instant.parse("2025-10-01T08:00:00Z");
+        queryResult = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            queryResult.add(new Object[] {
+                (long) i,
+                "Election " + i,
+                "Description of election " + i,
+                3, 2, 3,
+                i % 3 == 0 ? "completed" : "active",
+                now.plusSeconds(i * 60L),
+                now.plusSeconds(i * 60L + 86_400L),
+                now.minusSeconds(3_600L),
+                null,
+                "admin" + (i % 10) + "@amarvote.org",
+                i % 2 == 0 ? "public" : "private",
+                i % 2 == 0 ? "unlisted" : "listed",
+                "Admin " + (i % 10),
+                i % 10 == 0, i % 7 == 0, i % 2 == 1, i % 4 == 1
+            });
+        }
+    }
+
+    @Benchmark
+    public List<OptimizedElectionResponse> fromQueryResult() {
+        List<OptimizedElectionResponse> responses = new ArrayList<>(queryResult.size());
+        for (Object[] row : queryResult) {
+            responses.add(OptimizedElectionResponse.fromQueryResult(row));
+        }
+        return responses;
+    }
+}
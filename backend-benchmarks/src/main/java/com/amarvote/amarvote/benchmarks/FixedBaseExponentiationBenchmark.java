@@ -0,0 +1,79 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.FixedBaseTable;
+import com.amarvote.amarvote.electionguard.Group;
+
+/**
+ * {@code K^r mod p} for a 256-bit nonce, the operation that dominates ballot encryption, with
+ * {@link BigInteger#modPow} versus a {@link FixedBaseTable} of the given window width. The table
+ * size per window width is printed at setup; {@code buildTable} is the one-off cost per election.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FixedBaseExponentiationBenchmark {
+
+    @Param({"4", "6", "8"})
+    public int windowBits;
+
+    private BigInteger publicKey;
+    private FixedBaseTable table;
+    private BigInteger[] exponents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(2025L);
+        publicKey = Group.G.modPow(new BigInteger(Group.Q.bitLength(), random).mod(Group.Q), Group.P);
+        table = new FixedBaseTable(publicKey, windowBits, Group.Q.bitLength());
+        exponents = new BigInteger[1024];
+        for (int i = 0; i < exponents.length; i++) {
+            exponents[i] = new BigInteger(Group.Q.bitLength(), random).mod(Group.Q);
+        }
+        System.out.printf("%nFixed-base table, %d-bit windows: %,d bytes%n", windowBits, table.sizeInBytes());
+    }
+
+    private BigInteger nextExponent() {
+        next = (next + 1) & (exponents.length - 1);
+        return exponents[next];
+    }
+
+    @Benchmark
+    public BigInteger modPow() {
+        return publicKey.modPow(nextExponent(), Group.P);
+    }
+
+    @Benchmark
+    public BigInteger fixedBaseTable() {
+        return table.pow(nextExponent());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public FixedBaseTable buildTable() {
+        return new FixedBaseTable(publicKey, windowBits, Group.Q.bitLength());
+    }
+}
@@ -0,0 +1,83 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.lang.reflect.Field;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.amarvote.amarvote.service.JWTService;
+
+/**
+ * Token handling done by {@code JWTFilter} on every authenticated request:
+ * subject extraction plus full validation (which parses the token twice).
+ * Uses a 512-bit key, as in deployment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String EMAIL = "voter-1@loadtest.amarvote.org";
+
+    private JWTService jwtService;
+    private String token;
+    private String resetToken;
+    private UserDetails userDetails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        jwtService = new JWTService();
+        set("secretKey", Base64.getEncoder().encodeToString(key));
+        set("expirationMillis", TimeUnit.MINUTES.toMillis(30));
+
+        token = jwtService.generateJWTToken(EMAIL);
+        resetToken = jwtService.generatePasswordResetToken(EMAIL, TimeUnit.MINUTES.toMillis(10));
+        userDetails = new User(EMAIL, "unused", List.of());
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = JWTService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtService, value);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateJWTToken(EMAIL);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtService.extractUserEmailFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public String validatePasswordResetToken() {
+        return jwtService.validatePasswordResetToken(resetToken);
+    }
+}
@@ -0,0 +1,113 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.FixedBaseTable;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.electionguard.MontgomeryP;
+
+/**
+ * 4096-bit modular arithmetic with {@link BigInteger} versus the {@link MontgomeryP} kernel. The
+ * {@code *Limbs} variants keep operands in Montgomery form and should show
+ * {@code gc.alloc.rate.norm} of ~0 B/op; run with {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MontgomeryArithmeticBenchmark {
+
+    private BigInteger a;
+    private BigInteger b;
+    private BigInteger exponent;
+    private long[] x;
+    private long[] y;
+    private long[] out;
+    private FixedBaseTable table;
+    private BigInteger[] ciphertextPads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(2025L);
+        a = new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+        b = new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+        exponent = new BigInteger(Group.Q.bitLength(), random).mod(Group.Q);
+        x = MontgomeryP.toMontgomery(a);
+        y = MontgomeryP.toMontgomery(b);
+        out = MontgomeryP.newElement();
+        table = new FixedBaseTable(a);
+        ciphertextPads = new BigInteger[64];
+        for (int i = 0; i < ciphertextPads.length; i++) {
+            ciphertextPads[i] = new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+        }
+    }
+
+    @Benchmark
+    public BigInteger multiplyBigInteger() {
+        return a.multiply(b).mod(Group.P);
+    }
+
+    @Benchmark
+    public BigInteger multiplyBridge() {
+        return MontgomeryP.multiply(a, b);
+    }
+
+    @Benchmark
+    public long[] multiplyLimbs() {
+        MontgomeryP.multiply(x, y, out);
+        return out;
+    }
+
+    /** Homomorphic accumulation of 64 ciphertext pads, as in a tally. */
+    @Benchmark
+    public BigInteger productBigInteger() {
+        BigInteger product = BigInteger.ONE;
+        for (BigInteger pad : ciphertextPads) {
+            product = product.multiply(pad).mod(Group.P);
+        }
+        return product;
+    }
+
+    @Benchmark
+    public BigInteger productMontgomery() {
+        return MontgomeryP.product(ciphertextPads);
+    }
+
+    @Benchmark
+    public BigInteger modPowBigInteger() {
+        return a.modPow(exponent, Group.P);
+    }
+
+    @Benchmark
+    public long[] modPowLimbs() {
+        MontgomeryP.pow(x, exponent, out);
+        return out;
+    }
+
+    @Benchmark
+    public long[] fixedBasePowLimbs() {
+        table.pow(exponent, out);
+        return out;
+    }
+
+    @Benchmark
+    public BigInteger fixedBasePow() {
+        return table.pow(exponent);
+    }
+}
@@ -0,0 +1,109 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.electionguard.ChaumPedersenProof;
+import com.amarvote.amarvote.electionguard.CryptoHash;
+import com.amarvote.amarvote.electionguard.DecryptionShareCombiner;
+import com.amarvote.amarvote.electionguard.ElGamalCiphertext;
+import com.amarvote.amarvote.electionguard.Group;
+
+/**
+ * Checking and combining the decryption shares of one tally selection for five guardians with
+ * quorum three, with {@code missing} of them rebuilt from compensated shares. The score is per
+ * selection, before the discrete log; the native combine engine runs one per core.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShareCombinationBenchmark {
+
+    private static final int GUARDIANS = 5;
+    private static final int QUORUM = 3;
+    private static final BigInteger HASH = CryptoHash.hashElems("share-combination-benchmark");
+
+    @Param({"0", "2"})
+    public int missing;
+
+    private DecryptionShareCombiner combiner;
+    private DecryptionShareCombiner.Selection selection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BigInteger[][] polynomials = new BigInteger[GUARDIANS][QUORUM];
+        BigInteger jointKey = BigInteger.ONE;
+        for (BigInteger[] polynomial : polynomials) {
+            for (int j = 0; j < QUORUM; j++) {
+                polynomial[j] = Group.randQ();
+            }
+            jointKey = Group.multP(jointKey, Group.gPowP(polynomial[0]));
+        }
+        ElGamalCiphertext ciphertext = ElGamalCiphertext.encrypt(1234, Group.randQ(), jointKey);
+
+        int available = GUARDIANS - missing;
+        Map<Integer, BigInteger> guardianKeys = new LinkedHashMap<>();
+        Map<Integer, DecryptionShareCombiner.Share> shares = new LinkedHashMap<>();
+        for (int i = 1; i <= available; i++) {
+            BigInteger secret = polynomials[i - 1][0];
+            guardianKeys.put(i, Group.gPowP(secret));
+            shares.put(i, share(ciphertext, secret, null));
+        }
+        Map<Integer, List<BigInteger>> commitments = new LinkedHashMap<>();
+        Map<Integer, Map<Integer, DecryptionShareCombiner.Share>> compensated = new LinkedHashMap<>();
+        for (int m = available + 1; m <= GUARDIANS; m++) {
+            BigInteger[] polynomial = polynomials[m - 1];
+            List<BigInteger> commitment = new ArrayList<>();
+            for (BigInteger coefficient : polynomial) {
+                commitment.add(Group.gPowP(coefficient));
+            }
+            commitments.put(m, commitment);
+            Map<Integer, DecryptionShareCombiner.Share> parts = new LinkedHashMap<>();
+            for (int i = 1; i <= available; i++) {
+                BigInteger secret = BigInteger.ZERO;
+                for (int j = QUORUM - 1; j >= 0; j--) {
+                    secret = Group.addQ(secret.multiply(BigInteger.valueOf(i)).mod(Group.Q), polynomial[j]);
+                }
+                parts.put(i, share(ciphertext, secret, Group.gPowP(secret)));
+            }
+            compensated.put(m, parts);
+        }
+        combiner = new DecryptionShareCombiner(HASH, guardianKeys, commitments);
+        selection = new DecryptionShareCombiner.Selection("contest-1", "candidate", ciphertext, shares, compensated);
+        if (!combiner.decrypt(selection).equals(Group.gPowP(BigInteger.valueOf(1234)))) {
+            throw new IllegalStateException("Shares do not combine to the encrypted count");
+        }
+    }
+
+    private static DecryptionShareCombiner.Share share(ElGamalCiphertext ciphertext, BigInteger secret,
+            BigInteger recoveryKey) {
+        BigInteger share = Group.powP(ciphertext.pad(), secret);
+        return new DecryptionShareCombiner.Share(share, recoveryKey,
+                ChaumPedersenProof.make(ciphertext, secret, share, Group.randQ(), HASH));
+    }
+
+    @Benchmark
+    public BigInteger combineSelection() {
+        return combiner.decrypt(selection);
+    }
+}
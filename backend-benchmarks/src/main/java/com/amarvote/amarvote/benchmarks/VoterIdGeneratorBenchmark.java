@@ -0,0 +1,46 @@
+package com.amarvote.amarvote.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.amarvote.amarvote.utils.VoterIdGenerator;
+
+/**
+ * Ballot id generation, called once per encrypted ballot. The user id varies
+ * per invocation so the string concatenation is not constant-folded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VoterIdGeneratorBenchmark {
+
+    private int userId;
+    private final Long electionId = 4242L;
+
+    @Benchmark
+    public String generateBallotHashId() {
+        return VoterIdGenerator.generateBallotHashId(++userId, electionId);
+    }
+
+    @Benchmark
+    public String generateSimpleBallotHashId() {
+        return VoterIdGenerator.generateSimpleBallotHashId(++userId, electionId);
+    }
+
+    @Benchmark
+    public String generateDeterministicBallotId() {
+        return VoterIdGenerator.generateDeterministicBallotId(++userId, electionId);
+    }
+}
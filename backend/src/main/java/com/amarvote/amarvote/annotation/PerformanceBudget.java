@@ -0,0 +1,33 @@
+package com.amarvote.amarvote.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bounds for a single call of a service method: SQL statements executed,
+ * result rows read, bytes of column values read and bytes allocated by the
+ * calling thread. The budgets are
+ * enforced by the performance budget tests; they have no effect at runtime.
+ *
+ * A negative value means the dimension is not budgeted.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PerformanceBudget {
+
+    /** Maximum SQL statements (queries, inserts, updates) per call. */
+    int statements() default -1;
+
+    /** Maximum result-set rows read per call. */
+    int rowsFetched() default -1;
+
+    /** Maximum bytes of string and binary column values read per call. */
+    int bytesFetched() default -1;
+
+    /** Maximum bytes allocated on the calling thread per call, after warm-up. */
+    long allocatedBytes() default -1;
+}
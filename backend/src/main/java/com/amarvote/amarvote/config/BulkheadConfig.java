@@ -0,0 +1,29 @@
+package com.amarvote.amarvote.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts the application's {@code dataSource} behind a {@link BulkheadDataSource}, whether it is the
+ * auto-configured pool or the replica routing one.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
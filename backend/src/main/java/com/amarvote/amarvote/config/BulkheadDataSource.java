@@ -0,0 +1,70 @@
+package com.amarvote.amarvote.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.amarvote.amarvote.filter.Bulkhead;
+
+/**
+ * Caps the connections held by the requests of each traffic class at that class's
+ * {@code max-connections}, carving a sub-pool per class out of the one connection pool. Work done
+ * outside a request (schedulers, workers) is not capped.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    public BulkheadDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return bounded(Bulkhead.current(), false, null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return bounded(Bulkhead.current(), true, username, password);
+    }
+
+    private Connection bounded(Bulkhead bulkhead, boolean withCredentials, String username, String password)
+            throws SQLException {
+        if (bulkhead == null || bulkhead.getMaxConnections() <= 0) {
+            return withCredentials ? super.getConnection(username, password) : super.getConnection();
+        }
+        bulkhead.acquireConnection();
+        try {
+            Connection connection = withCredentials ? super.getConnection(username, password) : super.getConnection();
+            return releasingOnClose(connection, bulkhead);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.releaseConnection();
+            throw e;
+        }
+    }
+
+    private static Connection releasingOnClose(Connection connection, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            bulkhead.releaseConnection();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package com.amarvote.amarvote.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits the connection pool into the primary and a read replica once
+ * {@code spring.datasource.replica.url} is set; without it the single auto-configured pool is used.
+ * The replica pool takes {@code spring.datasource.replica.hikari.*}, credentials default to the
+ * primary's.
+ */
+@Configuration
+@ConditionalOnExpression("!'${spring.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${spring.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${spring.datasource.replica.max-lag-ms:5000}") long maxLagMs,
+            @Value("${spring.datasource.replica.lag-check-ms:1000}") long lagCheckMs, MeterRegistry registry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replica), Duration.ofMillis(maxLagMs),
+                Duration.ofMillis(lagCheckMs), registry);
+    }
+
+    // A write is visible on the replica once it serves reads again, i.e. after at most max-lag plus
+    // the two probe intervals a reading stays valid for
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor,
+            @Value("${spring.datasource.replica.lag-check-ms:1000}") long lagCheckMs) {
+        Duration pinAfterWrite = lagMonitor.getMaxLag().plusMillis(2 * lagCheckMs);
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, pinAfterWrite));
+    }
+}
@@ -0,0 +1,87 @@
+package com.amarvote.amarvote.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Polls the read replica for its replay lag and publishes it as {@value #REPLICA_LAG}. The replica
+ * only serves reads while the last probe succeeded, found it at most {@code maxLag} behind and is no
+ * older than two check intervals. Probes run on a thread of their own from {@link #start()}, so the
+ * scheduled jobs sharing the {@code @Scheduled} thread cannot hold a reading back.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    public static final String REPLICA_LAG = "amarvote.db.replica.lag";
+
+    // An idle primary sends no WAL, so a replica that has replayed everything it received is current
+    // however old its last replayed transaction is
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-probe").daemon().factory());
+    private volatile double lagSeconds = Double.NaN;
+    private volatile long probedAtNanos;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag, Duration checkInterval, MeterRegistry registry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Gauge.builder(REPLICA_LAG, this, monitor -> monitor.lagSeconds)
+                .description("Replay lag of the read replica; NaN while it cannot be probed")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    void probe() {
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            record(lag == null ? Double.NaN : lag);
+        } catch (DataAccessException e) {
+            if (!Double.isNaN(lagSeconds)) {
+                System.err.println("Read replica unreachable, reading from the primary: " + e.getMessage());
+            }
+            record(Double.NaN);
+        }
+    }
+
+    void record(double lagSeconds) {
+        record(lagSeconds, System.nanoTime());
+    }
+
+    void record(double lagSeconds, long probedAtNanos) {
+        this.lagSeconds = lagSeconds;
+        this.probedAtNanos = probedAtNanos;
+    }
+
+    /** False while the lag is unknown or above the limit, or the last reading is out of date. */
+    public boolean isReplicaUsable() {
+        // A probe stuck on an unresponsive replica leaves the last good reading in place
+        boolean current = System.nanoTime() - probedAtNanos <= 2 * checkInterval.toNanos();
+        return current && lagSeconds <= maxLag.toMillis() / 1000.0;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+}
@@ -0,0 +1,82 @@
+package com.amarvote.amarvote.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of {@code @Transactional(readOnly = true)} work to the read replica and
+ * everything else to the primary. Has to sit behind a {@code LazyConnectionDataSourceProxy} so the
+ * connection is only picked once the transaction is marked read-only.
+ *
+ * Reads stay on the primary when the replica is lagging or unreachable, and for a user who
+ * opened a read-write transaction within the last {@code pinAfterWrite}, so what they just did
+ * (e.g. casting a vote) is visible to their next eligibility check. Reads that must see the
+ * primary regardless use a read-write transaction.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final int PIN_PURGE_THRESHOLD = 10_000;
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long pinAfterWriteNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            Duration pinAfterWrite) {
+        this.lagMonitor = lagMonitor;
+        this.pinAfterWriteNanos = pinAfterWrite.toNanos();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                pin(user);
+            }
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable() || isPinned(user)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private void pin(String user) {
+        long now = System.nanoTime();
+        pinnedUntil.put(user, now + pinAfterWriteNanos);
+        if (pinnedUntil.size() > PIN_PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now < 0);
+        }
+    }
+
+    private boolean isPinned(String user) {
+        Long until = user == null ? null : pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() < 0) {
+            pinnedUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,101 @@
+package com.amarvote.amarvote.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refuses to start the backend on a PostgreSQL database that lacks a valid index for one of the
+ * per-election lookups on the voting and decryption paths. Without them those lookups turn into
+ * scans of tables that grow with every election. Runs after Flyway has migrated and before the
+ * web server accepts requests. Any index whose leading key columns match satisfies a requirement,
+ * whatever its name.
+ */
+@Component
+public class SchemaIndexCheck implements SmartInitializingSingleton {
+
+    static final List<RequiredIndex> REQUIRED = List.of(
+            new RequiredIndex("allowed_voters", List.of("election_id", "user_id"), true),
+            new RequiredIndex("ballots", List.of("election_id", "tracking_code"), true),
+            new RequiredIndex("submitted_ballots", List.of("election_id"), false),
+            new RequiredIndex("guardians", List.of("election_id", "sequence_order"), false),
+            new RequiredIndex("compensated_decryptions", List.of("election_id", "missing_guardian_sequence"), false),
+            new RequiredIndex("users", List.of("user_email"), true));
+
+    // Valid indexes with their key columns in order; expression columns come back as "?"
+    private static final String EXISTING_INDEXES = "SELECT t.relname, i.indisunique, "
+            + "(SELECT string_agg(COALESCE(a.attname, '?'), ',' ORDER BY k.n) "
+            + "FROM unnest(i.indkey::int2[]) WITH ORDINALITY AS k(attnum, n) "
+            + "LEFT JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum "
+            + "WHERE k.n <= i.indnkeyatts) "
+            + "FROM pg_index i JOIN pg_class t ON t.oid = i.indrelid "
+            + "JOIN pg_namespace ns ON ns.oid = t.relnamespace "
+            + "WHERE ns.nspname = current_schema() AND i.indisvalid";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchemaIndexCheck(JdbcTemplate jdbcTemplate, @Value("${schema.index-check.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        List<ExistingIndex> existing = jdbcTemplate.query(EXISTING_INDEXES, (row, i) -> new ExistingIndex(
+                row.getString(1), row.getBoolean(2), Arrays.asList(row.getString(3).split(","))));
+        List<RequiredIndex> missing = findMissing(existing);
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid indexes " + missing
+                    + "; apply the Flyway migrations in db/migration (an INVALID index from a failed "
+                    + "concurrent build has to be dropped first)");
+        }
+        System.out.println("Schema index check passed for " + REQUIRED.size() + " required indexes");
+    }
+
+    static List<RequiredIndex> findMissing(List<ExistingIndex> existing) {
+        List<RequiredIndex> missing = new ArrayList<>();
+        for (RequiredIndex required : REQUIRED) {
+            if (existing.stream().noneMatch(required::isSatisfiedBy)) {
+                missing.add(required);
+            }
+        }
+        return missing;
+    }
+
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    record RequiredIndex(String table, List<String> columns, boolean unique) {
+
+        // A unique requirement needs exactly these columns, anything else only needs them leading
+        boolean isSatisfiedBy(ExistingIndex index) {
+            if (!index.table().equals(table) || index.columns().size() < columns.size()) {
+                return false;
+            }
+            if (unique) {
+                return index.unique() && index.columns().equals(columns);
+            }
+            return index.columns().subList(0, columns.size()).equals(columns);
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")" + (unique ? " unique" : "");
+        }
+    }
+
+    record ExistingIndex(String table, boolean unique, List<String> columns) {
+    }
+}
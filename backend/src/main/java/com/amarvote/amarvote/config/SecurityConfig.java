@@ -38,6 +38,7 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/auth/register", "/api/auth/login", "/api/password/forgot-password", "/api/password/create-password", "/api/verify/send-code", "/api/verify/verify-code", "/api/test-deepseek", "/api/health", "/api/chatbot/**").permitAll() // Allow public access to these endpoints
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Served only on management.server.port, which is not published
                 .anyRequest().authenticated())
                 // .httpBasic(httpBasic -> {}) // Lambda DSL syntax
                 .sessionManagement(session -> session
@@ -18,6 +18,9 @@ public class WebClientConfig {
     @Value("${webclient.timeout.response:300000}") // Default 5 minutes
     private long responseTimeoutMs;
 
+    @Value("${electionguard.service.url:http://electionguard:5000}")
+    private String electionGuardServiceUrl;
+
     @Bean
     public WebClient webClient() {
         // Increase buffer size to handle large responses
@@ -30,7 +33,7 @@ public class WebClientConfig {
                 .responseTimeout(java.time.Duration.ofMillis(responseTimeoutMs));
 
         return WebClient.builder()
-                .baseUrl("http://electionguard:5000") // Your Python service URL
+                .baseUrl(electionGuardServiceUrl) // Your Python service URL
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(exchangeStrategies)
                 .build();
@@ -4,7 +4,9 @@ package com.amarvote.amarvote.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -38,17 +40,21 @@ import com.amarvote.amarvote.dto.ElectionDetailResponse;
 import com.amarvote.amarvote.dto.ElectionResponse;
 import com.amarvote.amarvote.dto.EligibilityCheckRequest;
 import com.amarvote.amarvote.dto.EligibilityCheckResponse;
+import com.amarvote.amarvote.exception.BallotCastOverloadedException;
 import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.service.BallotPartitionService;
 import com.amarvote.amarvote.service.BallotService;
 import com.amarvote.amarvote.service.BlockchainService;
 import com.amarvote.amarvote.service.CloudinaryService;
 import com.amarvote.amarvote.service.ElectionService;
 import com.amarvote.amarvote.service.PartialDecryptionService;
+import com.amarvote.amarvote.service.ReactiveBallotCastService;
 import com.amarvote.amarvote.service.TallyService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api")
@@ -56,6 +62,8 @@ import lombok.RequiredArgsConstructor;
 public class ElectionController {
     private final ElectionService electionService;
     private final BallotService ballotService;
+    private final BallotPartitionService ballotPartitionService;
+    private final ReactiveBallotCastService reactiveBallotCastService;
     private final TallyService tallyService;
     private final PartialDecryptionService partialDecryptionService;
     private final BlockchainService blockchainService;
@@ -86,6 +94,9 @@ public class ElectionController {
         if (election == null) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+        // Outside the createElection transaction, so its guardian mails and blockchain call never run
+        // while the partition locks are held; BallotPartitionSweeper retries a failure
+        ballotPartitionService.createPartitions(election.getElectionId());
         return ResponseEntity.status(HttpStatus.CREATED).body(election);
     }
 
@@ -213,6 +224,46 @@ public class ElectionController {
         }
     }
 
+    /**
+     * Non-blocking variant of {@code /cast-ballot}: the request thread is released while the cast is
+     * in flight. Answers 429 with Retry-After when too many casts are in flight.
+     */
+    @PostMapping(value = "/cast-ballot-async", consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<CastBallotResponse>> castBallotAsync(
+            @Valid @RequestBody CastBallotRequest request,
+            HttpServletRequest httpRequest) {
+
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        if (userEmail == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                userEmail = authentication.getName();
+            }
+        }
+
+        if (userEmail == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(CastBallotResponse.builder()
+                            .success(false)
+                            .message("User authentication required")
+                            .errorReason("Unauthorized")
+                            .build()));
+        }
+
+        return reactiveBallotCastService.castBallot(request, userEmail)
+                .map(response -> response.isSuccess()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response))
+                .onErrorResume(BallotCastOverloadedException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                                .body(CastBallotResponse.builder()
+                                        .success(false)
+                                        .message("Too many ballots are being cast right now, please retry shortly")
+                                        .errorReason("Overloaded")
+                                        .build())));
+    }
+
     @PostMapping(value = "/create-encrypted-ballot", consumes = "application/json", produces = "application/json")
     public ResponseEntity<CreateEncryptedBallotResponse> createEncryptedBallot(
             @Valid @RequestBody CreateEncryptedBallotRequest request,
@@ -696,4 +747,41 @@ public class ElectionController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the ciphertext tally for verification tab, kept out of the election details because
+     * it grows with the number of cast ballots
+     */
+    @GetMapping("/election/{id}/encrypted-tally")
+    public ResponseEntity<?> getElectionEncryptedTally(@PathVariable Long id, HttpServletRequest httpRequest) {
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+        if (userEmail == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                userEmail = authentication.getName();
+            }
+        }
+        if (userEmail == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            Optional<String> encryptedTally = electionService.getEncryptedTally(id, userEmail);
+            if (encryptedTally.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "success", false,
+                    "error", "Encrypted tally is not available for this election"
+                ));
+            }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "encryptedTally", encryptedTally.get()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "error", "Failed to retrieve encrypted tally: " + e.getMessage()
+            ));
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class ElectionDetailResponse {
     private String status;
     private Instant startingTime;
     private Instant endingTime;
-    private String encryptedTally;
+    private Boolean hasEncryptedTally; // the tally itself is served by /api/election/{id}/encrypted-tally
     private String baseHash;
     private Instant createdAt;
     private String profilePic;
@@ -1,6 +1,8 @@
 package com.amarvote.amarvote.dto;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -60,14 +62,10 @@ public class OptimizedElectionResponse {
         Integer numberOfGuardians = (Integer) result[i++];
         Integer electionQuorum = (Integer) result[i++];
         Integer noOfCandidates = (Integer) result[i++];
-        i++; // Skip jointPublicKey
-        i++; // Skip manifestHash
         String status = (String) result[i++];
-        Instant startingTime = (Instant) result[i++];
-        Instant endingTime = (Instant) result[i++];
-        i++; // Skip encryptedTally
-        i++; // Skip baseHash
-        Instant createdAt = (Instant) result[i++];
+        Instant startingTime = toInstant(result[i++]);
+        Instant endingTime = toInstant(result[i++]);
+        Instant createdAt = toInstant(result[i++]);
         String profilePic = (String) result[i++];
         String adminEmail = (String) result[i++];
         String privacy = (String) result[i++];
@@ -113,4 +111,15 @@ public class OptimizedElectionResponse {
                 .hasVoted(hasVoted)
                 .build();
     }
+
+    // Drivers differ in how they return timestamp with time zone columns to native queries
+    private static Instant toInstant(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        return (Instant) value;
+    }
 }
@@ -0,0 +1,256 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Storage form of the {@code cipher_text} columns. A ballot that {@link BallotJson} writes back
+ * byte for byte is stored as its fields in a fixed order, group elements as raw magnitude bytes
+ * instead of hex, and the JSON is rebuilt only when somebody asks for it. Anything else is stored
+ * as deflated JSON. The first byte tells the formats apart; rows written before the column became
+ * binary hold plain UTF-8 JSON, start with {@code '{'} and are still read.
+ *
+ * <p>Both formats are deterministic, so equal JSON always encodes to equal bytes and equality
+ * lookups on the column keep working.
+ */
+public final class BallotCodec {
+
+    static final byte BALLOT = 1;
+    static final byte DEFLATED_JSON = 2;
+
+    private BallotCodec() {
+    }
+
+    public static byte[] encode(String json) {
+        CiphertextBallot ballot = parseExactly(json);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 2);
+        if (ballot != null) {
+            bytes.write(BALLOT);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writeBallot(out, ballot);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            bytes.write(DEFLATED_JSON);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static String decode(byte[] stored) {
+        return switch (format(stored)) {
+            case BALLOT -> BallotJson.toJson(readBallot(body(stored)));
+            case DEFLATED_JSON -> inflate(stored);
+            default -> new String(stored, StandardCharsets.UTF_8);
+        };
+    }
+
+    /** The ballot itself, without building the JSON when it was stored in the binary format. */
+    public static CiphertextBallot decodeBallot(byte[] stored) {
+        return format(stored) == BALLOT ? readBallot(body(stored)) : BallotJson.fromJson(decode(stored));
+    }
+
+    /** False for rows still holding the plain JSON written before the column became binary. */
+    public static boolean isEncoded(byte[] stored) {
+        int format = format(stored);
+        return format == BALLOT || format == DEFLATED_JSON;
+    }
+
+    private static int format(byte[] stored) {
+        return stored.length == 0 ? -1 : stored[0];
+    }
+
+    /** Null unless the JSON is exactly what {@link BallotJson} would write for the parsed ballot. */
+    private static CiphertextBallot parseExactly(String json) {
+        try {
+            CiphertextBallot ballot = BallotJson.fromJson(json);
+            return BallotJson.toJson(ballot).equals(json) ? ballot : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static DataInputStream body(byte[] stored) {
+        return new DataInputStream(new ByteArrayInputStream(stored, 1, stored.length - 1));
+    }
+
+    private static String inflate(byte[] stored) {
+        Inflater inflater = new Inflater(true);
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(stored, 1, stored.length - 1),
+                inflater)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Stored ballot is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeBallot(DataOutputStream out, CiphertextBallot ballot) throws IOException {
+        out.writeUTF(ballot.objectId());
+        out.writeUTF(ballot.styleId());
+        writeNumber(out, ballot.manifestHash());
+        writeNumber(out, ballot.codeSeed());
+        out.writeShort(ballot.contests().size());
+        for (CiphertextBallotContest contest : ballot.contests()) {
+            writeContest(out, contest);
+        }
+        writeNumber(out, ballot.code());
+        out.writeLong(ballot.timestamp());
+        writeNumber(out, ballot.cryptoHash());
+        writeNumber(out, ballot.nonce());
+    }
+
+    private static CiphertextBallot readBallot(DataInputStream in) {
+        try {
+            String objectId = in.readUTF();
+            String styleId = in.readUTF();
+            BigInteger manifestHash = readNumber(in);
+            BigInteger codeSeed = readNumber(in);
+            int contestCount = in.readUnsignedShort();
+            List<CiphertextBallotContest> contests = new ArrayList<>(contestCount);
+            for (int i = 0; i < contestCount; i++) {
+                contests.add(readContest(in));
+            }
+            return new CiphertextBallot(objectId, styleId, manifestHash, codeSeed, contests, readNumber(in),
+                    in.readLong(), readNumber(in), readNumber(in));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Stored ballot is corrupt", e);
+        }
+    }
+
+    private static void writeContest(DataOutputStream out, CiphertextBallotContest contest) throws IOException {
+        out.writeUTF(contest.objectId());
+        out.writeInt(contest.sequenceOrder());
+        writeNumber(out, contest.descriptionHash());
+        out.writeShort(contest.ballotSelections().size());
+        for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+            writeSelection(out, selection);
+        }
+        writeCiphertext(out, contest.ciphertextAccumulation());
+        writeNumber(out, contest.cryptoHash());
+        writeNumber(out, contest.nonce());
+        ConstantChaumPedersenProof proof = contest.proof();
+        writeNumber(out, proof.pad());
+        writeNumber(out, proof.data());
+        writeNumber(out, proof.challenge());
+        writeNumber(out, proof.response());
+        out.writeInt(proof.constant());
+        HashedElGamalCiphertext extendedData = contest.extendedData();
+        out.writeBoolean(extendedData != null);
+        if (extendedData != null) {
+            writeNumber(out, extendedData.pad());
+            out.writeUTF(extendedData.data());
+            out.writeUTF(extendedData.mac());
+        }
+    }
+
+    private static CiphertextBallotContest readContest(DataInputStream in) throws IOException {
+        String objectId = in.readUTF();
+        int sequenceOrder = in.readInt();
+        BigInteger descriptionHash = readNumber(in);
+        int selectionCount = in.readUnsignedShort();
+        List<CiphertextBallotSelection> selections = new ArrayList<>(selectionCount);
+        for (int i = 0; i < selectionCount; i++) {
+            selections.add(readSelection(in));
+        }
+        ElGamalCiphertext accumulation = readCiphertext(in);
+        BigInteger cryptoHash = readNumber(in);
+        BigInteger nonce = readNumber(in);
+        ConstantChaumPedersenProof proof = new ConstantChaumPedersenProof(readNumber(in), readNumber(in),
+                readNumber(in), readNumber(in), in.readInt());
+        HashedElGamalCiphertext extendedData = in.readBoolean()
+                ? new HashedElGamalCiphertext(readNumber(in), in.readUTF(), in.readUTF())
+                : null;
+        return new CiphertextBallotContest(objectId, sequenceOrder, descriptionHash, selections, accumulation,
+                cryptoHash, nonce, proof, extendedData);
+    }
+
+    private static void writeSelection(DataOutputStream out, CiphertextBallotSelection selection)
+            throws IOException {
+        out.writeUTF(selection.objectId());
+        out.writeInt(selection.sequenceOrder());
+        writeNumber(out, selection.descriptionHash());
+        writeCiphertext(out, selection.ciphertext());
+        writeNumber(out, selection.cryptoHash());
+        out.writeBoolean(selection.isPlaceholderSelection());
+        writeNumber(out, selection.nonce());
+        DisjunctiveChaumPedersenProof proof = selection.proof();
+        writeNumber(out, proof.proofZeroPad());
+        writeNumber(out, proof.proofZeroData());
+        writeNumber(out, proof.proofOnePad());
+        writeNumber(out, proof.proofOneData());
+        writeNumber(out, proof.proofZeroChallenge());
+        writeNumber(out, proof.proofOneChallenge());
+        writeNumber(out, proof.challenge());
+        writeNumber(out, proof.proofZeroResponse());
+        writeNumber(out, proof.proofOneResponse());
+    }
+
+    private static CiphertextBallotSelection readSelection(DataInputStream in) throws IOException {
+        String objectId = in.readUTF();
+        int sequenceOrder = in.readInt();
+        BigInteger descriptionHash = readNumber(in);
+        ElGamalCiphertext ciphertext = readCiphertext(in);
+        BigInteger cryptoHash = readNumber(in);
+        boolean placeholder = in.readBoolean();
+        BigInteger nonce = readNumber(in);
+        DisjunctiveChaumPedersenProof proof = new DisjunctiveChaumPedersenProof(readNumber(in), readNumber(in),
+                readNumber(in), readNumber(in), readNumber(in), readNumber(in), readNumber(in), readNumber(in),
+                readNumber(in));
+        return new CiphertextBallotSelection(objectId, sequenceOrder, descriptionHash, ciphertext, cryptoHash,
+                placeholder, nonce, proof);
+    }
+
+    private static void writeCiphertext(DataOutputStream out, ElGamalCiphertext ciphertext) throws IOException {
+        writeNumber(out, ciphertext.pad());
+        writeNumber(out, ciphertext.data());
+    }
+
+    private static ElGamalCiphertext readCiphertext(DataInputStream in) throws IOException {
+        return new ElGamalCiphertext(readNumber(in), readNumber(in));
+    }
+
+    /** Unsigned magnitude behind a two-byte length, -1 for null. */
+    private static void writeNumber(DataOutputStream out, BigInteger value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] magnitude = value.toByteArray();
+        int offset = magnitude.length > 1 && magnitude[0] == 0 ? 1 : 0;
+        out.writeShort(magnitude.length - offset);
+        out.write(magnitude, offset, magnitude.length - offset);
+    }
+
+    private static BigInteger readNumber(DataInputStream in) throws IOException {
+        int length = in.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] magnitude = new byte[length];
+        in.readFully(magnitude);
+        return new BigInteger(1, magnitude);
+    }
+}
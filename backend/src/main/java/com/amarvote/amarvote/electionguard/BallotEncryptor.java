@@ -0,0 +1,113 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encrypts a single-choice AmarVote ballot the same way the ElectionGuard service does
+ * ({@code EncryptionMediator.encrypt} with device 1/1/1/"polling-place"): the same nonce
+ * derivations, proofs, hashes and ballot code, so that for a given master nonce and timestamp the
+ * result is identical to the Python ballot.
+ */
+public final class BallotEncryptor {
+
+    /** {@code EncryptionDevice(1, 1, 1, "polling-place").get_hash()}, the ballot code seed. */
+    public static final BigInteger DEVICE_HASH = CryptoHash.hashElems(1, 1, 1, "polling-place");
+
+    private static final String EXTENDED_DATA_HEADER = "constant-extended-data";
+    private static final int CONTEST_DATA_SIZE = 512;
+    /** {@code ContestData(None, None, None)} serialized by {@code to_raw}. */
+    private static final byte[] EMPTY_CONTEST_DATA =
+            "{\"error\": null, \"error_data\": null, \"write_ins\": null}".getBytes(StandardCharsets.UTF_8);
+
+    private BallotEncryptor() {
+    }
+
+    public static CiphertextBallot encrypt(ElectionManifest manifest, ElectionContext context,
+            String ballotId, String candidateName) {
+        return encrypt(manifest, context, ballotId, candidateName, Group.randQ(), Instant.now().getEpochSecond());
+    }
+
+    public static CiphertextBallot encrypt(ElectionManifest manifest, ElectionContext context,
+            String ballotId, String candidateName, BigInteger masterNonce, long timestamp) {
+        SelectionDescription chosen = manifest.findSelection(candidateName);
+        BigInteger nonceSeed = CiphertextBallot.nonceSeed(manifest.getManifestHash(), ballotId, masterNonce);
+        CiphertextBallotContest contest = encryptContest(manifest.getContest(), chosen, context, nonceSeed);
+
+        List<CiphertextBallotContest> contests = List.of(contest);
+        BigInteger cryptoHash = CiphertextBallot.cryptoHashWith(ballotId, manifest.getManifestHash(), contests);
+        return new CiphertextBallot(ballotId, ElectionManifest.BALLOT_STYLE_ID, manifest.getManifestHash(),
+                DEVICE_HASH, contests, CiphertextBallot.ballotCode(DEVICE_HASH, timestamp, cryptoHash),
+                timestamp, cryptoHash, masterNonce);
+    }
+
+    private static CiphertextBallotContest encryptContest(ContestDescription description,
+            SelectionDescription chosen, ElectionContext context, BigInteger nonceSeed) {
+        BigInteger descriptionHash = description.cryptoHash();
+        Nonces nonces = new Nonces(descriptionHash, nonceSeed);
+        BigInteger contestNonce = nonces.get(description.sequenceOrder());
+        BigInteger proofSeed = nonces.get(0);
+
+        List<CiphertextBallotSelection> selections = new ArrayList<>();
+        int selectionCount = 0;
+        for (SelectionDescription selection : description.ballotSelections()) {
+            int vote = selection.equals(chosen) ? 1 : 0;
+            selectionCount += vote;
+            selections.add(encryptSelection(selection, vote, false, context, contestNonce));
+        }
+        for (SelectionDescription placeholder : description.placeholderSelections()) {
+            int vote = 0;
+            if (selectionCount < description.numberElected()) {
+                vote = 1;
+                selectionCount++;
+            }
+            selections.add(encryptSelection(placeholder, vote, true, context, contestNonce));
+        }
+
+        HashedElGamalCiphertext extendedData = HashedElGamalCiphertext.encrypt(
+                padContestData(EMPTY_CONTEST_DATA),
+                new Nonces(contestNonce, EXTENDED_DATA_HEADER).get(0),
+                context.elgamalPublicKey(),
+                context.cryptoExtendedBaseHash());
+
+        BigInteger aggregateNonce = Group.addQ(selections.stream()
+                .map(CiphertextBallotSelection::nonce).toArray(BigInteger[]::new));
+        ElGamalCiphertext accumulation = CiphertextBallotContest.accumulate(selections);
+        ConstantChaumPedersenProof proof = ConstantChaumPedersenProof.make(accumulation,
+                description.numberElected(), aggregateNonce, context.elgamalPublicKey(), proofSeed,
+                context.cryptoExtendedBaseHash());
+
+        return new CiphertextBallotContest(description.objectId(), description.sequenceOrder(), descriptionHash,
+                List.copyOf(selections), accumulation,
+                CiphertextBallotContest.cryptoHashWith(description.objectId(), selections, descriptionHash),
+                contestNonce, proof, extendedData);
+    }
+
+    private static CiphertextBallotSelection encryptSelection(SelectionDescription description, int vote,
+            boolean isPlaceholder, ElectionContext context, BigInteger contestNonce) {
+        BigInteger descriptionHash = description.cryptoHash();
+        Nonces nonces = new Nonces(descriptionHash, contestNonce);
+        BigInteger selectionNonce = nonces.get(description.sequenceOrder());
+        BigInteger proofSeed = nonces.get(0);
+
+        ElGamalCiphertext ciphertext = ElGamalCiphertext.encrypt(vote, selectionNonce, context.elgamalPublicKey());
+        DisjunctiveChaumPedersenProof proof = DisjunctiveChaumPedersenProof.make(ciphertext, selectionNonce,
+                context.elgamalPublicKey(), context.cryptoExtendedBaseHash(), proofSeed, vote);
+        return new CiphertextBallotSelection(description.objectId(), description.sequenceOrder(), descriptionHash,
+                ciphertext, CiphertextBallotSelection.cryptoHashWith(description.objectId(), descriptionHash, ciphertext),
+                isPlaceholder, selectionNonce, proof);
+    }
+
+    /** {@code add_padding}: 2-byte big endian padding length, the message, then zero bytes. */
+    private static byte[] padContestData(byte[] message) {
+        int paddingLength = CONTEST_DATA_SIZE - 2 - message.length;
+        return ByteBuffer.allocate(CONTEST_DATA_SIZE)
+                .putShort((short) paddingLength)
+                .put(message)
+                .array();
+    }
+}
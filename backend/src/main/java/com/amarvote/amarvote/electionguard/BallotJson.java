@@ -0,0 +1,308 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads and writes {@link CiphertextBallot}s in the exact form the ElectionGuard service stores in
+ * {@code encrypted_ballot}: {@code json.dumps(to_raw(ballot))} with Python's default separators,
+ * ASCII-only escaping and the dataclass field order. Ballots written here are byte-identical to the
+ * Python output for the same nonces, so either side can parse and verify the other's ballots.
+ */
+public final class BallotJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BallotJson() {
+    }
+
+    public static String toJson(CiphertextBallot ballot) {
+        Writer out = new Writer();
+        out.begin();
+        out.field("object_id").string(ballot.objectId());
+        out.field("style_id").string(ballot.styleId());
+        out.field("manifest_hash").hex(ballot.manifestHash());
+        out.field("code_seed").hex(ballot.codeSeed());
+        out.field("contests").beginList();
+        for (CiphertextBallotContest contest : ballot.contests()) {
+            out.item();
+            writeContest(out, contest);
+        }
+        out.endList();
+        out.field("code").hex(ballot.code());
+        out.field("timestamp").number(ballot.timestamp());
+        out.field("crypto_hash").hex(ballot.cryptoHash());
+        out.field("nonce").hex(ballot.nonce());
+        out.end();
+        return out.toString();
+    }
+
+    private static void writeContest(Writer out, CiphertextBallotContest contest) {
+        out.begin();
+        out.field("object_id").string(contest.objectId());
+        out.field("sequence_order").number(contest.sequenceOrder());
+        out.field("description_hash").hex(contest.descriptionHash());
+        out.field("ballot_selections").beginList();
+        for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+            out.item();
+            writeSelection(out, selection);
+        }
+        out.endList();
+        out.field("ciphertext_accumulation");
+        writeCiphertext(out, contest.ciphertextAccumulation());
+        out.field("crypto_hash").hex(contest.cryptoHash());
+        out.field("nonce").hex(contest.nonce());
+
+        ConstantChaumPedersenProof proof = contest.proof();
+        out.field("proof").begin();
+        out.field("pad").hex(proof.pad());
+        out.field("data").hex(proof.data());
+        out.field("challenge").hex(proof.challenge());
+        out.field("response").hex(proof.response());
+        out.field("constant").number(proof.constant());
+        out.field("usage").string(ConstantChaumPedersenProof.USAGE);
+        out.end();
+
+        HashedElGamalCiphertext extendedData = contest.extendedData();
+        out.field("extended_data");
+        if (extendedData == null) {
+            out.raw("null");
+        } else {
+            out.begin();
+            out.field("pad").hex(extendedData.pad());
+            out.field("data").string(extendedData.data());
+            out.field("mac").string(extendedData.mac());
+            out.end();
+        }
+        out.end();
+    }
+
+    private static void writeSelection(Writer out, CiphertextBallotSelection selection) {
+        out.begin();
+        out.field("object_id").string(selection.objectId());
+        out.field("sequence_order").number(selection.sequenceOrder());
+        out.field("description_hash").hex(selection.descriptionHash());
+        out.field("ciphertext");
+        writeCiphertext(out, selection.ciphertext());
+        out.field("crypto_hash").hex(selection.cryptoHash());
+        out.field("is_placeholder_selection").raw(selection.isPlaceholderSelection() ? "true" : "false");
+        out.field("nonce").hex(selection.nonce());
+
+        DisjunctiveChaumPedersenProof proof = selection.proof();
+        out.field("proof").begin();
+        out.field("proof_zero_pad").hex(proof.proofZeroPad());
+        out.field("proof_zero_data").hex(proof.proofZeroData());
+        out.field("proof_one_pad").hex(proof.proofOnePad());
+        out.field("proof_one_data").hex(proof.proofOneData());
+        out.field("proof_zero_challenge").hex(proof.proofZeroChallenge());
+        out.field("proof_one_challenge").hex(proof.proofOneChallenge());
+        out.field("challenge").hex(proof.challenge());
+        out.field("proof_zero_response").hex(proof.proofZeroResponse());
+        out.field("proof_one_response").hex(proof.proofOneResponse());
+        out.field("usage").string(DisjunctiveChaumPedersenProof.USAGE);
+        out.end();
+        out.end();
+    }
+
+    private static void writeCiphertext(Writer out, ElGamalCiphertext ciphertext) {
+        out.begin();
+        out.field("pad").hex(ciphertext.pad());
+        out.field("data").hex(ciphertext.data());
+        out.end();
+    }
+
+    public static CiphertextBallot fromJson(String json) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Encrypted ballot is not valid JSON", e);
+        }
+        List<CiphertextBallotContest> contests = new ArrayList<>();
+        for (JsonNode contest : required(node, "contests")) {
+            contests.add(readContest(contest));
+        }
+        return new CiphertextBallot(
+                text(node, "object_id"),
+                text(node, "style_id"),
+                requiredHex(node, "manifest_hash"),
+                requiredHex(node, "code_seed"),
+                contests,
+                requiredHex(node, "code"),
+                required(node, "timestamp").asLong(),
+                requiredHex(node, "crypto_hash"),
+                hex(node, "nonce"));
+    }
+
+    private static CiphertextBallotContest readContest(JsonNode node) {
+        List<CiphertextBallotSelection> selections = new ArrayList<>();
+        for (JsonNode selection : required(node, "ballot_selections")) {
+            selections.add(readSelection(selection));
+        }
+        JsonNode proof = node.get("proof");
+        JsonNode extendedData = node.get("extended_data");
+        return new CiphertextBallotContest(
+                text(node, "object_id"),
+                required(node, "sequence_order").asInt(),
+                requiredHex(node, "description_hash"),
+                selections,
+                readCiphertext(required(node, "ciphertext_accumulation")),
+                requiredHex(node, "crypto_hash"),
+                hex(node, "nonce"),
+                proof == null || proof.isNull() ? null : new ConstantChaumPedersenProof(
+                        requiredHex(proof, "pad"),
+                        requiredHex(proof, "data"),
+                        requiredHex(proof, "challenge"),
+                        requiredHex(proof, "response"),
+                        required(proof, "constant").asInt()),
+                extendedData == null || extendedData.isNull() ? null : new HashedElGamalCiphertext(
+                        requiredHex(extendedData, "pad"),
+                        text(extendedData, "data"),
+                        text(extendedData, "mac")));
+    }
+
+    private static CiphertextBallotSelection readSelection(JsonNode node) {
+        JsonNode proof = node.get("proof");
+        return new CiphertextBallotSelection(
+                text(node, "object_id"),
+                required(node, "sequence_order").asInt(),
+                requiredHex(node, "description_hash"),
+                readCiphertext(required(node, "ciphertext")),
+                requiredHex(node, "crypto_hash"),
+                required(node, "is_placeholder_selection").asBoolean(),
+                hex(node, "nonce"),
+                proof == null || proof.isNull() ? null : new DisjunctiveChaumPedersenProof(
+                        requiredHex(proof, "proof_zero_pad"),
+                        requiredHex(proof, "proof_zero_data"),
+                        requiredHex(proof, "proof_one_pad"),
+                        requiredHex(proof, "proof_one_data"),
+                        requiredHex(proof, "proof_zero_challenge"),
+                        requiredHex(proof, "proof_one_challenge"),
+                        requiredHex(proof, "challenge"),
+                        requiredHex(proof, "proof_zero_response"),
+                        requiredHex(proof, "proof_one_response")));
+    }
+
+    private static ElGamalCiphertext readCiphertext(JsonNode node) {
+        return new ElGamalCiphertext(requiredHex(node, "pad"), requiredHex(node, "data"));
+    }
+
+    private static JsonNode required(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Encrypted ballot is missing " + field);
+        }
+        return value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        return required(node, field).asText();
+    }
+
+    private static BigInteger requiredHex(JsonNode node, String field) {
+        return Group.fromHex(text(node, field));
+    }
+
+    /** Optional elements, i.e. the nonces that are null once a ballot is published. */
+    private static BigInteger hex(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : Group.fromHex(value.asText());
+    }
+
+    /** Minimal writer reproducing {@code json.dumps} defaults: ", " and ": " separators, ensure_ascii. */
+    private static final class Writer {
+
+        private final StringBuilder json = new StringBuilder(32 * 1024);
+        private boolean first;
+
+        Writer begin() {
+            json.append('{');
+            first = true;
+            return this;
+        }
+
+        Writer end() {
+            json.append('}');
+            first = false;
+            return this;
+        }
+
+        Writer beginList() {
+            json.append('[');
+            first = true;
+            return this;
+        }
+
+        Writer endList() {
+            json.append(']');
+            first = false;
+            return this;
+        }
+
+        Writer item() {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            return this;
+        }
+
+        Writer field(String name) {
+            item();
+            string(name);
+            json.append(": ");
+            return this;
+        }
+
+        Writer raw(String value) {
+            json.append(value);
+            first = false;
+            return this;
+        }
+
+        Writer number(long value) {
+            return raw(Long.toString(value));
+        }
+
+        /** Hex digits never need escaping, so they skip the per-character loop in {@link #string}. */
+        Writer hex(BigInteger value) {
+            return value == null ? raw("null") : raw('"' + Group.toHex(value) + '"');
+        }
+
+        Writer string(String value) {
+            json.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> json.append("\\\"");
+                    case '\\' -> json.append("\\\\");
+                    case '\n' -> json.append("\\n");
+                    case '\r' -> json.append("\\r");
+                    case '\t' -> json.append("\\t");
+                    case '\b' -> json.append("\\b");
+                    case '\f' -> json.append("\\f");
+                    default -> {
+                        if (c < 0x20 || c > 0x7e) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                    }
+                }
+            }
+            json.append('"');
+            first = false;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return json.toString();
+        }
+    }
+}
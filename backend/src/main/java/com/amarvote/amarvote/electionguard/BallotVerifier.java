@@ -0,0 +1,120 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Checks a client-submitted {@link CiphertextBallot} against the election it is cast in. The
+ * checks of {@link CiphertextBallot#isValidEncryption} are split in two: {@link #structuralError}
+ * covers everything that is only hashing and comparison, {@link #proofChecks} returns the
+ * Chaum-Pedersen proofs as independent checks so a caller can run them in parallel.
+ */
+public final class BallotVerifier {
+
+    /** One proof of a ballot, identified by the selection or contest it belongs to. */
+    public record ProofCheck(String objectId, BooleanSupplier check) {
+    }
+
+    private BallotVerifier() {
+    }
+
+    /**
+     * The first reason the ballot cannot belong to this election, or empty if its shape, hashes,
+     * ballot code and contest accumulation are all consistent. Proofs are not checked here.
+     */
+    public static Optional<String> structuralError(CiphertextBallot ballot, ElectionManifest manifest,
+            ElectionContext context) {
+        if (!manifest.getManifestHash().equals(ballot.manifestHash())
+                || !context.manifestHash().equals(ballot.manifestHash())) {
+            return Optional.of("Ballot was encrypted for a different election manifest");
+        }
+        if (!ElectionManifest.BALLOT_STYLE_ID.equals(ballot.styleId())) {
+            return Optional.of("Unknown ballot style " + ballot.styleId());
+        }
+        if (ballot.nonce() != null) {
+            return Optional.of("Ballot still carries its master nonce");
+        }
+        if (ballot.contests().size() != 1) {
+            return Optional.of("Ballot must contain exactly one contest");
+        }
+        if (!ballot.cryptoHash().equals(
+                CiphertextBallot.cryptoHashWith(ballot.objectId(), ballot.manifestHash(), ballot.contests()))) {
+            return Optional.of("Ballot hash does not match its contests");
+        }
+        if (!ballot.code().equals(CiphertextBallot.ballotCode(ballot.codeSeed(), ballot.timestamp(), ballot.cryptoHash()))) {
+            return Optional.of("Ballot code does not match the ballot hash");
+        }
+        return contestError(ballot.contests().get(0), manifest.getContest());
+    }
+
+    private static Optional<String> contestError(CiphertextBallotContest contest, ContestDescription description) {
+        if (!description.objectId().equals(contest.objectId())
+                || description.sequenceOrder() != contest.sequenceOrder()
+                || !description.cryptoHash().equals(contest.descriptionHash())) {
+            return Optional.of("Contest " + contest.objectId() + " is not part of the manifest");
+        }
+        if (contest.nonce() != null) {
+            return Optional.of("Contest " + contest.objectId() + " still carries its nonce");
+        }
+        if (contest.proof() == null || contest.proof().constant() != description.numberElected()) {
+            return Optional.of("Contest " + contest.objectId() + " does not prove the selection limit");
+        }
+
+        Map<String, SelectionDescription> expected = new HashMap<>();
+        description.ballotSelections().forEach(selection -> expected.put(selection.objectId(), selection));
+        description.placeholderSelections().forEach(selection -> expected.put(selection.objectId(), selection));
+        if (contest.ballotSelections().size() != expected.size()) {
+            return Optional.of("Contest " + contest.objectId() + " has " + contest.ballotSelections().size()
+                    + " selections, expected " + expected.size());
+        }
+        for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+            // remove() also rejects a selection that appears twice
+            SelectionDescription selectionDescription = expected.remove(selection.objectId());
+            if (selectionDescription == null
+                    || selectionDescription.sequenceOrder() != selection.sequenceOrder()
+                    || !selectionDescription.cryptoHash().equals(selection.descriptionHash())) {
+                return Optional.of("Selection " + selection.objectId() + " is not part of the manifest");
+            }
+            if (selection.nonce() != null) {
+                return Optional.of("Selection " + selection.objectId() + " still carries its nonce");
+            }
+            if (selection.proof() == null || !selection.cryptoHash().equals(CiphertextBallotSelection.cryptoHashWith(
+                    selection.objectId(), selection.descriptionHash(), selection.ciphertext()))) {
+                return Optional.of("Selection " + selection.objectId() + " hash does not match its ciphertext");
+            }
+        }
+
+        if (!contest.cryptoHash().equals(CiphertextBallotContest.cryptoHashWith(
+                contest.objectId(), contest.ballotSelections(), contest.descriptionHash()))) {
+            return Optional.of("Contest " + contest.objectId() + " hash does not match its selections");
+        }
+        if (!CiphertextBallotContest.accumulate(contest.ballotSelections()).equals(contest.ciphertextAccumulation())) {
+            return Optional.of("Contest " + contest.objectId() + " accumulation is not the sum of its selections");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * One check per selection range proof and one per contest limit proof. Only meaningful once
+     * {@link #structuralError} has passed, which guarantees the proofs are present.
+     */
+    public static List<ProofCheck> proofChecks(CiphertextBallot ballot, ElectionContext context) {
+        BigInteger publicKey = context.elgamalPublicKey();
+        BigInteger extendedBaseHash = context.cryptoExtendedBaseHash();
+        List<ProofCheck> checks = new ArrayList<>();
+        for (CiphertextBallotContest contest : ballot.contests()) {
+            for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+                checks.add(new ProofCheck(selection.objectId(),
+                        () -> selection.proof().isValid(selection.ciphertext(), publicKey, extendedBaseHash)));
+            }
+            checks.add(new ProofCheck(contest.objectId(),
+                    () -> contest.proof().isValid(contest.ciphertextAccumulation(), publicKey, extendedBaseHash)));
+        }
+        return checks;
+    }
+}
@@ -0,0 +1,349 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies the Chaum-Pedersen proofs of many ballots at once with small-exponent batching
+ * (Bellare, Garay and Rabin). Every verification equation of every proof is written as
+ * {@code g^x * K^y = prod b_j^e_j}; raising each equation to an independent random 64-bit
+ * {@code delta} and multiplying them all gives one equation whose fixed bases g and K take a
+ * single exponent each and whose other bases form one {@link MultiExponentiation}. A batch with
+ * any false equation passes with probability at most 2^-64.
+ *
+ * <p>Small-exponent batching is only sound for elements of the order-q subgroup, so membership is
+ * batched as well. Here {@code p - 1 = 2 * q * s} with s prime: the order-2 part of each element is
+ * ruled out exactly by its Jacobi symbol, which is far cheaper than an exponentiation, and the
+ * order-s part by checking {@code (prod x_i^delta_i)^q = 1}.
+ *
+ * <p>A failing batch is bisected until the ballots with a bad proof are isolated, so a handful of
+ * bad ballots among thousands costs a few extra batches rather than one-by-one verification.
+ */
+public final class BatchProofVerifier {
+
+    private static final int DELTA_BITS = 64;
+
+    /** {@code g^gExponent * K^keyExponent = prod bases[j]^exponents[j]} */
+    private record Equation(BigInteger gExponent, BigInteger keyExponent, List<BigInteger> bases,
+            List<BigInteger> exponents) {
+    }
+
+    /** A ballot's proof equations and the group elements they rely on. */
+    private record BallotProofs(int index, List<Equation> equations, List<BigInteger> elements) {
+    }
+
+    private final BigInteger publicKey;
+    private final BigInteger extendedBaseHash;
+    private final SecureRandom random = new SecureRandom();
+
+    public BatchProofVerifier(ElectionContext context) {
+        this(context.elgamalPublicKey(), context.cryptoExtendedBaseHash());
+    }
+
+    public BatchProofVerifier(BigInteger publicKey, BigInteger extendedBaseHash) {
+        if (!Group.isValidResidue(publicKey)) {
+            throw new IllegalArgumentException("Public key is not an element of the order-q subgroup");
+        }
+        this.publicKey = publicKey;
+        this.extendedBaseHash = extendedBaseHash;
+    }
+
+    public boolean allValid(List<CiphertextBallot> ballots) {
+        return findInvalid(ballots).isEmpty();
+    }
+
+    /**
+     * Indexes, in ascending order, of the ballots with at least one selection or contest proof
+     * that does not verify. Only proofs are checked; see {@link BallotVerifier#structuralError}
+     * for hashes and ballot shape.
+     */
+    public List<Integer> findInvalid(List<CiphertextBallot> ballots) {
+        List<Integer> invalid = new ArrayList<>();
+        List<BallotProofs> candidates = new ArrayList<>();
+        for (int i = 0; i < ballots.size(); i++) {
+            BallotProofs proofs = proofs(i, ballots.get(i));
+            if (proofs == null) {
+                invalid.add(i);
+            } else {
+                candidates.add(proofs);
+            }
+        }
+        if (!candidates.isEmpty() && !holds(candidates)) {
+            bisect(candidates, invalid);
+        }
+        invalid.sort(null);
+        return invalid;
+    }
+
+    /** Precondition: the batch fails. */
+    private void bisect(List<BallotProofs> batch, List<Integer> invalid) {
+        if (batch.size() == 1) {
+            invalid.add(batch.get(0).index());
+            return;
+        }
+        List<BallotProofs> left = batch.subList(0, batch.size() / 2);
+        List<BallotProofs> right = batch.subList(batch.size() / 2, batch.size());
+        if (holds(left)) {
+            // the failure must be on the right, no need to check it again
+            bisect(right, invalid);
+            return;
+        }
+        bisect(left, invalid);
+        if (!holds(right)) {
+            bisect(right, invalid);
+        }
+    }
+
+    private boolean holds(List<BallotProofs> batch) {
+        List<BigInteger> memberBases = new ArrayList<>();
+        List<BigInteger> memberExponents = new ArrayList<>();
+        BigInteger gExponent = BigInteger.ZERO;
+        BigInteger keyExponent = BigInteger.ZERO;
+        // alpha and beta appear in several equations of a proof; one exponent per distinct base
+        Map<BigInteger, BigInteger> exponents = new LinkedHashMap<>();
+        for (BallotProofs proofs : batch) {
+            for (BigInteger element : proofs.elements()) {
+                memberBases.add(element);
+                memberExponents.add(delta());
+            }
+            for (Equation equation : proofs.equations()) {
+                BigInteger delta = delta();
+                gExponent = gExponent.add(delta.multiply(equation.gExponent()));
+                keyExponent = keyExponent.add(delta.multiply(equation.keyExponent()));
+                for (int j = 0; j < equation.bases().size(); j++) {
+                    BigInteger exponent = equation.exponents().get(j);
+                    exponents.merge(equation.bases().get(j),
+                            exponent.equals(BigInteger.ONE) ? delta : delta.multiply(exponent).mod(Group.Q),
+                            (sum, term) -> Group.addQ(sum, term));
+                }
+            }
+        }
+        BigInteger members = MultiExponentiation.product(memberBases, memberExponents);
+        if (!Group.powP(members, Group.Q).equals(BigInteger.ONE)) {
+            return false;
+        }
+        BigInteger left = Group.multP(Group.gPowP(gExponent.mod(Group.Q)),
+                Group.powFixedP(publicKey, keyExponent.mod(Group.Q)));
+        return left.equals(MultiExponentiation.product(new ArrayList<>(exponents.keySet()),
+                new ArrayList<>(exponents.values())));
+    }
+
+    private BigInteger delta() {
+        return new BigInteger(DELTA_BITS, random);
+    }
+
+    /** The ballot's equations, or null if a check that needs no exponentiation already fails. */
+    private BallotProofs proofs(int index, CiphertextBallot ballot) {
+        List<Equation> equations = new ArrayList<>();
+        List<BigInteger> elements = new ArrayList<>();
+        for (CiphertextBallotContest contest : ballot.contests()) {
+            for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+                if (!addSelection(selection.ciphertext(), selection.proof(), equations, elements)) {
+                    return null;
+                }
+            }
+            if (!addContest(contest.ciphertextAccumulation(), contest.proof(), equations, elements)) {
+                return null;
+            }
+        }
+        return new BallotProofs(index, equations, elements);
+    }
+
+    /** The four equations of {@link DisjunctiveChaumPedersenProof#isValid}. */
+    private boolean addSelection(ElGamalCiphertext message, DisjunctiveChaumPedersenProof proof,
+            List<Equation> equations, List<BigInteger> elements) {
+        if (proof == null) {
+            return false;
+        }
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        BigInteger c0 = proof.proofZeroChallenge();
+        BigInteger c1 = proof.proofOneChallenge();
+        BigInteger v0 = proof.proofZeroResponse();
+        BigInteger v1 = proof.proofOneResponse();
+        boolean consistent = areCandidateResidues(alpha, beta, proof.proofZeroPad(), proof.proofZeroData(),
+                        proof.proofOnePad(), proof.proofOneData())
+                && Group.isInBoundsQ(c0) && Group.isInBoundsQ(c1)
+                && Group.isInBoundsQ(v0) && Group.isInBoundsQ(v1)
+                && Group.addQ(c0, c1).equals(proof.challenge())
+                && proof.challenge().equals(CryptoHash.hashElems(extendedBaseHash, alpha, beta,
+                        proof.proofZeroPad(), proof.proofZeroData(), proof.proofOnePad(), proof.proofOneData()));
+        if (!consistent) {
+            return false;
+        }
+        elements.addAll(List.of(alpha, beta, proof.proofZeroPad(), proof.proofZeroData(),
+                proof.proofOnePad(), proof.proofOneData()));
+        // g^v0 = a0 * alpha^c0, g^v1 = a1 * alpha^c1, K^v0 = b0 * beta^c0, g^c1 * K^v1 = b1 * beta^c1
+        equations.add(new Equation(v0, BigInteger.ZERO, List.of(proof.proofZeroPad(), alpha), List.of(BigInteger.ONE, c0)));
+        equations.add(new Equation(v1, BigInteger.ZERO, List.of(proof.proofOnePad(), alpha), List.of(BigInteger.ONE, c1)));
+        equations.add(new Equation(BigInteger.ZERO, v0, List.of(proof.proofZeroData(), beta), List.of(BigInteger.ONE, c0)));
+        equations.add(new Equation(c1, v1, List.of(proof.proofOneData(), beta), List.of(BigInteger.ONE, c1)));
+        return true;
+    }
+
+    /** The two equations of {@link ConstantChaumPedersenProof#isValid}. */
+    private boolean addContest(ElGamalCiphertext message, ConstantChaumPedersenProof proof,
+            List<Equation> equations, List<BigInteger> elements) {
+        if (proof == null) {
+            return false;
+        }
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        BigInteger c = proof.challenge();
+        BigInteger v = proof.response();
+        boolean consistent = areCandidateResidues(alpha, beta, proof.pad(), proof.data())
+                && Group.isInBoundsQ(c) && Group.isInBoundsQ(v)
+                && proof.constant() >= 0
+                && c.equals(CryptoHash.hashElems(extendedBaseHash, alpha, beta, proof.pad(), proof.data()));
+        if (!consistent) {
+            return false;
+        }
+        elements.addAll(List.of(alpha, beta, proof.pad(), proof.data()));
+        // g^v = a * alpha^c, g^(c * L) * K^v = b * beta^c
+        equations.add(new Equation(v, BigInteger.ZERO, List.of(proof.pad(), alpha), List.of(BigInteger.ONE, c)));
+        equations.add(new Equation(c.multiply(BigInteger.valueOf(proof.constant())), v,
+                List.of(proof.data(), beta), List.of(BigInteger.ONE, c)));
+        return true;
+    }
+
+    /** In [1, p) with Jacobi symbol 1, i.e. without an order-2 component. */
+    private static boolean areCandidateResidues(BigInteger... elements) {
+        for (BigInteger element : elements) {
+            if (element == null || element.signum() <= 0 || !Group.isInBoundsP(element)
+                    || jacobi(element, Group.P) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The Jacobi symbol (a / n) for odd n > 0 with the binary algorithm on 64-bit limbs: subtract
+     * the smaller odd operand from the larger, shift out the factors of two in the same pass, and
+     * swap by quadratic reciprocity. No allocation beyond two arrays, and the working length
+     * shrinks with the operands.
+     */
+    static int jacobi(BigInteger a, BigInteger n) {
+        int size = Math.max(1, (n.bitLength() + Long.SIZE - 1) / Long.SIZE);
+        long[] x = toLimbs(a.mod(n), size);
+        long[] y = toLimbs(n, size);
+        int xLength = length(x, size);
+        int yLength = length(y, size);
+        if (xLength == 0) {
+            return yLength == 1 && y[0] == 1 ? 1 : 0;
+        }
+        int result = twoFactorSign(shiftOutTwos(x, xLength), y);
+        xLength = length(x, xLength);
+        while (true) {
+            int order = compare(x, xLength, y, yLength);
+            if (order == 0) {
+                break;
+            }
+            if (order < 0) {
+                long[] swap = x;
+                x = y;
+                y = swap;
+                int swapLength = xLength;
+                xLength = yLength;
+                yLength = swapLength;
+                if ((x[0] & 3) == 3 && (y[0] & 3) == 3) {
+                    result = -result;
+                }
+            }
+            result *= twoFactorSign(subtractAndShift(x, xLength, y, yLength), y);
+            xLength = length(x, xLength);
+        }
+        // x == y is the gcd of a and n
+        return yLength == 1 && y[0] == 1 ? result : 0;
+    }
+
+    /** (2 / y)^twos */
+    private static int twoFactorSign(int twos, long[] y) {
+        int yMod8 = (int) (y[0] & 7);
+        return (twos & 1) == 1 && (yMod8 == 3 || yMod8 == 5) ? -1 : 1;
+    }
+
+    /** x = (x - y) / 2^t for odd x > y, returning t. */
+    private static int subtractAndShift(long[] x, int xLength, long[] y, int yLength) {
+        long previous = x[0] - y[0];
+        if (previous == 0) {
+            subtract(x, xLength, y, yLength);
+            return shiftOutTwos(x, xLength);
+        }
+        long borrow = Long.compareUnsigned(x[0], y[0]) < 0 ? 1 : 0;
+        int bits = Long.numberOfTrailingZeros(previous);
+        for (int i = 1; i < xLength; i++) {
+            long yi = i < yLength ? y[i] : 0;
+            long difference = x[i] - yi - borrow;
+            borrow = Long.compareUnsigned(x[i], yi) < 0 || (borrow == 1 && x[i] == yi) ? 1 : 0;
+            x[i - 1] = (previous >>> bits) | (difference << (Long.SIZE - bits));
+            previous = difference;
+        }
+        x[xLength - 1] = previous >>> bits;
+        return bits;
+    }
+
+    private static long[] toLimbs(BigInteger value, int size) {
+        long[] limbs = new long[size];
+        for (int i = 0; i < size; i++) {
+            limbs[i] = value.shiftRight(i * Long.SIZE).longValue();
+        }
+        return limbs;
+    }
+
+    private static int length(long[] limbs, int from) {
+        int length = from;
+        while (length > 0 && limbs[length - 1] == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    /** Shifts x right by its trailing zero bits and returns how many there were; x is non-zero. */
+    private static int shiftOutTwos(long[] x, int length) {
+        int zeroLimbs = 0;
+        while (x[zeroLimbs] == 0) {
+            zeroLimbs++;
+        }
+        int bits = Long.numberOfTrailingZeros(x[zeroLimbs]);
+        int newLength = length - zeroLimbs;
+        if (bits == 0) {
+            System.arraycopy(x, zeroLimbs, x, 0, newLength);
+        } else {
+            for (int i = 0; i < newLength; i++) {
+                long high = i + zeroLimbs + 1 < length ? x[i + zeroLimbs + 1] : 0;
+                x[i] = (x[i + zeroLimbs] >>> bits) | (high << (Long.SIZE - bits));
+            }
+        }
+        Arrays.fill(x, newLength, length, 0L);
+        return zeroLimbs * Long.SIZE + bits;
+    }
+
+    private static int compare(long[] x, int xLength, long[] y, int yLength) {
+        if (xLength != yLength) {
+            return Integer.compare(xLength, yLength);
+        }
+        for (int i = xLength - 1; i >= 0; i--) {
+            if (x[i] != y[i]) {
+                return Long.compareUnsigned(x[i], y[i]);
+            }
+        }
+        return 0;
+    }
+
+    /** x -= y for x >= y. */
+    private static void subtract(long[] x, int xLength, long[] y, int yLength) {
+        long borrow = 0;
+        for (int i = 0; i < xLength; i++) {
+            long yi = i < yLength ? y[i] : 0;
+            long difference = x[i] - yi - borrow;
+            borrow = (Long.compareUnsigned(x[i], yi) < 0 || (borrow == 1 && x[i] == yi)) ? 1 : 0;
+            x[i] = difference;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * Benaloh challenge of a spoiled ballot: from the revealed master nonce, re-derives every
+ * selection nonce the way {@link BallotEncryptor} does and re-encrypts the plaintext the voter
+ * claims. A selection encrypting {@code v} with nonce r is {@code (g^r, g^v K^r)}, so one
+ * {@code K^r} per selection, from the joint key's cached fixed-base table, tells whether the
+ * device encrypted a 0, a 1, or something the nonce does not explain.
+ *
+ * <p>Unlike the service's {@code decrypt_known_nonce}, the nonces are not taken from the ballot,
+ * the pads are checked too, and the ballot must pass {@link BallotVerifier#structuralError}, so its
+ * ciphertexts are the ones behind the {@code crypto_hash} the voter was shown.
+ */
+public final class BenalohVerifier {
+
+    /**
+     * {@code verifiedCandidate} is the candidate the ballot encrypts, empty if it encrypts none or
+     * is inconsistent with its nonce; {@code match} holds only if every selection, placeholders
+     * included, re-encrypts to the claimed plaintext.
+     */
+    public record Result(String ballotId, Optional<String> verifiedCandidate, boolean match) {
+    }
+
+    private static final int INCONSISTENT = -1;
+
+    private BenalohVerifier() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the ballot carries no master nonce
+     */
+    public static Result verify(CiphertextBallot ballot, ElectionManifest manifest, ElectionContext context,
+            String candidateName) {
+        if (ballot.nonce() == null) {
+            throw new IllegalArgumentException("Ballot " + ballot.objectId() + " does not reveal its nonce");
+        }
+        SelectionDescription claimed = manifest.findSelection(candidateName);
+        if (BallotVerifier.structuralError(ballot.withoutNonces(), manifest, context).isPresent()) {
+            return new Result(ballot.objectId(), Optional.empty(), false);
+        }
+        ContestDescription description = manifest.getContest();
+        CiphertextBallotContest contest = ballot.contests().get(0);
+
+        BigInteger nonceSeed = CiphertextBallot.nonceSeed(manifest.getManifestHash(), ballot.objectId(), ballot.nonce());
+        BigInteger contestNonce = new Nonces(description.cryptoHash(), nonceSeed).get(description.sequenceOrder());
+
+        boolean match = true;
+        String verified = null;
+        boolean consistent = true;
+        for (SelectionDescription selection : description.ballotSelections()) {
+            int vote = vote(contest, selection, contestNonce, context.elgamalPublicKey());
+            consistent &= vote != INCONSISTENT;
+            match &= vote == (selection.equals(claimed) ? 1 : 0);
+            if (vote == 1 && verified == null) {
+                verified = selection.candidateId();
+            }
+        }
+        for (SelectionDescription placeholder : description.placeholderSelections()) {
+            // a single-choice contest with its candidate chosen leaves every placeholder at 0
+            int vote = vote(contest, placeholder, contestNonce, context.elgamalPublicKey());
+            consistent &= vote != INCONSISTENT;
+            match &= vote == 0;
+        }
+        return new Result(ballot.objectId(), consistent ? Optional.ofNullable(verified) : Optional.empty(),
+                consistent && match);
+    }
+
+    /** 0 or 1 as encrypted under the derived nonce, or {@link #INCONSISTENT}. */
+    private static int vote(CiphertextBallotContest contest, SelectionDescription description,
+            BigInteger contestNonce, BigInteger publicKey) {
+        CiphertextBallotSelection selection = contest.ballotSelections().stream()
+                .filter(candidate -> candidate.objectId().equals(description.objectId()))
+                .findFirst()
+                .orElseThrow();
+        BigInteger nonce = new Nonces(description.cryptoHash(), contestNonce).get(description.sequenceOrder());
+        ElGamalCiphertext ciphertext = selection.ciphertext();
+        if (!ciphertext.pad().equals(Group.gPowP(nonce))) {
+            return INCONSISTENT;
+        }
+        BigInteger blinding = Group.powFixedP(publicKey, nonce);
+        if (ciphertext.data().equals(blinding)) {
+            return 0;
+        }
+        return ciphertext.data().equals(Group.multP(Group.G, blinding)) ? 1 : INCONSISTENT;
+    }
+}
@@ -0,0 +1,45 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * Proof that a decryption share {@code m = A^s} was computed with the secret behind
+ * {@code k = g^s}. Mirrors {@code make_chaum_pedersen} and {@code ChaumPedersenProof.is_valid}.
+ */
+public record ChaumPedersenProof(
+        BigInteger pad,
+        BigInteger data,
+        BigInteger challenge,
+        BigInteger response) {
+
+    private static final String NONCE_HEADER = "constant-chaum-pedersen-proof";
+
+    public static ChaumPedersenProof make(ElGamalCiphertext message, BigInteger s, BigInteger m, BigInteger seed,
+            BigInteger extendedBaseHash) {
+        BigInteger u = new Nonces(seed, NONCE_HEADER).get(0);
+        BigInteger a = Group.gPowP(u);
+        BigInteger b = Group.powP(message.pad(), u);
+        BigInteger c = CryptoHash.hashElems(extendedBaseHash, message.pad(), message.data(), a, b, m);
+        return new ChaumPedersenProof(a, b, c, Group.aPlusBcQ(u, c, s));
+    }
+
+    public boolean isValid(ElGamalCiphertext message, BigInteger k, BigInteger m, BigInteger extendedBaseHash) {
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        boolean inBounds = Group.isValidResidue(alpha)
+                && Group.isValidResidue(beta)
+                && Group.isValidResidue(k)
+                && Group.isValidResidue(m)
+                && Group.isValidResidue(pad)
+                && Group.isValidResidue(data)
+                && Group.isInBoundsQ(challenge)
+                && Group.isInBoundsQ(response)
+                && Group.isInBoundsQ(extendedBaseHash);
+        if (!inBounds) {
+            return false;
+        }
+        return challenge.equals(CryptoHash.hashElems(extendedBaseHash, alpha, beta, pad, data, m))
+                && Group.gPowP(response).equals(Group.multP(pad, Group.powFixedP(k, challenge)))
+                && Group.powP(alpha, response).equals(Group.multP(data, Group.powP(m, challenge)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An encrypted ballot in the shape of the Python {@code CiphertextBallot}, see {@link BallotJson}
+ * for its wire form.
+ */
+public record CiphertextBallot(
+        String objectId,
+        String styleId,
+        BigInteger manifestHash,
+        BigInteger codeSeed,
+        List<CiphertextBallotContest> contests,
+        BigInteger code,
+        long timestamp,
+        BigInteger cryptoHash,
+        BigInteger nonce) {
+
+    public static BigInteger nonceSeed(BigInteger manifestHash, String ballotId, BigInteger masterNonce) {
+        return CryptoHash.hashElems(manifestHash, ballotId, masterNonce);
+    }
+
+    public static BigInteger cryptoHashWith(String ballotId, BigInteger manifestHash,
+            List<CiphertextBallotContest> contests) {
+        List<Object> elements = new ArrayList<>();
+        elements.add(ballotId);
+        elements.add(manifestHash);
+        contests.stream()
+                .sorted(Comparator.comparingInt(CiphertextBallotContest::sequenceOrder))
+                .forEach(contest -> elements.add(contest.cryptoHash()));
+        return CryptoHash.hashElems(elements.toArray());
+    }
+
+    public static BigInteger ballotCode(BigInteger codeSeed, long timestamp, BigInteger cryptoHash) {
+        return CryptoHash.hashElems(codeSeed, timestamp, cryptoHash);
+    }
+
+    /**
+     * Same checks as {@code CiphertextBallot.is_valid_encryption}: the ballot hash, every selection
+     * proof and every contest proof, plus the ballot code.
+     */
+    public boolean isValidEncryption(BigInteger seed, BigInteger publicKey, BigInteger extendedBaseHash) {
+        if (!seed.equals(manifestHash) || contests.isEmpty()
+                || !cryptoHash.equals(cryptoHashWith(objectId, seed, contests))
+                || !code.equals(ballotCode(codeSeed, timestamp, cryptoHash))) {
+            return false;
+        }
+        for (CiphertextBallotContest contest : contests) {
+            for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+                if (!selection.isValidEncryption(selection.descriptionHash(), publicKey, extendedBaseHash)) {
+                    return false;
+                }
+            }
+            if (!contest.isValidEncryption(contest.descriptionHash(), publicKey, extendedBaseHash)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The published form of a cast ballot: every nonce removed, proofs kept. */
+    public CiphertextBallot withoutNonces() {
+        return new CiphertextBallot(objectId, styleId, manifestHash, codeSeed,
+                contests.stream().map(CiphertextBallotContest::withoutNonces).toList(),
+                code, timestamp, cryptoHash, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An encrypted contest: its selections, their homomorphic sum and the proof that the sum equals
+ * the number of seats.
+ */
+public record CiphertextBallotContest(
+        String objectId,
+        int sequenceOrder,
+        BigInteger descriptionHash,
+        List<CiphertextBallotSelection> ballotSelections,
+        ElGamalCiphertext ciphertextAccumulation,
+        BigInteger cryptoHash,
+        BigInteger nonce,
+        ConstantChaumPedersenProof proof,
+        HashedElGamalCiphertext extendedData) {
+
+    public static BigInteger cryptoHashWith(String objectId, List<CiphertextBallotSelection> selections,
+            BigInteger seed) {
+        if (selections.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        List<Object> elements = new ArrayList<>();
+        elements.add(objectId);
+        elements.add(seed);
+        selections.stream()
+                .sorted(Comparator.comparingInt(CiphertextBallotSelection::sequenceOrder))
+                .forEach(selection -> elements.add(selection.cryptoHash()));
+        return CryptoHash.hashElems(elements.toArray());
+    }
+
+    public static ElGamalCiphertext accumulate(List<CiphertextBallotSelection> selections) {
+        return ElGamalCiphertext.add(selections.stream().map(CiphertextBallotSelection::ciphertext).toList());
+    }
+
+    /**
+     * Checks the contest hash and the constant proof over the accumulated selections. As in the
+     * Python library the individual selection proofs are not checked here.
+     */
+    public boolean isValidEncryption(BigInteger seed, BigInteger publicKey, BigInteger extendedBaseHash) {
+        if (!seed.equals(descriptionHash)
+                || !cryptoHash.equals(cryptoHashWith(objectId, ballotSelections, seed))
+                || proof == null
+                || ballotSelections.isEmpty()) {
+            return false;
+        }
+        ElGamalCiphertext computed = accumulate(ballotSelections);
+        return computed.equals(ciphertextAccumulation)
+                && proof.isValid(computed, publicKey, extendedBaseHash);
+    }
+
+    public CiphertextBallotContest withoutNonces() {
+        return new CiphertextBallotContest(objectId, sequenceOrder, descriptionHash,
+                ballotSelections.stream().map(CiphertextBallotSelection::withoutNonce).toList(),
+                ciphertextAccumulation, cryptoHash, null, proof, extendedData);
+    }
+}
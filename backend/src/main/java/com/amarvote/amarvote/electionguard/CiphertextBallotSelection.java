@@ -0,0 +1,34 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * An encrypted selection with its zero-or-one proof. {@code nonce} is null once the ballot has
+ * been sanitized for publication.
+ */
+public record CiphertextBallotSelection(
+        String objectId,
+        int sequenceOrder,
+        BigInteger descriptionHash,
+        ElGamalCiphertext ciphertext,
+        BigInteger cryptoHash,
+        boolean isPlaceholderSelection,
+        BigInteger nonce,
+        DisjunctiveChaumPedersenProof proof) {
+
+    public static BigInteger cryptoHashWith(String objectId, BigInteger seed, ElGamalCiphertext ciphertext) {
+        return CryptoHash.hashElems(objectId, seed, ciphertext.cryptoHash());
+    }
+
+    public boolean isValidEncryption(BigInteger seed, BigInteger publicKey, BigInteger extendedBaseHash) {
+        return seed.equals(descriptionHash)
+                && cryptoHash.equals(cryptoHashWith(objectId, seed, ciphertext))
+                && proof != null
+                && proof.isValid(ciphertext, publicKey, extendedBaseHash);
+    }
+
+    public CiphertextBallotSelection withoutNonce() {
+        return new CiphertextBallotSelection(objectId, sequenceOrder, descriptionHash, ciphertext, cryptoHash,
+                isPlaceholderSelection, null, proof);
+    }
+}
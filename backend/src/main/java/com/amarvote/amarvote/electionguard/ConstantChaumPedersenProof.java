@@ -0,0 +1,50 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * Proof that the accumulated contest ciphertext encrypts exactly {@code constant} votes. Mirrors
+ * {@code make_constant_chaum_pedersen} and {@code ConstantChaumPedersenProof.is_valid}.
+ */
+public record ConstantChaumPedersenProof(
+        BigInteger pad,
+        BigInteger data,
+        BigInteger challenge,
+        BigInteger response,
+        int constant) {
+
+    public static final String USAGE = "Prove value within selection's limit";
+
+    private static final String NONCE_HEADER = "constant-chaum-pedersen-proof";
+    private static final int MAX_CONSTANT = 1_000_000_000;
+
+    public static ConstantChaumPedersenProof make(ElGamalCiphertext message, int constant, BigInteger r,
+            BigInteger publicKey, BigInteger seed, BigInteger extendedBaseHash) {
+        BigInteger u = new Nonces(seed, NONCE_HEADER).get(0);
+        BigInteger a = Group.gPowP(u);
+        BigInteger b = Group.powFixedP(publicKey, u);
+        BigInteger c = CryptoHash.hashElems(extendedBaseHash, message.pad(), message.data(), a, b);
+        return new ConstantChaumPedersenProof(a, b, c, Group.aPlusBcQ(u, c, r), constant);
+    }
+
+    public boolean isValid(ElGamalCiphertext message, BigInteger publicKey, BigInteger extendedBaseHash) {
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        boolean inBounds = Group.isValidResidue(alpha)
+                && Group.isValidResidue(beta)
+                && Group.isValidResidue(pad)
+                && Group.isValidResidue(data)
+                && Group.isInBoundsQ(challenge)
+                && Group.isInBoundsQ(response)
+                && constant >= 0 && constant < MAX_CONSTANT;
+        if (!inBounds) {
+            return false;
+        }
+        // electionguard computes g^(c * L mod p); c < q and L is small, so that is just g^(c * L)
+        BigInteger cl = Group.multP(challenge, BigInteger.valueOf(constant));
+        return challenge.equals(CryptoHash.hashElems(extendedBaseHash, alpha, beta, pad, data))
+                && Group.gPowP(response).equals(Group.multP(pad, Group.powP(alpha, challenge)))
+                && Group.multP(Group.gPowP(cl), Group.powFixedP(publicKey, response)).equals(
+                        Group.multP(data, Group.powP(beta, challenge)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A contest of the election manifest together with its placeholder selections. Placeholders take
+ * part in encryption but, as in {@code ContestDescriptionWithPlaceholders}, not in the hash.
+ */
+public record ContestDescription(
+        String objectId,
+        int sequenceOrder,
+        String electoralDistrictId,
+        String voteVariation,
+        String name,
+        int numberElected,
+        int votesAllowed,
+        List<SelectionDescription> ballotSelections,
+        List<SelectionDescription> placeholderSelections) implements CryptoHashable {
+
+    @Override
+    public BigInteger cryptoHash() {
+        return CryptoHash.hashElems(objectId, sequenceOrder, electoralDistrictId, voteVariation,
+                null, null, name, numberElected, votesAllowed, ballotSelections);
+    }
+}
@@ -0,0 +1,66 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * ElectionGuard's {@code hash_elems}: SHA-256 over the {@code |}-separated string forms of the
+ * elements, reduced mod q.
+ *
+ * <ul>
+ * <li>{@link BigInteger}s are group elements and hash as their hex encoding</li>
+ * <li>{@link Integer}/{@link Long} hash as decimal, strings as themselves</li>
+ * <li>{@code null} and empty collections hash as {@code "null"}</li>
+ * <li>non-empty collections hash as the hex of their own recursive hash</li>
+ * </ul>
+ */
+public final class CryptoHash {
+
+    private static final byte[] SEPARATOR = "|".getBytes(StandardCharsets.UTF_8);
+
+    private CryptoHash() {
+    }
+
+    public static BigInteger hashElems(Object... elements) {
+        MessageDigest digest = sha256();
+        digest.update(SEPARATOR);
+        for (Object element : elements) {
+            digest.update(hashString(element).getBytes(StandardCharsets.UTF_8));
+            digest.update(SEPARATOR);
+        }
+        return new BigInteger(1, digest.digest()).mod(Group.Q);
+    }
+
+    private static String hashString(Object element) {
+        if (element instanceof BigInteger groupElement) {
+            return Group.toHex(groupElement);
+        }
+        if (element instanceof CryptoHashable hashable) {
+            return Group.toHex(hashable.cryptoHash());
+        }
+        if (element instanceof String text) {
+            return text;
+        }
+        if (element instanceof Integer || element instanceof Long) {
+            return element.toString();
+        }
+        if (element == null) {
+            return "null";
+        }
+        if (element instanceof Collection<?> collection) {
+            return collection.isEmpty() ? "null" : Group.toHex(hashElems(collection.toArray()));
+        }
+        return element.toString();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
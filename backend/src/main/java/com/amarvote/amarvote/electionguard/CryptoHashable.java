@@ -0,0 +1,12 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * An object that contributes its own hash, as an element of [0, q), when passed to
+ * {@link CryptoHash#hashElems(Object...)}.
+ */
+public interface CryptoHashable {
+
+    BigInteger cryptoHash();
+}
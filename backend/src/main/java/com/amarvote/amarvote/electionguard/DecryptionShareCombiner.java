@@ -0,0 +1,240 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Combines the guardians' decryption shares of a ciphertext tally, the tally half of
+ * {@code DecryptionMediator.get_plaintext_tally}. Every share is checked against its
+ * Chaum-Pedersen proof. The share of a missing guardian is rebuilt from the compensated shares of
+ * all available guardians, weighted by their Lagrange coefficients, and each selection decrypts to
+ * {@code g^m = B / (M_1 ... M_n)}; {@link DiscreteLogTable} turns that into the count.
+ *
+ * <p>Lagrange coefficients and recovery keys depend only on the guardian set and are computed
+ * once. Selections are independent, so {@link #decrypt} may be called from several threads.
+ */
+public final class DecryptionShareCombiner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A guardian's share {@code A^s} of one selection. {@code recoveryKey} is null for a direct
+     * share, whose proof is checked against the guardian's public key instead.
+     */
+    public record Share(BigInteger share, BigInteger recoveryKey, ChaumPedersenProof proof) {
+    }
+
+    /**
+     * One selection of the tally with the available guardians' shares by sequence order, and the
+     * compensated shares by missing guardian, then compensating guardian.
+     */
+    public record Selection(String contestId, String selectionId, ElGamalCiphertext ciphertext,
+            Map<Integer, Share> shares, Map<Integer, Map<Integer, Share>> compensatedShares) {
+    }
+
+    private final BigInteger extendedBaseHash;
+    private final Map<Integer, BigInteger> guardianKeys;
+    private final Map<Integer, BigInteger> lagrangeCoefficients = new LinkedHashMap<>();
+    private final Map<Integer, Map<Integer, BigInteger>> recoveryKeys = new LinkedHashMap<>();
+
+    /**
+     * @param guardianKeys       public key of each available guardian by sequence order
+     * @param missingCommitments coefficient commitments of each missing guardian by sequence order
+     */
+    public DecryptionShareCombiner(BigInteger extendedBaseHash, Map<Integer, BigInteger> guardianKeys,
+            Map<Integer, List<BigInteger>> missingCommitments) {
+        if (guardianKeys.isEmpty()) {
+            throw new IllegalArgumentException("At least one guardian must be available");
+        }
+        this.extendedBaseHash = extendedBaseHash;
+        this.guardianKeys = new LinkedHashMap<>(guardianKeys);
+        for (int sequenceOrder : guardianKeys.keySet()) {
+            List<Integer> others = guardianKeys.keySet().stream().filter(other -> other != sequenceOrder).toList();
+            lagrangeCoefficients.put(sequenceOrder, lagrangeCoefficient(sequenceOrder, others));
+        }
+        missingCommitments.forEach((missing, commitments) -> {
+            Map<Integer, BigInteger> keys = new LinkedHashMap<>();
+            for (int sequenceOrder : guardianKeys.keySet()) {
+                keys.put(sequenceOrder, recoveryKey(sequenceOrder, commitments));
+            }
+            recoveryKeys.put(missing, keys);
+        });
+    }
+
+    /**
+     * {@code w = prod(k) / prod(k - coordinate) mod q} over the other available sequence orders,
+     * as {@code compute_lagrange_coefficient}.
+     */
+    public static BigInteger lagrangeCoefficient(int coordinate, Collection<Integer> degrees) {
+        BigInteger numerator = BigInteger.ONE;
+        BigInteger denominator = BigInteger.ONE;
+        for (int degree : degrees) {
+            numerator = numerator.multiply(BigInteger.valueOf(degree)).mod(Group.Q);
+            denominator = denominator.multiply(BigInteger.valueOf(degree - coordinate)).mod(Group.Q);
+        }
+        return numerator.multiply(denominator.modInverse(Group.Q)).mod(Group.Q);
+    }
+
+    /**
+     * {@code g^P(sequenceOrder)} for the polynomial behind {@code commitments}, the key a
+     * compensated share is proven against, as {@code compute_recovery_public_key}.
+     */
+    public static BigInteger recoveryKey(int sequenceOrder, List<BigInteger> commitments) {
+        List<BigInteger> exponents = new ArrayList<>(commitments.size());
+        BigInteger coordinate = BigInteger.valueOf(sequenceOrder);
+        for (int i = 0; i < commitments.size(); i++) {
+            exponents.add(coordinate.modPow(BigInteger.valueOf(i), Group.Q));
+        }
+        return MultiExponentiation.product(commitments, exponents);
+    }
+
+    /**
+     * {@code g^m} for one selection after checking every share it is combined from.
+     *
+     * @throws IllegalArgumentException if a share is missing or fails its proof
+     */
+    public BigInteger decrypt(Selection selection) {
+        List<BigInteger> shares = new ArrayList<>(guardianKeys.size() + 1);
+        for (Map.Entry<Integer, BigInteger> guardian : guardianKeys.entrySet()) {
+            Share share = selection.shares().get(guardian.getKey());
+            check(selection, share, guardian.getValue(), "guardian " + guardian.getKey());
+            shares.add(share.share());
+        }
+
+        List<BigInteger> parts = new ArrayList<>();
+        List<BigInteger> coefficients = new ArrayList<>();
+        for (Map.Entry<Integer, Map<Integer, BigInteger>> missing : recoveryKeys.entrySet()) {
+            Map<Integer, Share> compensated = selection.compensatedShares().getOrDefault(missing.getKey(), Map.of());
+            for (Map.Entry<Integer, BigInteger> recoveryKey : missing.getValue().entrySet()) {
+                Share part = compensated.get(recoveryKey.getKey());
+                String owner = "guardian " + recoveryKey.getKey() + " for missing guardian " + missing.getKey();
+                if (part != null && !recoveryKey.getValue().equals(part.recoveryKey())) {
+                    throw new IllegalArgumentException("Compensated share of " + owner + " for selection "
+                            + selection.selectionId() + " has the wrong recovery key");
+                }
+                check(selection, part, recoveryKey.getValue(), owner);
+                parts.add(part.share());
+                coefficients.add(lagrangeCoefficients.get(recoveryKey.getKey()));
+            }
+        }
+        if (!parts.isEmpty()) {
+            shares.add(MultiExponentiation.product(parts, coefficients));
+        }
+        BigInteger product = Group.multP(shares.toArray(BigInteger[]::new));
+        return Group.multP(selection.ciphertext().data(), Group.multInvP(product));
+    }
+
+    private void check(Selection selection, Share share, BigInteger key, String owner) {
+        if (share == null) {
+            throw new IllegalArgumentException("No decryption share of " + owner + " for selection "
+                    + selection.selectionId());
+        }
+        if (share.proof() == null
+                || !share.proof().isValid(selection.ciphertext(), key, share.share(), extendedBaseHash)) {
+            throw new IllegalArgumentException("Decryption share of " + owner + " for selection "
+                    + selection.selectionId() + " failed its proof");
+        }
+    }
+
+    /**
+     * The selections of a serialized {@code CiphertextTally} with their shares taken from
+     * serialized {@code DecryptionShare}s by guardian sequence order and
+     * {@code CompensatedDecryptionShare}s by missing, then compensating guardian.
+     */
+    public static List<Selection> selections(String ciphertextTally, Map<Integer, String> tallyShares,
+            Map<Integer, Map<Integer, String>> compensatedTallyShares) {
+        Map<Integer, JsonNode> shareContests = new LinkedHashMap<>();
+        tallyShares.forEach((guardian, json) -> shareContests.put(guardian, required(read(json), "contests")));
+        Map<Integer, Map<Integer, JsonNode>> compensatedContests = new LinkedHashMap<>();
+        compensatedTallyShares.forEach((missing, byGuardian) -> {
+            Map<Integer, JsonNode> contests = new LinkedHashMap<>();
+            byGuardian.forEach((guardian, json) -> contests.put(guardian, required(read(json), "contests")));
+            compensatedContests.put(missing, contests);
+        });
+
+        List<Selection> selections = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> contest : required(read(ciphertextTally), "contests").properties()) {
+            String contestId = contest.getKey();
+            for (Map.Entry<String, JsonNode> selection : required(object(contest.getValue()), "selections").properties()) {
+                String selectionId = selection.getKey();
+                JsonNode ciphertext = required(selection.getValue(), "ciphertext");
+
+                Map<Integer, Share> shares = new LinkedHashMap<>();
+                shareContests.forEach((guardian, contestsNode) -> {
+                    JsonNode share = shareSelection(contestsNode, contestId, selectionId);
+                    if (share != null) {
+                        shares.put(guardian, readShare(share));
+                    }
+                });
+                Map<Integer, Map<Integer, Share>> compensated = new LinkedHashMap<>();
+                compensatedContests.forEach((missing, byGuardian) -> {
+                    Map<Integer, Share> parts = new LinkedHashMap<>();
+                    byGuardian.forEach((guardian, contestsNode) -> {
+                        JsonNode share = shareSelection(contestsNode, contestId, selectionId);
+                        if (share != null) {
+                            parts.put(guardian, readShare(share));
+                        }
+                    });
+                    compensated.put(missing, parts);
+                });
+
+                selections.add(new Selection(contestId, selectionId,
+                        new ElGamalCiphertext(hex(ciphertext, "pad"), hex(ciphertext, "data")), shares, compensated));
+            }
+        }
+        return selections;
+    }
+
+    private static JsonNode shareSelection(JsonNode contests, String contestId, String selectionId) {
+        JsonNode contest = contests.get(contestId);
+        JsonNode selections = contest == null ? null : contest.get("selections");
+        JsonNode selection = selections == null ? null : selections.get(selectionId);
+        return selection == null || selection.isNull() ? null : selection;
+    }
+
+    private static Share readShare(JsonNode node) {
+        JsonNode proof = node.get("proof");
+        JsonNode recoveryKey = node.get("recovery_key");
+        return new Share(
+                hex(node, "share"),
+                recoveryKey == null || recoveryKey.isNull() ? null : Group.fromHex(recoveryKey.asText()),
+                proof == null || proof.isNull() ? null : new ChaumPedersenProof(
+                        hex(proof, "pad"),
+                        hex(proof, "data"),
+                        hex(proof, "challenge"),
+                        hex(proof, "response")));
+    }
+
+    private static JsonNode read(String json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Decryption input is not valid JSON", e);
+        }
+    }
+
+    /** The microservice stores tally contests as nested JSON strings. */
+    private static JsonNode object(JsonNode node) {
+        return node.isTextual() ? read(node.asText()) : node;
+    }
+
+    private static JsonNode required(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Decryption input is missing " + field);
+        }
+        return value;
+    }
+
+    private static BigInteger hex(JsonNode node, String field) {
+        return Group.fromHex(required(node, field).asText());
+    }
+}
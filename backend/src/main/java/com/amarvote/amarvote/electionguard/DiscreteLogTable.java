@@ -0,0 +1,179 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Baby-step giant-step discrete logs base g, for decoding a decrypted tally {@code g^m} into the
+ * count m. The table maps a 64-bit fingerprint of {@code g^j} to j for every baby step
+ * {@code j < babySteps}; a lookup multiplies the element by {@code g^-babySteps} until it lands in
+ * the table, so finding m costs {@code m / babySteps} Montgomery multiplications against 24 to 48
+ * bytes of table per baby step. A fingerprint hit is confirmed by recomputing
+ * {@code g^j} before it is returned.
+ *
+ * <p>The fingerprint is the low limb of the {@link MontgomeryP} form, which is canonical, so the
+ * giant steps never leave Montgomery form. The table is an open-addressing hash in one
+ * {@link ByteBuffer}: keys, then values, after a small header. {@link #open} keeps it in a file
+ * that is memory-mapped read-only and reused by later processes with the same number of baby steps.
+ */
+public final class DiscreteLogTable {
+
+    /** Keeps 32 + 12 * slots within one mapping. */
+    public static final int MAX_BABY_STEPS = 1 << 25;
+
+    private static final long MAGIC = 0x414D41524C4F4731L; // "AMARLOG1"
+    private static final int HEADER_BYTES = 32;
+    private static final int LIMBS = MontgomeryP.LIMBS;
+    private static final long[] G_MONTGOMERY = MontgomeryP.toMontgomery(Group.G);
+
+    private final int babySteps;
+    private final int mask;
+    private final ByteBuffer buffer;
+    private final int valuesOffset;
+    /** g^-babySteps in Montgomery form */
+    private final long[] giantStep = MontgomeryP.newElement();
+
+    private DiscreteLogTable(int babySteps, ByteBuffer buffer) {
+        this.babySteps = babySteps;
+        int slots = slots(babySteps);
+        this.mask = slots - 1;
+        this.buffer = buffer;
+        this.valuesOffset = HEADER_BYTES + slots * Long.BYTES;
+        long[] stride = MontgomeryP.newElement();
+        MontgomeryP.pow(G_MONTGOMERY, BigInteger.valueOf(babySteps), stride);
+        MontgomeryP.inverse(stride, giantStep);
+    }
+
+    /** Builds the table in memory. */
+    public static DiscreteLogTable build(int babySteps) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(sizeInBytes(babySteps));
+        fill(buffer, babySteps);
+        return new DiscreteLogTable(babySteps, buffer);
+    }
+
+    /**
+     * Maps the table stored at {@code file}, building and storing it first if the file is missing
+     * or was built for another number of baby steps. The file is written next to its final name
+     * and moved into place, so concurrent processes never map a half-written table.
+     */
+    public static DiscreteLogTable open(Path file, int babySteps) {
+        try {
+            if (!matches(file, babySteps)) {
+                Path parent = file.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path partial = Files.createTempFile(parent, file.getFileName().toString(), ".partial");
+                try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeInBytes(babySteps));
+                    fill(buffer, babySteps);
+                    buffer.force();
+                    Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(partial);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return new DiscreteLogTable(babySteps,
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, sizeInBytes(babySteps)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open discrete log table " + file, e);
+        }
+    }
+
+    public static int sizeInBytes(int babySteps) {
+        return HEADER_BYTES + slots(babySteps) * (Long.BYTES + Integer.BYTES);
+    }
+
+    public int babySteps() {
+        return babySteps;
+    }
+
+    /**
+     * The m in {@code [0, maxExponent]} with {@code g^m = element}, or -1 if there is none.
+     * Safe for concurrent use.
+     */
+    public long log(BigInteger element, long maxExponent) {
+        if (element.signum() <= 0 || !Group.isInBoundsP(element)) {
+            return -1;
+        }
+        long[] giant = MontgomeryP.toMontgomery(element);
+        long[] candidate = MontgomeryP.newElement();
+        for (long offset = 0; offset <= maxExponent; offset += babySteps) {
+            for (int slot = slot(giant[0]); ; slot = (slot + 1) & mask) {
+                int value = buffer.getInt(valuesOffset + slot * Integer.BYTES);
+                if (value == 0) {
+                    break;
+                }
+                if (buffer.getLong(HEADER_BYTES + slot * Long.BYTES) == giant[0]) {
+                    int j = value - 1;
+                    MontgomeryP.pow(G_MONTGOMERY, BigInteger.valueOf(j), candidate);
+                    if (Arrays.equals(candidate, giant)) {
+                        return offset + j <= maxExponent ? offset + j : -1;
+                    }
+                }
+            }
+            MontgomeryP.multiply(giant, giantStep, giant);
+        }
+        return -1;
+    }
+
+    /** Power of two with a load factor of at most one half. */
+    private static int slots(int babySteps) {
+        if (babySteps < 1 || babySteps > MAX_BABY_STEPS) {
+            throw new IllegalArgumentException("Baby steps must be between 1 and " + MAX_BABY_STEPS);
+        }
+        return Integer.highestOneBit(babySteps) << 2;
+    }
+
+    private int slot(long fingerprint) {
+        return slot(fingerprint, mask);
+    }
+
+    private static int slot(long fingerprint, int mask) {
+        return (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    /** Values are stored as j + 1 so that 0 marks an empty slot; the header goes in last. */
+    private static void fill(ByteBuffer buffer, int babySteps) {
+        int slots = slots(babySteps);
+        int mask = slots - 1;
+        int valuesOffset = HEADER_BYTES + slots * Long.BYTES;
+        long[] power = MontgomeryP.newElement();
+        System.arraycopy(MontgomeryP.ONE_MONTGOMERY, 0, power, 0, LIMBS);
+        for (int j = 0; j < babySteps; j++) {
+            int slot = slot(power[0], mask);
+            while (buffer.getInt(valuesOffset + slot * Integer.BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.putLong(HEADER_BYTES + slot * Long.BYTES, power[0]);
+            buffer.putInt(valuesOffset + slot * Integer.BYTES, j + 1);
+            MontgomeryP.multiply(power, G_MONTGOMERY, power);
+        }
+        buffer.putInt(8, babySteps);
+        buffer.putInt(12, slots);
+        buffer.putLong(16, G_MONTGOMERY[0]);
+        buffer.putLong(0, MAGIC);
+    }
+
+    private static boolean matches(Path file, int babySteps) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != sizeInBytes(babySteps)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            return header.getLong(0) == MAGIC && header.getInt(8) == babySteps
+                    && header.getInt(12) == slots(babySteps) && header.getLong(16) == G_MONTGOMERY[0];
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * Proof that a selection ciphertext encrypts either zero or one. Mirrors
+ * {@code make_disjunctive_chaum_pedersen} and {@code DisjunctiveChaumPedersenProof.is_valid}
+ * in {@code electionguard/chaum_pedersen.py} so proofs verify on either side.
+ */
+public record DisjunctiveChaumPedersenProof(
+        BigInteger proofZeroPad,
+        BigInteger proofZeroData,
+        BigInteger proofOnePad,
+        BigInteger proofOneData,
+        BigInteger proofZeroChallenge,
+        BigInteger proofOneChallenge,
+        BigInteger challenge,
+        BigInteger proofZeroResponse,
+        BigInteger proofOneResponse) {
+
+    public static final String USAGE = "Prove selection's value (0 or 1)";
+
+    private static final String NONCE_HEADER = "disjoint-chaum-pedersen-proof";
+
+    public static DisjunctiveChaumPedersenProof make(ElGamalCiphertext message, BigInteger r,
+            BigInteger publicKey, BigInteger extendedBaseHash, BigInteger seed, int plaintext) {
+        Nonces nonces = new Nonces(seed, NONCE_HEADER);
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        if (plaintext == 0) {
+            BigInteger c1 = nonces.get(0);
+            BigInteger v = nonces.get(1);
+            BigInteger u0 = nonces.get(2);
+            BigInteger a0 = Group.gPowP(u0);
+            BigInteger b0 = Group.powFixedP(publicKey, u0);
+            BigInteger a1 = Group.gPowP(v);
+            BigInteger b1 = Group.multP(Group.powFixedP(publicKey, v), Group.gPowP(c1));
+            BigInteger c = CryptoHash.hashElems(extendedBaseHash, alpha, beta, a0, b0, a1, b1);
+            BigInteger c0 = Group.aMinusBQ(c, c1);
+            return new DisjunctiveChaumPedersenProof(a0, b0, a1, b1, c0, c1, c,
+                    Group.aPlusBcQ(u0, c0, r), Group.aPlusBcQ(v, c1, r));
+        }
+        if (plaintext == 1) {
+            BigInteger w = nonces.get(0);
+            BigInteger v = nonces.get(1);
+            BigInteger u1 = nonces.get(2);
+            BigInteger a0 = Group.gPowP(v);
+            BigInteger b0 = Group.multP(Group.powFixedP(publicKey, v), Group.gPowP(w));
+            BigInteger a1 = Group.gPowP(u1);
+            BigInteger b1 = Group.powFixedP(publicKey, u1);
+            BigInteger c = CryptoHash.hashElems(extendedBaseHash, alpha, beta, a0, b0, a1, b1);
+            BigInteger c0 = Group.negateQ(w);
+            BigInteger c1 = Group.addQ(c, w);
+            return new DisjunctiveChaumPedersenProof(a0, b0, a1, b1, c0, c1, c,
+                    Group.aPlusBcQ(v, c0, r), Group.aPlusBcQ(u1, c1, r));
+        }
+        throw new IllegalArgumentException("Disjunctive proofs only support plaintexts of 0 or 1");
+    }
+
+    public boolean isValid(ElGamalCiphertext message, BigInteger publicKey, BigInteger extendedBaseHash) {
+        BigInteger alpha = message.pad();
+        BigInteger beta = message.data();
+        boolean inBounds = Group.isValidResidue(alpha)
+                && Group.isValidResidue(beta)
+                && Group.isValidResidue(proofZeroPad)
+                && Group.isValidResidue(proofZeroData)
+                && Group.isValidResidue(proofOnePad)
+                && Group.isValidResidue(proofOneData)
+                && Group.isInBoundsQ(proofZeroChallenge)
+                && Group.isInBoundsQ(proofOneChallenge)
+                && Group.isInBoundsQ(proofZeroResponse)
+                && Group.isInBoundsQ(proofOneResponse);
+        if (!inBounds) {
+            return false;
+        }
+        boolean consistentC = Group.addQ(proofZeroChallenge, proofOneChallenge).equals(challenge)
+                && challenge.equals(CryptoHash.hashElems(extendedBaseHash, alpha, beta,
+                        proofZeroPad, proofZeroData, proofOnePad, proofOneData));
+        return consistentC
+                && Group.gPowP(proofZeroResponse).equals(
+                        Group.multP(proofZeroPad, Group.powP(alpha, proofZeroChallenge)))
+                && Group.gPowP(proofOneResponse).equals(
+                        Group.multP(proofOnePad, Group.powP(alpha, proofOneChallenge)))
+                && Group.powFixedP(publicKey, proofZeroResponse).equals(
+                        Group.multP(proofZeroData, Group.powP(beta, proofZeroChallenge)))
+                && Group.multP(Group.gPowP(proofOneChallenge), Group.powFixedP(publicKey, proofOneResponse)).equals(
+                        Group.multP(proofOneData, Group.powP(beta, proofOneChallenge)));
+    }
+}
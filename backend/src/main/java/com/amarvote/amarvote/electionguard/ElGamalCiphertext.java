@@ -0,0 +1,34 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Exponential ElGamal ciphertext (pad = g^r, data = g^m * K^r). Ciphertexts add
+ * homomorphically by component-wise multiplication.
+ */
+public record ElGamalCiphertext(BigInteger pad, BigInteger data) implements CryptoHashable {
+
+    public static ElGamalCiphertext encrypt(int message, BigInteger nonce, BigInteger publicKey) {
+        if (nonce.signum() == 0) {
+            throw new IllegalArgumentException("ElGamal encryption requires a non-zero nonce");
+        }
+        BigInteger pad = Group.gPowP(nonce);
+        BigInteger data = Group.multP(Group.gPowP(BigInteger.valueOf(message)), Group.powFixedP(publicKey, nonce));
+        return new ElGamalCiphertext(pad, data);
+    }
+
+    public static ElGamalCiphertext add(List<ElGamalCiphertext> ciphertexts) {
+        if (ciphertexts.isEmpty()) {
+            throw new IllegalArgumentException("Must have one or more ciphertexts to add");
+        }
+        return new ElGamalCiphertext(
+                Group.multP(ciphertexts.stream().map(ElGamalCiphertext::pad).toArray(BigInteger[]::new)),
+                Group.multP(ciphertexts.stream().map(ElGamalCiphertext::data).toArray(BigInteger[]::new)));
+    }
+
+    @Override
+    public BigInteger cryptoHash() {
+        return CryptoHash.hashElems(pad, data);
+    }
+}
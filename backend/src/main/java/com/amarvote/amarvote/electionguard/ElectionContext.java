@@ -0,0 +1,31 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * The parts of {@code CiphertextElectionContext} needed to encrypt and verify ballots.
+ */
+public record ElectionContext(
+        int numberOfGuardians,
+        int quorum,
+        BigInteger elgamalPublicKey,
+        BigInteger commitmentHash,
+        BigInteger manifestHash,
+        BigInteger cryptoBaseHash,
+        BigInteger cryptoExtendedBaseHash) {
+
+    public static ElectionContext create(int numberOfGuardians, int quorum, BigInteger elgamalPublicKey,
+            BigInteger commitmentHash, BigInteger manifestHash) {
+        if (!Group.isInBoundsP(elgamalPublicKey) || elgamalPublicKey.signum() == 0) {
+            throw new IllegalArgumentException("Joint public key is not an element of Z_p");
+        }
+        if (!Group.isInBoundsQ(commitmentHash)) {
+            throw new IllegalArgumentException("Commitment hash is not an element of Z_q");
+        }
+        BigInteger cryptoBaseHash = CryptoHash.hashElems(Group.P, Group.Q, Group.G,
+                numberOfGuardians, quorum, manifestHash);
+        BigInteger cryptoExtendedBaseHash = CryptoHash.hashElems(cryptoBaseHash, commitmentHash);
+        return new ElectionContext(numberOfGuardians, quorum, elgamalPublicKey, commitmentHash, manifestHash,
+                cryptoBaseHash, cryptoExtendedBaseHash);
+    }
+}
@@ -0,0 +1,104 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The single-contest manifest that the ElectionGuard service builds for every AmarVote election
+ * ({@code create_election_manifest} in {@code services/create_encrypted_ballot.py}). Only the
+ * parts that feed the manifest hash and ballot encryption are modelled.
+ */
+public final class ElectionManifest {
+
+    public static final String ELECTION_SCOPE_ID = "election-1";
+    public static final String BALLOT_STYLE_ID = "ballot-style-1";
+    public static final String CONTEST_ID = "contest-1";
+
+    private static final String GEOPOLITICAL_UNIT_ID = "county-1";
+    private static final String ELECTION_DATE = "2025-01-01T00:00:00Z";
+
+    private record GeopoliticalUnit(String objectId, String name, String type) implements CryptoHashable {
+        @Override
+        public BigInteger cryptoHash() {
+            return CryptoHash.hashElems(objectId, name, type, null);
+        }
+    }
+
+    private record Party(String objectId, String name) implements CryptoHashable {
+        @Override
+        public BigInteger cryptoHash() {
+            // abbreviation is the party name as well; color and logo are never set
+            return CryptoHash.hashElems(objectId, name, name, null, null);
+        }
+    }
+
+    private record BallotStyle(String objectId, List<String> geopoliticalUnitIds) implements CryptoHashable {
+        @Override
+        public BigInteger cryptoHash() {
+            return CryptoHash.hashElems(objectId, geopoliticalUnitIds, null, null);
+        }
+    }
+
+    private final ContestDescription contest;
+    private final BigInteger manifestHash;
+
+    private ElectionManifest(ContestDescription contest, BigInteger manifestHash) {
+        this.contest = contest;
+        this.manifestHash = manifestHash;
+    }
+
+    public static ElectionManifest create(List<String> partyNames, List<String> candidateNames) {
+        if (candidateNames == null || candidateNames.isEmpty()) {
+            throw new IllegalArgumentException("An election manifest needs at least one candidate");
+        }
+        Set<String> seen = new HashSet<>();
+        List<SelectionDescription> selections = new ArrayList<>();
+        for (int i = 0; i < candidateNames.size(); i++) {
+            String candidate = candidateNames.get(i);
+            if (!seen.add(candidate)) {
+                throw new IllegalArgumentException("Duplicate candidate name: " + candidate);
+            }
+            selections.add(new SelectionDescription(candidate, i, candidate));
+        }
+
+        List<Party> parties = new ArrayList<>();
+        if (partyNames != null) {
+            for (int i = 0; i < partyNames.size(); i++) {
+                parties.add(new Party("party-" + (i + 1), partyNames.get(i)));
+            }
+        }
+
+        int placeholderSequence = selections.size();
+        String placeholderId = CONTEST_ID + "-" + placeholderSequence;
+        SelectionDescription placeholder = new SelectionDescription(
+                placeholderId + "-placeholder", placeholderSequence, placeholderId + "-candidate");
+        ContestDescription contest = new ContestDescription(CONTEST_ID, 0, GEOPOLITICAL_UNIT_ID, "one_of_m",
+                "County Executive", 1, 1, List.copyOf(selections), List.of(placeholder));
+
+        BigInteger manifestHash = CryptoHash.hashElems(
+                ELECTION_SCOPE_ID, "general", ELECTION_DATE, ELECTION_DATE, "Test Election", null,
+                List.of(new GeopoliticalUnit(GEOPOLITICAL_UNIT_ID, "County 1", "county")),
+                parties,
+                List.of(contest),
+                List.of(new BallotStyle(BALLOT_STYLE_ID, List.of(GEOPOLITICAL_UNIT_ID))));
+        return new ElectionManifest(contest, manifestHash);
+    }
+
+    public ContestDescription getContest() {
+        return contest;
+    }
+
+    public BigInteger getManifestHash() {
+        return manifestHash;
+    }
+
+    public SelectionDescription findSelection(String candidateName) {
+        return contest.ballotSelections().stream()
+                .filter(selection -> selection.candidateId().equals(candidateName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Candidate " + candidateName + " not found in manifest"));
+    }
+}
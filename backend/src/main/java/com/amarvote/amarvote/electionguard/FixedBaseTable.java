@@ -0,0 +1,108 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * Fixed-base windowed exponentiation mod p. For a base b and window width w the table holds
+ * {@code b^(d * 2^(w*i))} for every window i and digit {@code d in [1, 2^w)}, so {@code b^e} for
+ * an exponent up to {@code maxExponentBits} is one table multiplication per non-zero digit instead
+ * of the squarings of a generic {@code modPow}.
+ *
+ * <p>Entries are stored in Montgomery form as 4096-bit limbs in a single {@code long[]}: one object
+ * per table rather than one {@link BigInteger} per entry, multiplied in place by
+ * {@link MontgomeryP}. Larger exponents fall back to {@link BigInteger#modPow}.
+ */
+public final class FixedBaseTable {
+
+    public static final int DEFAULT_WINDOW_BITS = 6;
+
+    private static final int LIMBS = MontgomeryP.LIMBS;
+
+    private final BigInteger base;
+    private final int windowBits;
+    private final int windows;
+    private final int digitsPerWindow;
+    private final int maxExponentBits;
+    private final long[] entries;
+
+    public FixedBaseTable(BigInteger base) {
+        this(base, DEFAULT_WINDOW_BITS, Group.Q.bitLength());
+    }
+
+    public FixedBaseTable(BigInteger base, int windowBits, int maxExponentBits) {
+        if (!Group.isInBoundsP(base) || base.signum() == 0) {
+            throw new IllegalArgumentException("Fixed base must be an element of Z_p^*");
+        }
+        if (windowBits < 1 || windowBits > 16) {
+            throw new IllegalArgumentException("Window width must be between 1 and 16 bits");
+        }
+        this.base = base;
+        this.windowBits = windowBits;
+        this.maxExponentBits = maxExponentBits;
+        this.windows = (maxExponentBits + windowBits - 1) / windowBits;
+        this.digitsPerWindow = (1 << windowBits) - 1;
+        this.entries = new long[windows * digitsPerWindow * LIMBS];
+
+        long[] windowBase = MontgomeryP.toMontgomery(base);
+        for (int window = 0; window < windows; window++) {
+            System.arraycopy(windowBase, 0, entries, offset(window, 1), LIMBS);
+            for (int digit = 2; digit <= digitsPerWindow; digit++) {
+                MontgomeryP.multiply(entries, offset(window, digit - 1), windowBase, 0, entries, offset(window, digit));
+            }
+            // b^(2^(w*(i+1))) = b^((2^w - 1) * 2^(w*i)) * b^(2^(w*i))
+            MontgomeryP.multiply(entries, offset(window, digitsPerWindow), windowBase, 0, windowBase, 0);
+        }
+    }
+
+    public BigInteger pow(BigInteger exponent) {
+        if (exponent.signum() < 0 || exponent.bitLength() > maxExponentBits) {
+            return base.modPow(exponent, Group.P);
+        }
+        long[] result = MontgomeryP.newElement();
+        pow(exponent, result);
+        return MontgomeryP.fromMontgomery(result);
+    }
+
+    /**
+     * Writes {@code base^exponent} in Montgomery form to {@code out} without allocating; the
+     * exponent must be in {@code [0, 2^maxExponentBits)}.
+     */
+    public void pow(BigInteger exponent, long[] out) {
+        if (exponent.signum() < 0 || exponent.bitLength() > maxExponentBits) {
+            throw new IllegalArgumentException("Exponent is outside the table range");
+        }
+        System.arraycopy(MontgomeryP.ONE_MONTGOMERY, 0, out, 0, LIMBS);
+        for (int window = 0; window < windows; window++) {
+            int digit = digit(exponent, window);
+            if (digit != 0) {
+                MontgomeryP.multiply(out, 0, entries, offset(window, digit), out, 0);
+            }
+        }
+    }
+
+    public BigInteger getBase() {
+        return base;
+    }
+
+    public int getWindowBits() {
+        return windowBits;
+    }
+
+    /** Approximate heap footprint of the table, dominated by the limb array. */
+    public long sizeInBytes() {
+        return 16L + (long) entries.length * Long.BYTES;
+    }
+
+    private int digit(BigInteger exponent, int window) {
+        int digit = 0;
+        int low = window * windowBits;
+        for (int bit = windowBits - 1; bit >= 0; bit--) {
+            digit = (digit << 1) | (exponent.testBit(low + bit) ? 1 : 0);
+        }
+        return digit;
+    }
+
+    private int offset(int window, int digit) {
+        return (window * digitsPerWindow + digit - 1) * LIMBS;
+    }
+}
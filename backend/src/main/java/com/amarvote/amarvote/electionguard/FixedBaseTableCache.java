@@ -0,0 +1,86 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded, least-recently-used cache of {@link FixedBaseTable}s keyed by base, used for each
+ * election's joint public key. Tables are built on first use outside the lock; when two threads
+ * race on a new base, the first table stored wins. The generator has its own table in
+ * {@link Group} and is never cached here.
+ */
+public final class FixedBaseTableCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final FixedBaseTableCache SHARED = new FixedBaseTableCache(DEFAULT_MAX_BYTES);
+
+    private final Map<BigInteger, FixedBaseTable> tables = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxBytes;
+    private long totalBytes;
+
+    public FixedBaseTableCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static FixedBaseTableCache shared() {
+        return SHARED;
+    }
+
+    public FixedBaseTable table(BigInteger base) {
+        synchronized (this) {
+            FixedBaseTable table = tables.get(base);
+            if (table != null) {
+                return table;
+            }
+        }
+        FixedBaseTable built = new FixedBaseTable(base);
+        synchronized (this) {
+            FixedBaseTable existing = tables.putIfAbsent(base, built);
+            if (existing != null) {
+                return existing;
+            }
+            totalBytes += built.sizeInBytes();
+            evict(base);
+            return built;
+        }
+    }
+
+    /** {@code base^exponent mod p} through the cached table for {@code base}. */
+    public BigInteger pow(BigInteger base, BigInteger exponent) {
+        return table(base).pow(exponent);
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict(null);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return tables.size();
+    }
+
+    public synchronized void clear() {
+        tables.clear();
+        totalBytes = 0;
+    }
+
+    /** Drops least recently used tables until the cache fits, keeping {@code keep}. */
+    private void evict(BigInteger keep) {
+        Iterator<Map.Entry<BigInteger, FixedBaseTable>> iterator = tables.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<BigInteger, FixedBaseTable> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().sizeInBytes();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Modular arithmetic over the ElectionGuard group, mirroring {@code electionguard/group.py}.
+ * Elements mod p are 4096-bit, elements mod q are 256-bit. Hex encodings follow the Python
+ * {@code BigInteger}: upper case, padded to whole bytes, no fixed width, so hashes and
+ * serialized ballots match the microservice byte for byte.
+ */
+public final class Group {
+
+    /** The 4096-bit large prime p. */
+    public static final BigInteger P = new BigInteger(
+            "104438888141315250669175271071662438257996424904738378038423348328395390797155364353772999312687"
+            + "588390217363401777741636050292608294637794295570449854209761484182524677358068939838632043974791"
+            + "116089773155107490396724388342713291881374801626975452234350528589881677721176191239277291448552"
+            + "115552164104927344620757896193984061946614580685927505347656097329515870382339571021032931470971"
+            + "523925173655238408084583604877866731893141833842244389102591188472343308470120777190194459328662"
+            + "497991739135056466263272370300796422984915475619689061525228653308964318490270692608174414928951"
+            + "741824915363417834207538187413164601344479689458210687053153580366625457960263245310374145256979"
+            + "390555190154185617325138504741484039275358558190995015804625681054267836812127850996052095762473"
+            + "794291460031064660979266501285839738143575590285131207124810259944230895132703925081889249376742"
+            + "332966378370919071616202352966921730093978317141580823314682300076691778928615400604228142373370"
+            + "646290524377485454312723950024587358201266366643058386277816736954760301634424272959224454460827"
+            + "940599975939109976916558972258421601746846457621731855794846176577070091322046055759857471717340"
+            + "8252913596242281190298966500668625620138188265530628036538314433100326660047110143");
+
+    /** The 256-bit small prime q = 2^256 - 189. */
+    public static final BigInteger Q = new BigInteger(
+            "115792089237316195423570985008687907853269984665640564039457584007913129639747");
+
+    /** The cofactor r = (p - 1) / q. */
+    public static final BigInteger R = new BigInteger(
+            "901951841695052855837347808651123265895147484252552040149611492815430426396965568792786744256255"
+            + "931145792659351075726764906362868124106426095360918094746480095846739094948509642965312291692870"
+            + "484154726512624740816785662002481550868447281974638411536914832254869643932797975294831171250611"
+            + "389004528790733565630894563014196947248410055856587958547654778271728310683794592369380697301751"
+            + "049273083840938101470125820269424576060271860255073920529725794096999237179932587017974619167246"
+            + "473672142461763997332409028895200626048322289426992817997015363422039028725583762533166855593303"
+            + "919919461982437586929127109893500069978534640505516039468863707459951905265551738859632747327390"
+            + "602986903098806460736116580312971877387718541544529167108902984599468341468227435366500320429310"
+            + "728447319603358869784508755652651409267874403177222685540952335447673766040761943653108018983707"
+            + "616481813103910439777662812832524770967843102336919727212657839485675206059101381280743768162425"
+            + "186707476963805209773795947202700277096325520775715374637669182730957360363560816979950321699002"
+            + "602976386831381925524802666685440540905942284477655606716361130489115479377011576660815367909932"
+            + "7786");
+
+    /** The generator g = 2^r mod p. */
+    public static final BigInteger G = new BigInteger(
+            "119359756198641231858139651428439585561105914902686985078252796680474637856752833978884422594516"
+            + "170665312423393830118608408063594508087813277769835084746883589963798527237870817233369094387978"
+            + "405585759195339509768803496494994109693743279157584139079471178850751266233150727771094796709619"
+            + "646350222242437970473900636242584673413224137139139346254912172628651028694427789523683070264102"
+            + "332413084663100402635889283790741342401259356660761075766365672754329863241692760862540151023800"
+            + "163269173550320623249398630247531924855997863109776955214403044727497968354022277828136634059011"
+            + "708099779241302941071701051050378539485717425482151777277387633806111112178267035315726401285294"
+            + "598397677116389893642725498831127977915200359151833767358091365292230363248410124916825814514852"
+            + "703770457024102738694375502049388804979035628232209959549199366986471874840784466132903083308458"
+            + "356458177839111623113116525230200791649979270165318729763550486200224695556789081331596212761936"
+            + "863634467236301450039399776963661755684863012396788149479256016157814129329192490798309248914535"
+            + "389650594573156725696657302152874510063002532052622638033113978672254680147128450265983503193865"
+            + "576932419282003012093526302631221491418211528781074474515924597472841036553107847");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final HexFormat UPPER_HEX = HexFormat.of().withUpperCase();
+
+    private Group() {
+    }
+
+    /** Built on first use so that loading {@code Group} stays cheap. */
+    private static final class GeneratorTable {
+        static final FixedBaseTable TABLE = new FixedBaseTable(G);
+    }
+
+    /**
+     * Variable-base exponentiation stays on {@link BigInteger#modPow}: HotSpot's Montgomery
+     * intrinsic beats the pure Java kernel there. Repeated bases go through {@link #powFixedP}.
+     */
+    public static BigInteger powP(BigInteger base, BigInteger exponent) {
+        return base.modPow(exponent, P);
+    }
+
+    /** g^exponent mod p through the generator's fixed-base table. */
+    public static BigInteger gPowP(BigInteger exponent) {
+        return GeneratorTable.TABLE.pow(exponent);
+    }
+
+    /**
+     * base^exponent mod p through the shared fixed-base table for {@code base}. Only for bases
+     * reused across many ballots, i.e. an election's joint public key.
+     */
+    public static BigInteger powFixedP(BigInteger base, BigInteger exponent) {
+        return FixedBaseTableCache.shared().pow(base, exponent);
+    }
+
+    /** Product mod p through {@link MontgomeryP}, several times cheaper than multiply + mod. */
+    public static BigInteger multP(BigInteger... elements) {
+        return MontgomeryP.product(elements);
+    }
+
+    public static BigInteger multInvP(BigInteger element) {
+        return element.modInverse(P);
+    }
+
+    public static BigInteger addQ(BigInteger... elements) {
+        BigInteger sum = BigInteger.ZERO;
+        for (BigInteger element : elements) {
+            sum = sum.add(element).mod(Q);
+        }
+        return sum;
+    }
+
+    /** (a - b) mod q */
+    public static BigInteger aMinusBQ(BigInteger a, BigInteger b) {
+        return a.subtract(b).mod(Q);
+    }
+
+    /** (a + b * c) mod q */
+    public static BigInteger aPlusBcQ(BigInteger a, BigInteger b, BigInteger c) {
+        return a.add(b.multiply(c)).mod(Q);
+    }
+
+    /** (q - a) mod q */
+    public static BigInteger negateQ(BigInteger a) {
+        return Q.subtract(a).mod(Q);
+    }
+
+    public static boolean isInBoundsQ(BigInteger element) {
+        return element.signum() >= 0 && element.compareTo(Q) < 0;
+    }
+
+    public static boolean isInBoundsP(BigInteger element) {
+        return element.signum() >= 0 && element.compareTo(P) < 0;
+    }
+
+    /** True if the element lies in the order-q subgroup of Z_p^*. */
+    public static boolean isValidResidue(BigInteger element) {
+        return isInBoundsP(element) && powP(element, Q).equals(BigInteger.ONE);
+    }
+
+    /** Uniformly random element of [0, q). */
+    public static BigInteger randQ() {
+        BigInteger candidate;
+        do {
+            candidate = new BigInteger(Q.bitLength(), RANDOM);
+        } while (candidate.compareTo(Q) >= 0);
+        return candidate;
+    }
+
+    /**
+     * Hex encoding used by the Python library: upper case, even length, no fixed width. Goes
+     * through the magnitude bytes, {@code BigInteger.toString(16)} converts by repeated division
+     * and costs tens of microseconds for a 4096-bit element.
+     */
+    public static String toHex(BigInteger element) {
+        if (element.signum() < 0) {
+            String hex = element.toString(16).toUpperCase();
+            return hex.length() % 2 == 0 ? hex : "0" + hex;
+        }
+        byte[] magnitude = element.toByteArray();
+        int offset = magnitude.length > 1 && magnitude[0] == 0 ? 1 : 0;
+        return UPPER_HEX.formatHex(magnitude, offset, magnitude.length);
+    }
+
+    /** Same results and {@link NumberFormatException}s as {@code new BigInteger(hex, 16)}, faster. */
+    public static BigInteger fromHex(String hex) {
+        if (hex.isEmpty() || hex.charAt(0) == '-' || hex.charAt(0) == '+') {
+            return new BigInteger(hex, 16);
+        }
+        try {
+            return new BigInteger(1, HexFormat.of().parseHex(hex.length() % 2 == 0 ? hex : "0" + hex));
+        } catch (IllegalArgumentException e) {
+            throw new NumberFormatException("For input string: \"" + hex + "\" under radix 16");
+        }
+    }
+
+    /** The bytes behind {@link #toHex(BigInteger)}, i.e. Python's {@code to_hex_bytes()}. */
+    public static byte[] toHexBytes(BigInteger element) {
+        return HexFormat.of().parseHex(toHex(element));
+    }
+
+    /** Python's {@code bytes_to_hex}: leading zero bytes are dropped. */
+    public static String bytesToHex(byte[] bytes) {
+        return toHex(new BigInteger(1, bytes));
+    }
+}
@@ -0,0 +1,231 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.bouncycastle.crypto.params.HKDFParameters;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMExtractor;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMParameters;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMPrivateKeyParameters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Seals a guardian's private key and polynomial into the two values stored apart, the
+ * {@code encrypted_data} handed to the guardian and the {@code credentials} kept with the guardian
+ * row, both base64. Opens both versions of the format:
+ *
+ * <ul>
+ * <li>{@code 1.0}, written by the service's {@code /api/encrypt}: AES-256-GCM under
+ * HKDF(scrypt(password) || ML-KEM-1024 shared secret), with the password sealed under
+ * {@code MASTER_KEY_PQ}, the ML-KEM private key in the credentials, and an HMAC over the
+ * credentials JSON.</li>
+ * <li>{@code 2.0}, written here: AES-256-GCM under HKDF(master key, salt), with the credentials
+ * JSON as associated data. Everything version 1.0 wraps around the key is also stored in, or
+ * unlocked by, the master key, so the scrypt and ML-KEM rounds add cost per guardian but no
+ * secret.</li>
+ * </ul>
+ *
+ * The GCM work goes through the JCA provider, which uses the AES and carry-less multiply
+ * intrinsics; Bouncy Castle is only needed for the scrypt and ML-KEM steps of version 1.0.
+ */
+public final class GuardianCredentials {
+
+    public record Sealed(String encryptedData, String credentials) {
+    }
+
+    static final String VERSION_1 = "1.0";
+    static final String VERSION_2 = "2.0";
+
+    static final int SCRYPT_N = 1 << 16;
+    static final int SCRYPT_R = 8;
+    static final int SCRYPT_P = 1;
+    static final int KEY_LENGTH = 32;
+    static final int SALT_LENGTH = 32;
+    static final int NONCE_LENGTH = 12;
+    static final int TAG_LENGTH = 16;
+    static final byte[] HKDF_INFO_HYBRID = "ml-kem-1024-hybrid-enc-v1".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] HKDF_INFO_HMAC = "hmac-key-derivation-v1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HKDF_INFO_V2 = "guardian-credentials-v2".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final byte[] masterKey;
+
+    /**
+     * @param masterKey the service's {@code MASTER_KEY_PQ}, base64-decoded
+     */
+    public GuardianCredentials(byte[] masterKey) {
+        if (masterKey.length != 16 && masterKey.length != 24 && masterKey.length != 32) {
+            throw new IllegalArgumentException("Master key must be 16, 24 or 32 bytes, not " + masterKey.length);
+        }
+        this.masterKey = masterKey.clone();
+    }
+
+    /** Seals {@code plaintext} in the version 2.0 format. */
+    public Sealed seal(String plaintext) {
+        Map<String, String> header = new LinkedHashMap<>();
+        header.put("version", VERSION_2);
+        header.put("algorithm", "AES-256-GCM");
+        header.put("salt", encode(random(SALT_LENGTH)));
+        header.put("nonce", encode(random(NONCE_LENGTH)));
+        byte[] credentials = json(header);
+        byte[] key = hkdf(masterKey, decode(header.get("salt")), HKDF_INFO_V2);
+        byte[] sealed = aesGcm(Cipher.ENCRYPT_MODE, key, decode(header.get("nonce")),
+                plaintext.getBytes(StandardCharsets.UTF_8), credentials);
+        return new Sealed(encode(sealed), encode(credentials));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the credentials have an unknown version, were tampered
+     *         with, or do not belong to {@code encryptedData}
+     */
+    public String open(String encryptedData, String credentials) {
+        byte[] credentialsJson = decode(credentials);
+        Map<String, String> fields = parse(credentialsJson);
+        String version = fields.get("version");
+        byte[] plaintext;
+        if (VERSION_2.equals(version)) {
+            byte[] key = hkdf(masterKey, decode(fields.get("salt")), HKDF_INFO_V2);
+            plaintext = aesGcm(Cipher.DECRYPT_MODE, key, decode(fields.get("nonce")), decode(encryptedData),
+                    credentialsJson);
+        } else if (VERSION_1.equals(version)) {
+            plaintext = openVersion1(decode(encryptedData), fields);
+        } else {
+            throw new IllegalArgumentException("Unsupported credential version " + version);
+        }
+        return new String(plaintext, StandardCharsets.UTF_8);
+    }
+
+    /** The {@code version} of base64 {@code credentials}, or null if they are not readable. */
+    public static String version(String credentials) {
+        try {
+            return parse(decode(credentials)).get("version");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] openVersion1(byte[] encryptedData, Map<String, String> fields) {
+        String hmacTag = fields.remove("hmac_tag");
+        if (hmacTag == null) {
+            throw new IllegalArgumentException("Missing HMAC tag in credentials");
+        }
+        // the service signs json.dumps of the remaining fields, in order, without whitespace
+        byte[] signed = json(fields);
+        byte[] salt = decode(fields.get("salt"));
+
+        MLKEMPrivateKeyParameters pqPrivateKey = new MLKEMPrivateKeyParameters(MLKEMParameters.ml_kem_1024,
+                decode(fields.get("pq_private_key")));
+        byte[] pqSharedSecret = new MLKEMExtractor(pqPrivateKey).extractSecret(decode(fields.get("pq_ciphertext")));
+
+        // nonce || tag || ciphertext, where the JCA expects ciphertext || tag
+        byte[] encryptedPassword = decode(fields.get("encrypted_password"));
+        byte[] password = aesGcm(Cipher.DECRYPT_MODE, masterKey,
+                Arrays.copyOfRange(encryptedPassword, 0, NONCE_LENGTH),
+                concat(Arrays.copyOfRange(encryptedPassword, NONCE_LENGTH + TAG_LENGTH, encryptedPassword.length),
+                        Arrays.copyOfRange(encryptedPassword, NONCE_LENGTH, NONCE_LENGTH + TAG_LENGTH)),
+                null);
+
+        byte[] passwordKey = SCrypt.generate(password, salt, SCRYPT_N, SCRYPT_R, SCRYPT_P, KEY_LENGTH);
+        byte[] combinedKey = hkdf(concat(passwordKey, pqSharedSecret), salt, HKDF_INFO_HYBRID);
+        byte[] hmacKey = hkdf(combinedKey, salt, HKDF_INFO_HMAC);
+        if (!MessageDigest.isEqual(hmacSha256(hmacKey, signed), decode(hmacTag))) {
+            throw new IllegalArgumentException("Guardian credentials were tampered with");
+        }
+        return aesGcm(Cipher.DECRYPT_MODE, combinedKey, decode(fields.get("nonce")),
+                concat(encryptedData, decode(fields.get("tag"))), null);
+    }
+
+    static byte[] aesGcm(int mode, byte[] key, byte[] nonce, byte[] input, byte[] associatedData) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(mode, new SecretKeySpec(key, "AES"), new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
+            return cipher.doFinal(input);
+        } catch (AEADBadTagException e) {
+            throw new IllegalArgumentException("Guardian credentials do not authenticate", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+
+    static byte[] hkdf(byte[] inputKey, byte[] salt, byte[] info) {
+        HKDFBytesGenerator generator = new HKDFBytesGenerator(new SHA256Digest());
+        generator.init(new HKDFParameters(inputKey, salt, info));
+        byte[] key = new byte[KEY_LENGTH];
+        generator.generateBytes(key, 0, key.length);
+        return key;
+    }
+
+    static byte[] hmacSha256(byte[] key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    static byte[] json(Map<String, String> fields) {
+        try {
+            return MAPPER.writeValueAsBytes(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> parse(byte[] json) {
+        try {
+            return MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, String>>() {
+            });
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Credentials are not a JSON object of strings", e);
+        }
+    }
+
+    static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    static String encode(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    static byte[] decode(String base64) {
+        if (base64 == null) {
+            throw new IllegalArgumentException("Credentials are missing a field");
+        }
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,73 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Hashed ElGamal encryption of an arbitrary byte message, as used for a contest's
+ * {@code extended_data}. Follows {@code hashed_elgamal_encrypt} in
+ * {@code electionguard/elgamal.py}: HMAC-SHA256 key stream in 32-byte blocks plus a MAC over the
+ * pad and ciphertext. {@code data} and {@code mac} are hex strings in the Python encoding.
+ */
+public record HashedElGamalCiphertext(BigInteger pad, String data, String mac) {
+
+    private static final int BLOCK_SIZE = 32;
+
+    public static HashedElGamalCiphertext encrypt(byte[] message, BigInteger nonce, BigInteger publicKey,
+            BigInteger encryptionSeed) {
+        BigInteger pad = Group.gPowP(nonce);
+        BigInteger sessionKey = CryptoHash.hashElems(pad, Group.powFixedP(publicKey, nonce));
+        byte[] sessionKeyBytes = Group.toHexBytes(sessionKey);
+        byte[] seedBytes = Group.toHexBytes(encryptionSeed);
+
+        byte[] padded = Arrays.copyOf(message, ceilToBlock(message.length));
+        int bitLength = padded.length * 8;
+        byte[] ciphertext = new byte[padded.length];
+        for (int block = 0; block < padded.length / BLOCK_SIZE; block++) {
+            byte[] dataKey = hmac(sessionKeyBytes, withLength(seedBytes, bitLength, block + 1));
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                int offset = block * BLOCK_SIZE + i;
+                ciphertext[offset] = (byte) (padded[offset] ^ dataKey[i]);
+            }
+        }
+
+        byte[] macKey = hmac(sessionKeyBytes, withLength(seedBytes, bitLength, 0));
+        byte[] padBytes = Group.toHexBytes(pad);
+        byte[] toMac = Arrays.copyOf(padBytes, padBytes.length + ciphertext.length);
+        System.arraycopy(ciphertext, 0, toMac, padBytes.length, ciphertext.length);
+        byte[] mac = hmac(macKey, toMac);
+
+        return new HashedElGamalCiphertext(pad, Group.bytesToHex(ciphertext), Group.bytesToHex(mac));
+    }
+
+    private static int ceilToBlock(int length) {
+        int remainder = length % BLOCK_SIZE;
+        return remainder == 0 ? length : length + BLOCK_SIZE - remainder;
+    }
+
+    /** start (4 bytes, little endian) || message || length (4 bytes, little endian) */
+    private static byte[] withLength(byte[] message, int length, int start) {
+        return ByteBuffer.allocate(message.length + 8)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(start)
+                .put(message)
+                .putInt(length)
+                .array();
+    }
+
+    private static byte[] hmac(byte[] key, byte[] message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(message);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Montgomery arithmetic specialised to the 4096-bit ElectionGuard prime p. Elements are 64
+ * little-endian {@code long} limbs holding {@code x * R mod p} with {@code R = 2^4096}; the limb
+ * operations work on caller-owned arrays plus per-thread scratch space and allocate nothing.
+ * {@link #toMontgomery}, {@link #fromMontgomery} and the {@link BigInteger} helpers at the bottom
+ * are the bridge to the rest of the code and do allocate.
+ *
+ * <p>Output arrays may alias inputs. Not constant time, like {@link BigInteger#modPow}.
+ */
+public final class MontgomeryP {
+
+    public static final int LIMBS = Group.P.bitLength() / Long.SIZE;
+
+    private static final int WINDOW_BITS = 4;
+    private static final long[] MODULUS = limbs(Group.P);
+    /** -p^-1 mod 2^64 */
+    private static final long N0_PRIME = negativeInverse(MODULUS[0]);
+    /** R^2 mod p, turns x into x * R by one Montgomery product */
+    private static final long[] R_SQUARED = limbs(BigInteger.ONE.shiftLeft(2 * Group.P.bitLength()).mod(Group.P));
+    static final long[] ONE_MONTGOMERY = limbs(BigInteger.ONE.shiftLeft(Group.P.bitLength()).mod(Group.P));
+    private static final long[] ONE = limbs(BigInteger.ONE);
+    private static final BigInteger P_MINUS_TWO = Group.P.subtract(BigInteger.TWO);
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static final class Scratch {
+        final long[] product = new long[LIMBS + 1];
+        final long[] window = new long[(1 << WINDOW_BITS) * LIMBS];
+        final long[] accumulator = new long[LIMBS];
+    }
+
+    private MontgomeryP() {
+    }
+
+    public static long[] newElement() {
+        return new long[LIMBS];
+    }
+
+    /** out = a * b * R^-1 mod p, i.e. the product of two Montgomery-form elements. */
+    public static void multiply(long[] a, long[] b, long[] out) {
+        multiply(a, 0, b, 0, out, 0);
+    }
+
+    /** {@link #multiply(long[], long[], long[])} on elements stored at offsets of larger arrays. */
+    public static void multiply(long[] a, int aOffset, long[] b, int bOffset, long[] out, int outOffset) {
+        // FIOS: one pass per limb of b both multiplies and reduces, shifting t down by one limb
+        long[] t = SCRATCH.get().product;
+        Arrays.fill(t, 0, LIMBS + 1, 0L);
+        for (int i = 0; i < LIMBS; i++) {
+            long bi = b[bOffset + i];
+
+            long x = a[aOffset];
+            long lo = x * bi;
+            long productCarry = Math.unsignedMultiplyHigh(x, bi);
+            long sum = lo + t[0];
+            productCarry += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+            long m = sum * N0_PRIME;
+            long reduceLo = m * MODULUS[0];
+            long reduceCarry = Math.unsignedMultiplyHigh(m, MODULUS[0]);
+            reduceCarry += Long.compareUnsigned(reduceLo + sum, reduceLo) < 0 ? 1 : 0;
+
+            for (int j = 1; j < LIMBS; j++) {
+                x = a[aOffset + j];
+                lo = x * bi;
+                long hi = Math.unsignedMultiplyHigh(x, bi);
+                sum = lo + t[j];
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long next = sum + productCarry;
+                hi += Long.compareUnsigned(next, sum) < 0 ? 1 : 0;
+                productCarry = hi;
+
+                reduceLo = m * MODULUS[j];
+                hi = Math.unsignedMultiplyHigh(m, MODULUS[j]);
+                sum = reduceLo + next;
+                hi += Long.compareUnsigned(sum, reduceLo) < 0 ? 1 : 0;
+                next = sum + reduceCarry;
+                hi += Long.compareUnsigned(next, sum) < 0 ? 1 : 0;
+                reduceCarry = hi;
+                t[j - 1] = next;
+            }
+            sum = t[LIMBS] + productCarry;
+            long top = Long.compareUnsigned(sum, productCarry) < 0 ? 1 : 0;
+            long next = sum + reduceCarry;
+            top += Long.compareUnsigned(next, sum) < 0 ? 1 : 0;
+            t[LIMBS - 1] = next;
+            t[LIMBS] = top;
+        }
+        if (t[LIMBS] != 0 || compare(t, 0, MODULUS) >= 0) {
+            subtractModulus(t);
+        }
+        System.arraycopy(t, 0, out, outOffset, LIMBS);
+    }
+
+    public static void square(long[] a, long[] out) {
+        multiply(a, 0, a, 0, out, 0);
+    }
+
+    /** out = base^exponent in Montgomery form, for a Montgomery-form base and exponent >= 0. */
+    public static void pow(long[] base, BigInteger exponent, long[] out) {
+        if (exponent.signum() < 0) {
+            throw new IllegalArgumentException("Negative exponents are not supported");
+        }
+        Scratch scratch = SCRATCH.get();
+        long[] window = scratch.window;
+        long[] accumulator = scratch.accumulator;
+        System.arraycopy(ONE_MONTGOMERY, 0, window, 0, LIMBS);
+        System.arraycopy(base, 0, window, LIMBS, LIMBS);
+        for (int digit = 2; digit < (1 << WINDOW_BITS); digit++) {
+            multiply(window, (digit - 1) * LIMBS, base, 0, window, digit * LIMBS);
+        }
+
+        System.arraycopy(ONE_MONTGOMERY, 0, accumulator, 0, LIMBS);
+        int windows = (exponent.bitLength() + WINDOW_BITS - 1) / WINDOW_BITS;
+        for (int w = windows - 1; w >= 0; w--) {
+            for (int s = 0; s < WINDOW_BITS; s++) {
+                multiply(accumulator, 0, accumulator, 0, accumulator, 0);
+            }
+            int digit = 0;
+            for (int bit = WINDOW_BITS - 1; bit >= 0; bit--) {
+                digit = (digit << 1) | (exponent.testBit(w * WINDOW_BITS + bit) ? 1 : 0);
+            }
+            if (digit != 0) {
+                multiply(accumulator, 0, window, digit * LIMBS, accumulator, 0);
+            }
+        }
+        System.arraycopy(accumulator, 0, out, 0, LIMBS);
+    }
+
+    /** out = a^-1 in Montgomery form (Fermat: a^(p-2)); a must be non-zero. */
+    public static void inverse(long[] a, long[] out) {
+        pow(a, P_MINUS_TWO, out);
+    }
+
+    /** out = x * R mod p for 0 <= x < p */
+    public static void toMontgomery(BigInteger x, long[] out) {
+        toMontgomery(x, out, 0);
+    }
+
+    /** {@link #toMontgomery(BigInteger, long[])} into out[offset, offset + LIMBS). */
+    public static void toMontgomery(BigInteger x, long[] out, int offset) {
+        if (!Group.isInBoundsP(x)) {
+            throw new IllegalArgumentException("Element is not in [0, p)");
+        }
+        load(x, out, offset);
+        multiply(out, offset, R_SQUARED, 0, out, offset);
+    }
+
+    public static long[] toMontgomery(BigInteger x) {
+        long[] out = newElement();
+        toMontgomery(x, out);
+        return out;
+    }
+
+    public static BigInteger fromMontgomery(long[] x) {
+        return fromMontgomery(x, 0);
+    }
+
+    public static BigInteger fromMontgomery(long[] x, int offset) {
+        long[] plain = newElement();
+        multiply(x, offset, ONE, 0, plain, 0);
+        return toBigInteger(plain);
+    }
+
+    // BigInteger bridge
+
+    /** a * b mod p for a, b in [0, p) */
+    public static BigInteger multiply(BigInteger a, BigInteger b) {
+        long[] x = newElement();
+        long[] y = newElement();
+        load(a, x, 0);
+        load(b, y, 0);
+        // (a * b * R^-1) * (R^2) * R^-1 = a * b
+        multiply(x, y, x);
+        multiply(x, R_SQUARED, x);
+        return toBigInteger(x);
+    }
+
+    /**
+     * The product of all elements mod p with one Montgomery product per element: the running
+     * product picks up a factor R^-1 per step, removed at the end by a single multiplication with
+     * R^n. Elements outside [0, p) are reduced first.
+     */
+    public static BigInteger product(BigInteger... elements) {
+        if (elements.length == 0) {
+            return BigInteger.ONE;
+        }
+        long[] accumulator = limbs(reduced(elements[0]));
+        if (elements.length == 1) {
+            return toBigInteger(accumulator);
+        }
+        long[] element = newElement();
+        for (int i = 1; i < elements.length; i++) {
+            load(reduced(elements[i]), element, 0);
+            multiply(accumulator, element, accumulator);
+        }
+        // R_SQUARED is R in Montgomery form, so this is R^(n-1) in Montgomery form, i.e. R^n
+        long[] correction = newElement();
+        pow(R_SQUARED, BigInteger.valueOf(elements.length - 1), correction);
+        multiply(accumulator, correction, accumulator);
+        return toBigInteger(accumulator);
+    }
+
+    /** base^exponent mod p for base in [0, p) and exponent >= 0 */
+    public static BigInteger modPow(BigInteger base, BigInteger exponent) {
+        long[] x = toMontgomery(base);
+        pow(x, exponent, x);
+        return fromMontgomery(x);
+    }
+
+    public static BigInteger modInverse(BigInteger a) {
+        if (a.signum() == 0) {
+            throw new ArithmeticException("Zero has no inverse mod p");
+        }
+        long[] x = toMontgomery(a);
+        inverse(x, x);
+        return fromMontgomery(x);
+    }
+
+    private static BigInteger reduced(BigInteger x) {
+        return Group.isInBoundsP(x) ? x : x.mod(Group.P);
+    }
+
+    static long[] limbs(BigInteger x) {
+        long[] out = newElement();
+        load(x, out, 0);
+        return out;
+    }
+
+    /** Writes x (0 <= x < 2^4096) as little-endian limbs into out[offset, offset + LIMBS). */
+    static void load(BigInteger x, long[] out, int offset) {
+        Arrays.fill(out, offset, offset + LIMBS, 0L);
+        byte[] bytes = x.toByteArray();
+        for (int i = 0; i < bytes.length && i < LIMBS * Long.BYTES; i++) {
+            out[offset + i / Long.BYTES] |= (bytes[bytes.length - 1 - i] & 0xFFL) << (8 * (i % Long.BYTES));
+        }
+    }
+
+    static BigInteger toBigInteger(long[] limbs) {
+        byte[] bytes = new byte[LIMBS * Long.BYTES];
+        for (int limb = 0; limb < LIMBS; limb++) {
+            long value = limbs[limb];
+            int end = bytes.length - limb * Long.BYTES;
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[end - 1 - i] = (byte) (value >>> (8 * i));
+            }
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    private static int compare(long[] a, int offset, long[] b) {
+        for (int i = LIMBS - 1; i >= 0; i--) {
+            int cmp = Long.compareUnsigned(a[offset + i], b[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static void subtractModulus(long[] t) {
+        long borrow = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long x = t[i];
+            long diff = x - MODULUS[i] - borrow;
+            borrow = (Long.compareUnsigned(x, MODULUS[i]) < 0 || (borrow == 1 && x == MODULUS[i])) ? 1 : 0;
+            t[i] = diff;
+        }
+    }
+
+    private static long negativeInverse(long p0) {
+        long inverse = p0;
+        for (int i = 0; i < 6; i++) {
+            inverse *= 2 - p0 * inverse;
+        }
+        return -inverse;
+    }
+}
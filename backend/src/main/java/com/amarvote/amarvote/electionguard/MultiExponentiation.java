@@ -0,0 +1,147 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Products of many powers mod p, {@code b_1^e_1 * ... * b_n^e_n}, with Pippenger's bucket method:
+ * the exponents are cut into windows of c bits; per window each base is multiplied into the bucket
+ * of its digit once, and the buckets are combined with a running product. The squarings are shared
+ * by all bases, so n powers cost about {@code n * bits / c} multiplications instead of
+ * {@code n * bits} squarings. All arithmetic runs on {@link MontgomeryP} limbs.
+ */
+public final class MultiExponentiation {
+
+    private static final int LIMBS = MontgomeryP.LIMBS;
+    private static final int MAX_WINDOW_BITS = 16;
+
+    private MultiExponentiation() {
+    }
+
+    /** The product of {@code bases.get(i)^exponents.get(i)} mod p, bases in [0, p), exponents >= 0. */
+    public static BigInteger product(List<BigInteger> bases, List<BigInteger> exponents) {
+        int n = bases.size();
+        if (n != exponents.size()) {
+            throw new IllegalArgumentException("Expected one exponent per base");
+        }
+        int maxBits = 0;
+        long totalBits = 0;
+        for (BigInteger exponent : exponents) {
+            if (exponent.signum() < 0) {
+                throw new IllegalArgumentException("Negative exponents are not supported");
+            }
+            maxBits = Math.max(maxBits, exponent.bitLength());
+            totalBits += exponent.bitLength();
+        }
+        if (maxBits == 0) {
+            return BigInteger.ONE;
+        }
+
+        int windowBits = windowBits(n, totalBits, maxBits);
+        int words = (maxBits + Long.SIZE - 1) / Long.SIZE;
+        long[] elements = new long[n * LIMBS];
+        long[] digits = new long[n * words];
+        for (int i = 0; i < n; i++) {
+            MontgomeryP.toMontgomery(bases.get(i), elements, i * LIMBS);
+            loadExponent(exponents.get(i), digits, i * words, words);
+        }
+
+        int bucketCount = 1 << windowBits;
+        long[] buckets = new long[bucketCount * LIMBS];
+        boolean[] filled = new boolean[bucketCount];
+        long[] running = MontgomeryP.newElement();
+        long[] windowProduct = MontgomeryP.newElement();
+        long[] accumulator = MontgomeryP.newElement();
+        boolean accumulatorIsOne = true;
+
+        for (int window = (maxBits + windowBits - 1) / windowBits - 1; window >= 0; window--) {
+            if (!accumulatorIsOne) {
+                for (int s = 0; s < windowBits; s++) {
+                    MontgomeryP.square(accumulator, accumulator);
+                }
+            }
+
+            Arrays.fill(filled, false);
+            for (int i = 0; i < n; i++) {
+                int digit = digit(digits, i * words, words, window * windowBits, windowBits);
+                if (digit == 0) {
+                    continue;
+                }
+                if (filled[digit]) {
+                    MontgomeryP.multiply(buckets, digit * LIMBS, elements, i * LIMBS, buckets, digit * LIMBS);
+                } else {
+                    System.arraycopy(elements, i * LIMBS, buckets, digit * LIMBS, LIMBS);
+                    filled[digit] = true;
+                }
+            }
+
+            // prod_d bucket[d]^d as a product of the running products prod_{k >= d} bucket[k]
+            boolean runningSet = false;
+            boolean windowProductSet = false;
+            for (int digit = bucketCount - 1; digit > 0; digit--) {
+                if (filled[digit]) {
+                    if (runningSet) {
+                        MontgomeryP.multiply(running, 0, buckets, digit * LIMBS, running, 0);
+                    } else {
+                        System.arraycopy(buckets, digit * LIMBS, running, 0, LIMBS);
+                        runningSet = true;
+                    }
+                }
+                if (runningSet) {
+                    if (windowProductSet) {
+                        MontgomeryP.multiply(windowProduct, running, windowProduct);
+                    } else {
+                        System.arraycopy(running, 0, windowProduct, 0, LIMBS);
+                        windowProductSet = true;
+                    }
+                }
+            }
+
+            if (windowProductSet) {
+                if (accumulatorIsOne) {
+                    System.arraycopy(windowProduct, 0, accumulator, 0, LIMBS);
+                    accumulatorIsOne = false;
+                } else {
+                    MontgomeryP.multiply(accumulator, windowProduct, accumulator);
+                }
+            }
+        }
+        return accumulatorIsOne ? BigInteger.ONE : MontgomeryP.fromMontgomery(accumulator);
+    }
+
+    /**
+     * The window width minimising the estimated multiplications: about {@code bits_i / c + 1}
+     * bucket insertions per exponent plus {@code 2^(c+1)} to combine the buckets of each window.
+     * Short exponents only pay for the windows they reach, so mixed sizes favour wider windows.
+     */
+    static int windowBits(int n, long totalBits, int maxBits) {
+        int best = 1;
+        long bestCost = Long.MAX_VALUE;
+        for (int c = 1; c <= MAX_WINDOW_BITS; c++) {
+            long cost = totalBits / c + n + (long) ((maxBits + c - 1) / c) * (2L << c);
+            if (cost < bestCost) {
+                best = c;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private static void loadExponent(BigInteger exponent, long[] out, int offset, int words) {
+        byte[] bytes = exponent.toByteArray();
+        for (int i = 0; i < bytes.length && i < words * Long.BYTES; i++) {
+            out[offset + i / Long.BYTES] |= (bytes[bytes.length - 1 - i] & 0xFFL) << (8 * (i % Long.BYTES));
+        }
+    }
+
+    private static int digit(long[] digits, int offset, int words, int position, int windowBits) {
+        int word = position >>> 6;
+        int shift = position & 63;
+        long value = digits[offset + word] >>> shift;
+        if (shift + windowBits > Long.SIZE && word + 1 < words) {
+            value |= digits[offset + word + 1] << (Long.SIZE - shift);
+        }
+        return (int) (value & ((1L << windowBits) - 1));
+    }
+}
@@ -0,0 +1,30 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * Deterministic sequence of elements in [0, q) derived from a seed and optional headers, as in
+ * {@code electionguard/nonces.py}. The same seed and headers always give the same sequence.
+ */
+public final class Nonces {
+
+    private final BigInteger seed;
+
+    public Nonces(BigInteger seed, Object... headers) {
+        if (headers.length > 0) {
+            Object[] elements = new Object[headers.length + 1];
+            elements[0] = seed;
+            System.arraycopy(headers, 0, elements, 1, headers.length);
+            this.seed = CryptoHash.hashElems(elements);
+        } else {
+            this.seed = seed;
+        }
+    }
+
+    public BigInteger get(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Nonces do not support negative indices");
+        }
+        return CryptoHash.hashElems(seed, index);
+    }
+}
@@ -0,0 +1,15 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+
+/**
+ * A selection (candidate or placeholder) of a contest in the election manifest.
+ */
+public record SelectionDescription(String objectId, int sequenceOrder, String candidateId)
+        implements CryptoHashable {
+
+    @Override
+    public BigInteger cryptoHash() {
+        return CryptoHash.hashElems(objectId, sequenceOrder, candidateId);
+    }
+}
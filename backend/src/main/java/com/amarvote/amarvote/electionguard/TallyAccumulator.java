@@ -0,0 +1,76 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running homomorphic tally: per contest and non-placeholder selection, the product of the
+ * selection ciphertexts of every ballot added, which is what the ElectionGuard service publishes
+ * as the {@code CiphertextTally}. Products are kept as Montgomery limbs, pad then data in one
+ * array, so a ballot costs four limb products per selection and no {@link BigInteger} arithmetic.
+ *
+ * <p>Not thread-safe: give each worker its own accumulator and {@link #merge} them at the end.
+ */
+public final class TallyAccumulator {
+
+    private static final int LIMBS = MontgomeryP.LIMBS;
+
+    private final Map<String, Map<String, long[]>> contests = new LinkedHashMap<>();
+    private final long[] element = MontgomeryP.newElement();
+    private long ballots;
+
+    public void add(CiphertextBallot ballot) {
+        for (CiphertextBallotContest contest : ballot.contests()) {
+            Map<String, long[]> selections = contests.computeIfAbsent(contest.objectId(), id -> new LinkedHashMap<>());
+            for (CiphertextBallotSelection selection : contest.ballotSelections()) {
+                if (selection.isPlaceholderSelection()) {
+                    continue;
+                }
+                long[] product = selections.computeIfAbsent(selection.objectId(), id -> one());
+                MontgomeryP.toMontgomery(selection.ciphertext().pad(), element);
+                MontgomeryP.multiply(product, 0, element, 0, product, 0);
+                MontgomeryP.toMontgomery(selection.ciphertext().data(), element);
+                MontgomeryP.multiply(product, LIMBS, element, 0, product, LIMBS);
+            }
+        }
+        ballots++;
+    }
+
+    /** Folds {@code other}'s ballots into this tally; {@code other} is left unchanged. */
+    public void merge(TallyAccumulator other) {
+        other.contests.forEach((contestId, otherSelections) -> {
+            Map<String, long[]> selections = contests.computeIfAbsent(contestId, id -> new LinkedHashMap<>());
+            otherSelections.forEach((selectionId, otherProduct) -> {
+                long[] product = selections.get(selectionId);
+                if (product == null) {
+                    selections.put(selectionId, otherProduct.clone());
+                } else {
+                    MontgomeryP.multiply(product, 0, otherProduct, 0, product, 0);
+                    MontgomeryP.multiply(product, LIMBS, otherProduct, LIMBS, product, LIMBS);
+                }
+            });
+        });
+        ballots += other.ballots;
+    }
+
+    public long ballots() {
+        return ballots;
+    }
+
+    /** The encrypted total of a selection; an encryption of zero with nonce zero if no ballot had it. */
+    public ElGamalCiphertext ciphertext(String contestId, String selectionId) {
+        long[] product = contests.getOrDefault(contestId, Map.of()).get(selectionId);
+        if (product == null) {
+            return new ElGamalCiphertext(BigInteger.ONE, BigInteger.ONE);
+        }
+        return new ElGamalCiphertext(MontgomeryP.fromMontgomery(product, 0), MontgomeryP.fromMontgomery(product, LIMBS));
+    }
+
+    private static long[] one() {
+        long[] product = new long[2 * LIMBS];
+        System.arraycopy(MontgomeryP.ONE_MONTGOMERY, 0, product, 0, LIMBS);
+        System.arraycopy(MontgomeryP.ONE_MONTGOMERY, 0, product, LIMBS, LIMBS);
+        return product;
+    }
+}
@@ -0,0 +1,19 @@
+package com.amarvote.amarvote.exception;
+
+/**
+ * A cast refused because the non-blocking cast pipeline is at capacity; answered with 429 and
+ * Retry-After.
+ */
+public class BallotCastOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public BallotCastOverloadedException(int retryAfterSeconds) {
+        super("Too many ballots are being cast right now");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,159 @@
+package com.amarvote.amarvote.filter;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits of one {@link TrafficClass}: how many of its requests run at once, how many may wait for
+ * a slot and for how long, and how many pooled connections its requests hold at once. A limit of
+ * 0 means unlimited. The bulkhead of the request a thread is serving is available from
+ * {@link #current()}, which is how {@code BulkheadDataSource} finds the connection limit to apply.
+ */
+public class Bulkhead {
+
+    public static final String ACTIVE = "amarvote.bulkhead.active";
+    public static final String QUEUED = "amarvote.bulkhead.queued";
+    public static final String CONNECTIONS = "amarvote.bulkhead.connections";
+    public static final String REJECTED = "amarvote.bulkhead.rejected";
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private final TrafficClass trafficClass;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final int maxConnections;
+    private final long connectionWaitMs;
+    private final int retryAfterSeconds;
+    // fair, so waiting requests are admitted in arrival order
+    private final Semaphore requests;
+    private final Semaphore connections;
+    private final Counter rejectedRequests;
+    private final Counter rejectedConnections;
+
+    public Bulkhead(TrafficClass trafficClass, int maxConcurrent, int maxQueue, long maxWaitMs, int maxConnections,
+            long connectionWaitMs, int retryAfterSeconds, MeterRegistry registry) {
+        this.trafficClass = trafficClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        this.maxConnections = maxConnections;
+        this.connectionWaitMs = connectionWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.requests = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+        this.connections = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+
+        String key = trafficClass.key();
+        Gauge.builder(ACTIVE, this, bulkhead -> bulkhead.requests == null ? Double.NaN
+                : bulkhead.maxConcurrent - bulkhead.requests.availablePermits())
+                .description("Requests of the traffic class being served")
+                .tag("class", key)
+                .register(registry);
+        Gauge.builder(QUEUED, this, bulkhead -> bulkhead.requests == null ? 0 : bulkhead.requests.getQueueLength())
+                .description("Requests of the traffic class waiting for a slot")
+                .tag("class", key)
+                .register(registry);
+        Gauge.builder(CONNECTIONS, this, bulkhead -> bulkhead.connections == null ? Double.NaN
+                : bulkhead.maxConnections - bulkhead.connections.availablePermits())
+                .description("Pooled connections held by requests of the traffic class")
+                .tag("class", key)
+                .register(registry);
+        this.rejectedRequests = Counter.builder(REJECTED)
+                .description("Requests refused with 503 because the traffic class was saturated")
+                .tag("class", key)
+                .tag("resource", "requests")
+                .register(registry);
+        this.rejectedConnections = Counter.builder(REJECTED)
+                .description("Connection requests refused because the traffic class held its share of the pool")
+                .tag("class", key)
+                .tag("resource", "connections")
+                .register(registry);
+    }
+
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Takes a request slot, waiting up to the limit if the queue has room. On success the bulkhead
+     * becomes {@link #current()} for the calling thread; {@link #exit()} undoes both.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        if (requests != null && !requests.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            if (requests.getQueueLength() >= maxQueue
+                    || !requests.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                rejectedRequests.increment();
+                return false;
+            }
+        }
+        CURRENT.set(this);
+        return true;
+    }
+
+    /** Detaches the bulkhead from the calling thread; the slot stays taken until {@link #release()}. */
+    public void detach() {
+        CURRENT.remove();
+    }
+
+    public void release() {
+        if (requests != null) {
+            requests.release();
+        }
+    }
+
+    public void exit() {
+        detach();
+        release();
+    }
+
+    /**
+     * Takes one of the class's connection slots, failing the way an exhausted pool does when none
+     * frees up in time.
+     */
+    public void acquireConnection() throws SQLTransientConnectionException {
+        if (connections == null) {
+            return;
+        }
+        try {
+            if (connections.tryAcquire(connectionWaitMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedConnections.increment();
+        throw new SQLTransientConnectionException(trafficClass.key() + " requests already hold "
+                + maxConnections + " connections");
+    }
+
+    public void releaseConnection() {
+        if (connections != null) {
+            connections.release();
+        }
+    }
+
+    public TrafficClass getTrafficClass() {
+        return trafficClass;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
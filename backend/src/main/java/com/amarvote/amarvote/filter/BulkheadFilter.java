@@ -0,0 +1,179 @@
+package com.amarvote.amarvote.filter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits each request through the bulkhead of its {@link TrafficClass}, so a flood of one kind of
+ * traffic (typically the public chatbot) uses up its own share of request threads and pooled
+ * connections and not the voters'. A request that finds its class full and the class's queue full,
+ * or that waits longer than allowed, gets a 503 with Retry-After.
+ *
+ * Limits are read per class from {@code bulkhead.<class>.max-concurrent}, {@code max-queue},
+ * {@code max-wait-ms}, {@code max-connections}, {@code connection-wait-ms} and
+ * {@code retry-after-seconds}; 0 means unlimited. Startup fails when the other classes, running and
+ * queued, could take every request thread. Runs just after the security chain so rejections still
+ * carry the CORS headers.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+
+    public BulkheadFilter(Environment environment, MeterRegistry registry) {
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String prefix = "bulkhead." + trafficClass.key() + ".";
+            bulkheads.put(trafficClass, new Bulkhead(trafficClass,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 0),
+                    environment.getProperty(prefix + "max-queue", Integer.class, 0),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, 0L),
+                    environment.getProperty(prefix + "max-connections", Integer.class, 0),
+                    environment.getProperty(prefix + "connection-wait-ms", Long.class, 1000L),
+                    environment.getProperty(prefix + "retry-after-seconds", Integer.class, 1),
+                    registry));
+        }
+        // Virtual request threads are not a bounded resource, only the connections are
+        int requestThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                ? Integer.MAX_VALUE
+                : environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        checkVotingReserve(requestThreads,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = getBulkhead(TrafficClass.of(request.getRequestURI()));
+        try {
+            if (!bulkhead.tryEnter()) {
+                reject(response, bulkhead);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, bulkhead);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Mono/SSE endpoints hold their slot until the response completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete(bulkhead));
+                async = true;
+            }
+        } finally {
+            bulkhead.detach();
+            if (!async) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    // Async dispatches run within the slot taken by the original request
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    public Bulkhead getBulkhead(TrafficClass trafficClass) {
+        return bulkheads.get(trafficClass);
+    }
+
+    private static void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Server is busy, please retry shortly\"}");
+    }
+
+    // Waiting requests hold their Tomcat thread just like running ones, so a class can tie up
+    // max-concurrent + max-queue threads; one without a max-concurrent limit can tie up all of them
+    private void checkVotingReserve(int requestThreads, int poolSize) {
+        long otherThreads = 0;
+        int otherConnections = 0;
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            if (bulkhead.getTrafficClass() != TrafficClass.VOTING
+                    && bulkhead.getTrafficClass() != TrafficClass.VOTING_ASYNC) {
+                otherThreads += bulkhead.getMaxConcurrent() > 0
+                        ? bulkhead.getMaxConcurrent() + bulkhead.getMaxQueue()
+                        : Integer.MAX_VALUE;
+                otherConnections += bulkhead.getMaxConnections();
+            }
+        }
+        if (requestThreads == Integer.MAX_VALUE) {
+            System.out.println("Bulkheads: other traffic can take at most " + otherConnections + " of "
+                    + poolSize + " connections; request threads are unbounded virtual threads");
+        } else {
+            if (otherThreads >= requestThreads) {
+                throw new IllegalStateException("Bulkhead limits let other traffic take "
+                        + (otherThreads >= Integer.MAX_VALUE ? "all" : String.valueOf(otherThreads))
+                        + " of " + requestThreads + " request threads (max-concurrent + max-queue), "
+                        + "leaving none for voting");
+            }
+            System.out.println("Bulkheads: other traffic can take at most " + otherThreads + " of " + requestThreads
+                    + " request threads, running or queued, and " + otherConnections + " of " + poolSize
+                    + " connections");
+        }
+        if (otherConnections >= poolSize) {
+            System.err.println("⚠️ Bulkhead limits leave no reserved connections for voting");
+        }
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
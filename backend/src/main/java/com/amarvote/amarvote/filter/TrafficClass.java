@@ -0,0 +1,43 @@
+package com.amarvote.amarvote.filter;
+
+import java.util.List;
+
+/**
+ * The kinds of traffic that get their own bulkhead, by request path. Anything not listed is
+ * {@link #GENERAL}.
+ */
+public enum TrafficClass {
+
+    // Admitted by the cast pipeline itself (429 when full); holds no request thread while in flight
+    VOTING_ASYNC("voting-async", List.of("/api/cast-ballot-async")),
+    VOTING("voting", List.of("/api/cast-ballot", "/api/cast-encrypted-ballot", "/api/create-encrypted-ballot",
+            "/api/benaloh-challenge", "/api/eligibility")),
+    GUARDIAN("guardian", List.of("/api/create-partial-decryption")),
+    ADMIN("admin", List.of("/api/create-election", "/api/create-tally", "/api/combine-partial-decryption")),
+    CHATBOT("chatbot", List.of("/api/chat", "/api/rag/", "/api/test-deepseek")),
+    GENERAL("general", List.of());
+
+    private final String key;
+    private final List<String> pathPrefixes;
+
+    TrafficClass(String key, List<String> pathPrefixes) {
+        this.key = key;
+        this.pathPrefixes = pathPrefixes;
+    }
+
+    /** Name used in the {@code bulkhead.<key>.*} properties and the metric tags. */
+    public String key() {
+        return key;
+    }
+
+    public static TrafficClass of(String path) {
+        for (TrafficClass trafficClass : values()) {
+            for (String prefix : trafficClass.pathPrefixes) {
+                if (path.startsWith(prefix)) {
+                    return trafficClass;
+                }
+            }
+        }
+        return GENERAL;
+    }
+}
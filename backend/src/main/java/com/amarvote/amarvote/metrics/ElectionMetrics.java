@@ -0,0 +1,161 @@
+package com.amarvote.amarvote.metrics;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Micrometer instrumentation for the ballot, tally and decryption pipelines.
+ * Every meter is tagged with the election so a slow phase can be traced to
+ * the election it belongs to; meters are exported at /actuator/prometheus on
+ * the management port. An election's meters are removed by
+ * {@link #forgetElection} once its results are published, or by
+ * ElectionMetricsPruner once it has been over for a while or was deleted, so the
+ * number of series follows the elections in progress rather than every election
+ * ever run. Only the cast phase and guardian decryption timers publish
+ * histograms, with a few fixed SLO buckets each.
+ *
+ * Timings are taken with {@link Timer.Sample}s started by {@link #start()} and
+ * recorded only when the phase completes, so early returns on validation
+ * failures do not skew the distributions.
+ */
+@Component
+public class ElectionMetrics {
+
+    public static final String CAST_PHASE = "amarvote.ballot.cast.phase";
+    public static final String TALLY_REQUEST_BALLOTS = "amarvote.tally.request.ballots";
+    public static final String TALLY_REQUEST_SIZE = "amarvote.tally.request.size";
+    public static final String GUARDIAN_DECRYPTION = "amarvote.decryption.guardian";
+    public static final String REMOTE_IN_FLIGHT = "amarvote.remote.inflight";
+    public static final String BALLOT_REJECTED = "amarvote.ballot.rejected";
+
+    public static final String ELECTIONGUARD = "electionguard";
+    public static final String BLOCKCHAIN = "blockchain";
+
+    private final MeterRegistry registry;
+    private final Map<List<String>, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ElectionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /** Records one phase of casting a ballot, e.g. {@code eligibility} or {@code remote_encryption}. */
+    public void recordCastPhase(Timer.Sample sample, Long electionId, String phase) {
+        sample.stop(Timer.builder(CAST_PHASE)
+                .description("Time spent in each phase of casting a ballot")
+                .tag("election", election(electionId))
+                .tag("phase", phase)
+                .register(registry));
+    }
+
+    /**
+     * Counts a client-encrypted ballot refused at cast time. {@code reason} is a
+     * short fixed label such as {@code malformed}, {@code invalid_proof} or
+     * {@code timeout}, never the detailed message, to keep the series bounded.
+     */
+    public void recordBallotRejected(Long electionId, String reason) {
+        Counter.builder(BALLOT_REJECTED)
+                .description("Encrypted ballots rejected by cast-time verification")
+                .tag("election", election(electionId))
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /** Records how many ballots a tally request carries and its payload size. */
+    public void recordTallyRequest(Long electionId, List<String> encryptedBallots) {
+        // Ciphertexts are ASCII JSON, so characters equal bytes on the wire
+        long bytes = encryptedBallots.stream().mapToLong(String::length).sum();
+        DistributionSummary.builder(TALLY_REQUEST_BALLOTS)
+                .description("Encrypted ballots sent per tally request")
+                .baseUnit("ballots")
+                .tag("election", election(electionId))
+                .register(registry)
+                .record(encryptedBallots.size());
+        DistributionSummary.builder(TALLY_REQUEST_SIZE)
+                .description("Encrypted ballot bytes sent per tally request")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("election", election(electionId))
+                .register(registry)
+                .record(bytes);
+    }
+
+    /**
+     * Records a guardian's decryption call. {@code type} is {@code partial} for
+     * the guardian's own share or {@code compensated} for a share computed on
+     * behalf of a missing guardian.
+     */
+    public void recordGuardianDecryption(Timer.Sample sample, Long electionId, Integer guardianSequence, String type) {
+        sample.stop(Timer.builder(GUARDIAN_DECRYPTION)
+                .description("ElectionGuard decryption latency per guardian")
+                .tag("election", election(electionId))
+                .tag("guardian", String.valueOf(guardianSequence))
+                .tag("type", type)
+                .register(registry));
+    }
+
+    /**
+     * Marks a remote call as in flight until the returned handle is closed:
+     * {@code try (var call = metrics.remoteCall(ELECTIONGUARD, "create_encrypted_tally", id)) { ... }}
+     */
+    public InFlight remoteCall(String service, String operation, Long electionId) {
+        List<String> key = List.of(service, operation, election(electionId));
+        AtomicInteger counter = inFlight.computeIfAbsent(key, k -> registry.gauge(REMOTE_IN_FLIGHT,
+                Tags.of("service", service, "operation", operation, "election", k.get(2)),
+                new AtomicInteger()));
+        counter.incrementAndGet();
+        return counter::decrementAndGet;
+    }
+
+    /** Removes every meter tagged with the election, including its in-flight gauges. */
+    public void forgetElection(Long electionId) {
+        String election = election(electionId);
+        inFlight.keySet().removeIf(key -> key.get(2).equals(election));
+        registry.getMeters().stream()
+                .filter(meter -> election.equals(meter.getId().getTag("election")))
+                .toList()
+                .forEach(registry::remove);
+    }
+
+    /** Elections that currently have meters or in-flight gauges. */
+    public Set<Long> trackedElections() {
+        Set<Long> elections = new HashSet<>();
+        inFlight.keySet().forEach(key -> addElection(elections, key.get(2)));
+        registry.getMeters().forEach(meter -> addElection(elections, meter.getId().getTag("election")));
+        return elections;
+    }
+
+    private static void addElection(Set<Long> elections, String tag) {
+        if (tag != null && !tag.equals("unknown")) {
+            elections.add(Long.valueOf(tag));
+        }
+    }
+
+    private static String election(Long electionId) {
+        return electionId == null ? "unknown" : electionId.toString();
+    }
+
+    /** Handle for an in-flight remote call; closing it never throws. */
+    @FunctionalInterface
+    public interface InFlight extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -3,10 +3,12 @@ package com.amarvote.amarvote.model;
 import java.time.Instant;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -32,7 +34,10 @@ public class Ballot {
     @Column(name = "ballot_id")
     private Long ballotId;
 
+    // The table is partitioned by election (see migration V5__partition_ballots_by_election.sql);
+    // updates and deletes of a single row name it so they only touch that election's partition
     @Column(name = "election_id", nullable = false)
+    @PartitionKey
     private Long electionId;
 
     @Column(name = "submission_time", updatable = false)
@@ -42,7 +47,10 @@ public class Ballot {
     @Column(name = "status", nullable = false, columnDefinition = "TEXT")
     private String status;
 
-    @Column(name = "cipher_text", nullable = false, columnDefinition = "TEXT")
+    // Stored compact, see BallotCodec; the attribute is still the ballot JSON.
+    // Null once the ballot has been moved to BallotArchive
+    @Column(name = "cipher_text", columnDefinition = "BYTEA")
+    @Convert(converter = BallotCipherTextConverter.class)
     private String cipherText;
 
     @Column(name = "hash_code", nullable = false, columnDefinition = "TEXT")
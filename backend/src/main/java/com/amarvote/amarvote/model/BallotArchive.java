@@ -0,0 +1,63 @@
+package com.amarvote.amarvote.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cold half of a {@link Ballot} once its election is decrypted: the cipher text and proof
+ * material, which only audits read again. The hot {@code ballots} row keeps tracking code, hash
+ * and status, and its cipher text is null once the row has been archived.
+ */
+@Entity
+@Table(name = "ballot_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BallotArchive {
+
+    @Id
+    @Column(name = "ballot_id")
+    private Long ballotId;
+
+    @Column(name = "election_id", nullable = false)
+    private Long electionId;
+
+    @Column(name = "cipher_text", nullable = false, columnDefinition = "BYTEA")
+    @Convert(converter = BallotCipherTextConverter.class)
+    private String cipherText;
+
+    @Column(name = "master_nonce", columnDefinition = "TEXT")
+    private String masterNonce;
+
+    @Column(name = "proof", columnDefinition = "TEXT")
+    private String proof;
+
+    @Column(name = "ballot_style", columnDefinition = "TEXT")
+    private String ballotStyle;
+
+    @Column(name = "ballot_nonces", columnDefinition = "JSONB")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String ballotNonces;
+
+    @Column(name = "contest_hashes", columnDefinition = "JSONB")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String contestHashes;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
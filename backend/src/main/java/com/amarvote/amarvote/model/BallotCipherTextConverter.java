@@ -0,0 +1,24 @@
+package com.amarvote.amarvote.model;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Keeps {@code cipher_text} columns in the compact {@link BallotCodec} form while entities and
+ * queries keep working with the ballot JSON.
+ */
+@Converter
+public class BallotCipherTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String json) {
+        return json == null ? null : BallotCodec.encode(json);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return stored == null ? null : BallotCodec.decode(stored);
+    }
+}
@@ -0,0 +1,41 @@
+package com.amarvote.amarvote.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Large cryptographic payloads of an election, kept out of {@link Election} so that reading an
+ * election on the listing and cast paths does not pull a multi-megabyte tally into memory.
+ * Only tally and decryption code reads this table.
+ */
+@Entity
+@Table(name = "election_crypto_artifacts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ElectionCryptoArtifacts {
+
+    @Id
+    @Column(name = "election_id")
+    private Long electionId;
+
+    @Column(name = "encrypted_tally", columnDefinition = "TEXT")
+    private String encryptedTally;
+
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private Instant createdAt;
+}
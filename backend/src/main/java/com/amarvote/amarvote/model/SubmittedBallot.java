@@ -3,8 +3,10 @@ package com.amarvote.amarvote.model;
 import java.time.Instant;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -30,13 +32,18 @@ public class SubmittedBallot {
     @Column(name = "submitted_ballot_id")
     private Long submittedBallotId;
 
+    // The table is partitioned by election (see migration V5__partition_ballots_by_election.sql);
+    // updates and deletes of a single row name it so they only touch that election's partition
     @Column(name = "election_id", nullable = false)
+    @PartitionKey
     private Long electionId;
 
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
     private Instant createdAt;
 
-    @Column(name = "cipher_text", nullable = false, columnDefinition = "TEXT")
+    // Stored compact, see BallotCodec; the attribute is still the ballot JSON
+    @Column(name = "cipher_text", nullable = false, columnDefinition = "BYTEA")
+    @Convert(converter = BallotCipherTextConverter.class)
     private String cipherText;
 }
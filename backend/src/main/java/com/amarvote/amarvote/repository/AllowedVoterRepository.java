@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,5 +42,11 @@ public interface AllowedVoterRepository extends JpaRepository<AllowedVoter, Long
     
     // Check if user exists in allowed voters by user ID and election ID
     boolean existsByElectionIdAndUserId(Long electionId, Integer userId);
+    
+    // Claims the voter's vote; 0 rows when it was already claimed, so two concurrent casts cannot both count
+    @Modifying
+    @Query("UPDATE AllowedVoter av SET av.hasVoted = true "
+            + "WHERE av.electionId = :electionId AND av.userId = :userId AND av.hasVoted = false")
+    int markVoted(@Param("electionId") Long electionId, @Param("userId") Integer userId);
 }
 
@@ -0,0 +1,43 @@
+package com.amarvote.amarvote.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.amarvote.amarvote.model.BallotArchive;
+
+@Repository
+public interface BallotArchiveRepository extends JpaRepository<BallotArchive, Long> {
+
+    @Query("SELECT a.cipherText FROM BallotArchive a WHERE a.ballotId = :ballotId")
+    Optional<String> findCipherTextByBallotId(@Param("ballotId") Long ballotId);
+
+    // Decrypted elections whose ballots still carry their cipher text in the hot table
+    @Query("SELECT DISTINCT b.electionId FROM Ballot b, Election e WHERE e.electionId = b.electionId "
+            + "AND e.status = 'decrypted' AND b.cipherText IS NOT NULL")
+    List<Long> findDecryptedElectionIdsWithHotBallots();
+
+    @Query(value = "SELECT ballot_id FROM ballots WHERE election_id = :electionId AND cipher_text IS NOT NULL "
+            + "ORDER BY ballot_id LIMIT :limit", nativeQuery = true)
+    List<Long> findHotBallotIds(@Param("electionId") Long electionId, @Param("limit") int limit);
+
+    // Copies the stored bytes as they are, without decoding them. Both statements name the election so
+    // they only touch its partition
+    @Modifying
+    @Query(value = "INSERT INTO ballot_archive (ballot_id, election_id, cipher_text, master_nonce, proof, ballot_style, "
+            + "ballot_nonces, contest_hashes, archived_at) "
+            + "SELECT ballot_id, election_id, cipher_text, master_nonce, proof, ballot_style, ballot_nonces, "
+            + "contest_hashes, CURRENT_TIMESTAMP FROM ballots WHERE election_id = :electionId AND ballot_id IN (:ballotIds)", nativeQuery = true)
+    int copyToArchive(@Param("electionId") Long electionId, @Param("ballotIds") List<Long> ballotIds);
+
+    @Modifying
+    @Query(value = "UPDATE ballots SET cipher_text = NULL, master_nonce = NULL, proof = NULL, ballot_style = NULL, "
+            + "ballot_nonces = NULL, contest_hashes = NULL WHERE election_id = :electionId AND ballot_id IN (:ballotIds)",
+            nativeQuery = true)
+    int clearArchivedColumns(@Param("electionId") Long electionId, @Param("ballotIds") List<Long> ballotIds);
+}
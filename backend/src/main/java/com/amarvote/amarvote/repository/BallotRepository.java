@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.amarvote.amarvote.model.Ballot;
+import com.amarvote.amarvote.repository.projection.BallotCipherText;
 
 @Repository
 public interface BallotRepository extends JpaRepository<Ballot, Long> {
@@ -16,6 +18,26 @@ public interface BallotRepository extends JpaRepository<Ballot, Long> {
     // Find ballots by election ID
     List<Ballot> findByElectionId(Long electionId);
 
+    // Only the ciphertexts, without hydrating proofs, nonces and hashes; archived ballots have none
+    @Query("SELECT b.cipherText FROM Ballot b WHERE b.electionId = :electionId AND b.cipherText IS NOT NULL "
+            + "ORDER BY b.ballotId")
+    List<String> findCipherTextsByElectionId(@Param("electionId") Long electionId);
+
+    // Rows of one election after the given id still holding the plain JSON written before cipher_text became
+    // binary; paging by key keeps every page on the election's partition and past the rows already looked at
+    @Query(value = "SELECT ballot_id AS \"ballotId\", election_id AS \"electionId\", cipher_text AS \"cipherText\" FROM ballots "
+            + "WHERE election_id = :electionId AND ballot_id > :afterId AND SUBSTRING(cipher_text FROM 1 FOR 1) = :prefix "
+            + "ORDER BY ballot_id LIMIT :limit", nativeQuery = true)
+    List<BallotCipherText> findStoredCipherTextsStartingWith(@Param("electionId") Long electionId,
+            @Param("afterId") Long afterId, @Param("prefix") byte[] prefix, @Param("limit") int limit);
+
+    // The election id keeps the update on that election's partition
+    @Modifying
+    @Query(value = "UPDATE ballots SET cipher_text = :cipherText WHERE election_id = :electionId AND ballot_id = :id",
+            nativeQuery = true)
+    int updateStoredCipherText(@Param("id") Long id, @Param("electionId") Long electionId,
+            @Param("cipherText") byte[] cipherText);
+
     // Find ballot by tracking code
     Optional<Ballot> findByTrackingCode(String trackingCode);
 
@@ -0,0 +1,23 @@
+package com.amarvote.amarvote.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.amarvote.amarvote.model.ElectionCryptoArtifacts;
+
+@Repository
+public interface ElectionCryptoArtifactsRepository extends JpaRepository<ElectionCryptoArtifacts, Long> {
+
+    // Empty if the tally has not been created yet
+    @Query("SELECT a.encryptedTally FROM ElectionCryptoArtifacts a WHERE a.electionId = :electionId "
+            + "AND a.encryptedTally IS NOT NULL AND a.encryptedTally <> ''")
+    Optional<String> findEncryptedTallyByElectionId(@Param("electionId") Long electionId);
+
+    @Query("SELECT COUNT(a) > 0 FROM ElectionCryptoArtifacts a WHERE a.electionId = :electionId "
+            + "AND a.encryptedTally IS NOT NULL AND a.encryptedTally <> ''")
+    boolean hasEncryptedTally(@Param("electionId") Long electionId);
+}
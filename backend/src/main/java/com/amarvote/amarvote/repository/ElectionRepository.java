@@ -43,7 +43,11 @@ public interface ElectionRepository extends JpaRepository<Election, Long> {
     @Query(value = 
             // Main election data
             "WITH accessible_elections AS (" +
-            "    SELECT DISTINCT e.* FROM elections e " +
+            // Only the columns the listing shows, not the keys, hashes or tally
+            "    SELECT DISTINCT e.election_id, e.election_title, e.election_description, e.number_of_guardians, " +
+            "        e.election_quorum, e.no_of_candidates, e.status, e.starting_time, e.ending_time, " +
+            "        e.created_at, e.profile_pic, e.admin_email, e.privacy, e.eligibility " +
+            "    FROM elections e " +
             "    LEFT JOIN allowed_voters av ON e.election_id = av.election_id " +
             "    LEFT JOIN users u1 ON av.user_id = u1.user_id " +
             "    LEFT JOIN guardians g ON e.election_id = g.election_id " +
@@ -119,4 +123,8 @@ public interface ElectionRepository extends JpaRepository<Election, Long> {
     // Find the most recent public completed/decrypted election
     @Query("SELECT e FROM Election e WHERE e.status IN ('completed', 'decrypted') AND e.privacy = 'public' ORDER BY e.endingTime DESC")
     List<Election> findMostRecentPublicCompletedElection(Pageable pageable);
+
+    // Ids of all elections, for jobs that walk the per-election ballot partitions one at a time
+    @Query("SELECT e.electionId FROM Election e ORDER BY e.electionId")
+    List<Long> findAllElectionIds();
 }
\ No newline at end of file
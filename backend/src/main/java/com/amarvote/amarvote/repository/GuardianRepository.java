@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.amarvote.amarvote.model.Guardian;
+import com.amarvote.amarvote.repository.projection.GuardianRosterEntry;
 
 @Repository
 public interface GuardianRepository extends JpaRepository<Guardian, Long> {
@@ -21,6 +22,10 @@ public interface GuardianRepository extends JpaRepository<Guardian, Long> {
     // Find all guardians for a specific election
     @Query("SELECT g FROM Guardian g WHERE g.electionId = :electionId")
     List<Guardian> findByElectionId(@Param("electionId") Long electionId);
+
+    // Count guardians for a specific election
+    @Query("SELECT COUNT(g) FROM Guardian g WHERE g.electionId = :electionId")
+    int countByElectionId(@Param("electionId") Long electionId);
     
     // Find all elections where a user is guardian
     @Query("SELECT g FROM Guardian g " +
@@ -28,12 +33,16 @@ public interface GuardianRepository extends JpaRepository<Guardian, Long> {
            "WHERE u.userEmail = :userEmail")
     List<Guardian> findByUserEmail(@Param("userEmail") String userEmail);
     
-    // Find guardians with user details for a specific election
-    @Query("SELECT g, u FROM Guardian g " +
+    // Find the guardian roster with user details for a specific election, without keys or shares
+    @Query("SELECT new com.amarvote.amarvote.repository.projection.GuardianRosterEntry(" +
+           "g.sequenceOrder, g.guardianPublicKey, " +
+           "CASE WHEN g.tallyShare IS NOT NULL AND LENGTH(TRIM(g.tallyShare)) > 0 THEN true ELSE false END, " +
+           "g.partialDecryptedTally, g.proof, u.userEmail, u.userName) " +
+           "FROM Guardian g " +
            "JOIN User u ON g.userId = u.userId " +
            "WHERE g.electionId = :electionId " +
            "ORDER BY g.sequenceOrder")
-    List<Object[]> findGuardiansWithUserDetailsByElectionId(@Param("electionId") Long electionId);
+    List<GuardianRosterEntry> findGuardianRosterByElectionId(@Param("electionId") Long electionId);
     
     // Find guardian by election ID and sequence order
     @Query("SELECT g FROM Guardian g WHERE g.electionId = :electionId AND g.sequenceOrder = :sequenceOrder")
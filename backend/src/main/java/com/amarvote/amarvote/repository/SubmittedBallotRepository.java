@@ -1,24 +1,67 @@
 package com.amarvote.amarvote.repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.amarvote.amarvote.model.SubmittedBallot;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface SubmittedBallotRepository extends JpaRepository<SubmittedBallot, Long> {
     
     // Find submitted ballots by election ID
     List<SubmittedBallot> findByElectionId(Long electionId);
+
+    // Only the ciphertexts, in submission order
+    @Query("SELECT sb.cipherText FROM SubmittedBallot sb WHERE sb.electionId = :electionId ORDER BY sb.submittedBallotId")
+    List<String> findCipherTextsByElectionId(@Param("electionId") Long electionId);
+
+    // Streams the ballots of an election through a cursor instead of materializing them all;
+    // needs an open transaction and must be closed by the caller. Native so the cipher texts stay
+    // in their stored form and no JSON is built for them
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT submitted_ballot_id AS \"submittedBallotId\", election_id AS \"electionId\", cipher_text AS \"cipherText\" FROM submitted_ballots "
+            + "WHERE election_id = :electionId ORDER BY submitted_ballot_id", nativeQuery = true)
+    Stream<SubmittedBallotCipherText> streamCipherTextsByElectionId(@Param("electionId") Long electionId);
+    
+    // Rows of one election after the given id still holding the plain JSON written before cipher_text became
+    // binary; paging by key keeps every page on the election's partition and past the rows already looked at
+    @Query(value = "SELECT submitted_ballot_id AS \"submittedBallotId\", election_id AS \"electionId\", cipher_text AS \"cipherText\" FROM submitted_ballots "
+            + "WHERE election_id = :electionId AND submitted_ballot_id > :afterId "
+            + "AND SUBSTRING(cipher_text FROM 1 FOR 1) = :prefix ORDER BY submitted_ballot_id LIMIT :limit", nativeQuery = true)
+    List<SubmittedBallotCipherText> findStoredCipherTextsStartingWith(@Param("electionId") Long electionId,
+            @Param("afterId") Long afterId, @Param("prefix") byte[] prefix, @Param("limit") int limit);
+
+    // The election id keeps the update on that election's partition
+    @Modifying
+    @Query(value = "UPDATE submitted_ballots SET cipher_text = :cipherText "
+            + "WHERE election_id = :electionId AND submitted_ballot_id = :id", nativeQuery = true)
+    int updateStoredCipherText(@Param("id") Long id, @Param("electionId") Long electionId,
+            @Param("cipherText") byte[] cipherText);
     
     // Count submitted ballots for a specific election
     @Query("SELECT COUNT(sb) FROM SubmittedBallot sb WHERE sb.electionId = :electionId")
     long countByElectionId(@Param("electionId") Long electionId);
     
+    // Elections that received submitted ballots after the given instant
+    @Query("SELECT DISTINCT sb.electionId FROM SubmittedBallot sb WHERE sb.createdAt > :since")
+    List<Long> findElectionIdsWithBallotsSince(@Param("since") Instant since);
+    
     // Delete all submitted ballots for a specific election
     void deleteByElectionId(Long electionId);
     
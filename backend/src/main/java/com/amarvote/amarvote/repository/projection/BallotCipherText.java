@@ -0,0 +1,5 @@
+package com.amarvote.amarvote.repository.projection;
+
+/** A cast ballot's {@code cipher_text} as stored, decode it with {@code BallotCodec}. */
+public record BallotCipherText(Long ballotId, Long electionId, byte[] cipherText) {
+}
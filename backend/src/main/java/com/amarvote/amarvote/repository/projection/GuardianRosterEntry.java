@@ -0,0 +1,9 @@
+package com.amarvote.amarvote.repository.projection;
+
+/**
+ * A guardian as the election page shows it. Keys, backups, credentials and decryption shares
+ * are not read; {@code decrypted} says whether a tally share is stored.
+ */
+public record GuardianRosterEntry(Integer sequenceOrder, String guardianPublicKey, boolean decrypted,
+        String partialDecryptedTally, String proof, String userEmail, String userName) {
+}
@@ -0,0 +1,8 @@
+package com.amarvote.amarvote.repository.projection;
+
+/**
+ * A submitted ballot without the entity around it, for read-only bulk work. {@code cipherText} is
+ * the stored column, decode it with {@code BallotCodec}.
+ */
+public record SubmittedBallotCipherText(Long submittedBallotId, Long electionId, byte[] cipherText) {
+}
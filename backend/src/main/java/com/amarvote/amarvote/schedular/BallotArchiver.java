@@ -0,0 +1,33 @@
+package com.amarvote.amarvote.schedular;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.amarvote.amarvote.service.BallotArchiveService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BallotArchiver {
+    private final BallotArchiveService archiveService;
+    private final int batchSize;
+
+    public BallotArchiver(BallotArchiveService archiveService,
+            @Value("${ballots.archive.batch-size:1000}") int batchSize) {
+        this.archiveService = archiveService;
+        this.batchSize = batchSize;
+    }
+
+    // moves proof material of decrypted elections out of the hot ballots table, one batch per transaction
+    @Scheduled(cron = "${ballots.archive.cron:-}")
+    public void archiveDecryptedElections() {
+        for (Long electionId : archiveService.findElectionsToArchive()) {
+            int total = 0;
+            int moved;
+            do {
+                moved = archiveService.archiveBatch(electionId, batchSize);
+                total += moved;
+            } while (moved > 0);
+            System.out.println("Archived " + total + " ballots of decrypted election " + electionId);
+        }
+    }
+}
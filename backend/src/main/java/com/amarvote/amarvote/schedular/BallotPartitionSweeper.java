@@ -0,0 +1,25 @@
+package com.amarvote.amarvote.schedular;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.amarvote.amarvote.service.BallotPartitionService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BallotPartitionSweeper {
+    private final BallotPartitionService partitionService;
+
+    public BallotPartitionSweeper(BallotPartitionService partitionService) {
+        this.partitionService = partitionService;
+    }
+
+    // catches elections whose partitions were not created right after they were, e.g. on a lock timeout
+    @Scheduled(initialDelay = 0, fixedDelayString = "${ballots.partitions.sweep-ms:60000}")
+    public void createMissingPartitions() {
+        for (Long electionId : partitionService.findElectionsWithoutPartitions()) {
+            if (partitionService.createPartitions(electionId)) {
+                System.out.println("Created missing ballot partitions of election " + electionId);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.amarvote.amarvote.schedular;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.amarvote.amarvote.service.CipherTextCompactionService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CipherTextCompactor {
+    private final CipherTextCompactionService compactionService;
+    private final int batchSize;
+    private final int batchesPerRun;
+
+    // Position of the pass: the election being walked, which of its tables and the last id seen there
+    private List<Long> elections;
+    private int election;
+    private boolean submittedBallots;
+    private long lastId;
+    private long total;
+    private boolean done;
+
+    public CipherTextCompactor(CipherTextCompactionService compactionService,
+            @Value("${ballots.compaction.batch-size:500}") int batchSize,
+            @Value("${ballots.compaction.batches-per-run:4}") int batchesPerRun) {
+        this.compactionService = compactionService;
+        this.batchSize = batchSize;
+        this.batchesPerRun = batchesPerRun;
+    }
+
+    // A few batches per run so the shared scheduler thread is soon free for the other jobs; new rows are
+    // always written compact, so once the pass has walked every election there is nothing to do until restart
+    @Scheduled(initialDelayString = "${ballots.compaction.initial-delay-ms:60000}",
+            fixedDelayString = "${ballots.compaction.delay-ms:10000}")
+    public void compactPlainCipherTexts() {
+        if (done) {
+            return;
+        }
+        if (elections == null) {
+            elections = compactionService.findElectionIds();
+        }
+        for (int batch = 0; batch < batchesPerRun; batch++) {
+            if (election == elections.size()) {
+                if (total > 0) {
+                    System.out.println("Compacted " + total + " plain JSON ballot cipher texts");
+                }
+                done = true;
+                return;
+            }
+            Long electionId = elections.get(election);
+            CipherTextCompactionService.Batch result = submittedBallots
+                    ? compactionService.compactSubmittedBallots(electionId, lastId, batchSize)
+                    : compactionService.compactBallots(electionId, lastId, batchSize);
+            total += result.compacted();
+            lastId = result.lastId();
+            if (result.exhausted()) {
+                lastId = 0;
+                if (submittedBallots) {
+                    election++;
+                }
+                submittedBallots = !submittedBallots;
+            }
+        }
+    }
+}
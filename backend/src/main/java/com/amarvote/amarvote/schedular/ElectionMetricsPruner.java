@@ -0,0 +1,49 @@
+package com.amarvote.amarvote.schedular;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.repository.ElectionRepository;
+
+@Component
+public class ElectionMetricsPruner {
+
+    private final ElectionMetrics electionMetrics;
+    private final ElectionRepository electionRepository;
+    private final Duration retention;
+
+    public ElectionMetricsPruner(ElectionMetrics electionMetrics, ElectionRepository electionRepository,
+            @Value("${metrics.election-retention-hours:48}") long retentionHours) {
+        this.electionMetrics = electionMetrics;
+        this.electionRepository = electionRepository;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    // forgetElection only runs once results are published; this covers elections that never get there
+    @Scheduled(fixedRate = 3600000) // every hour
+    public void pruneStaleElections() {
+        Set<Long> tracked = electionMetrics.trackedElections();
+        if (tracked.isEmpty()) {
+            return;
+        }
+        Map<Long, Election> elections = electionRepository.findAllById(tracked).stream()
+                .collect(Collectors.toMap(Election::getElectionId, Function.identity()));
+        Instant cutoff = Instant.now().minus(retention);
+        for (Long electionId : tracked) {
+            Election election = elections.get(electionId);
+            if (election == null || election.getEndingTime().isBefore(cutoff)) {
+                electionMetrics.forgetElection(electionId);
+            }
+        }
+    }
+}
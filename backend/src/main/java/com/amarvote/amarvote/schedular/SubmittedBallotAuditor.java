@@ -0,0 +1,32 @@
+package com.amarvote.amarvote.schedular;
+
+import java.time.Instant;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+import com.amarvote.amarvote.service.BallotAuditService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SubmittedBallotAuditor {
+    private final BallotAuditService auditService;
+    private final SubmittedBallotRepository submittedBallotRepository;
+    private Instant lastRun = Instant.EPOCH;
+
+    public SubmittedBallotAuditor(BallotAuditService auditService, SubmittedBallotRepository submittedBallotRepository) {
+        this.auditService = auditService;
+        this.submittedBallotRepository = submittedBallotRepository;
+    }
+
+    // disabled unless electionguard.audit.cron is set; audits elections that received ballots since the last run
+    @Scheduled(cron = "${electionguard.audit.cron:-}")
+    public void auditNewBallots() {
+        Instant started = Instant.now();
+        System.out.println("Running scheduled audit of ballots submitted since " + lastRun);
+        for (Long electionId : submittedBallotRepository.findElectionIdsWithBallotsSince(lastRun)) {
+            auditService.auditElection(electionId);
+        }
+        lastRun = started;
+    }
+}
@@ -0,0 +1,36 @@
+package com.amarvote.amarvote.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.amarvote.amarvote.repository.BallotArchiveRepository;
+
+/**
+ * Moves the cipher text and proof material of ballots in decrypted elections from
+ * {@code ballots} to {@code ballot_archive}, leaving tracking code, hash and status hot.
+ * {@code BallotService.getBallotDetails} reads archived cipher texts back transparently.
+ */
+@Service
+public class BallotArchiveService {
+
+    @Autowired
+    private BallotArchiveRepository ballotArchiveRepository;
+
+    public List<Long> findElectionsToArchive() {
+        return ballotArchiveRepository.findDecryptedElectionIdsWithHotBallots();
+    }
+
+    /** Archives up to {@code limit} ballots of the election and returns how many were moved. */
+    @Transactional
+    public int archiveBatch(Long electionId, int limit) {
+        List<Long> ballotIds = ballotArchiveRepository.findHotBallotIds(electionId, limit);
+        if (ballotIds.isEmpty()) {
+            return 0;
+        }
+        ballotArchiveRepository.copyToArchive(electionId, ballotIds);
+        return ballotArchiveRepository.clearArchivedColumns(electionId, ballotIds);
+    }
+}
@@ -0,0 +1,131 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.electionguard.BallotVerifier;
+import com.amarvote.amarvote.electionguard.BatchProofVerifier;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.ElectionChoice;
+import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionRepository;
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+
+/**
+ * Re-verifies every ballot in {@code submitted_ballots} for an election: shape and hashes one by
+ * one, then all proofs with {@link BatchProofVerifier} in batches of
+ * {@code electionguard.audit.batch-size} ballots. Ballots are streamed from the database, so
+ * memory stays at one batch however large the election is.
+ */
+@Service
+public class BallotAuditService {
+
+    /** Outcome of one audit; {@code invalidBallotIds} are {@code submitted_ballot_id}s. */
+    public record AuditReport(Long electionId, int ballots, List<Long> invalidBallotIds, long elapsedMillis) {
+
+        public double ballotsPerSecond() {
+            return elapsedMillis == 0 ? ballots * 1000.0 : ballots * 1000.0 / elapsedMillis;
+        }
+    }
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private ElectionChoiceRepository electionChoiceRepository;
+
+    @Autowired
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @Value("${electionguard.audit.batch-size:256}")
+    private int batchSize;
+
+    /** Empty if the election does not exist or has no joint public key yet. */
+    @Transactional(readOnly = true)
+    public Optional<AuditReport> auditElection(Long electionId) {
+        Optional<Election> electionOpt = electionRepository.findById(electionId);
+        if (electionOpt.isEmpty() || electionOpt.get().getJointPublicKey() == null) {
+            return Optional.empty();
+        }
+        Election election = electionOpt.get();
+        long start = System.nanoTime();
+
+        List<ElectionChoice> choices = electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId);
+        ElectionManifest manifest = ElectionManifest.create(
+                choices.stream().map(ElectionChoice::getPartyName).collect(Collectors.toList()),
+                choices.stream().map(ElectionChoice::getOptionTitle).collect(Collectors.toList()));
+        ElectionContext context = ElectionContext.create(election.getNumberOfGuardians(),
+                election.getElectionQuorum(), new BigInteger(election.getJointPublicKey()),
+                new BigInteger(election.getBaseHash()), manifest.getManifestHash());
+        BatchProofVerifier verifier = new BatchProofVerifier(context);
+
+        int audited = 0;
+        List<Long> invalid = new ArrayList<>();
+        List<Long> batchIds = new ArrayList<>();
+        List<CiphertextBallot> batch = new ArrayList<>();
+        try (Stream<SubmittedBallotCipherText> submitted =
+                submittedBallotRepository.streamCipherTextsByElectionId(electionId)) {
+            for (SubmittedBallotCipherText submittedBallot : (Iterable<SubmittedBallotCipherText>) submitted::iterator) {
+                audited++;
+                CiphertextBallot ballot = wellFormed(submittedBallot, manifest, context);
+                if (ballot == null) {
+                    invalid.add(submittedBallot.submittedBallotId());
+                    continue;
+                }
+                batchIds.add(submittedBallot.submittedBallotId());
+                batch.add(ballot);
+                if (batch.size() == batchSize) {
+                    verifyBatch(verifier, batch, batchIds, invalid);
+                }
+            }
+        }
+        verifyBatch(verifier, batch, batchIds, invalid);
+
+        AuditReport report = new AuditReport(electionId, audited, invalid,
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("Audited %d submitted ballots of election %d in %d ms (%.1f ballots/s), %d invalid%s%n",
+                report.ballots(), electionId, report.elapsedMillis(), report.ballotsPerSecond(), invalid.size(),
+                invalid.isEmpty() ? "" : ": " + invalid);
+        return Optional.of(report);
+    }
+
+    private static CiphertextBallot wellFormed(SubmittedBallotCipherText submittedBallot, ElectionManifest manifest,
+            ElectionContext context) {
+        try {
+            CiphertextBallot ballot = BallotCodec.decodeBallot(submittedBallot.cipherText());
+            if (BallotVerifier.structuralError(ballot, manifest, context).isEmpty()) {
+                return ballot;
+            }
+        } catch (IllegalArgumentException e) {
+            // unreadable, reported as invalid below
+        }
+        System.err.println("Submitted ballot " + submittedBallot.submittedBallotId() + " is malformed");
+        return null;
+    }
+
+    private static void verifyBatch(BatchProofVerifier verifier, List<CiphertextBallot> batch, List<Long> batchIds,
+            List<Long> invalid) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int index : verifier.findInvalid(batch)) {
+            invalid.add(batchIds.get(index));
+        }
+        batch.clear();
+        batchIds.clear();
+    }
+}
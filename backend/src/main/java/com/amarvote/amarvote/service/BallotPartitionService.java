@@ -0,0 +1,86 @@
+package com.amarvote.amarvote.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the {@code ballots} and {@code submitted_ballots} partitions of an election through
+ * {@code create_ballot_partitions}. Attaching a partition locks the parent tables against other DDL
+ * and their default partition, if any, exclusively, so it runs in a short transaction of its own
+ * once the election is committed, never inside the election's setup, and gives up after
+ * {@code ballots.partitions.lock-timeout-ms} rather than queueing behind a long tally scan. Does
+ * nothing on databases other than PostgreSQL, which are not partitioned.
+ */
+@Service
+public class BallotPartitionService {
+
+    private static final String WITHOUT_PARTITIONS = "SELECT e.election_id FROM elections e "
+            + "WHERE to_regclass('ballots_e' || e.election_id) IS NULL "
+            + "OR to_regclass('submitted_ballots_e' || e.election_id) IS NULL "
+            + "ORDER BY e.election_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long lockTimeoutMs;
+    private final int attempts;
+    private volatile Boolean postgres;
+
+    public BallotPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${ballots.partitions.lock-timeout-ms:2000}") long lockTimeoutMs,
+            @Value("${ballots.partitions.attempts:3}") int attempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Creates the election's partitions unless they exist, retrying up to
+     * {@code ballots.partitions.attempts} times. Returns false if they could not be created; casts
+     * into the election fail until {@code BallotPartitionSweeper} creates them.
+     */
+    public boolean createPartitions(Long electionId) {
+        if (!isPostgres()) {
+            return true;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+                    jdbcTemplate.execute("SELECT create_ballot_partitions(" + electionId + ")");
+                });
+                return true;
+            } catch (DataAccessException e) {
+                System.err.println("⚠️ Creating ballot partitions of election " + electionId + " failed (attempt "
+                        + attempt + " of " + attempts + "): " + e.getMessage());
+                if (attempt >= attempts) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    public List<Long> findElectionsWithoutPartitions() {
+        if (!isPostgres()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(WITHOUT_PARTITIONS, Long.class);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,164 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.BallotVerifier;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.model.Election;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Verifies client-encrypted ballots before {@code castEncryptedBallot} stores them. The cheap
+ * hash and shape checks run on the caller's thread; the selection range proofs and the contest
+ * limit proof run in parallel on a dedicated pool, so verification latency follows the core count
+ * rather than the number of candidates. A ballot whose proofs are not all confirmed within
+ * {@code electionguard.verification.budget-ms} is rejected.
+ */
+@Service
+public class BallotVerificationService {
+
+    public static final String MALFORMED = "malformed";
+    public static final String HASH_MISMATCH = "hash_mismatch";
+    public static final String INVALID_STRUCTURE = "invalid_structure";
+    public static final String INVALID_PROOF = "invalid_proof";
+    public static final String TIMEOUT = "timeout";
+
+    /** Outcome of verifying one ballot; {@code reason} is one of the constants above. */
+    public record Verdict(boolean valid, String reason, String message) {
+
+        static Verdict accepted() {
+            return new Verdict(true, null, "Ballot verified");
+        }
+
+        static Verdict rejected(String reason, String message) {
+            return new Verdict(false, reason, message);
+        }
+    }
+
+    @Autowired
+    private ElectionMetrics electionMetrics;
+
+    /** Pool size; 0 means one thread per available core. */
+    @Value("${electionguard.verification.threads:0}")
+    private int threads;
+
+    @Value("${electionguard.verification.budget-ms:2000}")
+    private long budgetMillis;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "ballot-verify-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("Ballot proof verification pool started with " + size + " threads, budget "
+                + budgetMillis + " ms");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Checks that {@code encryptedBallot} is a well-formed ballot for this election whose hash is
+     * {@code ballotHash}, carries no nonces, and whose every proof verifies. Rejections are
+     * counted in {@link ElectionMetrics#BALLOT_REJECTED}.
+     */
+    public Verdict verify(Election election, List<String> partyNames, List<String> candidateNames,
+            String encryptedBallot, String ballotHash) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Verdict verdict = check(election, partyNames, candidateNames, encryptedBallot, ballotHash, deadline);
+        if (!verdict.valid()) {
+            System.err.println("Rejected encrypted ballot for election " + election.getElectionId() + ": "
+                    + verdict.message());
+            electionMetrics.recordBallotRejected(election.getElectionId(), verdict.reason());
+        }
+        return verdict;
+    }
+
+    private Verdict check(Election election, List<String> partyNames, List<String> candidateNames,
+            String encryptedBallot, String ballotHash, long deadline) {
+        CiphertextBallot ballot;
+        try {
+            ballot = BallotJson.fromJson(encryptedBallot);
+        } catch (IllegalArgumentException e) {
+            return Verdict.rejected(MALFORMED, "Encrypted ballot could not be read: " + e.getMessage());
+        }
+        if (!matchesHash(ballot, ballotHash)) {
+            return Verdict.rejected(HASH_MISMATCH, "Ballot hash does not match the encrypted ballot");
+        }
+
+        ElectionManifest manifest = ElectionManifest.create(partyNames, candidateNames);
+        ElectionContext context = ElectionContext.create(election.getNumberOfGuardians(),
+                election.getElectionQuorum(), new BigInteger(election.getJointPublicKey()),
+                new BigInteger(election.getBaseHash()), manifest.getManifestHash());
+        Optional<String> structuralError = BallotVerifier.structuralError(ballot, manifest, context);
+        if (structuralError.isPresent()) {
+            return Verdict.rejected(INVALID_STRUCTURE, structuralError.get());
+        }
+
+        return checkProofs(BallotVerifier.proofChecks(ballot, context), deadline);
+    }
+
+    private static boolean matchesHash(CiphertextBallot ballot, String ballotHash) {
+        try {
+            return ballotHash != null && Group.fromHex(ballotHash).equals(ballot.cryptoHash());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Verdict checkProofs(List<BallotVerifier.ProofCheck> checks, long deadline) {
+        List<Future<Boolean>> futures = new ArrayList<>(checks.size());
+        try {
+            for (BallotVerifier.ProofCheck check : checks) {
+                futures.add(pool.submit(() -> check.check().getAsBoolean()));
+            }
+            for (int i = 0; i < checks.size(); i++) {
+                long remaining = deadline - System.nanoTime();
+                if (!futures.get(i).get(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                    return Verdict.rejected(INVALID_PROOF, "Proof for " + checks.get(i).objectId() + " is invalid");
+                }
+            }
+            return Verdict.accepted();
+        } catch (TimeoutException | RejectedExecutionException e) {
+            return Verdict.rejected(TIMEOUT, "Proofs could not be verified within " + budgetMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Verdict.rejected(TIMEOUT, "Interrupted while verifying proofs");
+        } catch (ExecutionException e) {
+            return Verdict.rejected(INVALID_PROOF, "Proof verification failed: " + e.getCause().getMessage());
+        } finally {
+            // No-op for finished checks; drops the queued ones of a rejected ballot
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+}
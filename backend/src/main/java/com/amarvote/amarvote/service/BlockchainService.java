@@ -2,6 +2,7 @@ package com.amarvote.amarvote.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -11,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import com.amarvote.amarvote.dto.BlockchainBallotInfoResponse;
 import com.amarvote.amarvote.dto.BlockchainElectionRequest;
@@ -18,9 +20,12 @@ import com.amarvote.amarvote.dto.BlockchainElectionResponse;
 import com.amarvote.amarvote.dto.BlockchainLogsResponse;
 import com.amarvote.amarvote.dto.BlockchainRecordBallotRequest;
 import com.amarvote.amarvote.dto.BlockchainRecordBallotResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Service for interacting with the blockchain voting API
  * Handles all blockchain-related operations including:
@@ -39,10 +44,17 @@ public class BlockchainService {
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final WebClient webClient;
     
-    public BlockchainService(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    @Autowired
+    public BlockchainService(RestTemplate restTemplate, ObjectMapper objectMapper, WebClient webClient) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.webClient = webClient;
+    }
+    
+    public BlockchainService(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this(restTemplate, objectMapper, WebClient.create());
     }
     
     /**
@@ -128,24 +140,7 @@ public class BlockchainService {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
             
             // Parse response
-            JsonNode responseNode = objectMapper.readTree(response.getBody());
-            
-            if ("success".equals(responseNode.get("status").asText())) {
-                logger.info("Successfully recorded ballot {} for election {} on blockchain", trackingCode, electionId);
-                return BlockchainRecordBallotResponse.builder()
-                    .success(true)
-                    .transactionHash(responseNode.get("transaction_hash").asText())
-                    .blockNumber(responseNode.get("block_number").asLong())
-                    .timestamp(responseNode.get("timestamp").asLong())
-                    .message(responseNode.get("message").asText())
-                    .build();
-            } else {
-                logger.error("Failed to record ballot {} for election {} on blockchain: {}", trackingCode, electionId, responseNode.get("message").asText());
-                return BlockchainRecordBallotResponse.builder()
-                    .success(false)
-                    .message(responseNode.has("message") ? responseNode.get("message").asText() : "Failed to record ballot on blockchain")
-                    .build();
-            }
+            return toRecordBallotResponse(response.getBody(), electionId, trackingCode);
             
         } catch (ResourceAccessException e) {
             logger.error("Blockchain service is not available: {}", e.getMessage());
@@ -154,14 +149,61 @@ public class BlockchainService {
                 .message("Blockchain service is currently unavailable")
                 .build();
         } catch (Exception e) {
-            logger.error("Error recording ballot {} for election {} on blockchain: {}", trackingCode, electionId, e.getMessage());
+            return recordBallotFailed(electionId, trackingCode, e);
+        }
+    }
+    
+    /**
+     * Record a ballot on the blockchain without blocking the caller; failures are reported in the
+     * response like {@link #recordBallot}, never as an error signal
+     */
+    public Mono<BlockchainRecordBallotResponse> recordBallotAsync(String electionId, String trackingCode, String ballotHash) {
+        return webClient.post()
+            .uri(blockchainServiceUrl + "/record-ballot")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new BlockchainRecordBallotRequest(electionId, trackingCode, ballotHash))
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(body -> {
+                try {
+                    return toRecordBallotResponse(body, electionId, trackingCode);
+                } catch (JsonProcessingException e) {
+                    return recordBallotFailed(electionId, trackingCode, e);
+                }
+            })
+            .onErrorResume(e -> Mono.just(recordBallotFailed(electionId, trackingCode, e)));
+    }
+    
+    private BlockchainRecordBallotResponse toRecordBallotResponse(String body, String electionId, String trackingCode)
+            throws JsonProcessingException {
+        JsonNode responseNode = objectMapper.readTree(body);
+        
+        if ("success".equals(responseNode.get("status").asText())) {
+            logger.info("Successfully recorded ballot {} for election {} on blockchain", trackingCode, electionId);
+            return BlockchainRecordBallotResponse.builder()
+                .success(true)
+                .transactionHash(responseNode.get("transaction_hash").asText())
+                .blockNumber(responseNode.get("block_number").asLong())
+                .timestamp(responseNode.get("timestamp").asLong())
+                .message(responseNode.get("message").asText())
+                .build();
+        } else {
+            logger.error("Failed to record ballot {} for election {} on blockchain: {}", trackingCode, electionId, responseNode.get("message").asText());
             return BlockchainRecordBallotResponse.builder()
                 .success(false)
-                .message("Error recording ballot on blockchain: " + e.getMessage())
+                .message(responseNode.has("message") ? responseNode.get("message").asText() : "Failed to record ballot on blockchain")
                 .build();
         }
     }
     
+    private static BlockchainRecordBallotResponse recordBallotFailed(String electionId, String trackingCode, Throwable e) {
+        logger.error("Error recording ballot {} for election {} on blockchain: {}", trackingCode, electionId, e.getMessage());
+        return BlockchainRecordBallotResponse.builder()
+            .success(false)
+            .message("Error recording ballot on blockchain: " + e.getMessage())
+            .build();
+    }
+    
     /**
      * Get ballot information from blockchain
      * @param electionId The election identifier
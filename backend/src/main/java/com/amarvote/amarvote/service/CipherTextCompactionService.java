@@ -0,0 +1,78 @@
+package com.amarvote.amarvote.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.repository.BallotRepository;
+import com.amarvote.amarvote.repository.ElectionRepository;
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+import com.amarvote.amarvote.repository.projection.BallotCipherText;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+
+/**
+ * Rewrites {@code cipher_text} rows that still hold plain JSON, as left behind by migration
+ * {@code V3__compress_ballot_ciphertexts.sql}, into the {@link BallotCodec} form. Such rows are
+ * readable as they are, this only reclaims their space.
+ *
+ * Rows are paged by key within one election at a time, so each batch reads only that election's
+ * partition from where the previous batch stopped; the caller keeps the position between batches.
+ */
+@Service
+public class CipherTextCompactionService {
+
+    private static final byte[] PLAIN_JSON = { '{' };
+
+    @Autowired
+    private BallotRepository ballotRepository;
+
+    @Autowired
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    /** Where a batch stopped: how many rows it rewrote, the last id it saw and whether the election has no more. */
+    public record Batch(int compacted, long lastId, boolean exhausted) {
+    }
+
+    public List<Long> findElectionIds() {
+        return electionRepository.findAllElectionIds();
+    }
+
+    /** Compacts up to {@code limit} of the election's ballots with ids above {@code afterId}. */
+    @Transactional
+    public Batch compactBallots(Long electionId, long afterId, int limit) {
+        List<BallotCipherText> rows = ballotRepository.findStoredCipherTextsStartingWith(electionId, afterId,
+                PLAIN_JSON, limit);
+        int compacted = 0;
+        long lastId = afterId;
+        for (BallotCipherText row : rows) {
+            compacted += ballotRepository.updateStoredCipherText(row.ballotId(), row.electionId(), reencode(row.cipherText()));
+            lastId = row.ballotId();
+        }
+        return new Batch(compacted, lastId, rows.size() < limit);
+    }
+
+    /** Compacts up to {@code limit} of the election's submitted ballots with ids above {@code afterId}. */
+    @Transactional
+    public Batch compactSubmittedBallots(Long electionId, long afterId, int limit) {
+        List<SubmittedBallotCipherText> rows = submittedBallotRepository.findStoredCipherTextsStartingWith(electionId,
+                afterId, PLAIN_JSON, limit);
+        int compacted = 0;
+        long lastId = afterId;
+        for (SubmittedBallotCipherText row : rows) {
+            compacted += submittedBallotRepository.updateStoredCipherText(row.submittedBallotId(), row.electionId(),
+                    reencode(row.cipherText()));
+            lastId = row.submittedBallotId();
+        }
+        return new Batch(compacted, lastId, rows.size() < limit);
+    }
+
+    private static byte[] reencode(byte[] stored) {
+        return BallotCodec.encode(BallotCodec.decode(stored));
+    }
+}
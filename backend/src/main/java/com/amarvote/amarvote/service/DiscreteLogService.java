@@ -0,0 +1,90 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.amarvote.amarvote.electionguard.DiscreteLogTable;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Decodes decrypted tallies {@code g^m} into vote counts with one {@link DiscreteLogTable} shared
+ * by all elections. The table is built on a background thread at startup, so the first lookups
+ * wait for it rather than the application start. With {@code electionguard.dlog.table-dir} set it
+ * is kept in a memory-mapped file there and later starts only map it.
+ *
+ * <p>{@code electionguard.dlog.baby-steps} trades memory for time: 24 to 48 bytes per baby step,
+ * and a lookup of up to {@code max-votes} takes {@code max-votes / baby-steps} multiplications.
+ */
+@Service
+public class DiscreteLogService {
+
+    @Value("${electionguard.dlog.max-votes:10000000}")
+    private long maxVotes;
+
+    @Value("${electionguard.dlog.baby-steps:65536}")
+    private int babySteps;
+
+    /** Empty keeps the table in memory only. */
+    @Value("${electionguard.dlog.table-dir:}")
+    private String tableDir;
+
+    private final CompletableFuture<DiscreteLogTable> table = new CompletableFuture<>();
+
+    @PostConstruct
+    public void init() {
+        Thread builder = new Thread(this::buildTable, "dlog-table-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void buildTable() {
+        long start = System.nanoTime();
+        try {
+            DiscreteLogTable built = tableDir.isBlank() ? DiscreteLogTable.build(babySteps)
+                    : DiscreteLogTable.open(Path.of(tableDir, "dlog-g-" + babySteps + ".bin"), babySteps);
+            System.out.println("Discrete log table ready: " + babySteps + " baby steps, "
+                    + DiscreteLogTable.sizeInBytes(babySteps) / 1024 + " KiB, up to " + maxVotes + " votes in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            table.complete(built);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to build discrete log table: " + e.getMessage());
+            table.completeExceptionally(e);
+        }
+    }
+
+    public boolean isReady() {
+        return table.isDone() && !table.isCompletedExceptionally();
+    }
+
+    public long getMaxVotes() {
+        return maxVotes;
+    }
+
+    /**
+     * The m in {@code [0, max-votes]} with {@code g^m = element}, waiting for the table if it is
+     * still being built.
+     *
+     * @throws IllegalArgumentException if the element is not such a power of g
+     */
+    public long discreteLog(BigInteger element) {
+        long log = table().log(element, maxVotes);
+        if (log < 0) {
+            throw new IllegalArgumentException("Element is not g^m for any m up to " + maxVotes);
+        }
+        return log;
+    }
+
+    private DiscreteLogTable table() {
+        try {
+            return table.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Discrete log table is not available", e.getCause());
+        }
+    }
+}
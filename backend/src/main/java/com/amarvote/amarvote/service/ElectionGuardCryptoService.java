@@ -4,13 +4,16 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Base64;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.amarvote.amarvote.electionguard.GuardianCredentials;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -22,13 +25,27 @@ public class ElectionGuardCryptoService {
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
 
+    @Value("${electionguard.credentials.engine:remote}")
+    private String credentialsEngine = "remote";
+
+    @Value("${electionguard.credentials.master-key:}")
+    private String masterKey = "";
+
+    private GuardianCredentials guardianCredentials;
+
     /**
-     * Encrypts a guardian's private key and polynomial using the ElectionGuard microservice
+     * Encrypts a guardian's private key and polynomial, in the JVM with the native credentials
+     * engine and with the ElectionGuard microservice otherwise
      * @param privateKey The guardian's private key to encrypt
      * @param polynomial The guardian's polynomial to encrypt
      * @return EncryptionResult containing encrypted_data and credentials
      */
     public EncryptionResult encryptGuardianData(String privateKey, String polynomial) {
+        if (isNativeCredentialsEngine()) {
+            GuardianCredentials.Sealed sealed = guardianCredentials()
+                    .seal(createCombinedGuardianString(privateKey, polynomial));
+            return new EncryptionResult(sealed.encryptedData(), sealed.credentials());
+        }
         try {
             System.out.println("Calling ElectionGuard encryption service for guardian private key and polynomial");
             
@@ -129,12 +146,22 @@ public class ElectionGuardCryptoService {
     }
 
     /**
-     * Decrypts a guardian's combined data (private key and polynomial) using the ElectionGuard microservice
+     * Decrypts a guardian's combined data (private key and polynomial). Credentials written by the
+     * native engine are always opened in the JVM, since the microservice only reads its own; the
+     * native engine opens the microservice's too.
      * @param encryptedData The encrypted combined data
      * @param credentials The credentials needed for decryption
      * @return GuardianDecryptionResult containing the decrypted private key and polynomial
      */
     public GuardianDecryptionResult decryptGuardianData(String encryptedData, String credentials) {
+        if (isNativeCredentialsEngine() || "2.0".equals(GuardianCredentials.version(credentials))) {
+            try {
+                return parseCombinedGuardianString(guardianCredentials().open(encryptedData, credentials));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error opening guardian credentials: " + e.getMessage());
+                throw new RuntimeException("Failed to decrypt guardian data", e);
+            }
+        }
         try {
             System.out.println("Calling ElectionGuard decryption service for guardian combined data");
             
@@ -293,6 +320,20 @@ public class ElectionGuardCryptoService {
         }
     }
 
+    public boolean isNativeCredentialsEngine() {
+        return "native".equalsIgnoreCase(credentialsEngine);
+    }
+
+    private synchronized GuardianCredentials guardianCredentials() {
+        if (guardianCredentials == null) {
+            if (masterKey == null || masterKey.isBlank()) {
+                throw new IllegalStateException("MASTER_KEY_PQ is required to seal or open guardian credentials in the JVM");
+            }
+            guardianCredentials = new GuardianCredentials(Base64.getDecoder().decode(masterKey.trim()));
+        }
+        return guardianCredentials;
+    }
+
     /**
      * Creates a combined string format for guardian private key and polynomial
      * @param privateKey The guardian's private key
@@ -6,14 +6,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.amarvote.amarvote.annotation.PerformanceBudget;
 import com.amarvote.amarvote.dto.BlockchainElectionResponse; // Fixed: Use Spring's HttpHeaders, not Netty's
 import com.amarvote.amarvote.dto.ElectionCreationRequest;
 import com.amarvote.amarvote.dto.ElectionDetailResponse; // Added: For setting content type
@@ -31,12 +34,13 @@ import com.amarvote.amarvote.repository.AllowedVoterRepository;
 import com.amarvote.amarvote.repository.BallotRepository;
 import com.amarvote.amarvote.repository.CompensatedDecryptionRepository;
 import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionCryptoArtifactsRepository;
 import com.amarvote.amarvote.repository.ElectionRepository;
 import com.amarvote.amarvote.repository.GuardianRepository;
 import com.amarvote.amarvote.repository.UserRepository;
+import com.amarvote.amarvote.repository.projection.GuardianRosterEntry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -73,6 +77,9 @@ public class ElectionService {
     @Autowired
     private CompensatedDecryptionRepository compensatedDecryptionRepository;
 
+    @Autowired
+    private ElectionCryptoArtifactsRepository electionCryptoArtifactsRepository;
+
     @Autowired
     private BlockchainService blockchainService;
 
@@ -346,6 +353,8 @@ public class ElectionService {
      * query
      * to avoid N+1 query problems when fetching hundreds of elections.
      */
+    @Transactional(readOnly = true)
+    @PerformanceBudget(statements = 1)
     public List<ElectionResponse> getAllAccessibleElections(String userEmail) {
         System.out.println("Fetching optimized accessible elections for user: " + userEmail);
         long startTime = System.currentTimeMillis();
@@ -456,9 +465,10 @@ public class ElectionService {
         boolean hasVoted = false;
         Optional<User> userOpt = userRepository.findByUserEmail(userEmail);
         if (userOpt.isPresent()) {
-            List<AllowedVoter> allAllowedVoters = allowedVoterRepository.findByElectionId(election.getElectionId());
-            hasVoted = allAllowedVoters.stream()
-                    .anyMatch(av -> av.getUserId().equals(userOpt.get().getUserId()) && av.getHasVoted());
+            hasVoted = allowedVoterRepository
+                    .findByElectionIdAndUserId(election.getElectionId(), userOpt.get().getUserId())
+                    .map(AllowedVoter::getHasVoted)
+                    .orElse(false);
         }
 
         // Get admin name
@@ -504,6 +514,9 @@ public class ElectionService {
      * @param userEmail  The email of the user requesting the election
      * @return ElectionDetailResponse if authorized, null if not authorized
      */
+    @Transactional(readOnly = true)
+    // guardian keys and the voter roll, never the ciphertext tally
+    @PerformanceBudget(bytesFetched = 100_000)
     public ElectionDetailResponse getElectionById(Long electionId, String userEmail) {
         System.out.println("Fetching election details for ID: " + electionId + " by user: " + userEmail);
 
@@ -528,6 +541,19 @@ public class ElectionService {
         return buildElectionDetailResponse(election, userEmail);
     }
 
+    /**
+     * The ciphertext tally of an election for the verification tab. Empty if the tally has not
+     * been created yet or the user may not view the election.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getEncryptedTally(Long electionId, String userEmail) {
+        Optional<Election> electionOpt = electionRepository.findById(electionId);
+        if (!electionOpt.isPresent() || !isUserAuthorizedToViewElection(electionOpt.get(), userEmail)) {
+            return Optional.empty();
+        }
+        return electionCryptoArtifactsRepository.findEncryptedTallyByElectionId(electionId);
+    }
+
     /**
      * Check if user is authorized to view the election
      */
@@ -612,7 +638,7 @@ public class ElectionService {
                 .status(election.getStatus())
                 .startingTime(election.getStartingTime())
                 .endingTime(election.getEndingTime())
-                .encryptedTally(election.getEncryptedTally())
+                .hasEncryptedTally(electionCryptoArtifactsRepository.hasEncryptedTally(election.getElectionId()))
                 .baseHash(election.getBaseHash())
                 .createdAt(election.getCreatedAt())
                 .profilePic(election.getProfilePic())
@@ -662,28 +688,20 @@ public class ElectionService {
      */
     private List<ElectionDetailResponse.GuardianInfo> getGuardianInfoForElection(Long electionId,
             String currentUserEmail) {
-        List<Object[]> guardianData = guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId);
-
-        return guardianData.stream()
-                .map(data -> {
-                    Guardian guardian = (Guardian) data[0];
-                    User user = (User) data[1];
-
-                    // Calculate decryption status based on tallyShare field
-                    boolean hasDecrypted = guardian.getTallyShare() != null
-                            && !guardian.getTallyShare().trim().isEmpty();
-
-                    return ElectionDetailResponse.GuardianInfo.builder()
-                            .userEmail(user.getUserEmail())
-                            .userName(user.getUserName())
-                            .guardianPublicKey(guardian.getGuardianPublicKey())
-                            .sequenceOrder(guardian.getSequenceOrder())
-                            .decryptedOrNot(hasDecrypted)
-                            .partialDecryptedTally(guardian.getPartialDecryptedTally())
-                            .proof(guardian.getProof())
-                            .isCurrentUser(user.getUserEmail().equals(currentUserEmail))
-                            .build();
-                })
+        List<GuardianRosterEntry> roster = guardianRepository.findGuardianRosterByElectionId(electionId);
+
+        return roster.stream()
+                .map(guardian -> ElectionDetailResponse.GuardianInfo.builder()
+                        .userEmail(guardian.userEmail())
+                        .userName(guardian.userName())
+                        .guardianPublicKey(guardian.guardianPublicKey())
+                        .sequenceOrder(guardian.sequenceOrder())
+                        // Decryption status is based on the tallyShare field
+                        .decryptedOrNot(guardian.decrypted())
+                        .partialDecryptedTally(guardian.partialDecryptedTally())
+                        .proof(guardian.proof())
+                        .isCurrentUser(guardian.userEmail().equals(currentUserEmail))
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -771,6 +789,7 @@ public class ElectionService {
      * Get safe election information for chatbot responses
      * Only returns non-sensitive public information
      */
+    @Transactional(readOnly = true)
     public String getPublicElectionInfo(String query) {
         try {
             // Check if user is asking for the most recent election
@@ -961,6 +980,7 @@ public class ElectionService {
     /**
      * Search for specific election by title or partial match
      */
+    @Transactional(readOnly = true)
     public String getSpecificElectionInfo(String electionQuery) {
         try {
             // If query is "all" or similar, just return all elections
@@ -1036,6 +1056,7 @@ public class ElectionService {
     /**
      * Get election start time information for a specific election
      */
+    @Transactional(readOnly = true)
     public String getElectionStartTimeInfo(String electionName) {
         try {
             // Find election by title (case-insensitive search)
@@ -1099,9 +1120,14 @@ public class ElectionService {
     /**
      * Get guardian information for verification tab, excluding sensitive credentials
      */
+    @Transactional(readOnly = true)
+    @PerformanceBudget(statements = 2, allocatedBytes = 500_000)
     public List<Map<String, Object>> getGuardiansForVerification(Long electionId) {
         try {
             List<Guardian> guardians = guardianRepository.findByElectionId(electionId);
+            Map<Integer, User> usersById = findUsersById(guardians.stream()
+                    .map(Guardian::getUserId)
+                    .collect(Collectors.toSet()));
             
             return guardians.stream().map(guardian -> {
                 Map<String, Object> guardianData = new HashMap<>();
@@ -1120,9 +1146,8 @@ public class ElectionService {
                 // Removed: ballotShare and proof fields as they're not needed for verification table
                 
                 // Add user information if available
-                Optional<User> userOpt = userRepository.findById(guardian.getUserId());
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
+                User user = usersById.get(guardian.getUserId());
+                if (user != null) {
                     guardianData.put("userEmail", user.getUserEmail());
                     guardianData.put("userName", user.getUserName());
                 }
@@ -1140,9 +1165,21 @@ public class ElectionService {
     /**
      * Get compensated decryption information for verification tab
      */
+    @Transactional(readOnly = true)
+    @PerformanceBudget(statements = 3, allocatedBytes = 1_000_000)
     public List<Map<String, Object>> getCompensatedDecryptionsForVerification(Long electionId) {
         try {
             List<CompensatedDecryption> compensatedDecryptions = compensatedDecryptionRepository.findByElectionId(electionId);
+            if (compensatedDecryptions.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            // Resolve guardians and their users once instead of per decryption row
+            Map<Integer, Guardian> guardiansBySequence = guardianRepository.findByElectionId(electionId).stream()
+                    .collect(Collectors.toMap(Guardian::getSequenceOrder, guardian -> guardian, (first, second) -> first));
+            Map<Integer, User> usersById = findUsersById(guardiansBySequence.values().stream()
+                    .map(Guardian::getUserId)
+                    .collect(Collectors.toSet()));
             
             return compensatedDecryptions.stream().map(cd -> {
                 Map<String, Object> cdData = new HashMap<>();
@@ -1153,24 +1190,22 @@ public class ElectionService {
                 cdData.put("compensatedBallotShare", cd.getCompensatedBallotShare());
                 
                 // Add guardian information for better understanding
-                Guardian compensatingGuardian = guardianRepository
-                    .findByElectionIdAndSequenceOrder(electionId, cd.getCompensatingGuardianSequence());
-                Guardian missingGuardian = guardianRepository
-                    .findByElectionIdAndSequenceOrder(electionId, cd.getMissingGuardianSequence());
+                Guardian compensatingGuardian = guardiansBySequence.get(cd.getCompensatingGuardianSequence());
+                Guardian missingGuardian = guardiansBySequence.get(cd.getMissingGuardianSequence());
                 
                 if (compensatingGuardian != null) {
-                    Optional<User> compensatingUser = userRepository.findById(compensatingGuardian.getUserId());
-                    if (compensatingUser.isPresent()) {
-                        cdData.put("compensatingGuardianEmail", compensatingUser.get().getUserEmail());
-                        cdData.put("compensatingGuardianName", compensatingUser.get().getUserName());
+                    User compensatingUser = usersById.get(compensatingGuardian.getUserId());
+                    if (compensatingUser != null) {
+                        cdData.put("compensatingGuardianEmail", compensatingUser.getUserEmail());
+                        cdData.put("compensatingGuardianName", compensatingUser.getUserName());
                     }
                 }
                 
                 if (missingGuardian != null) {
-                    Optional<User> missingUser = userRepository.findById(missingGuardian.getUserId());
-                    if (missingUser.isPresent()) {
-                        cdData.put("missingGuardianEmail", missingUser.get().getUserEmail());
-                        cdData.put("missingGuardianName", missingUser.get().getUserName());
+                    User missingUser = usersById.get(missingGuardian.getUserId());
+                    if (missingUser != null) {
+                        cdData.put("missingGuardianEmail", missingUser.getUserEmail());
+                        cdData.put("missingGuardianName", missingUser.getUserName());
                     }
                 }
                 
@@ -1183,4 +1218,15 @@ public class ElectionService {
             throw new RuntimeException("Failed to retrieve compensated decryption information", e);
         }
     }
+
+    /**
+     * Load users in one query, keyed by user ID
+     */
+    private Map<Integer, User> findUsersById(Set<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, user -> user));
+    }
 }
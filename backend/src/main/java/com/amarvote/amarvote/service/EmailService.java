@@ -4,11 +4,15 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -75,7 +79,7 @@ public class EmailService {
             FileSystemResource file = new FileSystemResource(credentialFilePath.toFile());
             helper.addAttachment("credentials.txt", file);
             
-            mailSender.send(message);
+            send(message);
             
             System.out.println("✅ Guardian credential email sent successfully to: " + toEmail);
             
@@ -93,12 +97,40 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true); // Enable HTML
             helper.setFrom(fromEmail);
-            mailSender.send(message);
+            send(message);
         } catch (MessagingException e) {
             throw new RuntimeException("Failed to send HTML email", e);
         }
     }
 
+    /**
+     * Angus Mail holds a monitor for the whole SMTP exchange, which on a virtual thread pins its
+     * carrier until the server answers. Virtual threads hand the send to a platform thread and
+     * wait for it instead; failures surface to the caller either way.
+     */
+    private void send(MimeMessage message) {
+        if (!Thread.currentThread().isVirtual()) {
+            mailSender.send(message);
+            return;
+        }
+        try {
+            PlatformSenders.POOL.submit(() -> mailSender.send(message)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending email", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MailSendException("Failed to send email", e.getCause());
+        }
+    }
+
+    private static final class PlatformSenders {
+        static final ExecutorService POOL = Executors.newFixedThreadPool(4,
+                Thread.ofPlatform().name("mail-send-", 1).daemon().factory());
+    }
+
     private String loadResetPasswordTemplate(String resetLink) {
         try {
             ClassPathResource resource = new ClassPathResource("templates/resetpasswordemail.html");
@@ -0,0 +1,93 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardBenalohResponse;
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.BenalohVerifier;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.FixedBaseTableCache;
+import com.amarvote.amarvote.electionguard.Group;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-process replacement for the ElectionGuard service's {@code /create_encrypted_ballot} and
+ * {@code /benaloh_challenge}, used when {@code electionguard.ballot.engine=native}. Answers with
+ * the same fields the service sends.
+ */
+@Service
+public class NativeBallotEncryptionService {
+
+    @Value("${electionguard.fixedbase.cache-bytes:67108864}")
+    private long fixedBaseCacheBytes;
+
+    @PostConstruct
+    public void init() {
+        // Joint public key tables are ~1.4 MB each; the bound caps how many elections stay warm
+        FixedBaseTableCache.shared().setMaxBytes(fixedBaseCacheBytes);
+    }
+
+    public ElectionGuardBallotResponse createEncryptedBallot(List<String> partyNames, List<String> candidateNames,
+            String candidateName, String ballotId, String jointPublicKey, String commitmentHash,
+            int numberOfGuardians, int quorum) {
+        ElectionManifest manifest = ElectionManifest.create(partyNames, candidateNames);
+        ElectionContext context = ElectionContext.create(numberOfGuardians, quorum,
+                new BigInteger(jointPublicKey), new BigInteger(commitmentHash), manifest.getManifestHash());
+
+        CiphertextBallot ballot = BallotEncryptor.encrypt(manifest, context, ballotId, candidateName);
+
+        return ElectionGuardBallotResponse.builder()
+                .status("success")
+                .ballot_id(ballotId)
+                .ballot_status("CAST")
+                .ballot_hash(Group.toHex(ballot.cryptoHash()))
+                .encrypted_ballot(BallotJson.toJson(ballot.withoutNonces()))
+                .encrypted_ballot_with_nonce(BallotJson.toJson(ballot))
+                .publication_status("published_without_nonces")
+                .build();
+    }
+
+    /**
+     * Checks a challenged ballot against the candidate the voter says they chose, see
+     * {@link BenalohVerifier}. A ballot that does not reveal its nonce answers with status "error".
+     */
+    public ElectionGuardBenalohResponse benalohChallenge(List<String> partyNames, List<String> candidateNames,
+            String candidateName, String jointPublicKey, String commitmentHash, int numberOfGuardians, int quorum,
+            String encryptedBallotWithNonce) {
+        ElectionManifest manifest = ElectionManifest.create(partyNames, candidateNames);
+        ElectionContext context = ElectionContext.create(numberOfGuardians, quorum,
+                new BigInteger(jointPublicKey), new BigInteger(commitmentHash), manifest.getManifestHash());
+
+        BenalohVerifier.Result result;
+        try {
+            result = BenalohVerifier.verify(BallotJson.fromJson(encryptedBallotWithNonce), manifest, context,
+                    candidateName);
+        } catch (IllegalArgumentException e) {
+            return ElectionGuardBenalohResponse.builder()
+                    .status("error")
+                    .message(e.getMessage())
+                    .build();
+        }
+        String verifiedCandidate = result.verifiedCandidate().orElse(null);
+        return ElectionGuardBenalohResponse.builder()
+                .status("success")
+                .ballot_id(result.ballotId())
+                .match(result.match())
+                .verified_candidate(verifiedCandidate)
+                .expected_candidate(result.match() ? null : candidateName)
+                .message(result.match()
+                        ? "Ballot choice matches expected candidate: " + candidateName
+                        : "Ballot choice does NOT match expected candidate: " + candidateName
+                                + ". Actual choice: " + verifiedCandidate)
+                .build();
+    }
+}
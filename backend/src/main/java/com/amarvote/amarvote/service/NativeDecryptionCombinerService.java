@@ -0,0 +1,297 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.amarvote.amarvote.electionguard.DecryptionShareCombiner;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.model.CompensatedDecryption;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.Guardian;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Combines the stored tally shares of an election in the JVM when
+ * {@code electionguard.combine.engine=native}, instead of sending every share and ballot to
+ * {@code /combine_decryption_shares}. Selections are combined and decoded in parallel on a
+ * dedicated pool, and the answer has the shape of the microservice's {@code results}, so
+ * {@link PartialDecryptionService} publishes it the same way.
+ */
+@Service
+public class NativeDecryptionCombinerService {
+
+    @Autowired
+    private DiscreteLogService discreteLogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Pool size; 0 means one thread per available core. */
+    @Value("${electionguard.combine.threads:0}")
+    private int threads;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "share-combine-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The decrypted results of {@code election}, whose ciphertext tally is {@code encryptedTally},
+     * or empty if the tally holds spoiled ballots: decrypting those needs the ballot shares, which
+     * only the microservice combines.
+     *
+     * @param availableGuardians guardians whose tally share is stored; every other guardian of
+     *                           {@code guardians} is compensated from {@code compensatedDecryptions}
+     * @throws IllegalArgumentException if a share is missing or invalid, or a count cannot be decoded
+     */
+    public Optional<Map<String, Object>> combine(Election election, String encryptedTally, List<String> partyNames,
+            List<String> candidateNames, List<String> ballotCipherTexts, List<Guardian> guardians,
+            List<Guardian> availableGuardians, List<CompensatedDecryption> compensatedDecryptions) {
+        long start = System.nanoTime();
+        JsonNode tally = read(encryptedTally);
+        if (tally.path("spoiled_ballot_ids").size() > 0) {
+            return Optional.empty();
+        }
+
+        ElectionManifest manifest = ElectionManifest.create(partyNames, candidateNames);
+        ElectionContext context = ElectionContext.create(guardians.size(), election.getElectionQuorum(),
+                new BigInteger(election.getJointPublicKey()), new BigInteger(election.getBaseHash()),
+                manifest.getManifestHash());
+
+        Map<Integer, BigInteger> guardianKeys = new LinkedHashMap<>();
+        Map<Integer, String> tallyShares = new LinkedHashMap<>();
+        for (Guardian guardian : availableGuardians) {
+            guardianKeys.put(guardian.getSequenceOrder(),
+                    Group.fromHex(read(guardian.getGuardianDecryptionKey()).path("key").asText()));
+            tallyShares.put(guardian.getSequenceOrder(), guardian.getTallyShare());
+        }
+        Set<Integer> available = guardianKeys.keySet();
+        List<Guardian> missingGuardians = guardians.stream()
+                .filter(guardian -> !available.contains(guardian.getSequenceOrder()))
+                .collect(Collectors.toList());
+        Map<Integer, List<BigInteger>> missingCommitments = new LinkedHashMap<>();
+        Map<Integer, Map<Integer, String>> compensatedShares = new LinkedHashMap<>();
+        for (Guardian guardian : missingGuardians) {
+            missingCommitments.put(guardian.getSequenceOrder(), coefficientCommitments(guardian));
+            compensatedShares.put(guardian.getSequenceOrder(), new LinkedHashMap<>());
+        }
+        for (CompensatedDecryption compensated : compensatedDecryptions) {
+            Map<Integer, String> byGuardian = compensatedShares.get(compensated.getMissingGuardianSequence());
+            if (byGuardian != null && available.contains(compensated.getCompensatingGuardianSequence())) {
+                byGuardian.put(compensated.getCompensatingGuardianSequence(), compensated.getCompensatedTallyShare());
+            }
+        }
+
+        DecryptionShareCombiner combiner = new DecryptionShareCombiner(context.cryptoExtendedBaseHash(),
+                guardianKeys, missingCommitments);
+        List<DecryptionShareCombiner.Selection> selections = DecryptionShareCombiner.selections(
+                encryptedTally, tallyShares, compensatedShares);
+        List<Future<Long>> counts = new ArrayList<>(selections.size());
+        for (DecryptionShareCombiner.Selection selection : selections) {
+            counts.add(pool.submit(() -> discreteLogService.discreteLog(combiner.decrypt(selection))));
+        }
+        Map<String, Long> votes = new LinkedHashMap<>();
+        for (int i = 0; i < selections.size(); i++) {
+            votes.put(selections.get(i).selectionId(), join(counts, i));
+        }
+
+        System.out.println("Combined " + selections.size() + " selections of election " + election.getElectionId()
+                + " from " + available.size() + " guardians, " + missingGuardians.size() + " compensated, in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return Optional.of(results(election, partyNames, candidateNames, ballotCipherTexts, guardians.size(),
+                tally.path("cast_ballot_ids").size(), votes, availableGuardians, missingGuardians));
+    }
+
+    private static long join(List<Future<Long>> counts, int index) {
+        try {
+            return counts.get(index).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            counts.forEach(count -> count.cancel(true));
+            throw new IllegalStateException("Interrupted while combining decryption shares", e);
+        } catch (ExecutionException e) {
+            counts.forEach(count -> count.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Combining decryption shares failed", e.getCause());
+        }
+    }
+
+    /** Same layout as the {@code results} of {@code combine_decryption_shares_service}. */
+    private Map<String, Object> results(Election election, List<String> partyNames, List<String> candidateNames,
+            List<String> ballotCipherTexts, int numberOfGuardians, int castBallots, Map<String, Long> votes,
+            List<Guardian> availableGuardians, List<Guardian> missingGuardians) {
+        Map<String, Object> electionSection = new LinkedHashMap<>();
+        electionSection.put("name", election.getElectionTitle());
+        electionSection.put("scope_id", ElectionManifest.ELECTION_SCOPE_ID);
+        electionSection.put("type", "ElectionType.general");
+        electionSection.put("start_date", isoDate(election.getStartingTime()));
+        electionSection.put("end_date", isoDate(election.getEndingTime()));
+        electionSection.put("number_of_guardians", numberOfGuardians);
+        electionSection.put("quorum", election.getElectionQuorum());
+        Map<String, Object> unit = entry("id", "county-1", "name", "County 1");
+        unit.put("type", "ReportingUnitType.county");
+        electionSection.put("geopolitical_units", List.of(unit));
+        List<Map<String, Object>> parties = new ArrayList<>();
+        for (int i = 0; i < partyNames.size(); i++) {
+            parties.add(entry("id", "party-" + (i + 1), "name", partyNames.get(i)));
+        }
+        electionSection.put("parties", parties);
+        List<Map<String, Object>> candidates = new ArrayList<>();
+        List<Map<String, Object>> contestSelections = new ArrayList<>();
+        for (int i = 0; i < candidateNames.size(); i++) {
+            Map<String, Object> candidate = entry("id", "candidate-" + (i + 1), "name", candidateNames.get(i));
+            candidate.put("party_id", "party-" + (i + 1));
+            candidates.add(candidate);
+            contestSelections.add(entry("id", candidateNames.get(i), "candidate_id", candidateNames.get(i)));
+        }
+        electionSection.put("candidates", candidates);
+        Map<String, Object> contest = entry("id", ElectionManifest.CONTEST_ID, "name", "County Executive");
+        contest.put("selections", contestSelections);
+        electionSection.put("contests", List.of(contest));
+
+        Map<String, Object> candidateResults = new LinkedHashMap<>();
+        votes.forEach((selectionId, count) -> candidateResults.put(selectionId,
+                entry("votes", String.valueOf(count), "percentage", percentage(count, castBallots))));
+        Map<String, Object> resultsSection = new LinkedHashMap<>();
+        resultsSection.put("total_ballots_cast", ballotCipherTexts.size());
+        resultsSection.put("total_valid_ballots", castBallots);
+        resultsSection.put("total_spoiled_ballots", 0);
+        resultsSection.put("candidates", candidateResults);
+        resultsSection.put("spoiled_ballots", List.of());
+
+        List<Map<String, Object>> ballots = new ArrayList<>();
+        for (String cipherText : ballotCipherTexts) {
+            JsonNode ballot = read(cipherText);
+            String hash = Group.toHex(Group.fromHex(ballot.path("crypto_hash").asText()));
+            Map<String, Object> ballotInfo = entry("ballot_id", ballot.path("object_id").asText(), "initial_hash", hash);
+            ballotInfo.put("status", "cast");
+            ballotInfo.put("decrypted_hash", hash);
+            // No per-ballot "verification": only the tally is decrypted here, not each ballot
+            ballots.add(ballotInfo);
+        }
+        List<Map<String, Object>> guardianInfo = new ArrayList<>();
+        for (Guardian guardian : availableGuardians) {
+            JsonNode key = read(guardian.getGuardianDecryptionKey());
+            Map<String, Object> info = entry("id", key.path("owner_id").asText(),
+                    "sequence_order", key.path("sequence_order").asText());
+            info.put("public_key", key.path("key").asText());
+            info.put("status", "available");
+            guardianInfo.add(info);
+        }
+        for (Guardian guardian : missingGuardians) {
+            JsonNode data = read(guardian.getKeyBackup());
+            Map<String, Object> info = entry("id", String.valueOf(guardian.getSequenceOrder()),
+                    "sequence_order", data.path("sequence_order").asText());
+            info.put("public_key", electionPublicKey(data).path("key").asText());
+            info.put("status", "missing (compensated)");
+            guardianInfo.add(info);
+        }
+        Map<String, Object> verification = new LinkedHashMap<>();
+        verification.put("ballots", ballots);
+        verification.put("guardians", guardianInfo);
+        // Every tally share, direct or compensated, passed its proof; the combiner throws otherwise
+        verification.put("tally_share_proofs", "success");
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("election", electionSection);
+        results.put("results", resultsSection);
+        results.put("verification", verification);
+        return results;
+    }
+
+    /** Python's naive {@code datetime.isoformat()}, in UTC. */
+    static String isoDate(Instant instant) {
+        return instant == null ? null
+                : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                        LocalDateTime.ofInstant(instant.truncatedTo(ChronoUnit.SECONDS), ZoneOffset.UTC));
+    }
+
+    /** Python's {@code str(round(votes / cast * 100, 2))}. */
+    static String percentage(long votes, int castBallots) {
+        if (castBallots == 0) {
+            return "0";
+        }
+        double percentage = (double) votes / castBallots * 100;
+        return Double.toString(new BigDecimal(percentage).setScale(2, RoundingMode.HALF_EVEN).doubleValue());
+    }
+
+    private List<BigInteger> coefficientCommitments(Guardian guardian) {
+        List<BigInteger> commitments = new ArrayList<>();
+        for (JsonNode commitment : electionPublicKey(read(guardian.getKeyBackup())).path("coefficient_commitments")) {
+            commitments.add(Group.fromHex(commitment.asText()));
+        }
+        if (commitments.isEmpty()) {
+            throw new IllegalArgumentException("Guardian " + guardian.getSequenceOrder()
+                    + " has no coefficient commitments to compensate with");
+        }
+        return commitments;
+    }
+
+    /** {@code guardian_data} keeps the election public key as a nested JSON string. */
+    private JsonNode electionPublicKey(JsonNode guardianData) {
+        JsonNode key = guardianData.path("election_public_key");
+        return key.isTextual() ? read(key.asText()) : key;
+    }
+
+    private JsonNode read(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Decryption input is missing");
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Decryption input is not valid JSON", e);
+        }
+    }
+
+    private static Map<String, Object> entry(String firstKey, Object firstValue, String secondKey, Object secondValue) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(firstKey, firstValue);
+        map.put(secondKey, secondValue);
+        return map;
+    }
+}
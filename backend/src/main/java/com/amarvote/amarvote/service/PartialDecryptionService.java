@@ -9,6 +9,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -25,22 +26,23 @@ import com.amarvote.amarvote.dto.ElectionGuardCompensatedDecryptionRequest;
 import com.amarvote.amarvote.dto.ElectionGuardCompensatedDecryptionResponse;
 import com.amarvote.amarvote.dto.ElectionGuardPartialDecryptionRequest;
 import com.amarvote.amarvote.dto.ElectionGuardPartialDecryptionResponse;
-import com.amarvote.amarvote.model.Ballot;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
 import com.amarvote.amarvote.model.CompensatedDecryption;
 import com.amarvote.amarvote.model.Election;
 import com.amarvote.amarvote.model.ElectionChoice;
 import com.amarvote.amarvote.model.Guardian;
-import com.amarvote.amarvote.model.SubmittedBallot;
 import com.amarvote.amarvote.model.User;
 import com.amarvote.amarvote.repository.BallotRepository;
 import com.amarvote.amarvote.repository.CompensatedDecryptionRepository;
 import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionCryptoArtifactsRepository;
 import com.amarvote.amarvote.repository.ElectionRepository;
 import com.amarvote.amarvote.repository.GuardianRepository;
 import com.amarvote.amarvote.repository.SubmittedBallotRepository;
 import com.amarvote.amarvote.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -52,16 +54,23 @@ public class PartialDecryptionService {
     private final GuardianRepository guardianRepository;
     private final ElectionRepository electionRepository;
     private final ElectionChoiceRepository electionChoiceRepository;
+    private final ElectionCryptoArtifactsRepository electionCryptoArtifactsRepository;
     private final BallotRepository ballotRepository;
     private final SubmittedBallotRepository submittedBallotRepository;
     private final CompensatedDecryptionRepository compensatedDecryptionRepository;
     private final ObjectMapper objectMapper;
     private final ElectionGuardCryptoService cryptoService;
     private final TallyService tallyService;
+    private final ElectionMetrics electionMetrics;
+    private final NativeDecryptionCombinerService nativeDecryptionCombinerService;
     
     @Autowired
     private WebClient webClient;
 
+    /** "remote" combines shares in the ElectionGuard service, "native" in the JVM */
+    @Value("${electionguard.combine.engine:remote}")
+    private String combineEngine;
+
     @Transactional
     public CreatePartialDecryptionResponse createPartialDecryption(CreatePartialDecryptionRequest request, String userEmail) {
         try {
@@ -108,11 +117,11 @@ public class PartialDecryptionService {
                 .toList();
 
             // 5. Get number of guardians for this election
-            List<Guardian> allGuardians = guardianRepository.findByElectionId(request.election_id());
-            int numberOfGuardians = allGuardians.size();
+            int numberOfGuardians = guardianRepository.countByElectionId(request.election_id());
 
             // 7. Check if encrypted tally exists, create if needed
-            String ciphertextTallyString = election.getEncryptedTally();
+            String ciphertextTallyString = electionCryptoArtifactsRepository
+                .findEncryptedTallyByElectionId(request.election_id()).orElse(null);
             System.out.println("=== TALLY CHECK PHASE ===");
             System.out.println("Checking if encrypted tally exists for election " + request.election_id());
             System.out.println("Encrypted tally value: " + (ciphertextTallyString == null ? "NULL" : 
@@ -124,14 +133,14 @@ public class PartialDecryptionService {
                 
                 // Check if there are any ballots to create a tally from
                 System.out.println("=== CHECKING FOR SUBMITTED BALLOTS ===");
-                List<SubmittedBallot> submittedBallots = submittedBallotRepository.findByElectionId(request.election_id());
-                System.out.println("Found " + submittedBallots.size() + " submitted ballots for election " + request.election_id());
+                long submittedBallots = submittedBallotRepository.countByElectionId(request.election_id());
+                System.out.println("Found " + submittedBallots + " submitted ballots for election " + request.election_id());
                 
                 // Also check the original Ballot table (ballots might not be moved to SubmittedBallot yet)
-                List<Ballot> originalBallots = ballotRepository.findByElectionId(request.election_id());
-                System.out.println("Found " + originalBallots.size() + " original ballots for election " + request.election_id());
+                long originalBallots = ballotRepository.countByElectionId(request.election_id());
+                System.out.println("Found " + originalBallots + " original ballots for election " + request.election_id());
                 
-                int totalBallots = submittedBallots.size() + originalBallots.size();
+                long totalBallots = submittedBallots + originalBallots;
                 System.out.println("Total ballots found: " + totalBallots);
                 
                 if (totalBallots == 0) {
@@ -207,7 +216,8 @@ public class PartialDecryptionService {
                         .build();
                 }
                 election = electionOpt.get();
-                ciphertextTallyString = election.getEncryptedTally();
+                ciphertextTallyString = electionCryptoArtifactsRepository
+                    .findEncryptedTallyByElectionId(request.election_id()).orElse(null);
                 
                 System.out.println("=== VERIFYING TALLY CREATION ===");
                 System.out.println("After refresh - Encrypted tally: " + (ciphertextTallyString == null ? "NULL" : 
@@ -232,10 +242,7 @@ public class PartialDecryptionService {
             System.out.println("=== TALLY CHECK PHASE COMPLETED - PROCEEDING WITH PARTIAL DECRYPTION ===");
 
             // 8. Get submitted ballots for this election (refresh after potential tally creation)
-            List<SubmittedBallot> submittedBallots = submittedBallotRepository.findByElectionId(request.election_id());
-            List<String> ballotCipherTexts = submittedBallots.stream()
-                .map(SubmittedBallot::getCipherText)
-                .toList();
+            List<String> ballotCipherTexts = submittedBallotRepository.findCipherTextsByElectionId(request.election_id());
 
             // 9. ✅ NEW: Decrypt the encrypted_data from request using guardian's credentials
             String guardianCredentials = guardian.getCredentials();
@@ -281,7 +288,9 @@ public class PartialDecryptionService {
             // System.out.println('the private key: ');
             System.out.println("Successfully build the body of the request ");
 
-            ElectionGuardPartialDecryptionResponse guardResponse = callElectionGuardPartialDecryptionService(guardRequest);
+            Timer.Sample decryption = electionMetrics.start();
+            ElectionGuardPartialDecryptionResponse guardResponse = callElectionGuardPartialDecryptionService(election.getElectionId(), guardRequest);
+            electionMetrics.recordGuardianDecryption(decryption, election.getElectionId(), guardian.getSequenceOrder(), "partial");
 
             System.out.println("Received response from ElectionGuard service:-- the response is: " + guardResponse);
 
@@ -309,7 +318,8 @@ public class PartialDecryptionService {
             System.out.println("saving done ---");
 
             // 13. Create compensated decryption shares for ALL other guardians using decrypted polynomial
-            createCompensatedDecryptionShares(election, guardian, decryptedPrivateKey, decryptedPolynomial);
+            createCompensatedDecryptionShares(election, ciphertextTallyString, ballotCipherTexts, guardian, decryptedPrivateKey,
+                decryptedPolynomial);
 
             return CreatePartialDecryptionResponse.builder()
                 .success(true)
@@ -325,7 +335,7 @@ public class PartialDecryptionService {
         }
     }
 
-    private ElectionGuardPartialDecryptionResponse callElectionGuardPartialDecryptionService(
+    private ElectionGuardPartialDecryptionResponse callElectionGuardPartialDecryptionService(Long electionId,
             ElectionGuardPartialDecryptionRequest request) {
         
         try {
@@ -334,14 +344,17 @@ public class PartialDecryptionService {
             System.out.println("Calling ElectionGuard partial decryption service at: " + url);
             System.out.println("Sending request to ElectionGuard service: ");
             
-            String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+            String response;
+            try (ElectionMetrics.InFlight call = electionMetrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "create_partial_decryption", electionId)) {
+                response = webClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            }
             
             System.out.println("Received response from ElectionGuard service: " + response);
             
@@ -370,7 +383,9 @@ public class PartialDecryptionService {
             Election election = electionOpt.get();
 
             // 2. Check if ciphertext_tally exists
-            if (election.getEncryptedTally() == null || election.getEncryptedTally().trim().isEmpty()) {
+            String ciphertextTally = electionCryptoArtifactsRepository
+                .findEncryptedTallyByElectionId(request.election_id()).orElse(null);
+            if (ciphertextTally == null) {
                 return CombinePartialDecryptionResponse.builder()
                     .success(false)
                     .message("Election tally has not been created yet. Please create the tally first.")
@@ -399,10 +414,7 @@ public class PartialDecryptionService {
                 .collect(Collectors.toList());
 
             // 4. Fetch submitted ballots
-            List<SubmittedBallot> submittedBallots = submittedBallotRepository.findByElectionId(request.election_id());
-            List<String> ballotCipherTexts = submittedBallots.stream()
-                .map(SubmittedBallot::getCipherText)
-                .collect(Collectors.toList());
+            List<String> ballotCipherTexts = submittedBallotRepository.findCipherTextsByElectionId(request.election_id());
 
             // 5. Fetch all guardians for this election
             List<Guardian> guardians = guardianRepository.findByElectionId(request.election_id());
@@ -511,13 +523,23 @@ public class PartialDecryptionService {
                 }
             }
 
-            // 8. ✅ NEW: Call the new combine_decryption_shares endpoint
+            // 8. Combine in the JVM when configured; tallies with spoiled ballots still go to the service
+            if (isNativeCombineEngine()) {
+                Optional<Map<String, Object>> nativeResults = nativeDecryptionCombinerService.combine(election, ciphertextTally,
+                        partyNames, candidateNames, ballotCipherTexts, guardians, availableGuardians, compensatedDecryptions);
+                if (nativeResults.isPresent()) {
+                    return publishResults(election, nativeResults.get(), electionChoices);
+                }
+                System.out.println("Tally of election " + request.election_id() + " has spoiled ballots, combining remotely");
+            }
+
+            // 9. ✅ NEW: Call the new combine_decryption_shares endpoint
             ElectionGuardCombineDecryptionSharesRequest guardRequest = ElectionGuardCombineDecryptionSharesRequest.builder()
                 .party_names(partyNames)
                 .candidate_names(candidateNames)
                 .joint_public_key(election.getJointPublicKey())
                 .commitment_hash(election.getBaseHash())
-                .ciphertext_tally(election.getEncryptedTally())
+                .ciphertext_tally(ciphertextTally)
                 .submitted_ballots(ballotCipherTexts)
                 .guardian_data(guardianDataList)
                 .available_guardian_ids(availableGuardianIds)
@@ -532,28 +554,11 @@ public class PartialDecryptionService {
                 .number_of_guardians(guardians.size())
                 .build();
 
-            ElectionGuardCombineDecryptionSharesResponse guardResponse = callElectionGuardCombineDecryptionSharesService(guardRequest);
+            ElectionGuardCombineDecryptionSharesResponse guardResponse = callElectionGuardCombineDecryptionSharesService(election.getElectionId(), guardRequest);
 
-            // 9. ✅ Process the response string to extract results
+            // 10. ✅ Process the response string to extract results
             if ("success".equals(guardResponse.status())) {
-                Object resultsObject = parseResultsString(guardResponse.results());
-                
-                // Update the total_votes in election_choices table
-                updateElectionChoicesWithResults(request.election_id(), resultsObject, electionChoices);
-                
-                // Update election status to 'decrypted'
-                election.setStatus("decrypted");
-                electionRepository.save(election);
-                
-                System.out.println("✅ Successfully combined partial decryptions for election: " + request.election_id());
-                System.out.println("✅ Updated election status to 'decrypted'");
-                System.out.println("✅ Election results are now available for viewing");
-                
-                return CombinePartialDecryptionResponse.builder()
-                    .success(true)
-                    .message("Election results successfully decrypted and ready for viewing")
-                    .results(resultsObject)
-                    .build();
+                return publishResults(election, parseResultsString(guardResponse.results()), electionChoices);
             } else {
                 System.err.println("❌ ElectionGuard combine decryption failed with status: " + guardResponse.status());
                 return CombinePartialDecryptionResponse.builder()
@@ -572,6 +577,32 @@ public class PartialDecryptionService {
         }
     }
 
+    private CombinePartialDecryptionResponse publishResults(Election election, Object resultsObject,
+            List<ElectionChoice> electionChoices) {
+        // Update the total_votes in election_choices table
+        updateElectionChoicesWithResults(election.getElectionId(), resultsObject, electionChoices);
+        
+        // Update election status to 'decrypted'
+        election.setStatus("decrypted");
+        electionRepository.save(election);
+        // Nothing more is recorded for a decrypted election; stop exporting its series
+        electionMetrics.forgetElection(election.getElectionId());
+        
+        System.out.println("✅ Successfully combined partial decryptions for election: " + election.getElectionId());
+        System.out.println("✅ Updated election status to 'decrypted'");
+        System.out.println("✅ Election results are now available for viewing");
+        
+        return CombinePartialDecryptionResponse.builder()
+            .success(true)
+            .message("Election results successfully decrypted and ready for viewing")
+            .results(resultsObject)
+            .build();
+    }
+
+    private boolean isNativeCombineEngine() {
+        return "native".equalsIgnoreCase(combineEngine);
+    }
+
     private void updateElectionChoicesWithResults(Long electionId, Object results, List<ElectionChoice> electionChoices) {
         try {
             System.out.println("Updating election choices with vote results for election: " + electionId);
@@ -648,7 +679,8 @@ public class PartialDecryptionService {
     /**
      * Creates compensated decryption shares for ALL other guardians using the available guardian
      */
-    private void createCompensatedDecryptionShares(Election election, Guardian availableGuardian, String availableGuardianPrivateKey, String availableGuardianPolynomial) {
+    private void createCompensatedDecryptionShares(Election election, String ciphertextTally,
+            List<String> ballotCipherTexts, Guardian availableGuardian, String availableGuardianPrivateKey, String availableGuardianPolynomial) {
         try {
             System.out.println("Starting compensated decryption for election: " + election.getElectionId());
             
@@ -715,7 +747,7 @@ public class PartialDecryptionService {
                         );
                     
                     if (specificExists.isEmpty()) {
-                        createCompensatedShare(election, availableGuardian, otherGuardian, availableGuardianPrivateKey, availableGuardianPolynomial);
+                        createCompensatedShare(election, ciphertextTally, ballotCipherTexts, allGuardians.size(), availableGuardian, otherGuardian, availableGuardianPrivateKey, availableGuardianPolynomial);
                         System.out.println("Created compensated share: Guardian " + availableGuardian.getSequenceOrder() + 
                                          " compensating for Guardian " + otherGuardian.getSequenceOrder());
                     } else {
@@ -734,7 +766,8 @@ public class PartialDecryptionService {
     /**
      * Creates a compensated decryption share for a specific other guardian using a compensating guardian
      */
-    private void createCompensatedShare(Election election, Guardian compensatingGuardian, Guardian otherGuardian, String compensatingGuardianPrivateKey, String compensatingGuardianPolynomial) {
+    private void createCompensatedShare(Election election, String ciphertextTally, List<String> ballotCipherTexts,
+            int numberOfGuardians, Guardian compensatingGuardian, Guardian otherGuardian, String compensatingGuardianPrivateKey, String compensatingGuardianPolynomial) {
         try {
             System.out.println("Creating compensated share: compensating=" + compensatingGuardian.getSequenceOrder() + 
                              ", other=" + otherGuardian.getSequenceOrder());
@@ -770,12 +803,6 @@ public class PartialDecryptionService {
                 .distinct()
                 .collect(Collectors.toList());
             
-            // Get submitted ballots for this election
-            List<SubmittedBallot> submittedBallots = submittedBallotRepository.findByElectionId(election.getElectionId());
-            List<String> ballotCipherTexts = submittedBallots.stream()
-                .map(SubmittedBallot::getCipherText)
-                .collect(Collectors.toList());
-            
             ElectionGuardCompensatedDecryptionRequest request = ElectionGuardCompensatedDecryptionRequest.builder()
                 .available_guardian_id(String.valueOf(compensatingGuardian.getSequenceOrder()))
                 .missing_guardian_id(String.valueOf(otherGuardian.getSequenceOrder()))
@@ -786,16 +813,18 @@ public class PartialDecryptionService {
                 .available_polynomial(compensatingGuardianPolynomial)  // ✅ Use decrypted polynomial only (no fallback to stored polynomial since it doesn't exist)
                 .party_names(partyNames)
                 .candidate_names(candidateNames)
-                .ciphertext_tally(election.getEncryptedTally()) // ✅ Fixed: Use correct field
+                .ciphertext_tally(ciphertextTally)
                 .submitted_ballots(ballotCipherTexts)           // ✅ Fixed: Use submitted ballots
                 .joint_public_key(election.getJointPublicKey())
                 .commitment_hash(election.getBaseHash())
-                .number_of_guardians(electionChoices.size() > 0 ? guardianRepository.findByElectionId(election.getElectionId()).size() : 1)
+                .number_of_guardians(electionChoices.size() > 0 ? numberOfGuardians : 1)
                 .quorum(election.getElectionQuorum())
                 .build();
             
             // Call microservice
-            ElectionGuardCompensatedDecryptionResponse response = callElectionGuardCompensatedDecryptionService(request);
+            Timer.Sample decryption = electionMetrics.start();
+            ElectionGuardCompensatedDecryptionResponse response = callElectionGuardCompensatedDecryptionService(election.getElectionId(), request);
+            electionMetrics.recordGuardianDecryption(decryption, election.getElectionId(), compensatingGuardian.getSequenceOrder(), "compensated");
             
             if (response == null || response.compensated_tally_share() == null) {
                 System.err.println("Failed to get compensated decryption response from microservice");
@@ -823,21 +852,24 @@ public class PartialDecryptionService {
     /**
      * Calls the ElectionGuard microservice to create compensated decryption
      */
-    private ElectionGuardCompensatedDecryptionResponse callElectionGuardCompensatedDecryptionService(
+    private ElectionGuardCompensatedDecryptionResponse callElectionGuardCompensatedDecryptionService(Long electionId,
             ElectionGuardCompensatedDecryptionRequest request) {
         try {
             String url = "/create_compensated_decryption";
             
             System.out.println("Calling ElectionGuard compensated decryption service at: " + url);
             
-            String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+            String response;
+            try (ElectionMetrics.InFlight call = electionMetrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "create_compensated_decryption", electionId)) {
+                response = webClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            }
             
             if (response == null) {
                 throw new RuntimeException("Invalid response from ElectionGuard service");
@@ -854,7 +886,7 @@ public class PartialDecryptionService {
     /**
      * Calls the ElectionGuard microservice to combine decryption shares with quorum support
      */
-    private ElectionGuardCombineDecryptionSharesResponse callElectionGuardCombineDecryptionSharesService(
+    private ElectionGuardCombineDecryptionSharesResponse callElectionGuardCombineDecryptionSharesService(Long electionId,
             ElectionGuardCombineDecryptionSharesRequest request) {
         try {
             String url = "/combine_decryption_shares";
@@ -862,14 +894,17 @@ public class PartialDecryptionService {
             System.out.println("Calling ElectionGuard combine decryption shares service at: " + url);
             System.out.println("Sending request to ElectionGuard service: " + request);
             
-            String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+            String response;
+            try (ElectionMetrics.InFlight call = electionMetrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "combine_decryption_shares", electionId)) {
+                response = webClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            }
             
             System.out.println("Received response from ElectionGuard service: " + response);
 
@@ -0,0 +1,140 @@
+package com.amarvote.amarvote.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.amarvote.amarvote.dto.CastBallotRequest;
+import com.amarvote.amarvote.dto.CastBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
+import com.amarvote.amarvote.exception.BallotCastOverloadedException;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.service.BallotService.CastContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking variant of {@link BallotService#castBallot}: the same checks and writes, but the JPA
+ * work runs on a small bounded scheduler, encryption is a WebClient exchange and the blockchain
+ * anchor is sent once the ballot is stored, without waiting for it. Thousands of casts can be in
+ * flight on a fixed handful of threads.
+ *
+ * Casts beyond {@code ballot.reactive.max-in-flight}, and casts that find the database scheduler's
+ * queue full, fail fast with {@link BallotCastOverloadedException} instead of queueing unboundedly.
+ */
+@Service
+public class ReactiveBallotCastService {
+
+    public static final String IN_FLIGHT = "amarvote.ballot.cast.reactive.inflight";
+    public static final String REJECTED = "amarvote.ballot.cast.reactive.rejected";
+
+    private final BallotService ballotService;
+    private final BlockchainService blockchainService;
+    private final ElectionMetrics electionMetrics;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Scheduler databaseScheduler;
+    private final int retryAfterSeconds;
+    private final Counter rejected;
+
+    public ReactiveBallotCastService(BallotService ballotService, BlockchainService blockchainService,
+            ElectionMetrics electionMetrics, MeterRegistry registry,
+            @Value("${ballot.reactive.max-in-flight:2000}") int maxInFlight,
+            @Value("${ballot.reactive.database-threads:8}") int databaseThreads,
+            @Value("${ballot.reactive.database-queue:1000}") int databaseQueue,
+            @Value("${ballot.reactive.retry-after-seconds:2}") int retryAfterSeconds) {
+        this.ballotService = ballotService;
+        this.blockchainService = blockchainService;
+        this.electionMetrics = electionMetrics;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.databaseScheduler = Schedulers.newBoundedElastic(databaseThreads, databaseQueue, "cast-db");
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder(IN_FLIGHT, this, service -> service.maxInFlight - service.inFlight.availablePermits())
+                .description("Casts in flight on the non-blocking cast path")
+                .register(registry);
+        this.rejected = Counter.builder(REJECTED)
+                .description("Casts refused with 429 because the non-blocking cast path was at capacity")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        databaseScheduler.dispose();
+    }
+
+    public Mono<CastBallotResponse> castBallot(CastBallotRequest request, String userEmail) {
+        // The caller's security context follows the work, e.g. for pinning the voter to the primary
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        // The slot is taken per subscription, as the doFinally that gives it back runs per subscription
+        return Mono.defer(() -> {
+            if (!inFlight.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new BallotCastOverloadedException(retryAfterSeconds));
+            }
+            return onDatabase(() -> ballotService.prepareCast(request, userEmail), securityContext)
+                    .flatMap(preparation -> preparation.rejection() != null
+                            ? Mono.just(preparation.rejection())
+                            : encryptAndStore(preparation.context(), request.getSelectedCandidate(), securityContext))
+                    .onErrorResume(e -> !(e instanceof BallotCastOverloadedException), e -> Mono.just(CastBallotResponse.builder()
+                            .success(false)
+                            .message("An error occurred while casting the ballot")
+                            .errorReason("Internal server error: " + e.getMessage())
+                            .build()))
+                    .doFinally(signal -> inFlight.release());
+        });
+    }
+
+    private Mono<CastBallotResponse> encryptAndStore(CastContext context, String selectedCandidate,
+            SecurityContext securityContext) {
+        Long electionId = context.election().getElectionId();
+        Timer.Sample phase = electionMetrics.start();
+        return ballotService.encryptBallotAsync(context, selectedCandidate)
+                .filter(ballotService::isEncrypted)
+                .flatMap(guardResponse -> {
+                    electionMetrics.recordCastPhase(phase, electionId, "async_encryption");
+                    return onDatabase(() -> ballotService.completeCast(context, guardResponse), securityContext)
+                            .doOnNext(response -> {
+                                if (response.isSuccess()) {
+                                    anchor(context, guardResponse);
+                                }
+                            });
+                })
+                .switchIfEmpty(Mono.fromSupplier(ballotService::encryptionFailed));
+    }
+
+    private <T> Mono<T> onDatabase(Callable<T> work, SecurityContext securityContext) {
+        return Mono.fromCallable(new DelegatingSecurityContextCallable<>(work, securityContext))
+                .subscribeOn(databaseScheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> new BallotCastOverloadedException(retryAfterSeconds));
+    }
+
+    // The ballot is already stored; as on the blocking path a failed anchor does not fail the cast
+    private void anchor(CastContext context, ElectionGuardBallotResponse guardResponse) {
+        Long electionId = context.election().getElectionId();
+        Mono.using(() -> electionMetrics.remoteCall(ElectionMetrics.BLOCKCHAIN, "record_ballot", electionId),
+                call -> blockchainService.recordBallotAsync(electionId.toString(), context.ballotHashId(),
+                        guardResponse.getBallot_hash()),
+                ElectionMetrics.InFlight::close)
+                .subscribe(response -> {
+                    if (response.isSuccess()) {
+                        System.out.println("✅ Ballot " + context.ballotHashId() + " successfully recorded on blockchain");
+                    } else {
+                        System.err.println("⚠️ Failed to record ballot on blockchain: " + response.getMessage());
+                    }
+                });
+    }
+}
@@ -1,7 +1,6 @@
 package com.amarvote.amarvote.service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -16,12 +15,14 @@ import com.amarvote.amarvote.dto.CreateTallyRequest;
 import com.amarvote.amarvote.dto.CreateTallyResponse;
 import com.amarvote.amarvote.dto.ElectionGuardTallyRequest;
 import com.amarvote.amarvote.dto.ElectionGuardTallyResponse;
-import com.amarvote.amarvote.model.Ballot;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
 import com.amarvote.amarvote.model.Election;
 import com.amarvote.amarvote.model.ElectionChoice;
+import com.amarvote.amarvote.model.ElectionCryptoArtifacts;
 import com.amarvote.amarvote.model.SubmittedBallot;
 import com.amarvote.amarvote.repository.BallotRepository;
 import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionCryptoArtifactsRepository;
 import com.amarvote.amarvote.repository.ElectionRepository;
 import com.amarvote.amarvote.repository.GuardianRepository;
 import com.amarvote.amarvote.repository.SubmittedBallotRepository;
@@ -42,6 +43,9 @@ public class TallyService {
     
     @Autowired
     private ElectionChoiceRepository electionChoiceRepository;
+
+    @Autowired
+    private ElectionCryptoArtifactsRepository electionCryptoArtifactsRepository;
     
     @Autowired
     private GuardianRepository guardianRepository;
@@ -55,6 +59,9 @@ public class TallyService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ElectionMetrics electionMetrics;
+
     @Transactional
     public CreateTallyResponse createTally(CreateTallyRequest request, String userEmail) {
         return createTally(request, userEmail, false);
@@ -105,40 +112,33 @@ public class TallyService {
             }
             
             // Check if encrypted tally already exists
-            if (election.getEncryptedTally() != null && !election.getEncryptedTally().trim().isEmpty()) {
+            Optional<String> existingTally = electionCryptoArtifactsRepository.findEncryptedTallyByElectionId(request.getElection_id());
+            if (existingTally.isPresent()) {
                 System.out.println("Encrypted tally already exists for election: " + request.getElection_id());
                 return CreateTallyResponse.builder()
                     .success(true)
                     .message("Encrypted tally already calculated")
-                    .encryptedTally(election.getEncryptedTally())
+                    .encryptedTally(existingTally.get())
                     .build();
             }
             
             // Fetch all ballots for this election
             System.out.println("=== FETCHING BALLOTS FOR TALLY ===");
-            List<Ballot> ballots = ballotRepository.findByElectionId(request.getElection_id());
-            System.out.println("Found " + ballots.size() + " ballots in Ballot table");
+            // Only the cipher_text column, the tally needs nothing else from a ballot
+            List<String> encryptedBallots = ballotRepository.findCipherTextsByElectionId(request.getElection_id());
+            System.out.println("Found " + encryptedBallots.size() + " ballots in Ballot table");
             
             // If no ballots found in Ballot table, check SubmittedBallot table
             // (This handles the case where ballots were already processed and moved to SubmittedBallot table)
-            List<String> encryptedBallots = new ArrayList<>();
-            
-            if (!ballots.isEmpty()) {
-                // Extract cipher_text from ballots
-                encryptedBallots = ballots.stream()
-                    .map(Ballot::getCipherText)
-                    .collect(Collectors.toList());
+            if (!encryptedBallots.isEmpty()) {
                 System.out.println("✅ Using " + encryptedBallots.size() + " encrypted ballots from Ballot table");
             } else {
                 // Check SubmittedBallot table
                 System.out.println("No ballots in Ballot table, checking SubmittedBallot table...");
-                List<SubmittedBallot> submittedBallots = submittedBallotRepository.findByElectionId(request.getElection_id());
-                System.out.println("Found " + submittedBallots.size() + " ballots in SubmittedBallot table");
+                encryptedBallots = submittedBallotRepository.findCipherTextsByElectionId(request.getElection_id());
+                System.out.println("Found " + encryptedBallots.size() + " ballots in SubmittedBallot table");
                 
-                if (!submittedBallots.isEmpty()) {
-                    encryptedBallots = submittedBallots.stream()
-                        .map(SubmittedBallot::getCipherText)
-                        .collect(Collectors.toList());
+                if (!encryptedBallots.isEmpty()) {
                     System.out.println("✅ Using " + encryptedBallots.size() + " encrypted ballots from SubmittedBallot table");
                 } else {
                     System.err.println("❌ No ballots found in either table");
@@ -187,12 +187,14 @@ public class TallyService {
             System.out.println("Base Hash exists: " + (election.getBaseHash() != null && !election.getBaseHash().isEmpty()));
             System.out.println("Election Quorum: " + election.getElectionQuorum());
             
-            int numberOfGuardians = guardianRepository.findByElectionId(election.getElectionId()).size();
+            int numberOfGuardians = guardianRepository.countByElectionId(election.getElectionId());
             System.out.println("Number of Guardians: " + numberOfGuardians);
             
             // Call ElectionGuard microservice
             System.out.println("🚀 CALLING ELECTIONGUARD TALLY SERVICE");
+            electionMetrics.recordTallyRequest(election.getElectionId(), encryptedBallots);
             ElectionGuardTallyResponse guardResponse = callElectionGuardTallyService(
+                election.getElectionId(),
                 partyNames, 
                 candidateNames, 
                 election.getJointPublicKey(), 
@@ -221,9 +223,11 @@ public class TallyService {
             System.out.println("=== SAVING TALLY TO DATABASE ===");
             System.out.println("Ciphertext tally length: " + (ciphertextTallyJson != null ? ciphertextTallyJson.length() : 0) + " characters");
             
-            election.setEncryptedTally(ciphertextTallyJson);
-            electionRepository.save(election);
-            System.out.println("✅ Encrypted tally saved to election record");
+            electionCryptoArtifactsRepository.save(ElectionCryptoArtifacts.builder()
+                .electionId(election.getElectionId())
+                .encryptedTally(ciphertextTallyJson)
+                .build());
+            System.out.println("✅ Encrypted tally saved to election crypto artifacts");
             
             // Save submitted_ballots from ElectionGuard response
             if (guardResponse.getSubmitted_ballots() != null && guardResponse.getSubmitted_ballots().length > 0) {
@@ -285,7 +289,7 @@ public class TallyService {
         }
     }
     
-    private ElectionGuardTallyResponse callElectionGuardTallyService(
+    private ElectionGuardTallyResponse callElectionGuardTallyService(Long electionId,
             List<String> partyNames, List<String> candidateNames, 
             String jointPublicKey, String commitmentHash, List<String> encryptedBallots,
             int quorum, int numberOfGuardians) {
@@ -314,14 +318,17 @@ public class TallyService {
             System.out.println("🚀 Sending request to ElectionGuard service at: " + url);
             System.out.println("Request prepared successfully");
             
-            String response = webClient.post()
-                .uri(url)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+            String response;
+            try (ElectionMetrics.InFlight call = electionMetrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "create_encrypted_tally", electionId)) {
+                response = webClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            }
             
             System.out.println("✅ Received response from ElectionGuard tally service");
             System.out.println("Response received (length: " + (response != null ? response.length() : 0) + " chars)");
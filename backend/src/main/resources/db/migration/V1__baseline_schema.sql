@@ -0,0 +1,156 @@
+-- Schema of the JPA entities as the backend ran it under ddl-auto=update, before any of the later
+-- migrations, with the keys and checks of Database/table_creation_file_AmarVote.sql. Existing
+-- databases are baselined at this version (spring.flyway.baseline-on-migrate) and never run it;
+-- empty ones are created from it. Every later change is a migration of its own that checks what is
+-- already in place, so a database that ran some of the former hand-run scripts in Database/ picks
+-- up exactly the ones it missed.
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    user_email VARCHAR(255) NOT NULL UNIQUE,
+    is_verified BOOLEAN NOT NULL,
+    user_name VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    last_login TIMESTAMP(6) WITH TIME ZONE,
+    profile_pic VARCHAR(255),
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS elections (
+    election_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_title VARCHAR(255) NOT NULL,
+    election_description TEXT,
+    number_of_guardians INTEGER NOT NULL CHECK (number_of_guardians > 0),
+    election_quorum INTEGER NOT NULL CHECK (election_quorum > 0),
+    no_of_candidates INTEGER NOT NULL CHECK (no_of_candidates > 0),
+    joint_public_key TEXT,
+    manifest_hash TEXT,
+    status TEXT,
+    starting_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    ending_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    encrypted_tally TEXT,
+    base_hash TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    profile_pic TEXT,
+    admin_email TEXT,
+    privacy TEXT,
+    eligibility TEXT,
+    PRIMARY KEY (election_id),
+    CONSTRAINT valid_election_times CHECK (ending_time > starting_time),
+    CONSTRAINT valid_status CHECK (status IN ('draft', 'active', 'completed', 'decrypted')),
+    CONSTRAINT valid_quorum CHECK (election_quorum <= number_of_guardians AND election_quorum > 0)
+);
+
+CREATE TABLE IF NOT EXISTS election_choices (
+    choice_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_id BIGINT NOT NULL,
+    option_title TEXT NOT NULL,
+    option_description TEXT,
+    party_name TEXT,
+    candidate_pic TEXT,
+    party_pic TEXT,
+    total_votes INTEGER NOT NULL,
+    PRIMARY KEY (choice_id),
+    CONSTRAINT unique_election_option UNIQUE (election_id, option_title),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS allowed_voters (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_id BIGINT NOT NULL,
+    user_id INTEGER NOT NULL,
+    has_voted BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
+    CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS guardians (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_id BIGINT NOT NULL,
+    user_id INTEGER NOT NULL,
+    guardian_public_key TEXT NOT NULL,
+    sequence_order INTEGER NOT NULL CHECK (sequence_order > 0),
+    decrypted_or_not BOOLEAN NOT NULL,
+    partial_decrypted_tally TEXT,
+    proof TEXT,
+    guardian_decryption_key TEXT,
+    tally_share TEXT,
+    ballot_share TEXT,
+    key_backup TEXT,
+    credentials TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT unique_sequence_order UNIQUE (election_id, sequence_order),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
+    CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS compensated_decryptions (
+    election_id BIGINT NOT NULL,
+    compensating_guardian_sequence INTEGER NOT NULL,
+    missing_guardian_sequence INTEGER NOT NULL,
+    compensated_tally_share TEXT NOT NULL,
+    compensated_ballot_share TEXT NOT NULL,
+    PRIMARY KEY (compensating_guardian_sequence, missing_guardian_sequence, election_id),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
+    CONSTRAINT fk_compensating_guardian FOREIGN KEY (election_id, compensating_guardian_sequence)
+        REFERENCES guardians(election_id, sequence_order) ON DELETE CASCADE,
+    CONSTRAINT fk_missing_guardian FOREIGN KEY (election_id, missing_guardian_sequence)
+        REFERENCES guardians(election_id, sequence_order) ON DELETE CASCADE,
+    CONSTRAINT check_different_guardians CHECK (compensating_guardian_sequence <> missing_guardian_sequence)
+);
+
+-- Cipher texts become binary in V3 and both tables are partitioned by election in V5
+CREATE TABLE IF NOT EXISTS ballots (
+    ballot_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_id BIGINT NOT NULL,
+    submission_time TIMESTAMP(6) WITH TIME ZONE,
+    status TEXT NOT NULL,
+    cipher_text TEXT NOT NULL,
+    hash_code TEXT NOT NULL,
+    tracking_code TEXT NOT NULL,
+    master_nonce TEXT,
+    proof TEXT,
+    ballot_style TEXT,
+    ballot_nonces JSONB,
+    contest_hashes JSONB,
+    PRIMARY KEY (ballot_id),
+    CONSTRAINT unique_tracking_code UNIQUE (tracking_code),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
+    CONSTRAINT valid_ballot_status CHECK (status IN ('cast', 'spoiled', 'challenged'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_ballots_election ON ballots (election_id);
+
+CREATE TABLE IF NOT EXISTS submitted_ballots (
+    submitted_ballot_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    election_id BIGINT NOT NULL,
+    cipher_text TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (submitted_ballot_id),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_submitted_ballots_election ON submitted_ballots (election_id);
+
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    token_id UUID NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    token VARCHAR(255) NOT NULL UNIQUE,
+    used BOOLEAN NOT NULL,
+    expiry_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    used_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (token_id)
+);
+
+CREATE TABLE IF NOT EXISTS signup_verification (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    verification_code VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
+    expiry_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_verification_code_email ON signup_verification (email);
@@ -0,0 +1,25 @@
+-- Encrypted tallies live in election_crypto_artifacts instead of the elections table, which every
+-- listing reads (formerly Database/move_encrypted_tally.sql)
+CREATE TABLE IF NOT EXISTS election_crypto_artifacts (
+    election_id BIGINT NOT NULL,
+    encrypted_tally TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (election_id),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
+
+-- Nothing to move on databases that already ran the script
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 'elections' AND column_name = 'encrypted_tally') THEN
+        INSERT INTO election_crypto_artifacts (election_id, encrypted_tally)
+        SELECT election_id, encrypted_tally
+        FROM elections
+        WHERE encrypted_tally IS NOT NULL AND encrypted_tally <> ''
+        ON CONFLICT (election_id) DO NOTHING;
+
+        ALTER TABLE elections DROP COLUMN encrypted_tally;
+    END IF;
+END;
+$$;
@@ -0,0 +1,23 @@
+-- Ballot cipher texts are stored as binary (see BallotCodec; formerly
+-- Database/compress_ballot_ciphertexts.sql). Existing rows keep their JSON as UTF-8 bytes, which the
+-- backend still reads, and CipherTextCompactor rewrites them into the compact form in the background.
+-- Columns that are already BYTEA are left alone.
+DO $$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['ballots', 'submitted_ballots'] LOOP
+        IF (SELECT data_type FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = parent AND column_name = 'cipher_text') = 'text' THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN cipher_text TYPE BYTEA USING convert_to(cipher_text, %L)',
+                    parent, 'UTF8');
+        END IF;
+    END LOOP;
+END;
+$$;
+
+-- Once the backend has logged "Compacted ... plain JSON ballot cipher texts", the rewritten rows
+-- leave dead tuples behind. Check nothing is left and give the space back:
+--   SELECT count(*) FROM submitted_ballots WHERE substring(cipher_text FROM 1 FOR 1) = '\x7b'::bytea;
+--   VACUUM FULL ANALYZE ballots;
+--   VACUUM FULL ANALYZE submitted_ballots;
@@ -0,0 +1,25 @@
+-- Hot/cold split of the ballots table (see BallotArchiveService; formerly
+-- Database/archive_decrypted_ballots.sql). Archived ballots keep their row in ballots, with a NULL
+-- cipher text, and their proof material moves here.
+CREATE TABLE IF NOT EXISTS ballot_archive (
+    ballot_id BIGINT NOT NULL,
+    election_id BIGINT NOT NULL,
+    cipher_text BYTEA NOT NULL,
+    master_nonce TEXT,
+    proof TEXT,
+    ballot_style TEXT,
+    ballot_nonces JSONB,
+    contest_hashes JSONB,
+    archived_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (ballot_id),
+    CONSTRAINT fk_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+);
+
+ALTER TABLE ballots ALTER COLUMN cipher_text DROP NOT NULL;
+
+-- Lets the nightly job find ballots still to archive without scanning the whole table
+CREATE INDEX IF NOT EXISTS idx_ballots_hot ON ballots (election_id) WHERE cipher_text IS NOT NULL;
+
+-- After the first archive run (ballots.archive.cron) the moved cipher texts are dead tuples in
+-- ballots and its TOAST table. Plain autovacuum makes the space reusable; to hand it back:
+--   VACUUM FULL ANALYZE ballots;
@@ -0,0 +1,158 @@
+-- List partitioning of ballots and submitted_ballots by election_id (formerly
+-- Database/partition_ballots_by_election.sql). Every election gets its own partition of each table,
+-- created by the backend in a short transaction right after the election commits
+-- (BallotPartitionService, with BallotPartitionSweeper catching up on any it missed). Queries that
+-- name the election, which is all of the tally, decryption and verification ones, are pruned to its
+-- partition.
+-- On a database that is not partitioned yet the copy below holds both tables locked; on a large one
+-- run the migration at a quiet time.
+
+-- Earlier revisions of the script maintained partitions with triggers on elections, which took
+-- their locks inside the election's own transaction
+DROP TRIGGER IF EXISTS trg_elections_ballot_partitions ON elections;
+DROP TRIGGER IF EXISTS trg_elections_drop_ballot_partitions ON elections;
+DROP FUNCTION IF EXISTS elections_create_ballot_partitions();
+DROP FUNCTION IF EXISTS elections_drop_ballot_partitions();
+DROP FUNCTION IF EXISTS drop_ballot_partitions(INTEGER);
+DROP FUNCTION IF EXISTS drop_ballot_partitions(BIGINT);
+DROP FUNCTION IF EXISTS create_ballot_partitions(INTEGER);
+
+-- Partition helper, also called by the backend for every new election
+CREATE OR REPLACE FUNCTION create_ballot_partitions(p_election_id BIGINT) RETURNS VOID AS $$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['ballots', 'submitted_ballots'] LOOP
+        IF to_regclass(format('%s_e%s', parent, p_election_id)) IS NULL THEN
+            -- CREATE TABLE ... PARTITION OF would lock the parent exclusively; a standalone table with a
+            -- matching CHECK attaches under SHARE UPDATE EXCLUSIVE without rescanning itself
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS, '
+                    || 'CONSTRAINT %I CHECK (election_id = %s))',
+                    parent || '_e' || p_election_id, parent, parent || '_e' || p_election_id || '_key', p_election_id);
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES IN (%s)',
+                    parent, parent || '_e' || p_election_id, p_election_id);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I',
+                    parent || '_e' || p_election_id, parent || '_e' || p_election_id || '_key');
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'ballots'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    -- Move the current tables aside
+    ALTER TABLE ballots RENAME TO ballots_unpartitioned;
+    ALTER TABLE submitted_ballots RENAME TO submitted_ballots_unpartitioned;
+    ALTER INDEX IF EXISTS ballots_pkey RENAME TO ballots_unpartitioned_pkey;
+    ALTER INDEX IF EXISTS submitted_ballots_pkey RENAME TO submitted_ballots_unpartitioned_pkey;
+    ALTER INDEX IF EXISTS idx_ballots_election RENAME TO idx_ballots_election_unpartitioned;
+    ALTER INDEX IF EXISTS idx_ballots_tracking RENAME TO idx_ballots_tracking_unpartitioned;
+    ALTER INDEX IF EXISTS idx_ballots_hot RENAME TO idx_ballots_hot_unpartitioned;
+    ALTER INDEX IF EXISTS idx_submitted_ballots_election RENAME TO idx_submitted_ballots_election_unpartitioned;
+
+    -- Keys of a partitioned table must include election_id, so tracking codes are now unique per
+    -- election (ballots are only ever looked up within their election)
+    CREATE TABLE ballots (
+        ballot_id BIGSERIAL NOT NULL,
+        election_id BIGINT NOT NULL,
+        submission_time TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+        status TEXT NOT NULL,
+        cipher_text BYTEA,
+        hash_code TEXT NOT NULL,
+        tracking_code TEXT NOT NULL,
+        master_nonce TEXT,
+        proof TEXT,
+        ballot_style TEXT,
+        ballot_nonces JSONB,
+        contest_hashes JSONB,
+        PRIMARY KEY (election_id, ballot_id),
+        CONSTRAINT unique_election_tracking_code UNIQUE (election_id, tracking_code),
+        CONSTRAINT fk_ballots_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE,
+        CONSTRAINT valid_ballot_status CHECK (status IN ('cast', 'spoiled', 'challenged'))
+    ) PARTITION BY LIST (election_id);
+
+    CREATE TABLE submitted_ballots (
+        submitted_ballot_id BIGSERIAL NOT NULL,
+        election_id BIGINT NOT NULL,
+        cipher_text BYTEA NOT NULL,
+        created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+        PRIMARY KEY (election_id, submitted_ballot_id),
+        CONSTRAINT fk_submitted_ballots_election FOREIGN KEY (election_id) REFERENCES elections(election_id) ON DELETE CASCADE
+    ) PARTITION BY LIST (election_id);
+
+    -- The primary keys lead with election_id, which replaces idx_ballots_election and
+    -- idx_submitted_ballots_election; the unique constraint replaces idx_ballots_tracking
+    CREATE INDEX idx_ballots_hot ON ballots (election_id, ballot_id) WHERE cipher_text IS NOT NULL;
+
+    -- No default partition: DETACH PARTITION CONCURRENTLY (below) is refused while one exists
+    PERFORM create_ballot_partitions(election_id) FROM elections ORDER BY election_id;
+
+    INSERT INTO ballots (ballot_id, election_id, submission_time, status, cipher_text, hash_code, tracking_code,
+            master_nonce, proof, ballot_style, ballot_nonces, contest_hashes)
+        SELECT ballot_id, election_id, submission_time, status, cipher_text, hash_code, tracking_code,
+                master_nonce, proof, ballot_style, ballot_nonces, contest_hashes
+        FROM ballots_unpartitioned;
+    INSERT INTO submitted_ballots (submitted_ballot_id, election_id, cipher_text, created_at)
+        SELECT submitted_ballot_id, election_id, cipher_text, created_at
+        FROM submitted_ballots_unpartitioned;
+
+    -- New ids continue after the copied ones
+    PERFORM setval(pg_get_serial_sequence('ballots', 'ballot_id'),
+            COALESCE((SELECT MAX(ballot_id) FROM ballots), 0) + 1, false);
+    PERFORM setval(pg_get_serial_sequence('submitted_ballots', 'submitted_ballot_id'),
+            COALESCE((SELECT MAX(submitted_ballot_id) FROM submitted_ballots), 0) + 1, false);
+
+    DROP TABLE ballots_unpartitioned;
+    DROP TABLE submitted_ballots_unpartitioned;
+END;
+$$;
+
+-- Databases partitioned by an earlier revision of the script also have default partitions, which
+-- DETACH PARTITION CONCURRENTLY refuses to work next to. Both are detached before any partition is
+-- created, since attaching one checks the other table's default as well; rows that landed in them
+-- move to their election's own partition.
+DO $$
+DECLARE
+    parent TEXT;
+    stray BIGINT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['ballots', 'submitted_ballots'] LOOP
+        IF EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(parent || '_default')) THEN
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, parent || '_default');
+        END IF;
+    END LOOP;
+    FOREACH parent IN ARRAY ARRAY['ballots', 'submitted_ballots'] LOOP
+        IF to_regclass(parent || '_default') IS NOT NULL THEN
+            FOR stray IN EXECUTE format('SELECT DISTINCT election_id FROM %I', parent || '_default') LOOP
+                PERFORM create_ballot_partitions(stray);
+            END LOOP;
+            EXECUTE format('INSERT INTO %I SELECT * FROM %I', parent, parent || '_default');
+            EXECUTE format('DROP TABLE %I', parent || '_default');
+        END IF;
+    END LOOP;
+END;
+$$;
+
+-- Deleting an election. Dropping a partition that is still attached locks the whole of
+-- ballots/submitted_ballots ACCESS EXCLUSIVE, which stops casting in every election and queues
+-- behind any running tally scan. Detach first, each statement on its own outside a transaction
+-- (only SHARE UPDATE EXCLUSIVE on the parent, running queries are waited out rather than blocked),
+-- optionally pg_dump -t ballots_e42 -t submitted_ballots_e42, then drop the standalone tables:
+--   ALTER TABLE ballots DETACH PARTITION ballots_e42 CONCURRENTLY;
+--   ALTER TABLE submitted_ballots DETACH PARTITION submitted_ballots_e42 CONCURRENTLY;
+--   DROP TABLE ballots_e42, submitted_ballots_e42;
+--   DELETE FROM elections WHERE election_id = 42;
+-- If a DETACH ... CONCURRENTLY is interrupted, finish it with ALTER TABLE ... DETACH PARTITION ... FINALIZE.
+
+-- Pruning checks: each plan should show a single ballots_eN / submitted_ballots_eN scan
+--   EXPLAIN SELECT cipher_text FROM ballots WHERE election_id = 42 AND cipher_text IS NOT NULL ORDER BY ballot_id;
+--   EXPLAIN SELECT cipher_text FROM submitted_ballots WHERE election_id = 42 ORDER BY submitted_ballot_id;
+--   EXPLAIN SELECT COUNT(*) FROM ballots WHERE election_id = 42;
+--   EXPLAIN SELECT * FROM ballots WHERE election_id = 42 AND tracking_code = 'abc';
+-- Parameterized statements from the backend prune at execution time instead; check those with
+--   PREPARE q(BIGINT) AS SELECT cipher_text FROM submitted_ballots WHERE election_id = $1;
+--   EXPLAIN (ANALYZE) EXECUTE q(42);   -- "Subplans Removed: N"
@@ -0,0 +1,20 @@
+-- Composite indexes for the per-election lookups of casting, eligibility and decryption. Built
+-- CONCURRENTLY, so Flyway runs this migration outside a transaction and writes are never blocked.
+-- A build that fails (e.g. on duplicate voter entries) leaves an INVALID index behind that
+-- IF NOT EXISTS would skip: drop it, fix the data and rerun. SchemaIndexCheck refuses to start the
+-- backend until all of these are valid.
+-- ballots(election_id, tracking_code) is the unique_election_tracking_code constraint of the
+-- partitioned table (V5); CONCURRENTLY is not supported on partitioned tables anyway.
+
+-- Eligibility and has-voted checks on every cast; one entry per voter and election
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_allowed_voters_election_user
+    ON allowed_voters (election_id, user_id);
+
+-- Guardian lookups by sequence during decryption; the included columns let the guardian counts
+-- and the join to users run index-only
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_guardians_election_sequence
+    ON guardians (election_id, sequence_order) INCLUDE (user_id, decrypted_or_not);
+
+-- Compensated shares for a missing guardian; the primary key leads with compensating_guardian_sequence
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_compensated_decryptions_missing
+    ON compensated_decryptions (election_id, missing_guardian_sequence);
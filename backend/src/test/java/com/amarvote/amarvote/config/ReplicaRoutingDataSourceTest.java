@@ -0,0 +1,118 @@
+package com.amarvote.amarvote.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routing between two in-memory databases standing in for the primary and the replica, each
+ * answering which one it is.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(null, Duration.ofSeconds(5), Duration.ofSeconds(1), registry);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                database("primary"), database("replica"), lagMonitor, Duration.ofMinutes(1)));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        lagMonitor.record(0.2);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_ReadTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+        assertEquals("primary", readWrite.execute(status -> whoAnswers()));
+        assertEquals("primary", whoAnswers());
+    }
+
+    @Test
+    void laggingOrUnreachableReplica_FallsBackToThePrimary() {
+        lagMonitor.record(7.5);
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+        assertEquals(7.5, registry.get(ReplicaLagMonitor.REPLICA_LAG).gauge().value());
+
+        lagMonitor.record(Double.NaN);
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+
+        lagMonitor.record(5.0);
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+    }
+
+    @Test
+    void staleReading_FallsBackToThePrimary() {
+        // The last probe found the replica current, but nothing has been heard from it for three intervals
+        lagMonitor.record(0.2, System.nanoTime() - Duration.ofSeconds(3).toNanos());
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+
+        lagMonitor.record(0.2);
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+    }
+
+    @Test
+    void userWhoJustWrote_ReadsThePrimary() {
+        signIn("voter@amarvote.org");
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+
+        // e.g. casting a ballot, then checking eligibility
+        readWrite.execute(status -> whoAnswers());
+        assertEquals("primary", readOnly.execute(status -> whoAnswers()));
+
+        signIn("someone-else@amarvote.org");
+        assertEquals("replica", readOnly.execute(status -> whoAnswers()));
+    }
+
+    private String whoAnswers() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(16))");
+        jdbc.execute("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,57 @@
+package com.amarvote.amarvote.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.amarvote.amarvote.config.SchemaIndexCheck.ExistingIndex;
+import com.amarvote.amarvote.config.SchemaIndexCheck.RequiredIndex;
+
+/**
+ * Matching of the catalog's indexes against the required ones, as the V1 to V6 migrations leave
+ * them on a fresh database.
+ */
+class SchemaIndexCheckTest {
+
+    private static List<ExistingIndex> migrated() {
+        return new ArrayList<>(List.of(
+                new ExistingIndex("allowed_voters", true, List.of("id")),
+                new ExistingIndex("allowed_voters", true, List.of("election_id", "user_id")),
+                new ExistingIndex("ballots", true, List.of("election_id", "ballot_id")),
+                new ExistingIndex("ballots", true, List.of("election_id", "tracking_code")),
+                new ExistingIndex("submitted_ballots", true, List.of("election_id", "submitted_ballot_id")),
+                new ExistingIndex("guardians", false, List.of("election_id", "sequence_order")),
+                new ExistingIndex("compensated_decryptions", true,
+                        List.of("compensating_guardian_sequence", "missing_guardian_sequence", "election_id")),
+                new ExistingIndex("compensated_decryptions", false, List.of("election_id", "missing_guardian_sequence")),
+                new ExistingIndex("users", true, List.of("user_email"))));
+    }
+
+    @Test
+    void migratedSchema_HasEveryRequiredIndex() {
+        assertTrue(SchemaIndexCheck.findMissing(migrated()).isEmpty());
+    }
+
+    @Test
+    void missingOrWeakerIndexes_AreReported() {
+        List<ExistingIndex> existing = migrated();
+        // Hibernate-created voter roll: only the surrogate key and a non-unique index
+        existing.removeIf(index -> index.table().equals("allowed_voters"));
+        existing.add(new ExistingIndex("allowed_voters", false, List.of("election_id", "user_id")));
+        // Leading column in the wrong position
+        existing.removeIf(index -> index.table().equals("compensated_decryptions")
+                && index.columns().get(0).equals("election_id"));
+        // Expression index on the right table
+        existing.removeIf(index -> index.table().equals("users"));
+        existing.add(new ExistingIndex("users", true, List.of("?")));
+
+        List<RequiredIndex> missing = SchemaIndexCheck.findMissing(existing);
+
+        assertEquals(List.of("allowed_voters(election_id, user_id) unique",
+                "compensated_decryptions(election_id, missing_guardian_sequence)",
+                "users(user_email) unique"), missing.stream().map(RequiredIndex::toString).toList());
+    }
+}
@@ -0,0 +1,76 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Storage round trips for the ballot captured from the Python ElectionGuard service, in each of
+ * the stored formats.
+ */
+class BallotCodecTest {
+
+    private static String published;
+    private static String withNonces;
+
+    @BeforeAll
+    static void loadGoldenBallot() throws IOException {
+        try (InputStream in = BallotCodecTest.class.getResourceAsStream(
+                "/electionguard/create_encrypted_ballot_response.json")) {
+            JsonNode response = new ObjectMapper().readTree(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            published = response.get("encrypted_ballot").asText();
+            withNonces = response.get("encrypted_ballot_with_nonce").asText();
+        }
+    }
+
+    @Test
+    void pythonBallots_RoundTripThroughTheBinaryFormat() {
+        for (String json : new String[] { published, withNonces }) {
+            byte[] stored = BallotCodec.encode(json);
+
+            assertEquals(BallotCodec.BALLOT, stored[0]);
+            assertEquals(json, BallotCodec.decode(stored));
+            assertEquals(BallotJson.fromJson(json), BallotCodec.decodeBallot(stored));
+            assertTrue(stored.length < json.length() * 0.55, stored.length + " of " + json.length() + " bytes");
+        }
+    }
+
+    @Test
+    void otherJson_IsStoredDeflatedAndComesBackUnchanged() {
+        String reformatted = published.replace(", ", ",");
+
+        byte[] stored = BallotCodec.encode(reformatted);
+
+        assertEquals(BallotCodec.DEFLATED_JSON, stored[0]);
+        assertEquals(reformatted, BallotCodec.decode(stored));
+        assertEquals(BallotJson.fromJson(published), BallotCodec.decodeBallot(stored));
+        assertTrue(stored.length < reformatted.length() * 0.6, stored.length + " of " + reformatted.length() + " bytes");
+        assertEquals("not a ballot", BallotCodec.decode(BallotCodec.encode("not a ballot")));
+    }
+
+    @Test
+    void plainJsonRows_AreStillRead() {
+        byte[] legacy = published.getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(BallotCodec.isEncoded(legacy));
+        assertTrue(BallotCodec.isEncoded(BallotCodec.encode(published)));
+        assertEquals(published, BallotCodec.decode(legacy));
+        assertEquals(BallotJson.fromJson(published), BallotCodec.decodeBallot(legacy));
+    }
+
+    @Test
+    void encoding_IsDeterministic() {
+        assertArrayEquals(BallotCodec.encode(published), BallotCodec.encode(published));
+        assertArrayEquals(BallotCodec.encode("{\"a\": 1}"), BallotCodec.encode("{\"a\": 1}"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cross-implementation checks against a ballot captured from the Python ElectionGuard service
+ * ({@code Microservice/io/create_encrypted_ballot_*.json}): re-encrypting with its master nonce and
+ * timestamp must give the same bytes, and each side's ballots must pass the other's validation.
+ */
+class BallotEncryptorTest {
+
+    private static JsonNode request;
+    private static JsonNode response;
+    private static ElectionManifest manifest;
+    private static ElectionContext context;
+
+    @BeforeAll
+    static void loadGoldenBallot() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        request = mapper.readTree(resource("create_encrypted_ballot_request.json"));
+        response = mapper.readTree(resource("create_encrypted_ballot_response.json"));
+        manifest = ElectionManifest.create(strings(request.get("party_names")), strings(request.get("candidate_names")));
+        context = ElectionContext.create(
+                request.get("number_of_guardians").asInt(),
+                request.get("quorum").asInt(),
+                new BigInteger(request.get("joint_public_key").asText()),
+                new BigInteger(request.get("commitment_hash").asText()),
+                manifest.getManifestHash());
+    }
+
+    @Test
+    void encrypt_WithPythonNonceAndTimestamp_IsByteIdentical() {
+        CiphertextBallot python = BallotJson.fromJson(response.get("encrypted_ballot_with_nonce").asText());
+
+        CiphertextBallot ballot = BallotEncryptor.encrypt(manifest, context, request.get("ballot_id").asText(),
+                request.get("candidate_name").asText(), python.nonce(), python.timestamp());
+
+        assertEquals(response.get("encrypted_ballot_with_nonce").asText(), BallotJson.toJson(ballot));
+        assertEquals(response.get("encrypted_ballot").asText(), BallotJson.toJson(ballot.withoutNonces()));
+        assertEquals(response.get("ballot_hash").asText(), Group.toHex(ballot.cryptoHash()));
+    }
+
+    @Test
+    void pythonBallot_PassesJavaValidation() {
+        CiphertextBallot python = BallotJson.fromJson(response.get("encrypted_ballot").asText());
+
+        assertNull(python.nonce());
+        assertTrue(python.isValidEncryption(manifest.getManifestHash(), context.elgamalPublicKey(),
+                context.cryptoExtendedBaseHash()));
+    }
+
+    @Test
+    void tamperedPythonBallot_FailsJavaValidation() {
+        CiphertextBallot python = BallotJson.fromJson(response.get("encrypted_ballot").asText());
+        CiphertextBallotContest contest = python.contests().get(0);
+        List<CiphertextBallotSelection> selections = new ArrayList<>(contest.ballotSelections());
+        CiphertextBallotSelection first = selections.get(0);
+        // swap the first two selection ciphertexts, i.e. move the vote, and fix up every hash
+        CiphertextBallotSelection second = selections.get(1);
+        selections.set(0, rehash(first, second.ciphertext()));
+        selections.set(1, rehash(second, first.ciphertext()));
+        BigInteger contestHash = CiphertextBallotContest.cryptoHashWith(contest.objectId(), selections,
+                contest.descriptionHash());
+        CiphertextBallotContest tamperedContest = new CiphertextBallotContest(contest.objectId(),
+                contest.sequenceOrder(), contest.descriptionHash(), selections, contest.ciphertextAccumulation(),
+                contestHash, null, contest.proof(), contest.extendedData());
+        BigInteger ballotHash = CiphertextBallot.cryptoHashWith(python.objectId(), python.manifestHash(),
+                List.of(tamperedContest));
+        CiphertextBallot tampered = new CiphertextBallot(python.objectId(), python.styleId(), python.manifestHash(),
+                python.codeSeed(), List.of(tamperedContest),
+                CiphertextBallot.ballotCode(python.codeSeed(), python.timestamp(), ballotHash),
+                python.timestamp(), ballotHash, null);
+
+        assertFalse(tampered.isValidEncryption(manifest.getManifestHash(), context.elgamalPublicKey(),
+                context.cryptoExtendedBaseHash()));
+    }
+
+    @Test
+    void randomEncryption_RoundTripsAndValidates() {
+        CiphertextBallot ballot = BallotEncryptor.encrypt(manifest, context, "ballot-random", "Alice Johnson");
+        CiphertextBallot published = BallotJson.fromJson(BallotJson.toJson(ballot.withoutNonces()));
+
+        assertEquals(ballot.withoutNonces(), published);
+        assertTrue(published.isValidEncryption(manifest.getManifestHash(), context.elgamalPublicKey(),
+                context.cryptoExtendedBaseHash()));
+        assertEquals(1, published.contests().get(0).proof().constant());
+    }
+
+    @Test
+    void encrypt_UnknownCandidate_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BallotEncryptor.encrypt(manifest, context, "ballot-x", "Nobody"));
+    }
+
+    @Test
+    void toJson_EscapesLikePython() {
+        ElectionManifest unicode = ElectionManifest.create(List.of("দল"), List.of("প্রার্থী \"A\"", "B"));
+        ElectionContext unicodeContext = ElectionContext.create(1, 1, context.elgamalPublicKey(),
+                context.commitmentHash(), unicode.getManifestHash());
+
+        String json = BallotJson.toJson(BallotEncryptor.encrypt(unicode, unicodeContext, "b-1", "প্রার্থী \"A\""));
+
+        assertTrue(json.contains("\"object_id\": \"\\u09aa\\u09cd\\u09b0\\u09be\\u09b0\\u09cd\\u09a5\\u09c0 \\\"A\\\"\""));
+        assertEquals("প্রার্থী \"A\"",
+                BallotJson.fromJson(json).contests().get(0).ballotSelections().get(0).objectId());
+    }
+
+    private static CiphertextBallotSelection rehash(CiphertextBallotSelection selection, ElGamalCiphertext ciphertext) {
+        return new CiphertextBallotSelection(selection.objectId(), selection.sequenceOrder(),
+                selection.descriptionHash(), ciphertext,
+                CiphertextBallotSelection.cryptoHashWith(selection.objectId(), selection.descriptionHash(), ciphertext),
+                selection.isPlaceholderSelection(), null, selection.proof());
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = BallotEncryptorTest.class.getResourceAsStream("/electionguard/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+}
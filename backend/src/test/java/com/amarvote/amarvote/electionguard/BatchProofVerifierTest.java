@@ -0,0 +1,145 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Batch verification must agree with one-by-one {@code isValid} and pinpoint the bad ballots.
+ */
+class BatchProofVerifierTest {
+
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+
+    private static ElectionContext context;
+    private static List<CiphertextBallot> ballots;
+
+    private final Random random = new Random(35);
+
+    @BeforeAll
+    static void encryptBallots() {
+        ElectionManifest manifest = ElectionManifest.create(List.of("Red", "Blue", "Green"), CANDIDATES);
+        context = ElectionContext.create(3, 2, Group.gPowP(BigInteger.valueOf(3535)), BigInteger.valueOf(35),
+                manifest.getManifestHash());
+        ballots = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ballots.add(BallotEncryptor.encrypt(manifest, context, "ballot-" + i, CANDIDATES.get(i % 3))
+                    .withoutNonces());
+        }
+    }
+
+    @Test
+    void validBallots_PassAsOneBatch() {
+        BatchProofVerifier verifier = new BatchProofVerifier(context);
+
+        assertTrue(verifier.allValid(ballots));
+        assertTrue(verifier.findInvalid(List.of()).isEmpty());
+    }
+
+    @Test
+    void bisection_FindsEveryBadBallot() {
+        List<CiphertextBallot> batch = new ArrayList<>(ballots);
+        batch.set(2, withSwappedSelectionProofs(batch.get(2)));
+        batch.set(7, withSwappedSelectionProofs(batch.get(7)));
+        batch.set(8, withContestConstant(batch.get(8), 2));
+
+        assertEquals(List.of(2, 7, 8), new BatchProofVerifier(context).findInvalid(batch));
+        for (int i : List.of(2, 7, 8)) {
+            assertFalse(batch.get(i).isValidEncryption(batch.get(i).manifestHash(), context.elgamalPublicKey(),
+                    context.cryptoExtendedBaseHash()));
+        }
+    }
+
+    @Test
+    void elementOutsideSubgroup_IsRejected() {
+        // p = 3 mod 4, so -alpha has an order-2 component
+        CiphertextBallot ballot = ballots.get(0);
+        CiphertextBallotContest contest = ballot.contests().get(0);
+        List<CiphertextBallotSelection> selections = new ArrayList<>(contest.ballotSelections());
+        CiphertextBallotSelection first = selections.get(0);
+        selections.set(0, new CiphertextBallotSelection(first.objectId(), first.sequenceOrder(),
+                first.descriptionHash(),
+                new ElGamalCiphertext(Group.P.subtract(first.ciphertext().pad()), first.ciphertext().data()),
+                first.cryptoHash(), first.isPlaceholderSelection(), null, first.proof()));
+
+        assertEquals(List.of(1), new BatchProofVerifier(context).findInvalid(
+                List.of(ballots.get(1), withContest(ballot, selections, contest.proof()))));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchProofVerifier(Group.P.subtract(Group.G), context.cryptoExtendedBaseHash()));
+    }
+
+    @Test
+    void multiExponentiation_MatchesBigInteger() {
+        for (int n : new int[] { 1, 3, 40 }) {
+            List<BigInteger> bases = new ArrayList<>();
+            List<BigInteger> exponents = new ArrayList<>();
+            BigInteger expected = BigInteger.ONE;
+            for (int i = 0; i < n; i++) {
+                BigInteger base = new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+                // mixed sizes as in a batch: 64-bit deltas and full-size exponents, and zero
+                BigInteger exponent = i % 5 == 4 ? BigInteger.ZERO
+                        : new BigInteger(i % 2 == 0 ? 64 : Group.Q.bitLength(), random);
+                bases.add(base);
+                exponents.add(exponent);
+                expected = expected.multiply(base.modPow(exponent, Group.P)).mod(Group.P);
+            }
+            assertEquals(expected, MultiExponentiation.product(bases, exponents), "n = " + n);
+        }
+        assertEquals(BigInteger.ONE, MultiExponentiation.product(List.of(Group.G), List.of(BigInteger.ZERO)));
+    }
+
+    @Test
+    void jacobi_MatchesEulerCriterion() {
+        BigInteger halfOrder = Group.P.subtract(BigInteger.ONE).shiftRight(1);
+        for (int i = 0; i < 5; i++) {
+            BigInteger x = new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+            int euler = x.modPow(halfOrder, Group.P).equals(BigInteger.ONE) ? 1 : -1;
+            assertEquals(euler, BatchProofVerifier.jacobi(x, Group.P));
+        }
+        assertEquals(1, BatchProofVerifier.jacobi(Group.G, Group.P));
+        assertEquals(-1, BatchProofVerifier.jacobi(Group.P.subtract(BigInteger.ONE), Group.P));
+    }
+
+    /** Selection hashes do not cover the proofs, so only proof verification can catch this. */
+    private static CiphertextBallot withSwappedSelectionProofs(CiphertextBallot ballot) {
+        CiphertextBallotContest contest = ballot.contests().get(0);
+        List<CiphertextBallotSelection> selections = new ArrayList<>(contest.ballotSelections());
+        CiphertextBallotSelection first = selections.get(0);
+        CiphertextBallotSelection second = selections.get(1);
+        selections.set(0, withProof(first, second.proof()));
+        selections.set(1, withProof(second, first.proof()));
+        return withContest(ballot, selections, contest.proof());
+    }
+
+    private static CiphertextBallot withContestConstant(CiphertextBallot ballot, int constant) {
+        CiphertextBallotContest contest = ballot.contests().get(0);
+        ConstantChaumPedersenProof proof = contest.proof();
+        return withContest(ballot, contest.ballotSelections(), new ConstantChaumPedersenProof(
+                proof.pad(), proof.data(), proof.challenge(), proof.response(), constant));
+    }
+
+    private static CiphertextBallotSelection withProof(CiphertextBallotSelection selection,
+            DisjunctiveChaumPedersenProof proof) {
+        return new CiphertextBallotSelection(selection.objectId(), selection.sequenceOrder(),
+                selection.descriptionHash(), selection.ciphertext(), selection.cryptoHash(),
+                selection.isPlaceholderSelection(), null, proof);
+    }
+
+    private static CiphertextBallot withContest(CiphertextBallot ballot, List<CiphertextBallotSelection> selections,
+            ConstantChaumPedersenProof proof) {
+        CiphertextBallotContest contest = ballot.contests().get(0);
+        CiphertextBallotContest replaced = new CiphertextBallotContest(contest.objectId(), contest.sequenceOrder(),
+                contest.descriptionHash(), selections, contest.ciphertextAccumulation(), contest.cryptoHash(),
+                null, proof, contest.extendedData());
+        return new CiphertextBallot(ballot.objectId(), ballot.styleId(), ballot.manifestHash(), ballot.codeSeed(),
+                List.of(replaced), ballot.code(), ballot.timestamp(), ballot.cryptoHash(), null);
+    }
+}
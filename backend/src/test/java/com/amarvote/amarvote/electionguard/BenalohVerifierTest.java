@@ -0,0 +1,91 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benaloh challenges of the ballot captured from the Python ElectionGuard service, which encrypts
+ * a vote for Bob Smith.
+ */
+class BenalohVerifierTest {
+
+    private static CiphertextBallot ballot;
+    private static ElectionManifest manifest;
+    private static ElectionContext context;
+
+    @BeforeAll
+    static void loadGoldenBallot() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode request = mapper.readTree(resource("create_encrypted_ballot_request.json"));
+        JsonNode response = mapper.readTree(resource("create_encrypted_ballot_response.json"));
+        manifest = ElectionManifest.create(strings(request.get("party_names")), strings(request.get("candidate_names")));
+        context = ElectionContext.create(
+                request.get("number_of_guardians").asInt(),
+                request.get("quorum").asInt(),
+                new BigInteger(request.get("joint_public_key").asText()),
+                new BigInteger(request.get("commitment_hash").asText()),
+                manifest.getManifestHash());
+        ballot = BallotJson.fromJson(response.get("encrypted_ballot_with_nonce").asText());
+    }
+
+    @Test
+    void verify_ReportsTheEncryptedCandidate() {
+        BenalohVerifier.Result honest = BenalohVerifier.verify(ballot, manifest, context, "Bob Smith");
+        assertTrue(honest.match());
+        assertEquals(Optional.of("Bob Smith"), honest.verifiedCandidate());
+        assertEquals("ballot-2", honest.ballotId());
+
+        BenalohVerifier.Result other = BenalohVerifier.verify(ballot, manifest, context, "Alice Johnson");
+        assertFalse(other.match());
+        assertEquals(Optional.of("Bob Smith"), other.verifiedCandidate());
+    }
+
+    @Test
+    void verify_RejectsNoncesThatDoNotExplainTheBallot() {
+        CiphertextBallot wrongNonce = new CiphertextBallot(ballot.objectId(), ballot.styleId(), ballot.manifestHash(),
+                ballot.codeSeed(), ballot.contests(), ballot.code(), ballot.timestamp(), ballot.cryptoHash(),
+                Group.randQ());
+        BenalohVerifier.Result result = BenalohVerifier.verify(wrongNonce, manifest, context, "Bob Smith");
+        assertFalse(result.match());
+        assertEquals(Optional.empty(), result.verifiedCandidate());
+
+        // a ballot for Alice under the same nonce is a different ballot, and hashes differently
+        CiphertextBallot alice = BallotEncryptor.encrypt(manifest, context, ballot.objectId(), "Alice Johnson",
+                ballot.nonce(), ballot.timestamp());
+        CiphertextBallot swapped = new CiphertextBallot(ballot.objectId(), ballot.styleId(), ballot.manifestHash(),
+                ballot.codeSeed(), alice.contests(), ballot.code(), ballot.timestamp(), ballot.cryptoHash(),
+                ballot.nonce());
+        assertTrue(BenalohVerifier.verify(alice, manifest, context, "Alice Johnson").match());
+        assertFalse(BenalohVerifier.verify(swapped, manifest, context, "Alice Johnson").match());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BenalohVerifier.verify(ballot.withoutNonces(), manifest, context, "Bob Smith"));
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = BenalohVerifierTest.class.getResourceAsStream("/electionguard/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+}
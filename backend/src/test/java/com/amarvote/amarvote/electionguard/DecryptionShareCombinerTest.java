@@ -0,0 +1,96 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Three guardians with quorum two: guardians 1 and 2 decrypt, guardian 3 is rebuilt from their
+ * compensated shares.
+ */
+class DecryptionShareCombinerTest {
+
+    private static final BigInteger HASH = CryptoHash.hashElems("extended-base-hash");
+    private static final int VOTES = 42;
+
+    /** a_i0 + a_i1 x for guardians 1 to 3 */
+    private final BigInteger[][] polynomials = {
+            { Group.randQ(), Group.randQ() },
+            { Group.randQ(), Group.randQ() },
+            { Group.randQ(), Group.randQ() } };
+
+    @Test
+    void lagrangeCoefficients_InterpolateTheConstantTerm() {
+        BigInteger[] polynomial = polynomials[0];
+        BigInteger secret = BigInteger.ZERO;
+        for (int x : new int[] { 2, 5 }) {
+            int other = x == 2 ? 5 : 2;
+            BigInteger w = DecryptionShareCombiner.lagrangeCoefficient(x, List.of(other));
+            secret = Group.addQ(secret, w.multiply(evaluate(polynomial, x)).mod(Group.Q));
+        }
+        assertEquals(polynomial[0], secret);
+        assertEquals(BigInteger.ONE, DecryptionShareCombiner.lagrangeCoefficient(1, List.of()));
+    }
+
+    @Test
+    void decrypt_CombinesDirectAndCompensatedShares() {
+        ElGamalCiphertext ciphertext = ElGamalCiphertext.encrypt(VOTES, Group.randQ(), jointKey());
+
+        BigInteger result = combiner().decrypt(selection(ciphertext, share(ciphertext, 1)));
+
+        assertEquals(Group.gPowP(BigInteger.valueOf(VOTES)), result);
+    }
+
+    @Test
+    void decrypt_RejectsSharesThatFailTheirProof() {
+        ElGamalCiphertext ciphertext = ElGamalCiphertext.encrypt(VOTES, Group.randQ(), jointKey());
+        DecryptionShareCombiner.Share honest = share(ciphertext, 1);
+        DecryptionShareCombiner.Share forged = new DecryptionShareCombiner.Share(
+                Group.multP(honest.share(), Group.G), null, honest.proof());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> combiner().decrypt(selection(ciphertext, forged)));
+        assertTrue(e.getMessage().contains("guardian 1 for selection Alice failed its proof"), e.getMessage());
+    }
+
+    private DecryptionShareCombiner combiner() {
+        return new DecryptionShareCombiner(HASH,
+                Map.of(1, Group.gPowP(polynomials[0][0]), 2, Group.gPowP(polynomials[1][0])),
+                Map.of(3, List.of(Group.gPowP(polynomials[2][0]), Group.gPowP(polynomials[2][1]))));
+    }
+
+    private DecryptionShareCombiner.Selection selection(ElGamalCiphertext ciphertext,
+            DecryptionShareCombiner.Share first) {
+        return new DecryptionShareCombiner.Selection("contest-1", "Alice", ciphertext,
+                Map.of(1, first, 2, share(ciphertext, 2)),
+                Map.of(3, Map.of(1, compensatedShare(ciphertext, 1), 2, compensatedShare(ciphertext, 2))));
+    }
+
+    private DecryptionShareCombiner.Share share(ElGamalCiphertext ciphertext, int guardian) {
+        BigInteger secret = polynomials[guardian - 1][0];
+        BigInteger share = Group.powP(ciphertext.pad(), secret);
+        return new DecryptionShareCombiner.Share(share, null,
+                ChaumPedersenProof.make(ciphertext, secret, share, Group.randQ(), HASH));
+    }
+
+    private DecryptionShareCombiner.Share compensatedShare(ElGamalCiphertext ciphertext, int guardian) {
+        BigInteger secret = evaluate(polynomials[2], guardian);
+        BigInteger share = Group.powP(ciphertext.pad(), secret);
+        return new DecryptionShareCombiner.Share(share, Group.gPowP(secret),
+                ChaumPedersenProof.make(ciphertext, secret, share, Group.randQ(), HASH));
+    }
+
+    private BigInteger jointKey() {
+        return Group.multP(Group.gPowP(polynomials[0][0]), Group.gPowP(polynomials[1][0]),
+                Group.gPowP(polynomials[2][0]));
+    }
+
+    private static BigInteger evaluate(BigInteger[] polynomial, int x) {
+        return Group.addQ(polynomial[0], polynomial[1].multiply(BigInteger.valueOf(x)).mod(Group.Q));
+    }
+}
@@ -0,0 +1,60 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Baby-step giant-step lookups across step boundaries, limits, and the memory-mapped file.
+ */
+class DiscreteLogTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void log_FindsEveryExponentUpToTheLimit() {
+        DiscreteLogTable table = DiscreteLogTable.build(16);
+
+        for (long m : new long[] { 0, 1, 15, 16, 17, 255, 256, 1000 }) {
+            assertEquals(m, table.log(Group.gPowP(BigInteger.valueOf(m)), 1000), "m = " + m);
+        }
+        assertEquals(-1, table.log(Group.gPowP(BigInteger.valueOf(5000)), 1000));
+        // found in the same giant step as 1000, but beyond the limit
+        assertEquals(-1, table.log(Group.gPowP(BigInteger.valueOf(1001)), 1000));
+        assertEquals(-1, table.log(Group.P.subtract(BigInteger.ONE), 100));
+        assertEquals(-1, table.log(BigInteger.ZERO, 100));
+    }
+
+    @Test
+    void open_MapsAndReusesTheTableFile() throws Exception {
+        Path file = tempDir.resolve("dlog.bin");
+        BigInteger element = Group.gPowP(BigInteger.valueOf(123_456));
+
+        assertEquals(123_456, DiscreteLogTable.open(file, 512).log(element, 200_000));
+        assertEquals(DiscreteLogTable.sizeInBytes(512), Files.size(file));
+        long written = Files.getLastModifiedTime(file).toMillis();
+
+        assertEquals(123_456, DiscreteLogTable.open(file, 512).log(element, 200_000));
+        assertEquals(written, Files.getLastModifiedTime(file).toMillis());
+
+        // another size replaces the file
+        assertEquals(123_456, DiscreteLogTable.open(file, 1024).log(element, 200_000));
+        assertEquals(DiscreteLogTable.sizeInBytes(1024), Files.size(file));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void build_RejectsUnsupportedSizes() {
+        assertThrows(IllegalArgumentException.class, () -> DiscreteLogTable.build(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> DiscreteLogTable.build(DiscreteLogTable.MAX_BABY_STEPS + 1));
+    }
+}
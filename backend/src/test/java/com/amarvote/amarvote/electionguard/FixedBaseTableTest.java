@@ -0,0 +1,71 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class FixedBaseTableTest {
+
+    private static final BigInteger BASE = Group.gPowP(new BigInteger("123456789123456789"));
+
+    @Test
+    void pow_MatchesModPowForRandomAndEdgeExponents() {
+        FixedBaseTable table = new FixedBaseTable(BASE);
+        Random random = new Random(32);
+
+        for (int i = 0; i < 50; i++) {
+            BigInteger exponent = new BigInteger(Group.Q.bitLength(), random).mod(Group.Q);
+            assertEquals(BASE.modPow(exponent, Group.P), table.pow(exponent));
+        }
+        for (BigInteger exponent : new BigInteger[] { BigInteger.ZERO, BigInteger.ONE,
+                Group.Q.subtract(BigInteger.ONE), BigInteger.ONE.shiftLeft(Group.Q.bitLength()).subtract(BigInteger.ONE) }) {
+            assertEquals(BASE.modPow(exponent, Group.P), table.pow(exponent));
+        }
+    }
+
+    @Test
+    void pow_FallsBackForExponentsBeyondTheTable() {
+        FixedBaseTable table = new FixedBaseTable(BASE, 4, 64);
+        BigInteger large = Group.Q.multiply(BigInteger.valueOf(3)).add(BigInteger.TEN);
+
+        assertEquals(BASE.modPow(large, Group.P), table.pow(large));
+        assertEquals(BASE.modPow(BigInteger.valueOf(-5), Group.P), table.pow(BigInteger.valueOf(-5)));
+    }
+
+    @Test
+    void gPowP_UsesGeneratorTable() {
+        BigInteger exponent = Group.randQ();
+
+        assertEquals(Group.G.modPow(exponent, Group.P), Group.gPowP(exponent));
+    }
+
+    @Test
+    void constructor_RejectsNonGroupBase() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedBaseTable(BigInteger.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FixedBaseTable(Group.P));
+    }
+
+    @Test
+    void cache_ReusesTablesAndEvictsLeastRecentlyUsed() {
+        BigInteger first = Group.gPowP(BigInteger.TWO);
+        BigInteger second = Group.gPowP(BigInteger.valueOf(3));
+        BigInteger third = Group.gPowP(BigInteger.valueOf(5));
+        long tableBytes = new FixedBaseTable(first).sizeInBytes();
+        FixedBaseTableCache cache = new FixedBaseTableCache(2 * tableBytes);
+
+        FixedBaseTable firstTable = cache.table(first);
+        cache.table(second);
+        assertSame(firstTable, cache.table(first));
+        cache.table(third);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.getTotalBytes() <= 2 * tableBytes);
+        assertSame(firstTable, cache.table(first), "recently used table was evicted");
+        assertEquals(second.modPow(BigInteger.TEN, Group.P), cache.pow(second, BigInteger.TEN));
+    }
+}
@@ -0,0 +1,36 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The byte-based hex conversions against the {@code BigInteger} radix-16 ones they replace.
+ */
+class GroupTest {
+
+    @Test
+    void hex_MatchesRadix16Conversion() {
+        List<BigInteger> values = List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(0xABC),
+                BigInteger.valueOf(0x80), Group.Q.subtract(BigInteger.ONE), Group.P.subtract(BigInteger.ONE),
+                Group.gPowP(Group.randQ()), Group.randQ());
+        for (BigInteger value : values) {
+            String expected = value.toString(16).toUpperCase();
+            expected = expected.length() % 2 == 0 ? expected : "0" + expected;
+
+            assertEquals(expected, Group.toHex(value));
+            assertEquals(value, Group.fromHex(expected));
+            assertEquals(value, Group.fromHex(value.toString(16)));
+        }
+    }
+
+    @Test
+    void fromHex_RejectsWhatBigIntegerRejects() {
+        assertThrows(NumberFormatException.class, () -> Group.fromHex(""));
+        assertThrows(NumberFormatException.class, () -> Group.fromHex("not hex"));
+        assertThrows(NumberFormatException.class, () -> Group.fromHex("12G4"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
+import org.bouncycastle.crypto.SecretWithEncapsulation;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMGenerator;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMKeyGenerationParameters;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMKeyPairGenerator;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMParameters;
+import org.bouncycastle.pqc.crypto.mlkem.MLKEMPrivateKeyParameters;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GuardianCredentialsTest {
+
+    private static final String GUARDIAN_DATA = "===Private Key===\n{\"key\":\"secret\"}\n===Polynomial===\n{\"coefficients\":[]}";
+
+    private final byte[] masterKey = GuardianCredentials.random(32);
+    private final GuardianCredentials credentials = new GuardianCredentials(masterKey);
+
+    @Test
+    void seal_RoundTripsAndBindsTheCredentials() {
+        GuardianCredentials.Sealed sealed = credentials.seal(GUARDIAN_DATA);
+
+        assertEquals("2.0", GuardianCredentials.version(sealed.credentials()));
+        assertEquals(GUARDIAN_DATA, credentials.open(sealed.encryptedData(), sealed.credentials()));
+
+        GuardianCredentials.Sealed other = credentials.seal(GUARDIAN_DATA);
+        assertNotEquals(sealed.encryptedData(), other.encryptedData());
+        assertThrows(IllegalArgumentException.class,
+                () -> credentials.open(sealed.encryptedData(), other.credentials()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GuardianCredentials(GuardianCredentials.random(32))
+                        .open(sealed.encryptedData(), sealed.credentials()));
+    }
+
+    @Test
+    void open_ReadsCredentialsWrittenByTheElectionGuardService() {
+        GuardianCredentials.Sealed legacy = sealLikeTheService(GUARDIAN_DATA);
+
+        assertEquals("1.0", GuardianCredentials.version(legacy.credentials()));
+        assertEquals(GUARDIAN_DATA, credentials.open(legacy.encryptedData(), legacy.credentials()));
+
+        String json = new String(Base64.getDecoder().decode(legacy.credentials()), StandardCharsets.UTF_8);
+        String tampered = encode(json.replace("ML-KEM-1024", "ML-KEM-768").getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> credentials.open(legacy.encryptedData(), tampered));
+        assertThrows(IllegalArgumentException.class,
+                () -> credentials.open(legacy.encryptedData(), sealLikeTheService(GUARDIAN_DATA).credentials()));
+    }
+
+    /**
+     * encrypted_data and credentials returned by {@code encrypt_it} in Microservice/api.py, run as is
+     * under the MASTER_KEY_PQ next to them, with private_key as the request. Only the ML-KEM-1024
+     * key pair and encapsulation were fixed in advance, since pqcrypto is a native extension.
+     */
+    @Test
+    void open_ReadsCredentialsCapturedFromTheElectionGuardService() throws IOException {
+        JsonNode captured = new ObjectMapper().readTree(resource("encrypt_response.json"));
+        GuardianCredentials service = new GuardianCredentials(
+                Base64.getDecoder().decode(captured.get("MASTER_KEY_PQ").asText()));
+
+        assertEquals("1.0", GuardianCredentials.version(captured.get("credentials").asText()));
+        assertEquals(captured.get("private_key").asText(),
+                service.open(captured.get("encrypted_data").asText(), captured.get("credentials").asText()));
+        assertThrows(IllegalArgumentException.class,
+                () -> credentials.open(captured.get("encrypted_data").asText(), captured.get("credentials").asText()));
+    }
+
+    /** {@code encrypt_it} in Microservice/api.py, step by step. */
+    private GuardianCredentials.Sealed sealLikeTheService(String plaintext) {
+        SecureRandom random = new SecureRandom();
+        byte[] password = "Zq8!kP2@xR7#mW4$vT9%nB3^cF6&hJ1*".getBytes(StandardCharsets.UTF_8);
+        byte[] salt = GuardianCredentials.random(GuardianCredentials.SALT_LENGTH);
+
+        MLKEMKeyPairGenerator generator = new MLKEMKeyPairGenerator();
+        generator.init(new MLKEMKeyGenerationParameters(random, MLKEMParameters.ml_kem_1024));
+        AsymmetricCipherKeyPair pqKeyPair = generator.generateKeyPair();
+        SecretWithEncapsulation pq = new MLKEMGenerator(random).generateEncapsulated(pqKeyPair.getPublic());
+
+        byte[] passwordKey = SCrypt.generate(password, salt, GuardianCredentials.SCRYPT_N,
+                GuardianCredentials.SCRYPT_R, GuardianCredentials.SCRYPT_P, GuardianCredentials.KEY_LENGTH);
+        byte[] combinedKey = GuardianCredentials.hkdf(GuardianCredentials.concat(passwordKey, pq.getSecret()), salt,
+                GuardianCredentials.HKDF_INFO_HYBRID);
+
+        byte[] nonce = GuardianCredentials.random(GuardianCredentials.NONCE_LENGTH);
+        byte[] sealed = GuardianCredentials.aesGcm(Cipher.ENCRYPT_MODE, combinedKey, nonce,
+                plaintext.getBytes(StandardCharsets.UTF_8), null);
+        int tagStart = sealed.length - GuardianCredentials.TAG_LENGTH;
+
+        byte[] passwordNonce = GuardianCredentials.random(GuardianCredentials.NONCE_LENGTH);
+        byte[] sealedPassword = GuardianCredentials.aesGcm(Cipher.ENCRYPT_MODE, masterKey, passwordNonce, password,
+                null);
+        int passwordTagStart = sealedPassword.length - GuardianCredentials.TAG_LENGTH;
+        byte[] encryptedPassword = GuardianCredentials.concat(
+                GuardianCredentials.concat(passwordNonce,
+                        Arrays.copyOfRange(sealedPassword, passwordTagStart, sealedPassword.length)),
+                Arrays.copyOf(sealedPassword, passwordTagStart));
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("version", "1.0");
+        fields.put("algorithm", "ML-KEM-1024");
+        fields.put("salt", encode(salt));
+        byte[] pqPrivateKey = ((MLKEMPrivateKeyParameters) pqKeyPair.getPrivate()).getEncoded();
+        // the expanded FIPS 203 decapsulation key, as pqcrypto's ml_kem_1024 returns it
+        assertEquals(3168, pqPrivateKey.length);
+        fields.put("pq_private_key", encode(pqPrivateKey));
+        fields.put("pq_ciphertext", encode(pq.getEncapsulation()));
+        fields.put("nonce", encode(nonce));
+        fields.put("tag", encode(Arrays.copyOfRange(sealed, tagStart, sealed.length)));
+        fields.put("encrypted_password", encode(encryptedPassword));
+        byte[] hmacKey = GuardianCredentials.hkdf(combinedKey, salt, GuardianCredentials.HKDF_INFO_HMAC);
+        fields.put("hmac_tag", encode(GuardianCredentials.hmacSha256(hmacKey, GuardianCredentials.json(fields))));
+
+        return new GuardianCredentials.Sealed(encode(Arrays.copyOf(sealed, tagStart)),
+                encode(GuardianCredentials.json(fields)));
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = GuardianCredentialsTest.class.getResourceAsStream("/electionguard/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
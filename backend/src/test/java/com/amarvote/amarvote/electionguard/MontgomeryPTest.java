@@ -0,0 +1,115 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential tests of the Montgomery kernel against {@link BigInteger}.
+ */
+class MontgomeryPTest {
+
+    private static final BigInteger P_MINUS_ONE = Group.P.subtract(BigInteger.ONE);
+
+    private final Random random = new Random(33);
+
+    private BigInteger randomP() {
+        return new BigInteger(Group.P.bitLength(), random).mod(Group.P);
+    }
+
+    @Test
+    void multiply_MatchesBigInteger() {
+        for (int i = 0; i < 200; i++) {
+            BigInteger a = randomP();
+            BigInteger b = randomP();
+            assertEquals(a.multiply(b).mod(Group.P), MontgomeryP.multiply(a, b));
+        }
+        BigInteger[] edges = { BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO, P_MINUS_ONE, Group.G };
+        for (BigInteger a : edges) {
+            for (BigInteger b : edges) {
+                assertEquals(a.multiply(b).mod(Group.P), MontgomeryP.multiply(a, b), a + " * " + b);
+            }
+        }
+    }
+
+    @Test
+    void limbOperations_AllowAliasing() {
+        BigInteger a = randomP();
+        long[] x = MontgomeryP.toMontgomery(a);
+
+        MontgomeryP.square(x, x);
+        assertEquals(a.multiply(a).mod(Group.P), MontgomeryP.fromMontgomery(x));
+
+        long[] y = MontgomeryP.toMontgomery(a);
+        MontgomeryP.multiply(y, x, x);
+        assertEquals(a.pow(3).mod(Group.P), MontgomeryP.fromMontgomery(x));
+    }
+
+    @Test
+    void product_MatchesBigInteger() {
+        BigInteger[] elements = IntStream.range(0, 7).mapToObj(i -> randomP()).toArray(BigInteger[]::new);
+        BigInteger expected = BigInteger.ONE;
+        for (BigInteger element : elements) {
+            expected = expected.multiply(element).mod(Group.P);
+        }
+
+        assertEquals(expected, MontgomeryP.product(elements));
+        assertEquals(expected, Group.multP(elements));
+        assertEquals(BigInteger.ONE, MontgomeryP.product());
+        assertEquals(elements[0], MontgomeryP.product(elements[0]));
+        assertEquals(Group.P.subtract(BigInteger.TWO),
+                MontgomeryP.product(Group.P.add(BigInteger.TWO), P_MINUS_ONE));
+    }
+
+    @Test
+    void modPow_MatchesBigInteger() {
+        for (int i = 0; i < 20; i++) {
+            BigInteger base = randomP();
+            BigInteger exponent = new BigInteger(Group.Q.bitLength(), random);
+            assertEquals(base.modPow(exponent, Group.P), MontgomeryP.modPow(base, exponent));
+        }
+        BigInteger base = randomP();
+        assertEquals(BigInteger.ONE, MontgomeryP.modPow(base, BigInteger.ZERO));
+        assertEquals(base, MontgomeryP.modPow(base, BigInteger.ONE));
+        assertEquals(BigInteger.ONE, MontgomeryP.modPow(Group.G, Group.Q));
+        assertEquals(P_MINUS_ONE.modPow(Group.P, Group.P), MontgomeryP.modPow(P_MINUS_ONE, Group.P));
+    }
+
+    @Test
+    void modInverse_MatchesBigInteger() {
+        for (int i = 0; i < 3; i++) {
+            BigInteger a = randomP().max(BigInteger.ONE);
+            assertEquals(a.modInverse(Group.P), MontgomeryP.modInverse(a));
+        }
+        assertEquals(P_MINUS_ONE, MontgomeryP.modInverse(P_MINUS_ONE));
+        assertThrows(ArithmeticException.class, () -> MontgomeryP.modInverse(BigInteger.ZERO));
+    }
+
+    @Test
+    void toMontgomery_RoundTripsAndRejectsOutOfRange() {
+        BigInteger a = randomP();
+
+        assertEquals(a, MontgomeryP.fromMontgomery(MontgomeryP.toMontgomery(a)));
+        assertArrayEquals(MontgomeryP.limbs(a), MontgomeryP.limbs(MontgomeryP.toBigInteger(MontgomeryP.limbs(a))));
+        assertThrows(IllegalArgumentException.class, () -> MontgomeryP.toMontgomery(Group.P));
+        assertThrows(IllegalArgumentException.class, () -> MontgomeryP.toMontgomery(BigInteger.valueOf(-1)));
+    }
+
+    @Test
+    void scratchBuffersAreThreadConfined() {
+        BigInteger[] bases = IntStream.range(0, 16).mapToObj(i -> randomP()).toArray(BigInteger[]::new);
+        BigInteger exponent = new BigInteger(Group.Q.bitLength(), random);
+
+        boolean allMatch = IntStream.range(0, 64).parallel()
+                .allMatch(i -> MontgomeryP.modPow(bases[i % 16], exponent)
+                        .equals(bases[i % 16].modPow(exponent, Group.P)));
+
+        assertTrue(allMatch);
+    }
+}
@@ -0,0 +1,59 @@
+package com.amarvote.amarvote.electionguard;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Re-tallies the submitted ballots of the election captured from the Python ElectionGuard
+ * service and compares against the service's {@code ciphertext_tally}.
+ */
+class TallyAccumulatorTest {
+
+    @Test
+    void add_ReproducesTheServiceTally() throws IOException {
+        JsonNode request = new ObjectMapper().readTree(resource("combine_decryption_shares_request.json"));
+        List<CiphertextBallot> ballots = new ArrayList<>();
+        request.get("submitted_ballots").forEach(ballot -> ballots.add(BallotJson.fromJson(ballot.asText())));
+
+        TallyAccumulator sequential = new TallyAccumulator();
+        ballots.forEach(sequential::add);
+        TallyAccumulator first = new TallyAccumulator();
+        TallyAccumulator second = new TallyAccumulator();
+        first.add(ballots.get(0));
+        second.add(ballots.get(1));
+        first.merge(second);
+
+        List<DecryptionShareCombiner.Selection> tally = DecryptionShareCombiner.selections(
+                request.get("ciphertext_tally").asText(), Map.of(), Map.of());
+        assertEquals(request.get("candidate_names").size(), tally.size());
+        for (DecryptionShareCombiner.Selection selection : tally) {
+            assertEquals(selection.ciphertext(), sequential.ciphertext(selection.contestId(), selection.selectionId()));
+            assertEquals(selection.ciphertext(), first.ciphertext(selection.contestId(), selection.selectionId()));
+        }
+        assertEquals(2, first.ballots());
+
+        TallyAccumulator partial = new TallyAccumulator();
+        partial.add(ballots.get(0));
+        DecryptionShareCombiner.Selection any = tally.get(0);
+        assertNotEquals(any.ciphertext(), partial.ciphertext(any.contestId(), any.selectionId()));
+        assertEquals(new ElGamalCiphertext(BigInteger.ONE, BigInteger.ONE), partial.ciphertext("contest-1", "Nobody"));
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = TallyAccumulatorTest.class.getResourceAsStream("/electionguard/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.amarvote.amarvote.filter;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.amarvote.amarvote.config.BulkheadDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private BulkheadFilter filter;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bulkhead.chatbot.max-concurrent", "1")
+                .withProperty("bulkhead.chatbot.max-connections", "1")
+                .withProperty("bulkhead.chatbot.connection-wait-ms", "50")
+                .withProperty("bulkhead.chatbot.retry-after-seconds", "5")
+                .withProperty("bulkhead.general.max-concurrent", "4")
+                .withProperty("bulkhead.general.max-connections", "1")
+                .withProperty("bulkhead.general.connection-wait-ms", "50")
+                .withProperty("bulkhead.guardian.max-concurrent", "4")
+                .withProperty("bulkhead.admin.max-concurrent", "4");
+        registry = new SimpleMeterRegistry();
+        filter = new BulkheadFilter(environment, registry);
+        dataSource = new BulkheadDataSource(new DriverManagerDataSource("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    void classifiesRequestsByPath() {
+        assertEquals(TrafficClass.VOTING, TrafficClass.of("/api/cast-encrypted-ballot"));
+        assertEquals(TrafficClass.VOTING, TrafficClass.of("/api/eligibility"));
+        assertEquals(TrafficClass.GUARDIAN, TrafficClass.of("/api/create-partial-decryption"));
+        assertEquals(TrafficClass.ADMIN, TrafficClass.of("/api/create-tally"));
+        assertEquals(TrafficClass.CHATBOT, TrafficClass.of("/api/chatbot/chat"));
+        assertEquals(TrafficClass.CHATBOT, TrafficClass.of("/api/chat/general"));
+        assertEquals(TrafficClass.GENERAL, TrafficClass.of("/api/all-elections"));
+    }
+
+    @Test
+    void queuesThatCouldTakeEveryRequestThread_FailStartup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("server.tomcat.threads.max", "20")
+                .withProperty("bulkhead.guardian.max-concurrent", "4")
+                .withProperty("bulkhead.admin.max-concurrent", "4")
+                .withProperty("bulkhead.chatbot.max-concurrent", "2")
+                .withProperty("bulkhead.general.max-concurrent", "4")
+                .withProperty("bulkhead.general.max-queue", "6");
+
+        assertThrows(IllegalStateException.class, () -> new BulkheadFilter(environment, new SimpleMeterRegistry()));
+
+        environment.setProperty("bulkhead.general.max-queue", "5");
+        new BulkheadFilter(environment, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unlimitedClasses_FailStartupOnlyWithPlatformThreads() {
+        MockEnvironment environment = new MockEnvironment();
+
+        assertThrows(IllegalStateException.class, () -> new BulkheadFilter(environment, new SimpleMeterRegistry()));
+
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+        new BulkheadFilter(environment, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void saturatedChatbot_IsRejectedWithoutTouchingVoting() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread flood = new Thread(() -> {
+            try {
+                perform("/api/chatbot/chat", (request, response) -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        holding.countDown();
+                        finish.await();
+                    }
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        flood.start();
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = perform("/api/chat", (request, response) -> { });
+        assertEquals(503, rejected.getStatus());
+        assertEquals("5", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get(Bulkhead.ACTIVE).tag("class", "chatbot").gauge().value());
+        assertEquals(1.0, registry.get(Bulkhead.REJECTED).tag("class", "chatbot").tag("resource", "requests")
+                .counter().count());
+
+        AtomicReference<Bulkhead> seen = new AtomicReference<>();
+        MockHttpServletResponse cast = perform("/api/cast-encrypted-ballot", (request, response) -> {
+            seen.set(Bulkhead.current());
+            try (Connection connection = dataSource.getConnection()) {
+                response.setStatus(200);
+            }
+        });
+        assertEquals(200, cast.getStatus());
+        assertEquals(TrafficClass.VOTING, seen.get().getTrafficClass());
+        assertNull(Bulkhead.current());
+
+        finish.countDown();
+        flood.join(5000);
+        assertEquals(200, perform("/api/chat", (request, response) -> { }).getStatus());
+    }
+
+    @Test
+    void connectionsBeyondTheClassShare_FailLikeAnExhaustedPool() throws Exception {
+        perform("/api/all-elections", (request, response) -> {
+            try (Connection first = dataSource.getConnection()) {
+                assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            }
+            try (Connection again = dataSource.getConnection()) {
+                response.setStatus(200);
+            }
+        });
+        assertEquals(1.0, registry.get(Bulkhead.REJECTED).tag("class", "general").tag("resource", "connections")
+                .counter().count());
+        assertEquals(0.0, registry.get(Bulkhead.CONNECTIONS).tag("class", "general").gauge().value());
+    }
+
+    private MockHttpServletResponse perform(String path, Handler handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                try {
+                    handler.handle(req, res);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        new MockFilterChain(servlet, new Filter[] { filter }).doFilter(request, response);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+}
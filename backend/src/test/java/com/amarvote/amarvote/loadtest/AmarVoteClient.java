@@ -0,0 +1,124 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Thin HTTP client for the backend endpoints a voter touches. Every call is
+ * timed into the {@link LatencyReport} under the caller's phase, whatever the
+ * outcome, so failures show up in the percentiles as well as the error column.
+ */
+public class AmarVoteClient {
+
+    /** Outcome of one call; {@code body} is null when the response was not JSON. */
+    public record Result(int status, JsonNode body) {
+        public boolean ok() {
+            return status >= 200 && status < 300 && (body == null || !body.has("success") || body.path("success").asBoolean());
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+
+    public AmarVoteClient(String baseUrl, ObjectMapper objectMapper, LatencyReport report) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public Result register(String phase, String userName, String email, String password) {
+        return post(phase, "auth/register", "/api/auth/register", null, () -> json(
+                "userName", userName, "email", email, "password", password, "confirmPassword", password));
+    }
+
+    public Result login(String phase, String email, String password) {
+        return post(phase, "auth/login", "/api/auth/login", null, () -> json("email", email, "password", password));
+    }
+
+    public Result createElection(String phase, String token, Object request) {
+        return post(phase, "create-election", "/api/create-election", token, () -> request);
+    }
+
+    public Result eligibility(String phase, String token, long electionId) {
+        return post(phase, "eligibility", "/api/eligibility", token, () -> json("electionId", electionId));
+    }
+
+    public Result createEncryptedBallot(String phase, String token, long electionId, String candidate) {
+        return post(phase, "create-encrypted-ballot", "/api/create-encrypted-ballot", token,
+                () -> json("electionId", electionId, "selectedCandidate", candidate));
+    }
+
+    public Result benalohChallenge(String phase, String token, long electionId, String ballotWithNonce, String candidate) {
+        return post(phase, "benaloh-challenge", "/api/benaloh-challenge", token, () -> json(
+                "electionId", electionId, "encrypted_ballot_with_nonce", ballotWithNonce, "candidate_name", candidate));
+    }
+
+    public Result castEncryptedBallot(String phase, String token, long electionId, JsonNode encrypted) {
+        return post(phase, "cast-encrypted-ballot", "/api/cast-encrypted-ballot", token, () -> json(
+                "electionId", electionId,
+                "encrypted_ballot", encrypted.path("encrypted_ballot").asText(),
+                "ballot_hash", encrypted.path("ballot_hash").asText(),
+                "ballot_tracking_code", encrypted.path("ballot_tracking_code").asText()));
+    }
+
+    private Result post(String phase, String endpoint, String path, String token, Supplier<Object> body) {
+        long start = System.nanoTime();
+        int status = -1;
+        JsonNode json = null;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofMinutes(5))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body.get())));
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            json = parse(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // status stays -1: connection-level failure
+        }
+        Result result = new Result(status, json);
+        report.record(phase, endpoint, System.nanoTime() - start, status, result.ok());
+        return result;
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private JsonNode json(Object... keyValues) {
+        var node = objectMapper.createObjectNode();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            node.set((String) keyValues[i], objectMapper.valueToTree(keyValues[i + 1]));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,95 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.amarvote.amarvote.support.stub.LatencyModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Election-day load run. Skipped unless {@code -Dloadtest.enabled=true}:
+ *
+ * <pre>
+ * SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/amarvote_load \
+ * SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... \
+ * mvn test -Dtest=ElectionDayLoadTest -Dloadtest.enabled=true -Dloadtest.timeScale=20
+ * </pre>
+ *
+ * Registers the synthetic population, creates the elections, then replays
+ * voter journeys open-loop through the configured phases. The report lands in
+ * {@code loadtest.reportDir} (default {@code target/loadtest}) as a summary
+ * table plus one HdrHistogram percentile file per phase and endpoint.
+ */
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class ElectionDayLoadTest {
+
+    @Test
+    void electionDay() throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        int started = run(config, new LatencyReport());
+        assertTrue(started > 0, "No voter journeys were started");
+    }
+
+    /**
+     * Runs the scenario against a fresh environment, recording into {@code report}, and returns
+     * how many voter journeys were started.
+     */
+    static int run(LoadTestConfig config, LatencyReport report, String... backendArgs) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(config).withBackendArgs(backendArgs).start()) {
+            AmarVoteClient client = new AmarVoteClient(environment.getBaseUrl(), objectMapper, report);
+            SyntheticPopulation population = new SyntheticPopulation(config, client);
+            population.registerUsers();
+
+            List<OpenLoopDriver.Arrival> plan = OpenLoopDriver.plan(config.getPhases(), config.getTimeScale(), config.getSeed());
+            long runSeconds = config.getPhases().stream()
+                    .mapToLong(phase -> config.scaled(phase.duration()).toSeconds()).sum();
+            Instant opensAt = Instant.now().plusSeconds(10);
+            List<SyntheticPopulation.ElectionPlan> elections =
+                    population.createElections(opensAt, runSeconds + TimeUnit.HOURS.toSeconds(1));
+            SyntheticPopulation.waitUntil(opensAt);
+
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < config.getVoters(); i++) {
+                order.add(i);
+            }
+            Random random = new Random(config.getSeed());
+            Collections.shuffle(order, random);
+            Deque<Integer> remaining = new ConcurrentLinkedDeque<>(order);
+
+            LatencyModel thinkTime = config.scaledMillis(config.getThinkTimeMedianMillis()) > 0
+                    ? LatencyModel.logNormal(config.scaledMillis(config.getThinkTimeMedianMillis()),
+                            Math.max(config.scaledMillis(config.getThinkTimeMedianMillis()),
+                                    config.scaledMillis(config.getThinkTimeP99Millis())))
+                    : LatencyModel.none();
+
+            int started = new OpenLoopDriver(report).run(plan, phase -> {
+                Integer voter = remaining.poll();
+                if (voter == null) {
+                    return null;
+                }
+                return new VoterJourney(client, report, phase, SyntheticPopulation.voterEmail(voter),
+                        elections.get(voter % elections.size()),
+                        random.nextDouble() < config.getChallengeShare(),
+                        thinkTime, config.getSeed() + voter);
+            }, TimeUnit.MINUTES.toMillis(10));
+
+            System.out.println("Started " + started + " of " + plan.size() + " planned voter journeys");
+            report.printSummary(System.out);
+            report.write(Path.of(config.getReportDir()));
+            return started;
+        }
+    }
+}
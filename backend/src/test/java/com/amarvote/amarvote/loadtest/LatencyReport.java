@@ -0,0 +1,127 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and outcome counters keyed by phase and endpoint. Recording is
+ * lock-free ({@link Recorder}), so thousands of virtual-thread journeys can
+ * record concurrently; histograms are snapshotted only when the report is
+ * written.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private record Key(String phase, String endpoint) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byPhase = phase.compareTo(other.phase);
+            return byPhase != 0 ? byPhase : endpoint.compareTo(other.endpoint);
+        }
+    }
+
+    private static final class Series {
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram accumulated = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder failures = new LongAdder();
+        final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        synchronized Histogram snapshot() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return accumulated.copy();
+        }
+    }
+
+    private final Map<Key, Series> series = new ConcurrentHashMap<>();
+
+    public void record(String phase, String endpoint, long latencyNanos, int status, boolean success) {
+        Series s = series.computeIfAbsent(new Key(phase, endpoint), k -> new Series());
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        s.recorder.recordValue(micros);
+        s.statusCounts.computeIfAbsent(status, k -> new LongAdder()).increment();
+        if (!success) {
+            s.failures.increment();
+        }
+    }
+
+    public long count(String phase, String endpoint) {
+        Series s = series.get(new Key(phase, endpoint));
+        return s == null ? 0 : s.snapshot().getTotalCount();
+    }
+
+    public long failures(String phase, String endpoint) {
+        Series s = series.get(new Key(phase, endpoint));
+        return s == null ? 0 : s.failures.sum();
+    }
+
+    /** Prints one row per phase/endpoint with count, errors and latency percentiles in milliseconds. */
+    public void printSummary(PrintStream out) {
+        out.printf("%-14s %-28s %8s %7s %9s %9s %9s %9s %9s%n",
+                "phase", "endpoint", "count", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        new TreeMap<>(series).forEach((key, s) -> {
+            Histogram h = s.snapshot();
+            out.printf("%-14s %-28s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f   %s%n",
+                    key.phase(), key.endpoint(), h.getTotalCount(), s.failures.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()), new TreeMap<>(s.statusCounts));
+        });
+    }
+
+    /**
+     * Prints the series of two runs side by side: count, errors and p50/p99 latency of each, one
+     * row per phase/endpoint recorded by either.
+     */
+    public static void printComparison(PrintStream out, String leftName, LatencyReport left,
+            String rightName, LatencyReport right) {
+        out.printf("%-14s %-28s %21s %21s %21s%n", "phase", "endpoint", "count (errors)", "p50(ms)", "p99(ms)");
+        out.printf("%-14s %-28s %10s %10s %10s %10s %10s %10s%n", "", "",
+                leftName, rightName, leftName, rightName, leftName, rightName);
+        TreeMap<Key, Series> keys = new TreeMap<>(left.series);
+        right.series.forEach(keys::putIfAbsent);
+        for (Key key : keys.keySet()) {
+            Series l = left.series.get(key);
+            Series r = right.series.get(key);
+            Histogram lh = l == null ? new Histogram(HIGHEST_TRACKABLE_MICROS, 3) : l.snapshot();
+            Histogram rh = r == null ? new Histogram(HIGHEST_TRACKABLE_MICROS, 3) : r.snapshot();
+            out.printf("%-14s %-28s %10s %10s %10.1f %10.1f %10.1f %10.1f%n", key.phase(), key.endpoint(),
+                    lh.getTotalCount() + " (" + (l == null ? 0 : l.failures.sum()) + ")",
+                    rh.getTotalCount() + " (" + (r == null ? 0 : r.failures.sum()) + ")",
+                    millis(lh.getValueAtPercentile(50)), millis(rh.getValueAtPercentile(50)),
+                    millis(lh.getValueAtPercentile(99)), millis(rh.getValueAtPercentile(99)));
+        }
+    }
+
+    /**
+     * Writes {@code summary.txt} and one {@code <phase>__<endpoint>.hgrm} per
+     * series, which can be loaded into the HdrHistogram plotter.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            printSummary(summary);
+        }
+        for (Map.Entry<Key, Series> entry : series.entrySet()) {
+            String fileName = (entry.getKey().phase() + "__" + entry.getKey().endpoint())
+                    .replaceAll("[^A-Za-z0-9_.-]", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                entry.getValue().snapshot().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Scenario for an election-day run. Values come from
+ * {@code loadtest/election-day.properties} on the test classpath and can be
+ * overridden with {@code -Dloadtest.<key>=...} system properties.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class LoadTestConfig {
+
+    /** An arrival-rate segment of the run, e.g. the morning rush. */
+    public record Phase(String name, Duration duration, double arrivalsPerSecond) {
+    }
+
+    /** Base URL of a running backend; when blank the backend is booted in-process. */
+    private final String target;
+
+    private final int voters;
+    private final int listedElections;
+    private final int unlistedElections;
+    private final int candidatesPerElection;
+    private final int guardiansPerElection;
+    private final int quorum;
+    private final int registrationConcurrency;
+
+    private final List<Phase> phases;
+
+    private final long thinkTimeMedianMillis;
+    private final long thinkTimeP99Millis;
+
+    /** Share of voters (0..1) who run a Benaloh challenge before casting. */
+    private final double challengeShare;
+
+    /**
+     * Divides every phase duration and think time, so a two-hour scenario can be
+     * smoke-tested in minutes with the same shape. Arrival rates are multiplied.
+     */
+    private final double timeScale;
+
+    private final long seed;
+    private final String reportDir;
+
+    /** Runs the in-process backend on virtual threads ({@code spring.threads.virtual.enabled}). */
+    private final boolean virtualThreads;
+
+    private final long electionGuardLatencyMedianMillis;
+    private final long electionGuardLatencyP99Millis;
+    private final int electionGuardMaxConcurrency;
+    private final double electionGuardErrorRate;
+    private final long blockchainLatencyMedianMillis;
+    private final long blockchainLatencyP99Millis;
+    private final int blockchainMaxConcurrency;
+
+    public static LoadTestConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest/election-day.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read load test properties", e);
+        }
+        System.getProperties().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith("loadtest.")) {
+                properties.setProperty(name.substring("loadtest.".length()), value.toString());
+            }
+        });
+        return fromProperties(properties);
+    }
+
+    static LoadTestConfig fromProperties(Properties p) {
+        return LoadTestConfig.builder()
+                .target(p.getProperty("target", "").trim())
+                .voters(intValue(p, "voters", 50_000))
+                .listedElections(intValue(p, "listedElections", 2))
+                .unlistedElections(intValue(p, "unlistedElections", 1))
+                .candidatesPerElection(intValue(p, "candidatesPerElection", 3))
+                .guardiansPerElection(intValue(p, "guardiansPerElection", 3))
+                .quorum(intValue(p, "quorum", 2))
+                .registrationConcurrency(intValue(p, "registrationConcurrency", 16))
+                .phases(parsePhases(p.getProperty("phases", "opening:1800:10,midday:3600:5,closing:1800:10")))
+                .thinkTimeMedianMillis(longValue(p, "thinkTime.medianMillis", 8_000))
+                .thinkTimeP99Millis(longValue(p, "thinkTime.p99Millis", 60_000))
+                .challengeShare(Double.parseDouble(p.getProperty("challengeShare", "0.1")))
+                .timeScale(Double.parseDouble(p.getProperty("timeScale", "1")))
+                .seed(longValue(p, "seed", 2025))
+                .reportDir(p.getProperty("reportDir", "target/loadtest"))
+                .virtualThreads(Boolean.parseBoolean(p.getProperty("virtualThreads", "false").trim()))
+                .electionGuardLatencyMedianMillis(longValue(p, "electionguard.latency.medianMillis", 350))
+                .electionGuardLatencyP99Millis(longValue(p, "electionguard.latency.p99Millis", 1_500))
+                .electionGuardMaxConcurrency(intValue(p, "electionguard.maxConcurrency", 4))
+                .electionGuardErrorRate(Double.parseDouble(p.getProperty("electionguard.errorRate", "0")))
+                .blockchainLatencyMedianMillis(longValue(p, "blockchain.latency.medianMillis", 150))
+                .blockchainLatencyP99Millis(longValue(p, "blockchain.latency.p99Millis", 800))
+                .blockchainMaxConcurrency(intValue(p, "blockchain.maxConcurrency", 8))
+                .build();
+    }
+
+    /** Phase list in the form {@code name:seconds:arrivalsPerSecond,...}. */
+    static List<Phase> parsePhases(String spec) {
+        List<Phase> phases = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Phase must be name:seconds:arrivalsPerSecond, got " + entry);
+            }
+            phases.add(new Phase(parts[0], Duration.ofSeconds(Long.parseLong(parts[1])), Double.parseDouble(parts[2])));
+        }
+        return phases;
+    }
+
+    public Duration scaled(Duration duration) {
+        return Duration.ofNanos((long) (duration.toNanos() / timeScale));
+    }
+
+    public long scaledMillis(long millis) {
+        return Math.round(millis / timeScale);
+    }
+
+    public int totalElections() {
+        return listedElections + unlistedElections;
+    }
+
+    private static int intValue(Properties p, String key, int defaultValue) {
+        return Integer.parseInt(p.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    private static long longValue(Properties p, String key, long defaultValue) {
+        return Long.parseLong(p.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+}
@@ -0,0 +1,114 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.amarvote.amarvote.AmarvoteApplication;
+import com.amarvote.amarvote.support.stub.BlockchainStubServer;
+import com.amarvote.amarvote.support.stub.ElectionGuardStubServer;
+import com.amarvote.amarvote.support.stub.LatencyModel;
+import com.amarvote.amarvote.support.stub.SmtpSinkServer;
+import com.amarvote.amarvote.support.stub.StubBehaviour;
+
+/**
+ * Everything a run talks to. With no {@code target} configured it starts the
+ * ElectionGuard, blockchain and SMTP stubs and boots the backend in this JVM
+ * wired to them; only Postgres is external ({@code SPRING_DATASOURCE_URL},
+ * {@code SPRING_DATASOURCE_USERNAME}, {@code SPRING_DATASOURCE_PASSWORD}).
+ * With a {@code target} it just points the client at that backend.
+ */
+public class LoadTestEnvironment implements AutoCloseable {
+
+    private final LoadTestConfig config;
+    private ElectionGuardStubServer electionGuard;
+    private BlockchainStubServer blockchain;
+    private SmtpSinkServer smtp;
+    private ConfigurableApplicationContext backend;
+    private String baseUrl;
+    private String[] backendArgs = new String[0];
+
+    public LoadTestEnvironment(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    /** Extra {@code --property=value} arguments for the in-process backend. */
+    public LoadTestEnvironment withBackendArgs(String... args) {
+        this.backendArgs = args;
+        return this;
+    }
+
+    public LoadTestEnvironment start() {
+        if (!config.getTarget().isEmpty()) {
+            baseUrl = config.getTarget();
+            return this;
+        }
+
+        electionGuard = new ElectionGuardStubServer(StubBehaviour.builder()
+                .latency(LatencyModel.logNormal(config.getElectionGuardLatencyMedianMillis(),
+                        config.getElectionGuardLatencyP99Millis()))
+                .maxConcurrency(config.getElectionGuardMaxConcurrency())
+                .errorRate(config.getElectionGuardErrorRate())
+                .seed(config.getSeed())
+                .build()).start();
+        blockchain = new BlockchainStubServer(StubBehaviour.builder()
+                .latency(LatencyModel.logNormal(config.getBlockchainLatencyMedianMillis(),
+                        config.getBlockchainLatencyP99Millis()))
+                .maxConcurrency(config.getBlockchainMaxConcurrency())
+                .seed(config.getSeed() + 1)
+                .build()).start();
+        smtp = new SmtpSinkServer().start();
+
+        // Placeholders application.properties resolves from the environment; real env vars still win.
+        Map<String, Object> defaults = new HashMap<>();
+        byte[] jwtKey = new byte[64];
+        new SecureRandom().nextBytes(jwtKey);
+        defaults.put("JWT_SECRET", Base64.getEncoder().encodeToString(jwtKey));
+        defaults.put("MAIL_PASSWORD", "unused");
+        defaults.put("DEEPSEEK_API_KEY", "unused");
+        defaults.put("RAG_SERVICE_URL", "http://127.0.0.1:9");
+        defaults.put("CLOUDINARY_NAME", "unused");
+        defaults.put("CLOUDINARY_KEY", "unused");
+        defaults.put("CLOUDINARY_SECRET", "unused");
+
+        backend = new SpringApplicationBuilder(AmarvoteApplication.class)
+                .properties(defaults)
+                .run(Stream.concat(Stream.of("--server.port=0", "--management.server.port=0",
+                        "--electionguard.service.url=" + electionGuard.getBaseUrl(),
+                        "--blockchain.service.url=" + blockchain.getBaseUrl(),
+                        "--spring.mail.host=" + smtp.getHost(),
+                        "--spring.mail.port=" + smtp.getPort(),
+                        "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + config.isVirtualThreads()),
+                        Arrays.stream(backendArgs)).toArray(String[]::new));
+        baseUrl = "http://127.0.0.1:" + backend.getEnvironment().getProperty("local.server.port");
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        if (backend != null) {
+            backend.close();
+        }
+        if (electionGuard != null) {
+            electionGuard.close();
+        }
+        if (blockchain != null) {
+            blockchain.close();
+        }
+        if (smtp != null) {
+            smtp.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-loop arrival driver: voters arrive on a Poisson process whose rate is
+ * set per phase, independently of how fast the backend answers. Each arrival
+ * runs on its own virtual thread, so a slow backend builds up concurrent
+ * journeys instead of silently lowering the offered load (the coordinated
+ * omission a closed loop of N worker threads would suffer from).
+ */
+public class OpenLoopDriver {
+
+    /** A planned arrival: the phase it belongs to and its offset from the start of the run. */
+    public record Arrival(String phase, long offsetNanos) {
+    }
+
+    private final LatencyReport report;
+
+    public OpenLoopDriver(LatencyReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Computes every arrival of the run up front, with exponentially distributed
+     * gaps at each phase's (time-scaled) rate. Deterministic for a given seed.
+     */
+    public static List<Arrival> plan(List<LoadTestConfig.Phase> phases, double timeScale, long seed) {
+        Random random = new Random(seed);
+        List<Arrival> arrivals = new ArrayList<>();
+        long phaseStart = 0;
+        for (LoadTestConfig.Phase phase : phases) {
+            long phaseLength = (long) (phase.duration().toNanos() / timeScale);
+            double ratePerNano = phase.arrivalsPerSecond() * timeScale / TimeUnit.SECONDS.toNanos(1);
+            if (ratePerNano > 0) {
+                long t = 0;
+                while (true) {
+                    t += (long) (-Math.log(1.0 - random.nextDouble()) / ratePerNano);
+                    if (t >= phaseLength) {
+                        break;
+                    }
+                    arrivals.add(new Arrival(phase.name(), phaseStart + t));
+                }
+            }
+            phaseStart += phaseLength;
+        }
+        return arrivals;
+    }
+
+    /**
+     * Replays the plan in real time. For every arrival {@code nextJourney} is
+     * asked, on the driver thread, for the journey to start in that phase; it
+     * returns null once there is nobody left to send, which ends the run. Blocks
+     * until all started journeys finish or {@code drainTimeoutMillis} passes.
+     *
+     * @return number of journeys started
+     */
+    public int run(List<Arrival> plan, Function<String, Runnable> nextJourney, long drainTimeoutMillis)
+            throws InterruptedException {
+        ExecutorService journeys = Executors.newVirtualThreadPerTaskExecutor();
+        int started = 0;
+        long runStart = System.nanoTime();
+        try {
+            for (Arrival arrival : plan) {
+                long due = runStart + arrival.offsetNanos();
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // How late the generator itself was; should stay near zero.
+                report.record(arrival.phase(), "driver/arrival-lag", System.nanoTime() - due, 0, true);
+                Runnable journey = nextJourney.apply(arrival.phase());
+                if (journey == null) {
+                    break;
+                }
+                journeys.submit(journey);
+                started++;
+            }
+        } finally {
+            journeys.shutdown();
+            journeys.awaitTermination(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+            journeys.shutdownNow();
+        }
+        return started;
+    }
+}
@@ -0,0 +1,121 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the load generator building blocks that do not need a backend:
+ * arrival planning, the open-loop replay and the latency report.
+ */
+class OpenLoopDriverTest {
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void plan_MatchesPhaseRatesAndOrder() {
+        List<LoadTestConfig.Phase> phases = LoadTestConfig.parsePhases("opening:100:20,midday:100:5");
+
+        List<OpenLoopDriver.Arrival> plan = OpenLoopDriver.plan(phases, 1.0, 7L);
+
+        long opening = plan.stream().filter(a -> a.phase().equals("opening")).count();
+        long midday = plan.stream().filter(a -> a.phase().equals("midday")).count();
+        // Poisson counts: mean 2000 and 500, allow ~5 standard deviations
+        assertTrue(Math.abs(opening - 2000) < 225, "opening arrivals " + opening);
+        assertTrue(Math.abs(midday - 500) < 115, "midday arrivals " + midday);
+        for (int i = 1; i < plan.size(); i++) {
+            assertTrue(plan.get(i).offsetNanos() >= plan.get(i - 1).offsetNanos());
+        }
+        assertTrue(plan.get(plan.size() - 1).offsetNanos() < Duration.ofSeconds(200).toNanos());
+    }
+
+    @Test
+    void plan_TimeScaleKeepsArrivalCountAndCompressesDuration() {
+        List<LoadTestConfig.Phase> phases = LoadTestConfig.parsePhases("rush:600:10");
+
+        List<OpenLoopDriver.Arrival> real = OpenLoopDriver.plan(phases, 1.0, 11L);
+        List<OpenLoopDriver.Arrival> compressed = OpenLoopDriver.plan(phases, 60.0, 11L);
+
+        assertEquals(real.size(), compressed.size());
+        assertTrue(compressed.get(compressed.size() - 1).offsetNanos() < Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    void run_StopsWhenNoJourneyIsLeft() throws Exception {
+        LatencyReport report = new LatencyReport();
+        List<OpenLoopDriver.Arrival> plan = OpenLoopDriver.plan(
+                LoadTestConfig.parsePhases("burst:1:200"), 1.0, 3L);
+        AtomicInteger remaining = new AtomicInteger(20);
+        AtomicInteger ran = new AtomicInteger();
+
+        int started = new OpenLoopDriver(report).run(plan,
+                phase -> remaining.getAndDecrement() > 0 ? ran::incrementAndGet : null, 5_000);
+
+        assertEquals(20, started);
+        assertEquals(20, ran.get());
+        assertEquals(21, report.count("burst", "driver/arrival-lag"));
+    }
+
+    @Test
+    void report_SummarizesAndWritesHistograms() throws Exception {
+        LatencyReport report = new LatencyReport();
+        report.record("opening", "eligibility", 5_000_000, 200, true);
+        report.record("opening", "eligibility", 9_000_000, 500, false);
+        report.record("closing", "cast-encrypted-ballot", 40_000_000, 200, true);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        report.printSummary(new PrintStream(buffer));
+        report.write(reportDir);
+
+        assertEquals(2, report.count("opening", "eligibility"));
+        assertEquals(1, report.failures("opening", "eligibility"));
+        assertTrue(buffer.toString().contains("cast-encrypted-ballot"));
+        assertTrue(Files.exists(reportDir.resolve("summary.txt")));
+        assertTrue(Files.exists(reportDir.resolve("opening__eligibility.hgrm")));
+    }
+
+    @Test
+    void comparison_ListsSeriesOfBothRuns() {
+        LatencyReport platform = new LatencyReport();
+        platform.record("rush", "cast-encrypted-ballot", 900_000_000, 200, true);
+        platform.record("rush", "cast-encrypted-ballot", 2_000_000_000, 503, false);
+        LatencyReport virtual = new LatencyReport();
+        virtual.record("rush", "cast-encrypted-ballot", 400_000_000, 200, true);
+        virtual.record("rush", "eligibility", 5_000_000, 200, true);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        LatencyReport.printComparison(new PrintStream(buffer), "platform", platform, "virtual", virtual);
+
+        String[] lines = buffer.toString().split("\\R");
+        assertEquals(4, lines.length);
+        assertTrue(lines[2].contains("cast-encrypted-ballot") && lines[2].contains("2 (1)") && lines[2].contains("1 (0)"));
+        assertTrue(lines[3].contains("eligibility") && lines[3].contains("0 (0)"));
+    }
+
+    @Test
+    void config_ReadsOverridesAndDefaults() {
+        Properties properties = new Properties();
+        properties.setProperty("voters", "1000");
+        properties.setProperty("challengeShare", "0.25");
+        properties.setProperty("phases", "only:60:2");
+
+        LoadTestConfig config = LoadTestConfig.fromProperties(properties);
+
+        assertEquals(1000, config.getVoters());
+        assertEquals(0.25, config.getChallengeShare());
+        assertEquals(1, config.getPhases().size());
+        assertEquals(3, config.totalElections());
+        assertEquals("", config.getTarget());
+    }
+}
@@ -0,0 +1,137 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Creates the users and elections a run needs through the public API: one
+ * admin, the guardians, {@code voters} voters, and a mix of listed and
+ * unlisted elections. Voter {@code i} belongs to election {@code i % elections};
+ * listed elections get their voters as the allowed-voter list.
+ *
+ * <p>User emails are deterministic, so a database can be reused between runs:
+ * a 409 on register counts as already registered. Registration is BCrypt-bound
+ * (cost 12), which is why it runs with its own bounded concurrency.
+ */
+public class SyntheticPopulation {
+
+    public static final String PASSWORD = "LoadTest#2025";
+    static final String PHASE = "setup";
+
+    /** An election created for the run. */
+    public record ElectionPlan(long electionId, boolean listed, List<String> candidates) {
+    }
+
+    private final LoadTestConfig config;
+    private final AmarVoteClient client;
+
+    public SyntheticPopulation(LoadTestConfig config, AmarVoteClient client) {
+        this.config = config;
+        this.client = client;
+    }
+
+    public static String voterEmail(int index) {
+        return "voter-" + index + "@loadtest.amarvote.org";
+    }
+
+    static String guardianEmail(int index) {
+        return "guardian-" + index + "@loadtest.amarvote.org";
+    }
+
+    static String adminEmail() {
+        return "admin@loadtest.amarvote.org";
+    }
+
+    public void registerUsers() throws InterruptedException {
+        List<String> emails = new ArrayList<>();
+        emails.add(adminEmail());
+        IntStream.rangeClosed(1, config.getGuardiansPerElection()).mapToObj(SyntheticPopulation::guardianEmail).forEach(emails::add);
+        IntStream.range(0, config.getVoters()).mapToObj(SyntheticPopulation::voterEmail).forEach(emails::add);
+
+        Semaphore permits = new Semaphore(config.getRegistrationConcurrency());
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String email : emails) {
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        AmarVoteClient.Result result = client.register(PHASE, email.substring(0, email.indexOf('@')), email, PASSWORD);
+                        if (!result.ok() && result.status() != 409) {
+                            failed.incrementAndGet();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        System.out.println("Registered " + emails.size() + " synthetic users (" + failed.get() + " failures)");
+    }
+
+    /**
+     * Creates the elections so that voting opens at {@code opensAt} and stays
+     * open for {@code openFor} seconds.
+     */
+    public List<ElectionPlan> createElections(Instant opensAt, long openForSeconds) {
+        AmarVoteClient.Result login = client.login(PHASE, adminEmail(), PASSWORD);
+        if (!login.ok()) {
+            throw new IllegalStateException("Admin login failed with status " + login.status());
+        }
+        String token = login.body().path("token").asText();
+
+        List<String> guardians = IntStream.rangeClosed(1, config.getGuardiansPerElection())
+                .mapToObj(SyntheticPopulation::guardianEmail).toList();
+        List<ElectionPlan> plans = new ArrayList<>();
+        int elections = config.totalElections();
+        for (int e = 0; e < elections; e++) {
+            boolean listed = e < config.getListedElections();
+            int electionIndex = e;
+            List<String> candidates = IntStream.range(0, config.getCandidatesPerElection())
+                    .mapToObj(k -> "Candidate " + electionIndex + "-" + k).toList();
+            List<String> parties = IntStream.range(0, config.getCandidatesPerElection())
+                    .mapToObj(k -> "Party " + k).toList();
+            List<String> voterEmails = listed
+                    ? IntStream.range(0, config.getVoters()).filter(i -> i % elections == electionIndex)
+                            .mapToObj(SyntheticPopulation::voterEmail).toList()
+                    : List.of();
+
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("electionTitle", "Load test election " + e + " @ " + opensAt);
+            request.put("electionDescription", "Synthetic " + (listed ? "listed" : "unlisted") + " election");
+            request.put("candidateNames", candidates);
+            request.put("partyNames", parties);
+            request.put("guardianNumber", String.valueOf(config.getGuardiansPerElection()));
+            request.put("quorumNumber", String.valueOf(config.getQuorum()));
+            request.put("guardianEmails", guardians);
+            request.put("electionPrivacy", "public");
+            request.put("electionEligibility", listed ? "listed" : "unlisted");
+            request.put("voterEmails", voterEmails);
+            request.put("startingTime", opensAt.toString());
+            request.put("endingTime", opensAt.plusSeconds(openForSeconds).toString());
+
+            AmarVoteClient.Result created = client.createElection(PHASE, token, request);
+            if (!created.ok() || created.body() == null) {
+                throw new IllegalStateException("Election creation failed with status " + created.status());
+            }
+            plans.add(new ElectionPlan(created.body().path("electionId").asLong(), listed, candidates));
+        }
+        return plans;
+    }
+
+    /** Blocks until {@code instant}, so voting starts only after elections open. */
+    static void waitUntil(Instant instant) throws InterruptedException {
+        long millis = instant.toEpochMilli() - System.currentTimeMillis();
+        if (millis > 0) {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Runs the election-day scenario twice, with the backend on platform request threads and then on
+ * virtual threads, and prints the two side by side. Skipped unless {@code -Dloadtest.enabled=true};
+ * the difference shows once concurrency exceeds Tomcat's thread pool, e.g.
+ *
+ * <pre>
+ * mvn test -Dtest=ThreadModelBenchmark -Dloadtest.enabled=true -Dloadtest.timeScale=20 \
+ *     -Dloadtest.phases=rush:1800:40 -Dloadtest.electionguard.maxConcurrency=1000 \
+ *     -Dloadtest.electionguard.latency.medianMillis=2000 -Dloadtest.electionguard.latency.p99Millis=8000
+ * </pre>
+ *
+ * The voting bulkhead is lifted for both runs so the request threads are what bounds the platform
+ * run. Both runs use the same database: users registered by the first are reused, each run
+ * creates its own elections. Reports land in {@code <reportDir>/platform} and
+ * {@code <reportDir>/virtual}, the comparison in {@code <reportDir>/thread-models.txt}.
+ */
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+class ThreadModelBenchmark {
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        String[] backendArgs = { "--bulkhead.voting.max-concurrent=0" };
+
+        LatencyReport platform = new LatencyReport();
+        int platformStarted = ElectionDayLoadTest.run(config.toBuilder().virtualThreads(false)
+                .reportDir(Path.of(config.getReportDir(), "platform").toString()).build(), platform, backendArgs);
+        LatencyReport virtual = new LatencyReport();
+        int virtualStarted = ElectionDayLoadTest.run(config.toBuilder().virtualThreads(true)
+                .reportDir(Path.of(config.getReportDir(), "virtual").toString()).build(), virtual, backendArgs);
+
+        LatencyReport.printComparison(System.out, "platform", platform, "virtual", virtual);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(
+                Path.of(config.getReportDir()).resolve("thread-models.txt")))) {
+            LatencyReport.printComparison(out, "platform", platform, "virtual", virtual);
+        }
+        assertTrue(platformStarted > 0 && virtualStarted > 0, "No voter journeys were started");
+    }
+}
@@ -0,0 +1,98 @@
+package com.amarvote.amarvote.loadtest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.amarvote.amarvote.support.stub.LatencyModel;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One voter's path through the ballot flow, as the frontend drives it:
+ * login, eligibility check, encrypt the chosen ballot, optionally spoil it with
+ * a Benaloh challenge and encrypt again, then cast. Think times between steps
+ * follow a log-normal distribution. The whole journey is also timed as
+ * {@code journey} so end-to-end time per phase appears in the report.
+ */
+public class VoterJourney implements Runnable {
+
+    private final AmarVoteClient client;
+    private final LatencyReport report;
+    private final String phase;
+    private final String email;
+    private final SyntheticPopulation.ElectionPlan election;
+    private final boolean challenge;
+    private final LatencyModel thinkTime;
+    private final Random random;
+
+    public VoterJourney(AmarVoteClient client, LatencyReport report, String phase, String email,
+            SyntheticPopulation.ElectionPlan election, boolean challenge, LatencyModel thinkTime, long seed) {
+        this.client = client;
+        this.report = report;
+        this.phase = phase;
+        this.email = email;
+        this.election = election;
+        this.challenge = challenge;
+        this.thinkTime = thinkTime;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        boolean cast = false;
+        try {
+            cast = vote();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            report.record(phase, challenge ? "journey/challenge-then-cast" : "journey/cast",
+                    System.nanoTime() - start, cast ? 200 : 0, cast);
+        }
+    }
+
+    private boolean vote() throws InterruptedException {
+        AmarVoteClient.Result login = client.login(phase, email, SyntheticPopulation.PASSWORD);
+        if (!login.ok() || login.body() == null) {
+            return false;
+        }
+        String token = login.body().path("token").asText();
+
+        AmarVoteClient.Result eligibility = client.eligibility(phase, token, election.electionId());
+        if (!eligibility.ok() || !eligibility.body().path("eligible").asBoolean()) {
+            return false;
+        }
+
+        List<String> candidates = election.candidates();
+        String choice = candidates.get(random.nextInt(candidates.size()));
+        think();
+        AmarVoteClient.Result encrypted = client.createEncryptedBallot(phase, token, election.electionId(), choice);
+        if (!encrypted.ok()) {
+            return false;
+        }
+
+        if (challenge) {
+            think();
+            AmarVoteClient.Result challenged = client.benalohChallenge(phase, token, election.electionId(),
+                    encrypted.body().path("encrypted_ballot_with_nonce").asText(), choice);
+            if (!challenged.ok()) {
+                return false;
+            }
+            // A challenged ballot is spoiled; the voter encrypts a fresh one to cast.
+            encrypted = client.createEncryptedBallot(phase, token, election.electionId(), choice);
+            if (!encrypted.ok()) {
+                return false;
+            }
+        }
+
+        think();
+        return client.castEncryptedBallot(phase, token, election.electionId(), encrypted.body()).ok();
+    }
+
+    private void think() throws InterruptedException {
+        long millis = thinkTime.sampleMillis(random);
+        if (millis > 0) {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.amarvote.amarvote.metrics;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ElectionMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ElectionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ElectionMetrics(registry);
+    }
+
+    @Test
+    void recordCastPhase_TagsElectionAndPhase() {
+        metrics.recordCastPhase(metrics.start(), 7L, "eligibility");
+        metrics.recordCastPhase(metrics.start(), 7L, "eligibility");
+        metrics.recordCastPhase(metrics.start(), 8L, "persist");
+
+        Timer eligibility = registry.get(ElectionMetrics.CAST_PHASE)
+                .tags("election", "7", "phase", "eligibility").timer();
+        assertEquals(2, eligibility.count());
+        assertEquals(1, registry.get(ElectionMetrics.CAST_PHASE)
+                .tags("election", "8", "phase", "persist").timer().count());
+    }
+
+    @Test
+    void recordTallyRequest_RecordsBallotCountAndBytes() {
+        metrics.recordTallyRequest(3L, List.of("{\"a\":1}", "{\"bb\":22}"));
+
+        DistributionSummary ballots = registry.get(ElectionMetrics.TALLY_REQUEST_BALLOTS).tag("election", "3").summary();
+        DistributionSummary bytes = registry.get(ElectionMetrics.TALLY_REQUEST_SIZE).tag("election", "3").summary();
+        assertEquals(2.0, ballots.totalAmount());
+        assertEquals(16.0, bytes.totalAmount());
+    }
+
+    @Test
+    void recordGuardianDecryption_TagsGuardianAndType() {
+        metrics.recordGuardianDecryption(metrics.start(), 5L, 2, "compensated");
+
+        assertEquals(1, registry.get(ElectionMetrics.GUARDIAN_DECRYPTION)
+                .tags("election", "5", "guardian", "2", "type", "compensated").timer().count());
+    }
+
+    @Test
+    void remoteCall_CountsCallsUntilClosed() {
+        Gauge gauge;
+        try (ElectionMetrics.InFlight first = metrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "create_encrypted_tally", 1L)) {
+            try (ElectionMetrics.InFlight second = metrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "create_encrypted_tally", 1L)) {
+                gauge = registry.get(ElectionMetrics.REMOTE_IN_FLIGHT)
+                        .tags("service", "electionguard", "operation", "create_encrypted_tally", "election", "1").gauge();
+                assertEquals(2.0, gauge.value());
+            }
+            assertEquals(1.0, gauge.value());
+        }
+        assertEquals(0.0, gauge.value());
+    }
+
+    @Test
+    void forgetElection_RemovesOnlyThatElectionsMeters() {
+        metrics.recordCastPhase(metrics.start(), 4L, "persist");
+        metrics.recordBallotRejected(4L, "invalid_proof");
+        metrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "combine_decryption_shares", 4L).close();
+        metrics.recordCastPhase(metrics.start(), 9L, "persist");
+
+        metrics.forgetElection(4L);
+
+        assertTrue(registry.find(ElectionMetrics.CAST_PHASE).tag("election", "4").meters().isEmpty());
+        assertTrue(registry.find(ElectionMetrics.BALLOT_REJECTED).meters().isEmpty());
+        assertTrue(registry.find(ElectionMetrics.REMOTE_IN_FLIGHT).meters().isEmpty());
+        assertEquals(1, registry.get(ElectionMetrics.CAST_PHASE).tag("election", "9").timer().count());
+
+        // A later call registers a fresh gauge rather than reusing the removed one
+        try (ElectionMetrics.InFlight call = metrics.remoteCall(ElectionMetrics.ELECTIONGUARD, "combine_decryption_shares", 4L)) {
+            assertEquals(1.0, registry.get(ElectionMetrics.REMOTE_IN_FLIGHT).tag("election", "4").gauge().value());
+        }
+    }
+
+    @Test
+    void trackedElections_ListsElectionsWithMeters() {
+        metrics.recordCastPhase(metrics.start(), 4L, "persist");
+        metrics.remoteCall(ElectionMetrics.BLOCKCHAIN, "record_ballot", 6L).close();
+        metrics.recordCastPhase(metrics.start(), null, "user_lookup");
+
+        assertEquals(Set.of(4L, 6L), metrics.trackedElections());
+        metrics.forgetElection(6L);
+        assertEquals(Set.of(4L), metrics.trackedElections());
+    }
+
+    @Test
+    void missingElectionId_IsTaggedUnknown() {
+        metrics.recordCastPhase(metrics.start(), null, "user_lookup");
+
+        assertEquals(1, registry.get(ElectionMetrics.CAST_PHASE).tag("election", "unknown").timer().count());
+    }
+}
@@ -0,0 +1,128 @@
+package com.amarvote.amarvote.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.amarvote.amarvote.model.Ballot;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.SubmittedBallot;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * {@code ballots} and {@code submitted_ballots} are list partitioned by election in production
+ * (see migration {@code V5__partition_ballots_by_election.sql}). Postgres only prunes to one partition
+ * when the statement filters on {@code election_id}, so every statement the tally, decryption,
+ * verification and maintenance paths send against those tables has to name it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("budget")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:partitions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.amarvote.amarvote.repository.BallotPartitionPruningTest$RecordingInspector"
+})
+class BallotPartitionPruningTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private BallotRepository ballotRepository;
+
+    @Autowired
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @Autowired
+    private BallotArchiveRepository ballotArchiveRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void ballotStatements_AllNameTheElection() {
+        Long electionId = electionRepository.save(Election.builder()
+                .electionTitle("Partitioned election")
+                .numberOfGuardians(1)
+                .electionQuorum(1)
+                .noOfCandidates(2)
+                .status("decrypted")
+                .startingTime(Instant.now().minusSeconds(7200))
+                .endingTime(Instant.now().minusSeconds(3600))
+                .adminEmail("admin@amarvote.org")
+                .privacy("public")
+                .eligibility("unlisted")
+                .build()).getElectionId();
+        Ballot ballot = ballotRepository.save(Ballot.builder().electionId(electionId).status("cast")
+                .cipherText("{\"object_id\": \"b-1\"}").hashCode("hash-1").trackingCode("tracking-1").build());
+        SubmittedBallot submitted = submittedBallotRepository.save(SubmittedBallot.builder().electionId(electionId)
+                .cipherText("{\"object_id\": \"b-1\"}").build());
+        entityManager.flush();
+        entityManager.clear();
+        STATEMENTS.clear();
+
+        // Tally, partial decryption and verification reads
+        assertEquals(1, ballotRepository.findCipherTextsByElectionId(electionId).size());
+        assertEquals(1, ballotRepository.countByElectionId(electionId));
+        assertTrue(ballotRepository.findByElectionIdAndTrackingCode(electionId, "tracking-1").isPresent());
+        assertEquals(1, submittedBallotRepository.findCipherTextsByElectionId(electionId).size());
+        assertEquals(1, submittedBallotRepository.countByElectionId(electionId));
+        assertTrue(submittedBallotRepository.existsByElectionIdAndCipherText(electionId, "{\"object_id\": \"b-1\"}"));
+        try (Stream<SubmittedBallotCipherText> rows = submittedBallotRepository.streamCipherTextsByElectionId(electionId)) {
+            assertEquals(1, rows.count());
+        }
+
+        // Single-row writes of loaded entities
+        Ballot loaded = ballotRepository.findByElectionId(electionId).get(0);
+        loaded.setStatus("spoiled");
+        submittedBallotRepository.deleteAll(submittedBallotRepository.findByElectionId(electionId));
+        entityManager.flush();
+
+        // Compaction and archiving
+        byte[] plain = "{\"object_id\": \"b-1\"}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, ballotRepository.updateStoredCipherText(ballot.getBallotId(), electionId, plain));
+        assertEquals(0, submittedBallotRepository.updateStoredCipherText(submitted.getSubmittedBallotId(), electionId,
+                plain));
+        assertEquals(1, ballotArchiveRepository.copyToArchive(electionId, List.of(ballot.getBallotId())));
+        assertEquals(1, ballotArchiveRepository.clearArchivedColumns(electionId, List.of(ballot.getBallotId())));
+
+        List<String> ballotStatements = STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.matches("(?s).*\\b(from|update|delete from)\\s+(submitted_)?ballots\\b.*"))
+                .toList();
+        assertFalse(ballotStatements.isEmpty());
+        for (String sql : ballotStatements) {
+            String where = sql.substring(sql.lastIndexOf(" where "));
+            assertTrue(where.contains("election_id"), "not pruned to the election's partition: " + sql);
+        }
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.amarvote.amarvote.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.amarvote.amarvote.model.Ballot;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.repository.BallotArchiveRepository;
+import com.amarvote.amarvote.repository.BallotRepository;
+import com.amarvote.amarvote.repository.ElectionRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Only ballots of decrypted elections move to {@code ballot_archive}; tracking code, hash and
+ * status stay in {@code ballots}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("budget")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:archive;MODE=PostgreSQL;"
+        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON")
+@Import(BallotArchiveService.class)
+class BallotArchiveServiceTest {
+
+    @Autowired
+    private BallotArchiveService archiveService;
+
+    @Autowired
+    private BallotArchiveRepository ballotArchiveRepository;
+
+    @Autowired
+    private BallotRepository ballotRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void decryptedElections_AreArchivedInBatches() {
+        Election decrypted = createElection("decrypted");
+        Election active = createElection("active");
+        for (int i = 0; i < 3; i++) {
+            castBallot(decrypted, "decrypted-" + i);
+        }
+        castBallot(active, "active-0");
+
+        assertEquals(List.of(decrypted.getElectionId()), archiveService.findElectionsToArchive());
+        assertEquals(2, archiveService.archiveBatch(decrypted.getElectionId(), 2));
+        assertEquals(1, archiveService.archiveBatch(decrypted.getElectionId(), 2));
+        assertEquals(0, archiveService.archiveBatch(decrypted.getElectionId(), 2));
+        entityManager.clear();
+
+        assertTrue(archiveService.findElectionsToArchive().isEmpty());
+        Ballot hot = ballotRepository.findByElectionIdAndTrackingCode(decrypted.getElectionId(), "decrypted-1")
+                .orElseThrow();
+        assertNull(hot.getCipherText());
+        assertEquals("hash-decrypted-1", hot.getHashCode());
+        assertEquals("cast", hot.getStatus());
+        assertEquals("{\"object_id\": \"decrypted-1\"}",
+                ballotArchiveRepository.findCipherTextByBallotId(hot.getBallotId()).orElseThrow());
+        assertTrue(ballotRepository.findCipherTextsByElectionId(decrypted.getElectionId()).isEmpty());
+        assertEquals(List.of("{\"object_id\": \"active-0\"}"),
+                ballotRepository.findCipherTextsByElectionId(active.getElectionId()));
+        assertEquals(3, ballotArchiveRepository.count());
+    }
+
+    private Election createElection(String status) {
+        return electionRepository.save(Election.builder()
+                .electionTitle("Archive election")
+                .numberOfGuardians(1)
+                .electionQuorum(1)
+                .noOfCandidates(2)
+                .status(status)
+                .startingTime(Instant.now().minusSeconds(7200))
+                .endingTime(Instant.now().minusSeconds(3600))
+                .adminEmail("admin@amarvote.org")
+                .privacy("public")
+                .eligibility("unlisted")
+                .build());
+    }
+
+    private void castBallot(Election election, String trackingCode) {
+        ballotRepository.save(Ballot.builder()
+                .electionId(election.getElectionId())
+                .status("cast")
+                .cipherText("{\"object_id\": \"" + trackingCode + "\"}")
+                .hashCode("hash-" + trackingCode)
+                .trackingCode(trackingCode)
+                .build());
+    }
+}
@@ -0,0 +1,146 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.CiphertextBallotContest;
+import com.amarvote.amarvote.electionguard.CiphertextBallotSelection;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.ElectionChoice;
+import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionRepository;
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+
+/**
+ * Audit of stored ballots: malformed and tampered ballots are reported by their
+ * {@code submitted_ballot_id}, across batch boundaries.
+ */
+@ExtendWith(MockitoExtension.class)
+class BallotAuditServiceTest {
+
+    private static final List<String> PARTIES = List.of("Red Party", "Blue Party", "Green Party");
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+
+    private static Election election;
+    private static List<CiphertextBallot> ballots;
+
+    @Mock
+    private ElectionRepository electionRepository;
+
+    @Mock
+    private ElectionChoiceRepository electionChoiceRepository;
+
+    @Mock
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @InjectMocks
+    private BallotAuditService auditService;
+
+    @BeforeAll
+    static void encryptBallots() {
+        BigInteger publicKey = Group.gPowP(BigInteger.valueOf(353535));
+        BigInteger commitmentHash = BigInteger.valueOf(123456789);
+        election = Election.builder()
+                .electionId(35L)
+                .numberOfGuardians(3)
+                .electionQuorum(2)
+                .jointPublicKey(publicKey.toString())
+                .baseHash(commitmentHash.toString())
+                .build();
+        ElectionManifest manifest = ElectionManifest.create(PARTIES, CANDIDATES);
+        ElectionContext context = ElectionContext.create(3, 2, publicKey, commitmentHash, manifest.getManifestHash());
+        ballots = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ballots.add(BallotEncryptor.encrypt(manifest, context, "ballot-" + i, CANDIDATES.get(i % 3))
+                    .withoutNonces());
+        }
+    }
+
+    private void givenSubmitted(List<String> cipherTexts) {
+        List<ElectionChoice> choices = new ArrayList<>();
+        for (int i = 0; i < CANDIDATES.size(); i++) {
+            choices.add(ElectionChoice.builder().electionId(35L).partyName(PARTIES.get(i))
+                    .optionTitle(CANDIDATES.get(i)).build());
+        }
+        List<SubmittedBallotCipherText> submitted = new ArrayList<>();
+        for (int i = 0; i < cipherTexts.size(); i++) {
+            submitted.add(new SubmittedBallotCipherText(100L + i, 35L, BallotCodec.encode(cipherTexts.get(i))));
+        }
+        when(electionRepository.findById(35L)).thenReturn(Optional.of(election));
+        when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(35L)).thenReturn(choices);
+        when(submittedBallotRepository.streamCipherTextsByElectionId(35L)).thenReturn(submitted.stream());
+    }
+
+    @Test
+    void honestBallots_PassTheAudit() {
+        givenSubmitted(ballots.stream().map(BallotJson::toJson).toList());
+
+        BallotAuditService.AuditReport report = auditService.auditElection(35L).orElseThrow();
+
+        assertEquals(4, report.ballots());
+        assertTrue(report.invalidBallotIds().isEmpty());
+    }
+
+    @Test
+    void malformedAndTamperedBallots_AreReportedById() {
+        ReflectionTestUtils.setField(auditService, "batchSize", 2);
+        givenSubmitted(List.of(
+                BallotJson.toJson(ballots.get(0)),
+                "{\"object_id\": \"x\"}",
+                BallotJson.toJson(ballots.get(1)),
+                BallotJson.toJson(ballots.get(2)),
+                BallotJson.toJson(withSwappedSelectionProofs(ballots.get(3)))));
+
+        BallotAuditService.AuditReport report = auditService.auditElection(35L).orElseThrow();
+
+        assertEquals(5, report.ballots());
+        assertEquals(List.of(101L, 104L), report.invalidBallotIds());
+    }
+
+    @Test
+    void electionWithoutKey_IsSkipped() {
+        when(electionRepository.findById(36L)).thenReturn(Optional.of(Election.builder().electionId(36L).build()));
+
+        assertTrue(auditService.auditElection(36L).isEmpty());
+    }
+
+    /** Selection hashes do not cover the proofs, so only proof verification catches this. */
+    private static CiphertextBallot withSwappedSelectionProofs(CiphertextBallot ballot) {
+        CiphertextBallotContest contest = ballot.contests().get(0);
+        List<CiphertextBallotSelection> selections = new ArrayList<>(contest.ballotSelections());
+        CiphertextBallotSelection first = selections.get(0);
+        CiphertextBallotSelection second = selections.get(1);
+        selections.set(0, new CiphertextBallotSelection(first.objectId(), first.sequenceOrder(),
+                first.descriptionHash(), first.ciphertext(), first.cryptoHash(), first.isPlaceholderSelection(),
+                null, second.proof()));
+        selections.set(1, new CiphertextBallotSelection(second.objectId(), second.sequenceOrder(),
+                second.descriptionHash(), second.ciphertext(), second.cryptoHash(), second.isPlaceholderSelection(),
+                null, first.proof()));
+        CiphertextBallotContest tampered = new CiphertextBallotContest(contest.objectId(), contest.sequenceOrder(),
+                contest.descriptionHash(), selections, contest.ciphertextAccumulation(), contest.cryptoHash(),
+                null, contest.proof(), contest.extendedData());
+        return new CiphertextBallot(ballot.objectId(), ballot.styleId(), ballot.manifestHash(), ballot.codeSeed(),
+                List.of(tampered), ballot.code(), ballot.timestamp(), ballot.cryptoHash(), null);
+    }
+}
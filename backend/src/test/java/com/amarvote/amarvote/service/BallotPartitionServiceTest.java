@@ -0,0 +1,82 @@
+package com.amarvote.amarvote.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BallotPartitionServiceTest {
+
+    private static final String CREATE = "SELECT create_ballot_partitions(7)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void createPartitions_RetriesALockTimeoutInAFreshTransaction() {
+        BallotPartitionService service = service("PostgreSQL");
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .doNothing()
+                .when(jdbcTemplate).execute(CREATE);
+
+        assertTrue(service.createPartitions(7L));
+
+        InOrder order = inOrder(transactionManager, jdbcTemplate);
+        order.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 2000");
+        order.verify(jdbcTemplate).execute(CREATE);
+        order.verify(transactionManager).rollback(any());
+        order.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 2000");
+        order.verify(jdbcTemplate).execute(CREATE);
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createPartitions_GivesUpAfterTheLastAttempt() {
+        BallotPartitionService service = service("PostgreSQL");
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .when(jdbcTemplate).execute(CREATE);
+
+        assertFalse(service.createPartitions(7L));
+        verify(jdbcTemplate, times(3)).execute(CREATE);
+    }
+
+    @Test
+    void otherDatabases_AreNotPartitioned() {
+        BallotPartitionService service = service("H2");
+
+        assertTrue(service.createPartitions(7L));
+        assertEquals(0, service.findElectionsWithoutPartitions().size());
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BallotPartitionService service(String databaseProductName) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(databaseProductName);
+        if ("PostgreSQL".equals(databaseProductName)) {
+            doNothing().when(jdbcTemplate).execute("SET LOCAL lock_timeout = 2000");
+        }
+        return new BallotPartitionService(jdbcTemplate, transactionManager, 2000, 3);
+    }
+}
@@ -2,7 +2,7 @@ package com.amarvote.amarvote.service;
 
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,23 +12,33 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.amarvote.amarvote.dto.CastBallotRequest;
 import com.amarvote.amarvote.dto.CastBallotResponse;
+import com.amarvote.amarvote.dto.CastEncryptedBallotRequest;
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
 import com.amarvote.amarvote.dto.EligibilityCheckRequest;
 import com.amarvote.amarvote.dto.EligibilityCheckResponse;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
 import com.amarvote.amarvote.model.AllowedVoter;
+import com.amarvote.amarvote.model.Ballot;
 import com.amarvote.amarvote.model.Election;
 import com.amarvote.amarvote.model.ElectionChoice;
 import com.amarvote.amarvote.model.User;
 import com.amarvote.amarvote.repository.AllowedVoterRepository;
+import com.amarvote.amarvote.repository.BallotArchiveRepository;
 import com.amarvote.amarvote.repository.BallotRepository;
 import com.amarvote.amarvote.repository.ElectionChoiceRepository;
 import com.amarvote.amarvote.repository.ElectionRepository;
@@ -46,6 +56,9 @@ class BallotServiceTest {
 
     @Mock
     private BallotRepository ballotRepository;
+
+    @Mock
+    private BallotArchiveRepository ballotArchiveRepository;
     
     @Mock
     private ElectionRepository electionRepository;
@@ -58,6 +71,18 @@ class BallotServiceTest {
     
     @Mock
     private ElectionChoiceRepository electionChoiceRepository;
+
+    @Mock
+    private ElectionMetrics electionMetrics;
+
+    @Mock
+    private NativeBallotEncryptionService nativeBallotEncryptionService;
+
+    @Mock
+    private BallotVerificationService ballotVerificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
     
     // ...existing code...
 
@@ -208,7 +233,7 @@ class BallotServiceTest {
         assertEquals("Election not found", response.getMessage());
         assertEquals("Invalid election", response.getErrorReason());
         
-        verify(allowedVoterRepository, never()).findByElectionId(anyLong());
+        verify(allowedVoterRepository, never()).findByElectionIdAndUserId(anyLong(), anyInt());
         verify(ballotRepository, never()).save(any());
     }
 
@@ -239,7 +264,7 @@ class BallotServiceTest {
         assertEquals("Election has not started yet", response.getMessage());
         assertEquals("Election not active", response.getErrorReason());
         
-        verify(allowedVoterRepository, never()).findByElectionId(anyLong());
+        verify(allowedVoterRepository, never()).findByElectionIdAndUserId(anyLong(), anyInt());
         verify(ballotRepository, never()).save(any());
     }
 
@@ -270,7 +295,7 @@ class BallotServiceTest {
         assertEquals("Election has ended", response.getMessage());
         assertEquals("Election ended", response.getErrorReason());
         
-        verify(allowedVoterRepository, never()).findByElectionId(anyLong());
+        verify(allowedVoterRepository, never()).findByElectionIdAndUserId(anyLong(), anyInt());
         verify(ballotRepository, never()).save(any());
     }
 
@@ -283,7 +308,7 @@ class BallotServiceTest {
         // Arrange
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Collections.emptyList()); // User not in list
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.empty()); // User not in list
 
         // Act
         CastBallotResponse response = ballotService.castBallot(castBallotRequest, "test@example.com");
@@ -322,7 +347,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(votedAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(votedAllowedVoter));
 
         // Act
         CastBallotResponse response = ballotService.castBallot(castBallotRequest, "test@example.com");
@@ -345,7 +370,7 @@ class BallotServiceTest {
         // Arrange
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(testAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(testAllowedVoter));
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(1L)).thenReturn(Arrays.asList(testChoice));
         
         // Request with invalid candidate
@@ -393,6 +418,118 @@ class BallotServiceTest {
         assertTrue(response.getErrorReason().contains("Database error"));
     }
 
+    /**
+     * Test completing a prepared cast whose vote was claimed meanwhile by a concurrent cast.
+     * Verifies no second ballot is stored.
+     */
+    @Test
+    void testCompleteCast_VoteAlreadyClaimed() {
+        // Arrange
+        BallotService.CastContext context = new BallotService.CastContext(testUser, testElection,
+                Optional.of(testAllowedVoter), Arrays.asList(testChoice), "test-ballot-id");
+        when(allowedVoterRepository.markVoted(1L, 1)).thenReturn(0);
+
+        // Act
+        CastBallotResponse response = ballotService.completeCast(context, encryptedBallot());
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("Already voted", response.getErrorReason());
+        verify(ballotRepository, never()).save(any(Ballot.class));
+    }
+
+    /**
+     * Test completing a prepared cast.
+     * Verifies the vote is claimed and the ballot stored under its tracking code.
+     */
+    @Test
+    void testCompleteCast_Success() {
+        // Arrange
+        BallotService.CastContext context = new BallotService.CastContext(testUser, testElection,
+                Optional.of(testAllowedVoter), Arrays.asList(testChoice), "test-ballot-id");
+        when(allowedVoterRepository.markVoted(1L, 1)).thenReturn(1);
+
+        // Act
+        CastBallotResponse response = ballotService.completeCast(context, encryptedBallot());
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("test-ballot-id", response.getTrackingCode());
+        assertEquals("test-ballot-hash", response.getHashCode());
+        verify(ballotRepository).save(any(Ballot.class));
+    }
+
+    /**
+     * Test completing a prepared cast in an unlisted election while a concurrent cast of the same
+     * voter already added their entry.
+     * Verifies the unique index violation is answered like any other second vote, after rollback.
+     */
+    @Test
+    void testCompleteCast_UnlistedVoterEnteredConcurrently() {
+        // Arrange
+        testElection.setEligibility("unlisted");
+        BallotService.CastContext context = new BallotService.CastContext(testUser, testElection,
+                Optional.empty(), Arrays.asList(testChoice), "test-ballot-id");
+        when(allowedVoterRepository.save(any(AllowedVoter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act
+        CastBallotResponse response = ballotService.completeCast(context, encryptedBallot());
+
+        // Assert
+        assertFalse(response.isSuccess());
+        assertEquals("You have already voted in this election", response.getMessage());
+        assertEquals("Already voted", response.getErrorReason());
+        verify(transactionManager).rollback(any());
+        verify(ballotRepository, never()).save(any(Ballot.class));
+    }
+
+    /**
+     * Test casting a client-encrypted ballot.
+     * Verifies the proofs are checked between the preparing and the storing transaction, with no
+     * transaction (and so no pooled connection) held while they run.
+     */
+    @Test
+    void testCastEncryptedBallot_VerifiesOutsideAnyTransaction() {
+        // Arrange
+        CastEncryptedBallotRequest request = CastEncryptedBallotRequest.builder()
+                .electionId(1L)
+                .encrypted_ballot("encrypted-ballot-data")
+                .ballot_hash("test-ballot-hash")
+                .ballot_tracking_code("client-tracking-code")
+                .build();
+        when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(testAllowedVoter));
+        when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(1L)).thenReturn(Arrays.asList(testChoice));
+        when(ballotVerificationService.verify(any(), any(), any(), any(), any()))
+                .thenReturn(BallotVerificationService.Verdict.accepted());
+        when(allowedVoterRepository.markVoted(1L, 1)).thenReturn(1);
+
+        // Act
+        CastBallotResponse response = ballotService.castEncryptedBallot(request, "test@example.com");
+
+        // Assert
+        assertTrue(response.isSuccess(), response.getErrorReason());
+        assertEquals("client-tracking-code", response.getTrackingCode());
+        InOrder order = inOrder(transactionManager, ballotVerificationService, allowedVoterRepository, ballotRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(transactionManager).commit(any());
+        order.verify(ballotVerificationService).verify(any(), any(), any(), any(), any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(allowedVoterRepository).markVoted(1L, 1);
+        order.verify(ballotRepository).save(any(Ballot.class));
+        order.verify(transactionManager).commit(any());
+    }
+
+    private static ElectionGuardBallotResponse encryptedBallot() {
+        return ElectionGuardBallotResponse.builder()
+                .status("success")
+                .ballot_hash("test-ballot-hash")
+                .encrypted_ballot("encrypted-ballot-data")
+                .build();
+    }
+
     // ==================== ELIGIBILITY CHECK TESTS ====================
 
     /**
@@ -456,7 +593,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(futureElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(testAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(testAllowedVoter));
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -488,7 +625,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(endedElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(testAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(testAllowedVoter));
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -518,7 +655,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(votedAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(votedAllowedVoter));
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -541,7 +678,7 @@ class BallotServiceTest {
         // Arrange
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Collections.emptyList()); // User not in list
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.empty()); // User not in list
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -564,7 +701,7 @@ class BallotServiceTest {
         // Arrange
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(testElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Arrays.asList(testAllowedVoter));
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.of(testAllowedVoter));
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -595,7 +732,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(unlistedElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Collections.emptyList()); // No specific voter list
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.empty()); // No specific voter list
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -626,7 +763,7 @@ class BallotServiceTest {
 
         when(userRepository.findByUserEmail("test@example.com")).thenReturn(Optional.of(testUser));
         when(electionRepository.findById(1L)).thenReturn(Optional.of(unknownEligibilityElection));
-        when(allowedVoterRepository.findByElectionId(1L)).thenReturn(Collections.emptyList());
+        when(allowedVoterRepository.findByElectionIdAndUserId(1L, 1)).thenReturn(Optional.empty());
 
         // Act
         EligibilityCheckResponse response = ballotService.checkEligibility(eligibilityCheckRequest, "test@example.com");
@@ -640,6 +777,33 @@ class BallotServiceTest {
         assertEquals("Active", response.getElectionStatus());
     }
 
+    /**
+     * Test ballot details of a decrypted election whose cipher text was archived.
+     * Verifies the cipher text is read back from the archive transparently.
+     */
+    @Test
+    void testGetBallotDetails_ArchivedBallot() {
+        // Arrange
+        Ballot archived = Ballot.builder()
+                .ballotId(7L)
+                .electionId(1L)
+                .status("cast")
+                .hashCode("hash")
+                .trackingCode("tracking")
+                .submissionTime(Instant.now())
+                .build();
+        when(ballotRepository.findByElectionIdAndTrackingCode(1L, "tracking")).thenReturn(Optional.of(archived));
+        when(ballotArchiveRepository.findCipherTextByBallotId(7L)).thenReturn(Optional.of("{\"object_id\": \"b\"}"));
+
+        // Act
+        Map<String, Object> details = ballotService.getBallotDetails(1L, "tracking");
+
+        // Assert
+        assertEquals("{\"object_id\": \"b\"}", details.get("cipher_text"));
+        assertEquals("hash", details.get("hash_code"));
+        assertEquals("cast", details.get("status"));
+    }
+
     /**
      * Test eligibility check with exception handling.
      * Verifies proper error response for unexpected exceptions.
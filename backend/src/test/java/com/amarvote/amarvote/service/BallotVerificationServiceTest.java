@@ -0,0 +1,173 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.CiphertextBallotContest;
+import com.amarvote.amarvote.electionguard.CiphertextBallotSelection;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.model.Election;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cast-time verification of client-encrypted ballots: honest ballots pass, and each kind of bad
+ * ballot is rejected with its reason and counted.
+ */
+class BallotVerificationServiceTest {
+
+    private static final List<String> PARTIES = List.of("Red Party", "Blue Party", "Green Party");
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+
+    private static Election election;
+    private static CiphertextBallot ballot;
+
+    private SimpleMeterRegistry registry;
+    private BallotVerificationService service;
+
+    @BeforeAll
+    static void encryptBallot() {
+        BigInteger publicKey = Group.gPowP(BigInteger.valueOf(424242));
+        BigInteger commitmentHash = BigInteger.valueOf(987654321);
+        election = Election.builder()
+                .electionId(17L)
+                .numberOfGuardians(3)
+                .electionQuorum(2)
+                .jointPublicKey(publicKey.toString())
+                .baseHash(commitmentHash.toString())
+                .build();
+        ElectionManifest manifest = ElectionManifest.create(PARTIES, CANDIDATES);
+        ElectionContext context = ElectionContext.create(3, 2, publicKey, commitmentHash, manifest.getManifestHash());
+        ballot = BallotEncryptor.encrypt(manifest, context, "ballot-1", "Bob");
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = createService(2, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private BallotVerificationService createService(int threads, long budgetMillis) {
+        BallotVerificationService verificationService = new BallotVerificationService();
+        ReflectionTestUtils.setField(verificationService, "electionMetrics", new ElectionMetrics(registry));
+        ReflectionTestUtils.setField(verificationService, "threads", threads);
+        ReflectionTestUtils.setField(verificationService, "budgetMillis", budgetMillis);
+        verificationService.init();
+        return verificationService;
+    }
+
+    private BallotVerificationService.Verdict verify(CiphertextBallot submitted) {
+        return service.verify(election, PARTIES, CANDIDATES, BallotJson.toJson(submitted),
+                Group.toHex(submitted.cryptoHash()));
+    }
+
+    private double rejected(String reason) {
+        return registry.get(ElectionMetrics.BALLOT_REJECTED).tags("election", "17", "reason", reason)
+                .counter().count();
+    }
+
+    @Test
+    void publishedBallot_IsAccepted() {
+        BallotVerificationService.Verdict verdict = verify(ballot.withoutNonces());
+
+        assertTrue(verdict.valid(), verdict.message());
+        assertTrue(registry.find(ElectionMetrics.BALLOT_REJECTED).counters().isEmpty());
+    }
+
+    @Test
+    void swappedSelectionProofs_AreRejected() {
+        // Selection hashes cover the ciphertext but not the proof, so every hash stays consistent
+        CiphertextBallot published = ballot.withoutNonces();
+        CiphertextBallotContest contest = published.contests().get(0);
+        List<CiphertextBallotSelection> selections = new ArrayList<>(contest.ballotSelections());
+        CiphertextBallotSelection first = selections.get(0);
+        CiphertextBallotSelection second = selections.get(1);
+        selections.set(0, withProof(first, second));
+        selections.set(1, withProof(second, first));
+        CiphertextBallotContest tampered = new CiphertextBallotContest(contest.objectId(), contest.sequenceOrder(),
+                contest.descriptionHash(), selections, contest.ciphertextAccumulation(), contest.cryptoHash(),
+                null, contest.proof(), contest.extendedData());
+
+        BallotVerificationService.Verdict verdict = verify(new CiphertextBallot(published.objectId(),
+                published.styleId(), published.manifestHash(), published.codeSeed(), List.of(tampered),
+                published.code(), published.timestamp(), published.cryptoHash(), null));
+
+        assertFalse(verdict.valid());
+        assertEquals(BallotVerificationService.INVALID_PROOF, verdict.reason());
+        assertEquals(1.0, rejected(BallotVerificationService.INVALID_PROOF));
+    }
+
+    private static CiphertextBallotSelection withProof(CiphertextBallotSelection selection,
+            CiphertextBallotSelection proofSource) {
+        return new CiphertextBallotSelection(selection.objectId(), selection.sequenceOrder(),
+                selection.descriptionHash(), selection.ciphertext(), selection.cryptoHash(),
+                selection.isPlaceholderSelection(), null, proofSource.proof());
+    }
+
+    @Test
+    void ballotWithNonces_IsRejected() {
+        BallotVerificationService.Verdict verdict = verify(ballot);
+
+        assertFalse(verdict.valid());
+        assertEquals(BallotVerificationService.INVALID_STRUCTURE, verdict.reason());
+    }
+
+    @Test
+    void ballotForAnotherCandidateList_IsRejected() {
+        CiphertextBallot published = ballot.withoutNonces();
+
+        BallotVerificationService.Verdict verdict = service.verify(election, PARTIES, List.of("Alice", "Bob", "Dave"),
+                BallotJson.toJson(published), Group.toHex(published.cryptoHash()));
+
+        assertFalse(verdict.valid());
+        assertEquals(BallotVerificationService.INVALID_STRUCTURE, verdict.reason());
+    }
+
+    @Test
+    void wrongHashOrMalformedJson_IsRejected() {
+        String json = BallotJson.toJson(ballot.withoutNonces());
+
+        assertEquals(BallotVerificationService.HASH_MISMATCH,
+                service.verify(election, PARTIES, CANDIDATES, json, "ABCDEF").reason());
+        assertEquals(BallotVerificationService.HASH_MISMATCH,
+                service.verify(election, PARTIES, CANDIDATES, json, "not-hex").reason());
+        assertEquals(BallotVerificationService.MALFORMED,
+                service.verify(election, PARTIES, CANDIDATES, "{\"object_id\": \"x\"}", "ABCDEF").reason());
+        assertEquals(BallotVerificationService.MALFORMED,
+                service.verify(election, PARTIES, CANDIDATES, "not json", "ABCDEF").reason());
+        assertEquals(2.0, rejected(BallotVerificationService.MALFORMED));
+    }
+
+    @Test
+    void exhaustedBudget_RejectsBallot() {
+        service.shutdown();
+        service = createService(1, 0);
+
+        BallotVerificationService.Verdict verdict = verify(ballot.withoutNonces());
+
+        assertFalse(verdict.valid());
+        assertEquals(BallotVerificationService.TIMEOUT, verdict.reason());
+        assertEquals(1.0, rejected(BallotVerificationService.TIMEOUT));
+    }
+}
@@ -0,0 +1,102 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.repository.BallotRepository;
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+
+/**
+ * Rows migrated by {@code V3__compress_ballot_ciphertexts.sql} hold plain JSON until compacted; they
+ * read the same before and after.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("budget")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:compaction;MODE=PostgreSQL;"
+        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON")
+@Import(CipherTextCompactionService.class)
+class CipherTextCompactionServiceTest {
+
+    @Autowired
+    private CipherTextCompactionService compactionService;
+
+    @Autowired
+    private BallotRepository ballotRepository;
+
+    @Autowired
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void plainJsonRows_AreRewrittenCompactAndReadTheSame() {
+        List<String> candidates = List.of("Alice", "Bob");
+        ElectionManifest manifest = ElectionManifest.create(List.of("Party A", "Party B"), candidates);
+        ElectionContext context = ElectionContext.create(3, 2, Group.gPowP(BigInteger.valueOf(4242)),
+                BigInteger.valueOf(99), manifest.getManifestHash());
+        String ballot = BallotJson.toJson(BallotEncryptor.encrypt(manifest, context, "ballot-1", "Bob").withoutNonces());
+        String notABallot = "{\"object_id\": \"legacy\"}";
+        for (long electionId : List.of(7L, 8L)) {
+            jdbcTemplate.update("INSERT INTO elections (election_id, election_title, number_of_guardians, election_quorum, "
+                    + "no_of_candidates, starting_time, ending_time) VALUES (?, 'Election', 3, 2, 2, ?, ?)",
+                    electionId, Timestamp.from(Instant.EPOCH), Timestamp.from(Instant.EPOCH));
+        }
+        jdbcTemplate.update("INSERT INTO submitted_ballots (election_id, cipher_text) VALUES (?, ?)", 8L,
+                notABallot.getBytes(StandardCharsets.UTF_8));
+        for (String json : List.of(ballot, notABallot)) {
+            jdbcTemplate.update("INSERT INTO submitted_ballots (election_id, cipher_text) VALUES (?, ?)", 7L,
+                    json.getBytes(StandardCharsets.UTF_8));
+        }
+        jdbcTemplate.update("INSERT INTO ballots (election_id, status, cipher_text, hash_code, tracking_code) "
+                + "VALUES (?, 'cast', ?, 'hash', 'tracking-1')", 7L, ballot.getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(ballot, notABallot), submittedBallotRepository.findCipherTextsByElectionId(7L));
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT submitted_ballot_id FROM submitted_ballots WHERE election_id = 7 ORDER BY submitted_ballot_id",
+                Long.class);
+
+        assertEquals(List.of(7L, 8L), compactionService.findElectionIds());
+        assertEquals(new CipherTextCompactionService.Batch(1, ids.get(0), false),
+                compactionService.compactSubmittedBallots(7L, 0, 1));
+        assertEquals(new CipherTextCompactionService.Batch(1, ids.get(1), false),
+                compactionService.compactSubmittedBallots(7L, ids.get(0), 1));
+        assertEquals(new CipherTextCompactionService.Batch(0, ids.get(1), true),
+                compactionService.compactSubmittedBallots(7L, ids.get(1), 1));
+        assertEquals(1, compactionService.compactBallots(7L, 0, 2).compacted());
+        assertTrue(compactionService.compactBallots(7L, 0, 2).exhausted());
+
+        List<byte[]> stored = jdbcTemplate.queryForList(
+                "SELECT cipher_text FROM submitted_ballots WHERE election_id = 7 ORDER BY submitted_ballot_id", byte[].class);
+        assertTrue(stored.stream().allMatch(BallotCodec::isEncoded));
+        assertTrue(stored.get(0).length < ballot.length() * 0.55, stored.get(0).length + " bytes");
+        assertFalse(BallotCodec.isEncoded(ballot.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of(ballot, notABallot), submittedBallotRepository.findCipherTextsByElectionId(7L));
+        assertEquals(List.of(ballot), ballotRepository.findCipherTextsByElectionId(7L));
+        // Other elections are left for their own turn
+        assertFalse(BallotCodec.isEncoded(jdbcTemplate.queryForObject(
+                "SELECT cipher_text FROM submitted_ballots WHERE election_id = 8", byte[].class)));
+    }
+}
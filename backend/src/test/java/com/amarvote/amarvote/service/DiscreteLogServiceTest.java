@@ -0,0 +1,41 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amarvote.amarvote.electionguard.Group;
+
+class DiscreteLogServiceTest {
+
+    private DiscreteLogService createService(int babySteps, String tableDir) {
+        DiscreteLogService service = new DiscreteLogService();
+        ReflectionTestUtils.setField(service, "maxVotes", 50_000L);
+        ReflectionTestUtils.setField(service, "babySteps", babySteps);
+        ReflectionTestUtils.setField(service, "tableDir", tableDir);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void discreteLog_WaitsForTheTableAndDecodesCounts() {
+        DiscreteLogService service = createService(256, "");
+
+        assertEquals(0, service.discreteLog(BigInteger.ONE));
+        assertEquals(42_424, service.discreteLog(Group.gPowP(BigInteger.valueOf(42_424))));
+        assertTrue(service.isReady());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.discreteLog(Group.gPowP(BigInteger.valueOf(50_001))));
+    }
+
+    @Test
+    void failedBuild_IsReportedOnLookup() {
+        DiscreteLogService service = createService(0, "");
+
+        assertThrows(IllegalStateException.class, () -> service.discreteLog(BigInteger.ONE));
+    }
+}
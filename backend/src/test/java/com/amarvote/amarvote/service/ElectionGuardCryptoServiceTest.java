@@ -0,0 +1,43 @@
+package com.amarvote.amarvote.service;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amarvote.amarvote.electionguard.GuardianCredentials;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The native credentials engine never needs the ElectionGuard service, so these run without a
+ * {@code WebClient}.
+ */
+class ElectionGuardCryptoServiceTest {
+
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Test
+    void nativeEngine_SealsAndOpensGuardianDataLocally() {
+        ElectionGuardCryptoService cryptoService = service("native");
+
+        ElectionGuardCryptoService.EncryptionResult encrypted =
+                cryptoService.encryptGuardianData("{\"key\":\"secret\"}", "{\"coefficients\":[]}");
+        assertEquals("2.0", GuardianCredentials.version(encrypted.getCredentials()));
+
+        // credentials sealed in the JVM stay readable after switching back to the remote engine
+        ElectionGuardCryptoService.GuardianDecryptionResult decrypted = service("remote")
+                .decryptGuardianData(encrypted.getEncryptedData(), encrypted.getCredentials());
+        assertEquals("{\"key\":\"secret\"}", decrypted.getPrivateKey());
+        assertEquals("{\"coefficients\":[]}", decrypted.getPolynomial());
+        assertTrue(cryptoService.isNativeCredentialsEngine());
+    }
+
+    private static ElectionGuardCryptoService service(String engine) {
+        ElectionGuardCryptoService cryptoService = new ElectionGuardCryptoService(null, new ObjectMapper());
+        ReflectionTestUtils.setField(cryptoService, "credentialsEngine", engine);
+        ReflectionTestUtils.setField(cryptoService, "masterKey", MASTER_KEY);
+        return cryptoService;
+    }
+}
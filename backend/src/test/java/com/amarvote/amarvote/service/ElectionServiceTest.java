@@ -34,9 +34,11 @@ import com.amarvote.amarvote.model.Guardian;
 import com.amarvote.amarvote.model.User;
 import com.amarvote.amarvote.repository.AllowedVoterRepository;
 import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionCryptoArtifactsRepository;
 import com.amarvote.amarvote.repository.ElectionRepository;
 import com.amarvote.amarvote.repository.GuardianRepository;
 import com.amarvote.amarvote.repository.UserRepository;
+import com.amarvote.amarvote.repository.projection.GuardianRosterEntry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -108,6 +110,9 @@ class ElectionServiceTest {
     @Mock
     private AllowedVoterRepository allowedVoterRepository;
 
+    @Mock
+    private ElectionCryptoArtifactsRepository electionCryptoArtifactsRepository;
+
     @Mock
     private EmailService emailService;
 
@@ -140,6 +145,8 @@ class ElectionServiceTest {
         ReflectionTestUtils.setField(electionService, "guardianRepository", guardianRepository);
         ReflectionTestUtils.setField(electionService, "electionChoiceRepository", electionChoiceRepository);
         ReflectionTestUtils.setField(electionService, "allowedVoterRepository", allowedVoterRepository);
+        ReflectionTestUtils.setField(electionService, "electionCryptoArtifactsRepository",
+                electionCryptoArtifactsRepository);
         ReflectionTestUtils.setField(electionService, "emailService", emailService);
 
         // Setup mock election request
@@ -275,13 +282,9 @@ class ElectionServiceTest {
                 3,                                     // numberOfGuardians (Integer)
                 3,                                     // electionQuorum (Integer)
                 2,                                     // noOfCandidates (Integer)
-                "joint_public_key",                    // jointPublicKey (skipped)
-                "manifest_hash",                       // manifestHash (skipped)
                 "draft",                               // status (String)
                 Instant.now(),                         // startingTime (Instant)
                 Instant.now().plusSeconds(3600),       // endingTime (Instant)
-                null,                                  // encryptedTally (skipped)
-                "base_hash",                           // baseHash (skipped)
                 Instant.now(),                         // createdAt (Instant)
                 null,                                  // profilePic (String)
                 "admin@test.com",                      // adminEmail (String)
@@ -336,7 +339,7 @@ class ElectionServiceTest {
         mockElection.setAdminEmail(userEmail);
         when(electionRepository.findById(electionId)).thenReturn(Optional.of(mockElection));
         when(userRepository.findByUserEmail(userEmail)).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
@@ -441,7 +444,7 @@ class ElectionServiceTest {
         when(guardianRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
         when(userRepository.findByUserEmail("admin@test.com")).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
 
@@ -485,7 +488,7 @@ class ElectionServiceTest {
         when(electionRepository.findById(electionId)).thenReturn(Optional.of(mockElection));
         when(guardianRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList(mockGuardian));
         when(userRepository.findByUserEmail("admin@test.com")).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
@@ -531,7 +534,7 @@ class ElectionServiceTest {
         when(guardianRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList(mockVoter));
         when(userRepository.findByUserEmail("admin@test.com")).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
 
@@ -568,7 +571,7 @@ class ElectionServiceTest {
         when(guardianRepository.findByElectionIdAndUserEmail(any(), eq(userEmail))).thenReturn(Arrays.asList());
         when(userRepository.findByUserEmail(userEmail)).thenReturn(Optional.of(mockUser));
         when(userRepository.findByUserEmail(mockElection.getAdminEmail())).thenReturn(Optional.of(mockUser));
-        when(allowedVoterRepository.findByElectionId(any())).thenReturn(Arrays.asList());
+        when(allowedVoterRepository.findByElectionIdAndUserId(any(), any())).thenReturn(Optional.empty());
 
         // When: Request elections for user
         List<ElectionResponse> result = electionService.getElectionsForUser(userEmail);
@@ -599,7 +602,7 @@ class ElectionServiceTest {
         when(allowedVoterRepository.findByElectionIdAndUserEmail(any(), eq(adminEmail))).thenReturn(Arrays.asList());
         when(guardianRepository.findByElectionIdAndUserEmail(any(), eq(adminEmail))).thenReturn(Arrays.asList());
         when(userRepository.findByUserEmail(adminEmail)).thenReturn(Optional.of(mockUser));
-        when(allowedVoterRepository.findByElectionId(any())).thenReturn(Arrays.asList());
+        when(allowedVoterRepository.findByElectionIdAndUserId(any(), any())).thenReturn(Optional.empty());
 
         // When: Request elections by admin
         List<ElectionResponse> result = electionService.getElectionsByAdmin(adminEmail);
@@ -631,7 +634,7 @@ class ElectionServiceTest {
         when(guardianRepository.findByElectionIdAndUserEmail(any(), eq(guardianEmail))).thenReturn(Arrays.asList());
         when(userRepository.findByUserEmail(guardianEmail)).thenReturn(Optional.of(mockUser));
         when(userRepository.findByUserEmail(mockElection.getAdminEmail())).thenReturn(Optional.of(mockUser));
-        when(allowedVoterRepository.findByElectionId(any())).thenReturn(Arrays.asList());
+        when(allowedVoterRepository.findByElectionIdAndUserId(any(), any())).thenReturn(Optional.empty());
 
         // When: Request elections by guardian
         List<ElectionResponse> result = electionService.getElectionsByGuardian(guardianEmail);
@@ -671,7 +674,7 @@ class ElectionServiceTest {
         when(guardianRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList(mockGuardian));
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
         when(userRepository.findByUserEmail(userEmail)).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
 
@@ -751,7 +754,7 @@ class ElectionServiceTest {
         mockElection.setAdminEmail(userEmail);
         when(electionRepository.findById(electionId)).thenReturn(Optional.of(mockElection));
         when(userRepository.findByUserEmail(userEmail)).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
+        when(guardianRepository.findGuardianRosterByElectionId(electionId)).thenReturn(Arrays.asList());
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList(choice1, choice2));
         when(allowedVoterRepository.findByElectionIdAndUserEmail(electionId, userEmail)).thenReturn(Arrays.asList());
@@ -788,21 +791,15 @@ class ElectionServiceTest {
         String userEmail = "admin@test.com";
         
         // Setup guardian data with one guardian having submitted their tally
-        Guardian guardian1 = new Guardian();
-        guardian1.setUserId(1);
-        guardian1.setTallyShare("tally_share_data"); // Has submitted
-        
-        Guardian guardian2 = new Guardian();
-        guardian2.setUserId(2);
-        guardian2.setTallyShare(null); // Has not submitted
-        
-        Object[] guardianData1 = {guardian1, mockUser};
-        Object[] guardianData2 = {guardian2, mockUser};
+        GuardianRosterEntry guardianData1 = new GuardianRosterEntry(1, "key1", true, "tally_share_data", null,
+                mockUser.getUserEmail(), mockUser.getUserName()); // Has submitted
+        GuardianRosterEntry guardianData2 = new GuardianRosterEntry(2, "key2", false, null, null,
+                mockUser.getUserEmail(), mockUser.getUserName()); // Has not submitted
         
         mockElection.setAdminEmail(userEmail);
         when(electionRepository.findById(electionId)).thenReturn(Optional.of(mockElection));
         when(userRepository.findByUserEmail(userEmail)).thenReturn(Optional.of(mockUser));
-        when(guardianRepository.findGuardiansWithUserDetailsByElectionId(electionId))
+        when(guardianRepository.findGuardianRosterByElectionId(electionId))
                 .thenReturn(Arrays.asList(guardianData1, guardianData2));
         when(allowedVoterRepository.findAllowedVotersWithUserDetailsByElectionId(electionId)).thenReturn(Arrays.asList());
         when(electionChoiceRepository.findByElectionIdOrderByChoiceIdAsc(electionId)).thenReturn(Arrays.asList());
@@ -818,6 +815,6 @@ class ElectionServiceTest {
         assertEquals(1, result.getGuardiansSubmitted());                // Only one guardian submitted
         assertFalse(result.getAllGuardiansSubmitted());                 // Not all guardians submitted
         
-        verify(guardianRepository, times(1)).findGuardiansWithUserDetailsByElectionId(electionId);
+        verify(guardianRepository, times(1)).findGuardianRosterByElectionId(electionId);
     }
 }
@@ -1,6 +1,9 @@
 package com.amarvote.amarvote.service;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -11,11 +14,13 @@ import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -296,4 +301,32 @@ void sendGuardianPrivateKeyEmail_WhenMessagingExceptionOccurs_ShouldThrowRuntime
         // Assert
         verify(mailSender, times(1)).send(mimeMessage);
     }
-}
\ No newline at end of file
+
+    // ==================== VIRTUAL THREADS ====================
+
+    @Test
+    void sendFromVirtualThread_SendsOnPlatformThreadAndPropagatesFailures() throws Exception {
+        // Arrange
+        AtomicReference<Thread> sender = new AtomicReference<>();
+        doAnswer(invocation -> {
+            sender.set(Thread.currentThread());
+            throw new MailSendException("SMTP server unreachable");
+        }).when(mailSender).send(mimeMessage);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            try {
+                emailService.sendSignupVerificationEmail(toEmail, "ABCD1234");
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        }).join();
+
+        // Assert
+        assertFalse(sender.get().isVirtual());
+        assertTrue(sender.get().getName().startsWith("mail-send-"));
+        assertTrue(thrown.get() instanceof MailSendException);
+        assertEquals("SMTP server unreachable", thrown.get().getMessage());
+    }
+}
@@ -0,0 +1,168 @@
+package com.amarvote.amarvote.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amarvote.amarvote.model.CompensatedDecryption;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.Guardian;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Combines the shares of a 5-guardian, quorum-3 election captured from the Python ElectionGuard
+ * service ({@code Microservice/io/combine_decryption_shares_*.json}, ballot shares dropped), with
+ * guardians 4 and 5 compensated, and compares against the service's own results.
+ */
+class NativeDecryptionCombinerServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private NativeDecryptionCombinerService service;
+    private JsonNode request;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DiscreteLogService discreteLogService = new DiscreteLogService();
+        ReflectionTestUtils.setField(discreteLogService, "maxVotes", 1_000L);
+        ReflectionTestUtils.setField(discreteLogService, "babySteps", 64);
+        ReflectionTestUtils.setField(discreteLogService, "tableDir", "");
+        discreteLogService.init();
+
+        service = new NativeDecryptionCombinerService();
+        ReflectionTestUtils.setField(service, "discreteLogService", discreteLogService);
+        ReflectionTestUtils.setField(service, "objectMapper", mapper);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        service.init();
+        request = mapper.readTree(resource("combine_decryption_shares_request.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void combine_MatchesTheElectionGuardServiceResults() throws IOException {
+        Map<String, Object> results = combine(compensatedDecryptions()).orElseThrow();
+
+        ObjectNode expected = (ObjectNode) mapper.readTree(
+                mapper.readTree(resource("combine_decryption_shares_response.json")).get("results").asText());
+        // The service reports a placeholder name and dates and marks every ballot verified; the
+        // native results carry the election's own and only claim the share proofs that were checked
+        ObjectNode electionSection = (ObjectNode) expected.get("election");
+        electionSection.put("name", "Union Council Election");
+        electionSection.put("start_date", "2025-03-01T08:00:00");
+        electionSection.put("end_date", "2025-03-01T17:30:00");
+        expected.get("verification").get("ballots").forEach(ballot -> ((ObjectNode) ballot).remove("verification"));
+        ((ObjectNode) expected.get("verification")).put("tally_share_proofs", "success");
+        assertEquals(expected, mapper.valueToTree(results));
+    }
+
+    @Test
+    void combine_RejectsTamperedOrMissingShares() {
+        List<CompensatedDecryption> compensated = compensatedDecryptions();
+        CompensatedDecryption swapped = compensated.get(0);
+        CompensatedDecryption other = compensated.get(1);
+        String share = swapped.getCompensatedTallyShare();
+        swapped.setCompensatedTallyShare(other.getCompensatedTallyShare());
+        other.setCompensatedTallyShare(share);
+
+        IllegalArgumentException wrongKey = assertThrows(IllegalArgumentException.class, () -> combine(compensated));
+        assertTrue(wrongKey.getMessage().contains("recovery key"), wrongKey.getMessage());
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> combine(compensatedDecryptions().subList(1, 6)));
+        assertTrue(missing.getMessage().startsWith("No decryption share of guardian 1 for missing guardian 4"),
+                missing.getMessage());
+    }
+
+    @Test
+    void combine_LeavesTalliesWithSpoiledBallotsToTheService() throws IOException {
+        ObjectNode tally = (ObjectNode) mapper.readTree(request.get("ciphertext_tally").asText());
+        tally.putArray("spoiled_ballot_ids").add("ballot-1");
+
+        assertEquals(Optional.empty(), service.combine(election(), mapper.writeValueAsString(tally),
+                strings("party_names"), strings("candidate_names"), List.of(), guardians(), guardians().subList(0, 3),
+                compensatedDecryptions()));
+    }
+
+    private Optional<Map<String, Object>> combine(List<CompensatedDecryption> compensated) {
+        List<Guardian> guardians = guardians();
+        return service.combine(election(), request.get("ciphertext_tally").asText(), strings("party_names"),
+                strings("candidate_names"), strings("submitted_ballots"), guardians, guardians.subList(0, 3), compensated);
+    }
+
+    private Election election() {
+        return Election.builder()
+                .electionId(1L)
+                .electionTitle("Union Council Election")
+                .startingTime(Instant.parse("2025-03-01T08:00:00.250Z"))
+                .endingTime(Instant.parse("2025-03-01T17:30:00Z"))
+                .numberOfGuardians(request.get("number_of_guardians").asInt())
+                .electionQuorum(request.get("quorum").asInt())
+                .jointPublicKey(request.get("joint_public_key").asText())
+                .baseHash(request.get("commitment_hash").asText())
+                .build();
+    }
+
+    /** Guardians 1-3 submitted their shares, 4 and 5 did not. */
+    private List<Guardian> guardians() {
+        List<String> guardianData = strings("guardian_data");
+        List<Guardian> guardians = new ArrayList<>();
+        for (int i = 0; i < guardianData.size(); i++) {
+            boolean available = i < 3;
+            guardians.add(Guardian.builder()
+                    .electionId(1L)
+                    .sequenceOrder(i + 1)
+                    .keyBackup(guardianData.get(i))
+                    .decryptedOrNot(available)
+                    .guardianDecryptionKey(available ? strings("available_guardian_public_keys").get(i) : null)
+                    .tallyShare(available ? strings("available_tally_shares").get(i) : null)
+                    .build());
+        }
+        return guardians;
+    }
+
+    private List<CompensatedDecryption> compensatedDecryptions() {
+        List<String> missing = strings("missing_guardian_ids");
+        List<String> compensating = strings("compensating_guardian_ids");
+        List<String> shares = strings("compensated_tally_shares");
+        List<CompensatedDecryption> compensated = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i++) {
+            compensated.add(CompensatedDecryption.builder()
+                    .electionId(1L)
+                    .missingGuardianSequence(Integer.valueOf(missing.get(i)))
+                    .compensatingGuardianSequence(Integer.valueOf(compensating.get(i)))
+                    .compensatedTallyShare(shares.get(i))
+                    .build());
+        }
+        return compensated;
+    }
+
+    private List<String> strings(String field) {
+        List<String> values = new ArrayList<>();
+        request.get(field).forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = NativeDecryptionCombinerServiceTest.class.getResourceAsStream("/electionguard/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
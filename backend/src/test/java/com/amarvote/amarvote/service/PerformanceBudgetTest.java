@@ -0,0 +1,451 @@
+package com.amarvote.amarvote.service;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.amarvote.amarvote.config.WebClientConfig;
+import com.amarvote.amarvote.dto.BlockchainRecordBallotResponse;
+import com.amarvote.amarvote.dto.CastBallotRequest;
+import com.amarvote.amarvote.dto.CastBallotResponse;
+import com.amarvote.amarvote.dto.CastEncryptedBallotRequest;
+import com.amarvote.amarvote.dto.ElectionDetailResponse;
+import com.amarvote.amarvote.dto.ElectionResponse;
+import com.amarvote.amarvote.dto.EligibilityCheckRequest;
+import com.amarvote.amarvote.dto.EligibilityCheckResponse;
+import com.amarvote.amarvote.electionguard.BallotCodec;
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.model.AllowedVoter;
+import com.amarvote.amarvote.model.CompensatedDecryption;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.ElectionChoice;
+import com.amarvote.amarvote.model.ElectionCryptoArtifacts;
+import com.amarvote.amarvote.model.Guardian;
+import com.amarvote.amarvote.model.SubmittedBallot;
+import com.amarvote.amarvote.model.User;
+import com.amarvote.amarvote.repository.AllowedVoterRepository;
+import com.amarvote.amarvote.repository.CompensatedDecryptionRepository;
+import com.amarvote.amarvote.repository.ElectionChoiceRepository;
+import com.amarvote.amarvote.repository.ElectionCryptoArtifactsRepository;
+import com.amarvote.amarvote.repository.ElectionRepository;
+import com.amarvote.amarvote.repository.GuardianRepository;
+import com.amarvote.amarvote.repository.SubmittedBallotRepository;
+import com.amarvote.amarvote.repository.UserRepository;
+import com.amarvote.amarvote.repository.projection.SubmittedBallotCipherText;
+import com.amarvote.amarvote.support.budget.BudgetTestConfig;
+import com.amarvote.amarvote.support.budget.PerformanceBudgets;
+import com.amarvote.amarvote.support.budget.PerformanceBudgets.Measurement;
+import com.amarvote.amarvote.support.stub.ElectionGuardStubServer;
+import com.amarvote.amarvote.support.stub.StubBehaviour;
+
+/**
+ * Checks service methods against the {@code @PerformanceBudget} declared on
+ * them, using an in-memory database and the ElectionGuard stub. Calls are
+ * measured after a warm-up call so allocation figures exclude class loading
+ * and query plan compilation. Scaling tests compare two data sizes and
+ * require identical statement counts, which is what catches a new per-row
+ * query.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("budget")
+@Import({ BallotService.class, ElectionService.class, ElectionMetrics.class, NativeBallotEncryptionService.class,
+        BallotVerificationService.class, WebClientConfig.class, BudgetTestConfig.class })
+@ImportAutoConfiguration({ JacksonAutoConfiguration.class, MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PerformanceBudgetTest {
+
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+    // A real group element, so client-encrypted ballots carry proofs that verify
+    private static final BigInteger JOINT_PUBLIC_KEY = Group.gPowP(BigInteger.valueOf(1234567890L));
+    private static final ElectionGuardStubServer ELECTION_GUARD =
+            new ElectionGuardStubServer(StubBehaviour.instant()).start();
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+    // Roughly the ciphertext tally of a 100,000-ballot election, which lists every cast ballot id
+    private static final int TALLY_CHARS = 4_000_000;
+
+    @DynamicPropertySource
+    static void electionGuardUrl(DynamicPropertyRegistry registry) {
+        registry.add("electionguard.service.url", ELECTION_GUARD::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        ELECTION_GUARD.close();
+    }
+
+    @MockitoBean
+    private BlockchainService blockchainService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private ElectionGuardCryptoService cryptoService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private BallotService ballotService;
+
+    @Autowired
+    private ElectionService electionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ElectionRepository electionRepository;
+
+    @Autowired
+    private ElectionChoiceRepository electionChoiceRepository;
+
+    @Autowired
+    private AllowedVoterRepository allowedVoterRepository;
+
+    @Autowired
+    private GuardianRepository guardianRepository;
+
+    @Autowired
+    private CompensatedDecryptionRepository compensatedDecryptionRepository;
+
+    @Autowired
+    private ElectionCryptoArtifactsRepository electionCryptoArtifactsRepository;
+
+    @Autowired
+    private SubmittedBallotRepository submittedBallotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        when(blockchainService.recordBallot(anyString(), anyString(), anyString()))
+                .thenReturn(BlockchainRecordBallotResponse.builder().success(true).transactionHash("0xabc").build());
+    }
+
+    @Test
+    void castBallot_StatementCountDoesNotGrowWithVoterRoll() throws Exception {
+        Measurement<CastBallotResponse> smallRoll = castInListedElection(10);
+        Measurement<CastBallotResponse> largeRoll = castInListedElection(1000);
+
+        assertTrue(smallRoll.result().isSuccess(), smallRoll.result().getErrorReason());
+        assertTrue(largeRoll.result().isSuccess(), largeRoll.result().getErrorReason());
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "castBallot", smallRoll);
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "castBallot", largeRoll);
+        assertEquals(smallRoll.statements(), largeRoll.statements());
+        assertEquals(smallRoll.rowsFetched(), largeRoll.rowsFetched());
+    }
+
+    @Test
+    void castBallot_UnlistedElectionWithinBudget() throws Exception {
+        Election election = createElection("unlisted", 3);
+        User warmUp = createUser();
+        User voter = createUser();
+        ballotService.castBallot(castRequest(election), warmUp.getUserEmail());
+
+        Measurement<CastBallotResponse> measurement = PerformanceBudgets.measure(
+                () -> ballotService.castBallot(castRequest(election), voter.getUserEmail()));
+
+        assertTrue(measurement.result().isSuccess(), measurement.result().getErrorReason());
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "castBallot", measurement);
+    }
+
+    @Test
+    void castEncryptedBallot_StatementCountDoesNotGrowWithVoterRoll() throws Exception {
+        Measurement<CastBallotResponse> smallRoll = castEncryptedInListedElection(10);
+        Measurement<CastBallotResponse> largeRoll = castEncryptedInListedElection(1000);
+
+        assertTrue(smallRoll.result().isSuccess(), smallRoll.result().getMessage());
+        assertTrue(largeRoll.result().isSuccess(), largeRoll.result().getMessage());
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "castEncryptedBallot", largeRoll);
+        assertEquals(smallRoll.statements(), largeRoll.statements());
+        assertEquals(smallRoll.rowsFetched(), largeRoll.rowsFetched());
+    }
+
+    @Test
+    void checkEligibility_StatementCountDoesNotGrowWithVoterRoll() throws Exception {
+        Measurement<EligibilityCheckResponse> smallRoll = checkEligibilityInListedElection(10);
+        Measurement<EligibilityCheckResponse> largeRoll = checkEligibilityInListedElection(1000);
+
+        assertTrue(largeRoll.result().isEligible());
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "checkEligibility", largeRoll);
+        assertEquals(smallRoll.statements(), largeRoll.statements());
+        assertEquals(smallRoll.rowsFetched(), largeRoll.rowsFetched());
+    }
+
+    @Test
+    void electionReads_DoNotLoadTheEncryptedTally() throws Exception {
+        Election election = createElection("unlisted", 3);
+        electionCryptoArtifactsRepository.save(ElectionCryptoArtifacts.builder()
+                .electionId(election.getElectionId())
+                .encryptedTally("{\"cast_ballot_ids\": [\"" + "b".repeat(TALLY_CHARS) + "\"]}")
+                .build());
+        User warmUp = createUser();
+        User voter = createUser();
+        ballotService.castBallot(castRequest(election), warmUp.getUserEmail());
+        electionService.getElectionById(election.getElectionId(), election.getAdminEmail());
+        electionService.getAllAccessibleElections(warmUp.getUserEmail());
+
+        Measurement<CastBallotResponse> cast = PerformanceBudgets.measure(
+                () -> ballotService.castBallot(castRequest(election), voter.getUserEmail()));
+        Measurement<ElectionDetailResponse> details = PerformanceBudgets.measure(
+                () -> electionService.getElectionById(election.getElectionId(), election.getAdminEmail()));
+        Measurement<List<ElectionResponse>> listing = PerformanceBudgets.measure(
+                () -> electionService.getAllAccessibleElections(voter.getUserEmail()));
+
+        assertTrue(cast.result().isSuccess(), cast.result().getErrorReason());
+        PerformanceBudgets.assertWithinBudget(BallotService.class, "castBallot", cast);
+        assertTrue(details.result().getHasEncryptedTally());
+        PerformanceBudgets.assertWithinBudget(ElectionService.class, "getElectionById", details);
+        assertTrue(listing.result().stream().anyMatch(listed -> listed.getElectionId().equals(election.getElectionId())));
+        PerformanceBudgets.assertWithinBudget(ElectionService.class, "getAllAccessibleElections", listing);
+        assertTrue(listing.bytesFetched() < TALLY_CHARS, listing.bytesFetched() + " bytes read");
+    }
+
+    @Test
+    void getElectionById_CountsSubmittedGuardiansFromTheRoster() throws Exception {
+        Election election = createElection("listed", 3);
+        List<Guardian> guardians = guardianRepository.findByElectionId(election.getElectionId());
+        guardians.get(0).setTallyShare("{\"share\": \"" + "a".repeat(TALLY_CHARS / 10) + "\"}");
+        guardians.get(1).setTallyShare("   ");
+        guardianRepository.saveAll(guardians);
+        electionService.getElectionById(election.getElectionId(), election.getAdminEmail());
+
+        Measurement<ElectionDetailResponse> details = PerformanceBudgets.measure(
+                () -> electionService.getElectionById(election.getElectionId(), election.getAdminEmail()));
+
+        assertEquals(3, details.result().getTotalGuardians());
+        assertEquals(1, details.result().getGuardiansSubmitted());
+        PerformanceBudgets.assertWithinBudget(ElectionService.class, "getElectionById", details);
+    }
+
+    @Test
+    void submittedBallots_AreStoredInTheCompactForm() throws Exception {
+        Election election = createElection("listed", 3);
+        Long electionId = election.getElectionId();
+        String json = castEncryptedRequest(election, "stored-ballot").getEncrypted_ballot();
+        submittedBallotRepository.save(SubmittedBallot.builder().electionId(electionId).cipherText(json).build());
+        submittedBallotRepository.findCipherTextsByElectionId(electionId);
+
+        Measurement<List<String>> read = PerformanceBudgets.measure(
+                () -> submittedBallotRepository.findCipherTextsByElectionId(electionId));
+        List<SubmittedBallotCipherText> streamed = new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<SubmittedBallotCipherText> ballots =
+                    submittedBallotRepository.streamCipherTextsByElectionId(electionId)) {
+                return ballots.toList();
+            }
+        });
+
+        assertEquals(List.of(json), read.result());
+        assertTrue(read.bytesFetched() < json.length() * 0.55, read.bytesFetched() + " bytes read");
+        assertTrue(submittedBallotRepository.existsByElectionIdAndCipherText(electionId, json));
+        assertEquals(1, streamed.size());
+        assertEquals(BallotJson.fromJson(json), BallotCodec.decodeBallot(streamed.get(0).cipherText()));
+    }
+
+    @Test
+    void getGuardiansForVerification_StatementCountDoesNotGrowWithGuardians() throws Exception {
+        Election three = createElection("listed", 3);
+        Election nine = createElection("listed", 9);
+        electionService.getGuardiansForVerification(three.getElectionId());
+
+        Measurement<List<Map<String, Object>>> small = PerformanceBudgets.measure(
+                () -> electionService.getGuardiansForVerification(three.getElectionId()));
+        Measurement<List<Map<String, Object>>> large = PerformanceBudgets.measure(
+                () -> electionService.getGuardiansForVerification(nine.getElectionId()));
+
+        assertEquals(9, large.result().size());
+        assertTrue(large.result().stream().allMatch(guardian -> guardian.get("userEmail") != null));
+        PerformanceBudgets.assertWithinBudget(ElectionService.class, "getGuardiansForVerification", large);
+        assertEquals(small.statements(), large.statements());
+    }
+
+    @Test
+    void getCompensatedDecryptionsForVerification_StatementCountDoesNotGrowWithShares() throws Exception {
+        Election three = createElection("listed", 3);
+        Election nine = createElection("listed", 9);
+        addCompensatedDecryptions(three, 1);
+        addCompensatedDecryptions(nine, 4);
+        electionService.getCompensatedDecryptionsForVerification(three.getElectionId());
+
+        Measurement<List<Map<String, Object>>> small = PerformanceBudgets.measure(
+                () -> electionService.getCompensatedDecryptionsForVerification(three.getElectionId()));
+        Measurement<List<Map<String, Object>>> large = PerformanceBudgets.measure(
+                () -> electionService.getCompensatedDecryptionsForVerification(nine.getElectionId()));
+
+        assertEquals(4 * 5, large.result().size());
+        assertTrue(large.result().stream().allMatch(share -> share.get("missingGuardianEmail") != null
+                && share.get("compensatingGuardianEmail") != null));
+        PerformanceBudgets.assertWithinBudget(ElectionService.class, "getCompensatedDecryptionsForVerification",
+                large);
+        assertEquals(small.statements(), large.statements());
+    }
+
+    private Measurement<CastBallotResponse> castInListedElection(int rollSize) throws Exception {
+        Election election = createElection("listed", 3);
+        List<User> voters = createRoll(election, rollSize);
+        // Warm-up call so the measured call does not pay for first-use costs
+        ballotService.castBallot(castRequest(election), voters.get(0).getUserEmail());
+        return PerformanceBudgets.measure(
+                () -> ballotService.castBallot(castRequest(election), voters.get(1).getUserEmail()));
+    }
+
+    private Measurement<CastBallotResponse> castEncryptedInListedElection(int rollSize) throws Exception {
+        Election election = createElection("listed", 3);
+        List<User> voters = createRoll(election, rollSize);
+        ballotService.castEncryptedBallot(castEncryptedRequest(election, "warm-up-" + rollSize),
+                voters.get(0).getUserEmail());
+        // Encrypt outside the measurement, the client does that part
+        CastEncryptedBallotRequest request = castEncryptedRequest(election, "measured-" + rollSize);
+        return PerformanceBudgets.measure(() -> ballotService.castEncryptedBallot(request, voters.get(1).getUserEmail()));
+    }
+
+    private Measurement<EligibilityCheckResponse> checkEligibilityInListedElection(int rollSize) throws Exception {
+        Election election = createElection("listed", 3);
+        List<User> voters = createRoll(election, rollSize);
+        EligibilityCheckRequest request = EligibilityCheckRequest.builder().electionId(election.getElectionId()).build();
+        ballotService.checkEligibility(request, voters.get(0).getUserEmail());
+        return PerformanceBudgets.measure(() -> ballotService.checkEligibility(request, voters.get(1).getUserEmail()));
+    }
+
+    private CastBallotRequest castRequest(Election election) {
+        return CastBallotRequest.builder()
+                .electionId(election.getElectionId())
+                .selectedCandidate(CANDIDATES.get(0))
+                .botDetection(CastBallotRequest.BotDetectionData.builder()
+                        .isBot(false)
+                        .requestId("budget")
+                        .timestamp(Instant.now().toString())
+                        .build())
+                .build();
+    }
+
+    private CastEncryptedBallotRequest castEncryptedRequest(Election election, String trackingCode) {
+        ElectionManifest manifest = ElectionManifest.create(
+                CANDIDATES.stream().map(candidate -> candidate + " Party").toList(), CANDIDATES);
+        ElectionContext context = ElectionContext.create(election.getNumberOfGuardians(),
+                election.getElectionQuorum(), JOINT_PUBLIC_KEY, new BigInteger(election.getBaseHash()),
+                manifest.getManifestHash());
+        CiphertextBallot ballot = BallotEncryptor.encrypt(manifest, context, trackingCode, CANDIDATES.get(0));
+        return CastEncryptedBallotRequest.builder()
+                .electionId(election.getElectionId())
+                .encrypted_ballot(BallotJson.toJson(ballot.withoutNonces()))
+                .ballot_hash(Group.toHex(ballot.cryptoHash()))
+                .ballot_tracking_code(trackingCode)
+                .build();
+    }
+
+    /** Two real voters at the front of the roll, the rest filler rows for other user IDs. */
+    private List<User> createRoll(Election election, int rollSize) {
+        List<User> voters = List.of(createUser(), createUser());
+        List<AllowedVoter> roll = new ArrayList<>();
+        for (User voter : voters) {
+            roll.add(AllowedVoter.builder().electionId(election.getElectionId()).userId(voter.getUserId())
+                    .hasVoted(false).build());
+        }
+        for (int i = voters.size(); i < rollSize; i++) {
+            roll.add(AllowedVoter.builder().electionId(election.getElectionId()).userId(1_000_000 + i)
+                    .hasVoted(false).build());
+        }
+        allowedVoterRepository.saveAll(roll);
+        return voters;
+    }
+
+    private Election createElection(String eligibility, int guardians) {
+        Election election = electionRepository.save(Election.builder()
+                .electionTitle("Budget election")
+                .numberOfGuardians(guardians)
+                .electionQuorum(Math.max(1, guardians - 1))
+                .noOfCandidates(CANDIDATES.size())
+                .jointPublicKey(JOINT_PUBLIC_KEY.toString())
+                .baseHash("987654321")
+                .status("active")
+                .startingTime(Instant.now().minusSeconds(3600))
+                .endingTime(Instant.now().plusSeconds(3600))
+                .adminEmail("admin@amarvote.org")
+                .privacy("public")
+                .eligibility(eligibility)
+                .build());
+        for (String candidate : CANDIDATES) {
+            electionChoiceRepository.save(ElectionChoice.builder()
+                    .electionId(election.getElectionId())
+                    .optionTitle(candidate)
+                    .partyName(candidate + " Party")
+                    .totalVotes(0)
+                    .build());
+        }
+        for (int sequence = 1; sequence <= guardians; sequence++) {
+            guardianRepository.save(Guardian.builder()
+                    .electionId(election.getElectionId())
+                    .userId(createUser().getUserId())
+                    .guardianPublicKey("key-" + sequence)
+                    .sequenceOrder(sequence)
+                    .decryptedOrNot(false)
+                    .build());
+        }
+        return election;
+    }
+
+    /** Every guardian after the first {@code present} compensated for by each present guardian. */
+    private void addCompensatedDecryptions(Election election, int present) {
+        for (int compensating = 1; compensating <= present; compensating++) {
+            for (int missing = present + 1; missing <= election.getNumberOfGuardians(); missing++) {
+                compensatedDecryptionRepository.save(CompensatedDecryption.builder()
+                        .electionId(election.getElectionId())
+                        .compensatingGuardianSequence(compensating)
+                        .missingGuardianSequence(missing)
+                        .compensatedTallyShare("{}")
+                        .compensatedBallotShare("{}")
+                        .build());
+            }
+        }
+    }
+
+    private User createUser() {
+        int id = USER_SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setUserEmail("budget-" + id + "@amarvote.org");
+        user.setUserName("Budget User " + id);
+        user.setPasswordHash("unused");
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,214 @@
+package com.amarvote.amarvote.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amarvote.amarvote.dto.BlockchainRecordBallotResponse;
+import com.amarvote.amarvote.dto.CastBallotRequest;
+import com.amarvote.amarvote.dto.CastBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
+import com.amarvote.amarvote.exception.BallotCastOverloadedException;
+import com.amarvote.amarvote.metrics.ElectionMetrics;
+import com.amarvote.amarvote.model.Election;
+import com.amarvote.amarvote.model.ElectionChoice;
+import com.amarvote.amarvote.model.User;
+import com.amarvote.amarvote.service.BallotService.CastContext;
+import com.amarvote.amarvote.service.BallotService.CastPreparation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBallotCastServiceTest {
+
+    @Mock
+    private BallotService ballotService;
+
+    @Mock
+    private BlockchainService blockchainService;
+
+    private SimpleMeterRegistry registry;
+    private ReactiveBallotCastService service;
+    private CastBallotRequest request;
+    private CastContext context;
+    private ElectionGuardBallotResponse encrypted;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        request = CastBallotRequest.builder().electionId(7L).selectedCandidate("Candidate A").build();
+        User user = new User();
+        user.setUserId(3);
+        Election election = Election.builder()
+                .electionId(7L)
+                .startingTime(Instant.now().minusSeconds(60))
+                .endingTime(Instant.now().plusSeconds(3600))
+                .eligibility("listed")
+                .build();
+        ElectionChoice choice = ElectionChoice.builder().electionId(7L).optionTitle("Candidate A").partyName("Party A").build();
+        context = new CastContext(user, election, Optional.empty(), List.of(choice), "tracking-7-3");
+        encrypted = ElectionGuardBallotResponse.builder()
+                .status("success")
+                .ballot_hash("ballot-hash")
+                .encrypted_ballot("cipher")
+                .build();
+        lenient().when(ballotService.isEncrypted(any())).thenCallRealMethod();
+        lenient().when(ballotService.encryptionFailed()).thenCallRealMethod();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void castBallot_StoresThenAnchorsWithoutWaitingForTheAnchor() {
+        service = service(10, 2, 10);
+        when(ballotService.prepareCast(request, "voter@amarvote.org")).thenReturn(new CastPreparation(context, null));
+        when(ballotService.encryptBallotAsync(context, "Candidate A")).thenReturn(Mono.just(encrypted));
+        when(ballotService.completeCast(context, encrypted)).thenReturn(CastBallotResponse.builder()
+                .success(true).trackingCode("tracking-7-3").hashCode("ballot-hash").build());
+        when(blockchainService.recordBallotAsync("7", "tracking-7-3", "ballot-hash"))
+                .thenReturn(Mono.<BlockchainRecordBallotResponse>never());
+
+        CastBallotResponse response = service.castBallot(request, "voter@amarvote.org").block(Duration.ofSeconds(5));
+
+        assertTrue(response.isSuccess());
+        assertEquals("tracking-7-3", response.getTrackingCode());
+        verify(blockchainService).recordBallotAsync("7", "tracking-7-3", "ballot-hash");
+        assertEquals(0.0, awaitInFlight(0));
+    }
+
+    @Test
+    void castBallot_RejectedPreparationOrEncryption_EndsTheCast() {
+        service = service(10, 2, 10);
+        CastBallotResponse alreadyVoted = CastBallotResponse.builder().success(false).errorReason("Already voted").build();
+        when(ballotService.prepareCast(request, "voter@amarvote.org")).thenReturn(new CastPreparation(null, alreadyVoted));
+
+        assertEquals("Already voted",
+                service.castBallot(request, "voter@amarvote.org").block(Duration.ofSeconds(5)).getErrorReason());
+
+        when(ballotService.prepareCast(request, "other@amarvote.org")).thenReturn(new CastPreparation(context, null));
+        when(ballotService.encryptBallotAsync(context, "Candidate A"))
+                .thenReturn(Mono.just(ElectionGuardBallotResponse.builder().status("error").build()));
+
+        CastBallotResponse response = service.castBallot(request, "other@amarvote.org").block(Duration.ofSeconds(5));
+        assertFalse(response.isSuccess());
+        assertEquals("Encryption failed", response.getErrorReason());
+        verify(ballotService, never()).completeCast(any(), any());
+        verify(blockchainService, never()).recordBallotAsync(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void castBallot_BeyondMaxInFlight_IsRejectedUntilACastFinishes() {
+        service = service(2, 2, 10);
+        Sinks.One<ElectionGuardBallotResponse> slowEncryption = Sinks.one();
+        when(ballotService.prepareCast(eq(request), anyString())).thenReturn(new CastPreparation(context, null));
+        when(ballotService.encryptBallotAsync(context, "Candidate A")).thenReturn(slowEncryption.asMono());
+        when(ballotService.completeCast(context, encrypted)).thenReturn(CastBallotResponse.builder().success(true).build());
+        when(blockchainService.recordBallotAsync(anyString(), anyString(), anyString()))
+                .thenReturn(Mono.just(BlockchainRecordBallotResponse.builder().success(true).build()));
+
+        Mono<CastBallotResponse> first = service.castBallot(request, "a@amarvote.org").cache();
+        Mono<CastBallotResponse> second = service.castBallot(request, "b@amarvote.org").cache();
+        first.subscribe();
+        second.subscribe();
+        verify(ballotService, timeout(5000).times(2)).encryptBallotAsync(context, "Candidate A");
+        assertEquals(2.0, registry.get(ReactiveBallotCastService.IN_FLIGHT).gauge().value());
+
+        assertThrows(BallotCastOverloadedException.class,
+                () -> service.castBallot(request, "c@amarvote.org").block(Duration.ofSeconds(5)));
+        assertEquals(1.0, registry.get(ReactiveBallotCastService.REJECTED).counter().count());
+
+        slowEncryption.tryEmitValue(encrypted);
+        assertTrue(first.block(Duration.ofSeconds(5)).isSuccess());
+        assertTrue(second.block(Duration.ofSeconds(5)).isSuccess());
+        assertEquals(0.0, awaitInFlight(0));
+        assertTrue(service.castBallot(request, "c@amarvote.org").block(Duration.ofSeconds(5)).isSuccess());
+    }
+
+    @Test
+    void castBallot_TakesASlotPerSubscription() {
+        service = service(1, 1, 10);
+        when(ballotService.prepareCast(eq(request), anyString()))
+                .thenReturn(new CastPreparation(null, CastBallotResponse.builder().success(false).build()));
+
+        // Assembled but never subscribed, e.g. a request abandoned before the response was written
+        service.castBallot(request, "a@amarvote.org");
+        assertEquals(0.0, registry.get(ReactiveBallotCastService.IN_FLIGHT).gauge().value());
+
+        Mono<CastBallotResponse> cast = service.castBallot(request, "b@amarvote.org");
+        assertFalse(cast.block(Duration.ofSeconds(5)).isSuccess());
+        assertEquals(0.0, awaitInFlight(0));
+        assertFalse(cast.block(Duration.ofSeconds(5)).isSuccess());
+        assertEquals(0.0, awaitInFlight(0));
+        assertEquals(0.0, registry.get(ReactiveBallotCastService.REJECTED).counter().count());
+    }
+
+    @Test
+    void castBallot_DatabaseQueueFull_IsRejected() throws Exception {
+        service = service(10, 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ballotService.prepareCast(eq(request), anyString())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return new CastPreparation(null, CastBallotResponse.builder().success(false).build());
+        });
+
+        Mono<CastBallotResponse> running1 = service.castBallot(request, "a@amarvote.org").cache();
+        running1.subscribe();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Mono<CastBallotResponse> queued = service.castBallot(request, "b@amarvote.org").cache();
+        queued.subscribe();
+
+        assertThrows(BallotCastOverloadedException.class,
+                () -> service.castBallot(request, "c@amarvote.org").block(Duration.ofSeconds(5)));
+
+        release.countDown();
+        running1.block(Duration.ofSeconds(5));
+        queued.block(Duration.ofSeconds(5));
+    }
+
+    // Permits are released in doFinally, just after the response has reached the subscriber
+    private double awaitInFlight(double expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        double inFlight = registry.get(ReactiveBallotCastService.IN_FLIGHT).gauge().value();
+        while (inFlight != expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+            inFlight = registry.get(ReactiveBallotCastService.IN_FLIGHT).gauge().value();
+        }
+        return inFlight;
+    }
+
+    private ReactiveBallotCastService service(int maxInFlight, int databaseThreads, int databaseQueue) {
+        return new ReactiveBallotCastService(ballotService, blockchainService, new ElectionMetrics(registry),
+                registry, maxInFlight, databaseThreads, databaseQueue, 2);
+    }
+}
@@ -0,0 +1,25 @@
+package com.amarvote.amarvote.support.budget;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Wraps the application data source with {@link SqlCounter} so budget tests
+ * can count statements and rows.
+ */
+@TestConfiguration
+public class BudgetTestConfig {
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.amarvote.amarvote.support.budget;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.amarvote.amarvote.annotation.PerformanceBudget;
+
+/**
+ * Measures one service call (SQL statements, rows and bytes read, bytes
+ * allocated on the calling thread) and checks it against the {@link PerformanceBudget} declared
+ * on the service method. Requires the data source to be wrapped by
+ * {@link SqlCounter}, see {@link BudgetTestConfig}.
+ */
+public final class PerformanceBudgets {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private PerformanceBudgets() {
+    }
+
+    public record Measurement<T>(T result, long statements, long rowsFetched, long bytesFetched,
+            long allocatedBytes) {
+    }
+
+    public static <T> Measurement<T> measure(Callable<T> call) throws Exception {
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        SqlCounter.begin();
+        T result;
+        long[] counts;
+        try {
+            result = call.call();
+        } finally {
+            counts = SqlCounter.end();
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement<>(result, counts[0], counts[1], counts[2], allocated);
+    }
+
+    /** Fails if the measurement exceeds any dimension budgeted on {@code service.methodName}. */
+    public static void assertWithinBudget(Class<?> service, String methodName, Measurement<?> measurement) {
+        PerformanceBudget budget = budgetOf(service, methodName);
+        String call = service.getSimpleName() + "." + methodName;
+        System.out.println("[budget] " + call + ": " + measurement.statements() + " statements, "
+                + measurement.rowsFetched() + " rows, " + measurement.bytesFetched() + " bytes read, "
+                + measurement.allocatedBytes() + " bytes allocated");
+        if (budget.statements() >= 0) {
+            assertTrue(measurement.statements() <= budget.statements(), call + " executed "
+                    + measurement.statements() + " SQL statements, budget is " + budget.statements());
+        }
+        if (budget.rowsFetched() >= 0) {
+            assertTrue(measurement.rowsFetched() <= budget.rowsFetched(), call + " read "
+                    + measurement.rowsFetched() + " rows, budget is " + budget.rowsFetched());
+        }
+        if (budget.bytesFetched() >= 0) {
+            assertTrue(measurement.bytesFetched() <= budget.bytesFetched(), call + " read "
+                    + measurement.bytesFetched() + " bytes, budget is " + budget.bytesFetched());
+        }
+        if (budget.allocatedBytes() >= 0) {
+            assertTrue(measurement.allocatedBytes() <= budget.allocatedBytes(), call + " allocated "
+                    + measurement.allocatedBytes() + " bytes, budget is " + budget.allocatedBytes());
+        }
+    }
+
+    private static PerformanceBudget budgetOf(Class<?> service, String methodName) {
+        return Arrays.stream(service.getDeclaredMethods())
+                .filter(method -> method.getName().equals(methodName))
+                .map(method -> method.getAnnotation(PerformanceBudget.class))
+                .filter(budget -> budget != null)
+                .findFirst()
+                .orElseGet(() -> fail("No @PerformanceBudget on " + service.getSimpleName() + "." + methodName));
+    }
+}
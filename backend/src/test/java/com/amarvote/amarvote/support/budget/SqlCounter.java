@@ -0,0 +1,132 @@
+package com.amarvote.amarvote.support.budget;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts JDBC statements executed, result-set rows read and the size of the
+ * string and binary values read from them on the current thread while a
+ * recording is open. Works below Hibernate, so derived queries,
+ * JPQL, native SQL, lazy loads and flush-time inserts/updates all count.
+ */
+public final class SqlCounter {
+
+    /** Statements, rows and bytes seen since {@link #begin()}; {@code null} when not recording. */
+    private static final ThreadLocal<long[]> ACTIVE = new ThreadLocal<>();
+
+    private SqlCounter() {
+    }
+
+    public static void begin() {
+        ACTIVE.set(new long[3]);
+    }
+
+    /** Ends the recording and returns {@code [statements, rows, bytes]}. */
+    public static long[] end() {
+        long[] counts = ACTIVE.get();
+        ACTIVE.remove();
+        return counts == null ? new long[3] : counts;
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static void add(int index) {
+        add(index, 1);
+    }
+
+    private static void add(int index, long amount) {
+        long[] counts = ACTIVE.get();
+        if (counts != null) {
+            counts[index] += amount;
+        }
+    }
+
+    /** Characters count as bytes; the large columns are ASCII JSON and hex. */
+    private static long sizeOf(Object value) throws SQLException {
+        if (value instanceof String string) {
+            return string.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Clob clob) {
+            return clob.length();
+        }
+        if (value instanceof Blob blob) {
+            return blob.length();
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        Class<?> proxied = target instanceof java.sql.CallableStatement ? java.sql.CallableStatement.class
+                : target instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class
+                : type;
+        return (T) Proxy.newProxyInstance(SqlCounter.class.getClassLoader(), new Class<?>[] {proxied},
+                new Counting(target));
+    }
+
+    private static final class Counting implements InvocationHandler {
+
+        private final Object target;
+
+        Counting(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            String name = method.getName();
+            if (target instanceof Connection && result instanceof Statement statement) {
+                return proxy(Statement.class, statement);
+            }
+            if (target instanceof Statement) {
+                if (name.startsWith("execute")) {
+                    add(0);
+                }
+                // Generated keys are a by-product of inserts, not fetched rows
+                if (result instanceof ResultSet resultSet && !name.equals("getGeneratedKeys")) {
+                    return proxy(ResultSet.class, resultSet);
+                }
+            }
+            if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+                add(1);
+            }
+            if (target instanceof ResultSet && name.startsWith("get")) {
+                add(2, sizeOf(result));
+            }
+            return result;
+        }
+    }
+}
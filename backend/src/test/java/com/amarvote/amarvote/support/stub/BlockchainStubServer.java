@@ -0,0 +1,116 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * In-JVM stand-in for the Flask/Ganache blockchain service. Keeps elections and
+ * ballots in memory and answers with the same JSON the real service returns,
+ * including the 400/404 cases {@code BlockchainService} handles.
+ */
+public class BlockchainStubServer extends StubHttpServer {
+
+    private record RecordedBallot(String ballotHash, long timestamp) {
+    }
+
+    private final Set<String> elections = ConcurrentHashMap.newKeySet();
+    private final Map<String, RecordedBallot> ballots = new ConcurrentHashMap<>();
+    private final AtomicLong blockNumber = new AtomicLong();
+
+    public BlockchainStubServer(StubBehaviour behaviour) {
+        super(behaviour);
+    }
+
+    @Override
+    public BlockchainStubServer start() {
+        super.start();
+        return this;
+    }
+
+    @Override
+    protected void registerRoutes() {
+        route("/create-election", (path, body) -> createElection(body));
+        route("/record-ballot", (path, body) -> recordBallot(body));
+        route("/ballot/", (path, body) -> ballotInfo(path));
+        route("/health", (path, body) -> Map.of("status", "healthy"));
+    }
+
+    public int getRecordedBallotCount() {
+        return ballots.size();
+    }
+
+    private Object createElection(JsonNode body) {
+        String electionId = body.path("election_id").asText().trim();
+        if (electionId.isEmpty()) {
+            return new Reply(400, error("Missing required field: election_id"));
+        }
+        if (!elections.add(electionId)) {
+            return new Reply(400, error("Election already exists"));
+        }
+        Map<String, Object> response = transaction("Election created successfully");
+        response.put("election_id", electionId);
+        return new Reply(201, response);
+    }
+
+    private Object recordBallot(JsonNode body) {
+        String electionId = body.path("election_id").asText().trim();
+        String trackingCode = body.path("tracking_code").asText().trim();
+        String ballotHash = body.path("ballot_hash").asText().trim();
+        if (electionId.isEmpty() || trackingCode.isEmpty() || ballotHash.isEmpty()) {
+            return new Reply(400, error("Missing required fields: election_id, tracking_code, ballot_hash"));
+        }
+        // Tests often skip /create-election, so register the election on first use.
+        elections.add(electionId);
+        RecordedBallot previous = ballots.putIfAbsent(key(electionId, trackingCode),
+                new RecordedBallot(ballotHash, System.currentTimeMillis() / 1000));
+        if (previous != null) {
+            return new Reply(400, error("Ballot with this tracking code already exists"));
+        }
+        return new Reply(201, transaction("Ballot recorded successfully"));
+    }
+
+    private Object ballotInfo(String path) {
+        String[] parts = path.substring("/ballot/".length()).split("/");
+        if (parts.length != 2) {
+            return new Reply(400, error("Expected /ballot/{election_id}/{tracking_code}"));
+        }
+        RecordedBallot ballot = ballots.get(key(parts[0], parts[1]));
+        if (ballot == null) {
+            return new Reply(404, error("Ballot not found"));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("exists", true);
+        result.put("election_id", parts[0]);
+        result.put("ballot_hash", ballot.ballotHash());
+        result.put("timestamp", ballot.timestamp());
+        result.put("tracking_code", parts[1]);
+        return Map.of("status", "success", "result", result);
+    }
+
+    private Map<String, Object> transaction(String message) {
+        long block = blockNumber.incrementAndGet();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("message", message);
+        response.put("transaction_hash", "0x" + HexFormat.of().formatHex(
+                ByteBuffer.allocate(32).putLong(24, block).array()));
+        response.put("block_number", block);
+        response.put("timestamp", System.currentTimeMillis() / 1000);
+        return response;
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("status", "error", "message", message);
+    }
+
+    private static String key(String electionId, String trackingCode) {
+        return electionId + "/" + trackingCode;
+    }
+}
@@ -0,0 +1,248 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * In-JVM stand-in for the Python ElectionGuard microservice. Serves the routes
+ * the backend calls with response bodies of the same shape and size as the
+ * real service, without doing any cryptography.
+ *
+ * <p>Ballots created through {@code /create_encrypted_ballot} remember the
+ * chosen candidate by ballot id, so {@code /combine_decryption_shares} returns
+ * the true tally of the ballots it is given. Guardian data "encrypted" through
+ * {@code /api/encrypt} round-trips through {@code /api/decrypt}.
+ */
+public class ElectionGuardStubServer extends StubHttpServer {
+
+    private final StubPayloads payloads;
+    private final Map<String, String> candidateByBallotId = new ConcurrentHashMap<>();
+    private final Random credentialRandom;
+
+    public ElectionGuardStubServer(StubBehaviour behaviour) {
+        super(behaviour);
+        this.payloads = new StubPayloads(objectMapper, behaviour.getSeed());
+        this.credentialRandom = new Random(behaviour.getSeed() ^ 0x5DEECE66DL);
+    }
+
+    @Override
+    public ElectionGuardStubServer start() {
+        super.start();
+        return this;
+    }
+
+    @Override
+    protected void registerRoutes() {
+        route("/setup_guardians", (path, body) -> setupGuardians(body));
+        route("/create_encrypted_ballot", (path, body) -> createEncryptedBallot(body));
+        route("/benaloh_challenge", (path, body) -> benalohChallenge(body));
+        route("/create_encrypted_tally", (path, body) -> createEncryptedTally(body));
+        route("/create_partial_decryption", (path, body) -> createPartialDecryption(body));
+        route("/create_compensated_decryption", (path, body) -> createCompensatedDecryption(body));
+        route("/combine_decryption_shares", (path, body) -> combineDecryptionShares(body));
+        route("/api/encrypt", (path, body) -> encrypt(body));
+        route("/api/decrypt", (path, body) -> decrypt(body));
+        route("/health", (path, body) -> Map.of("status", "healthy"));
+    }
+
+    private Map<String, Object> setupGuardians(JsonNode body) throws Exception {
+        int guardians = Math.max(1, body.path("number_of_guardians").asInt(1));
+        int quorum = Math.max(1, body.path("quorum").asInt(1));
+
+        List<String> polynomials = new ArrayList<>();
+        List<String> privateKeys = new ArrayList<>();
+        List<String> publicKeys = new ArrayList<>();
+        List<String> guardianData = new ArrayList<>();
+        for (int i = 1; i <= guardians; i++) {
+            String guardianId = String.valueOf(i);
+            ObjectNode publicKey = payloads.electionPublicKey(guardianId, i, quorum);
+            polynomials.add(objectMapper.writeValueAsString(payloads.polynomial(quorum)));
+            privateKeys.add(objectMapper.writeValueAsString(Map.of("owner_id", guardianId, "key", payloads.elementModQ())));
+            publicKeys.add(objectMapper.writeValueAsString(publicKey));
+            ObjectNode data = objectMapper.createObjectNode();
+            data.put("id", guardianId);
+            data.put("sequence_order", i);
+            data.put("number_of_guardians", guardians);
+            data.put("quorum", quorum);
+            data.set("election_public_key", publicKey);
+            guardianData.add(objectMapper.writeValueAsString(data));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("joint_public_key", payloads.decimalModP());
+        response.put("commitment_hash", payloads.decimalModQ());
+        response.put("manifest", "{}");
+        response.put("polynomials", polynomials);
+        response.put("private_keys", privateKeys);
+        response.put("public_keys", publicKeys);
+        response.put("guardian_data", guardianData);
+        return response;
+    }
+
+    private Map<String, Object> createEncryptedBallot(JsonNode body) throws Exception {
+        String ballotId = body.path("ballot_id").asText();
+        String candidate = body.path("candidate_name").asText();
+        List<String> candidates = textList(body.path("candidate_names"));
+        candidateByBallotId.put(ballotId, candidate);
+
+        ObjectNode withNonce = payloads.encryptedBallot(ballotId, candidates, true);
+        ObjectNode published = withNonce.deepCopy();
+        stripNonces(published);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("ballot_id", ballotId);
+        response.put("ballot_status", "CAST");
+        response.put("ballot_hash", payloads.elementModQ());
+        response.put("encrypted_ballot", objectMapper.writeValueAsString(published));
+        response.put("encrypted_ballot_with_nonce", objectMapper.writeValueAsString(withNonce));
+        response.put("publication_status", "published_without_nonces");
+        response.put("nonces_available", false);
+        return response;
+    }
+
+    private Map<String, Object> benalohChallenge(JsonNode body) throws Exception {
+        JsonNode ballot = objectMapper.readTree(body.path("encrypted_ballot_with_nonce").asText());
+        String ballotId = ballot.path("object_id").asText();
+        String expected = body.path("candidate_name").asText();
+        String actual = candidateByBallotId.getOrDefault(ballotId, expected);
+        boolean match = actual.equals(expected);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("match", match);
+        response.put("message", match ? "Ballot choice verified" : "Ballot choice does not match");
+        response.put("ballot_id", ballotId);
+        response.put("verified_candidate", actual);
+        response.put("expected_candidate", expected);
+        return response;
+    }
+
+    private Map<String, Object> createEncryptedTally(JsonNode body) throws Exception {
+        List<String> candidates = textList(body.path("candidate_names"));
+        // The real service re-serializes each accepted ballot; echoing keeps the sizes identical.
+        List<String> submitted = textList(body.path("encrypted_ballots"));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("ciphertext_tally", objectMapper.writeValueAsString(payloads.ciphertextTally(candidates)));
+        response.put("submitted_ballots", submitted);
+        return response;
+    }
+
+    private Map<String, Object> createPartialDecryption(JsonNode body) throws Exception {
+        String guardianId = body.path("guardian_id").asText();
+        List<String> candidates = textList(body.path("candidate_names"));
+        int quorum = Math.max(1, body.path("quorum").asInt(1));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("tally_share", objectMapper.writeValueAsString(payloads.tallyShare(guardianId, candidates)));
+        response.put("ballot_shares", "{}");
+        response.put("guardian_public_key", objectMapper.writeValueAsString(
+                payloads.electionPublicKey(guardianId, body.path("sequence_order").asInt(1), quorum)));
+        return response;
+    }
+
+    private Map<String, Object> createCompensatedDecryption(JsonNode body) throws Exception {
+        String missingGuardianId = body.path("missing_guardian_id").asText();
+        List<String> candidates = textList(body.path("candidate_names"));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("compensated_tally_share",
+                objectMapper.writeValueAsString(payloads.tallyShare(missingGuardianId, candidates)));
+        response.put("compensated_ballot_shares", "{}");
+        return response;
+    }
+
+    private Map<String, Object> combineDecryptionShares(JsonNode body) throws Exception {
+        Map<String, Integer> votes = new LinkedHashMap<>();
+        textList(body.path("candidate_names")).forEach(name -> votes.put(name, 0));
+
+        List<String> ballotIds = new ArrayList<>();
+        for (String ballotJson : textList(body.path("submitted_ballots"))) {
+            String ballotId = objectMapper.readTree(ballotJson).path("object_id").asText();
+            ballotIds.add(ballotId);
+            String candidate = candidateByBallotId.get(ballotId);
+            if (candidate != null) {
+                votes.merge(candidate, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("results", objectMapper.writeValueAsString(payloads.results(votes, ballotIds)));
+        return response;
+    }
+
+    /**
+     * Wraps the plaintext like AES-GCM would (12-byte nonce, ciphertext, 16-byte
+     * tag) and returns credentials sized like the ML-KEM-1024 bundle.
+     */
+    private Map<String, Object> encrypt(JsonNode body) throws Exception {
+        byte[] plaintext = body.path("private_key").asText().getBytes(StandardCharsets.UTF_8);
+        byte[] sealed = new byte[12 + plaintext.length + 16];
+        byte[] pqPrivateKey = new byte[3168];
+        byte[] pqCiphertext = new byte[1568];
+        synchronized (credentialRandom) {
+            credentialRandom.nextBytes(sealed);
+            credentialRandom.nextBytes(pqPrivateKey);
+            credentialRandom.nextBytes(pqCiphertext);
+        }
+        System.arraycopy(plaintext, 0, sealed, 12, plaintext.length);
+
+        Base64.Encoder b64 = Base64.getEncoder();
+        Map<String, Object> credentials = new LinkedHashMap<>();
+        credentials.put("version", "1.0");
+        credentials.put("algorithm", "stub");
+        credentials.put("salt", b64.encodeToString(Arrays.copyOf(pqCiphertext, 32)));
+        credentials.put("pq_private_key", b64.encodeToString(pqPrivateKey));
+        credentials.put("pq_ciphertext", b64.encodeToString(pqCiphertext));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("encrypted_data", b64.encodeToString(sealed));
+        response.put("credentials", b64.encodeToString(objectMapper.writeValueAsBytes(credentials)));
+        return response;
+    }
+
+    private Map<String, Object> decrypt(JsonNode body) {
+        byte[] sealed = Base64.getDecoder().decode(body.path("encrypted_data").asText());
+        if (sealed.length < 28) {
+            throw new IllegalArgumentException("Encrypted data too short");
+        }
+        String plaintext = new String(sealed, 12, sealed.length - 28, StandardCharsets.UTF_8);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("private_key", plaintext);
+        return response;
+    }
+
+    private static void stripNonces(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            if (object.has("nonce")) {
+                object.putNull("nonce");
+            }
+        }
+        node.forEach(ElectionGuardStubServer::stripNonces);
+    }
+
+    private static List<String> textList(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(item -> values.add(item.asText()));
+        return values;
+    }
+}
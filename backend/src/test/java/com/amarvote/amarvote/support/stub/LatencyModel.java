@@ -0,0 +1,44 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.util.Random;
+
+/**
+ * Latency distribution applied by the stub servers before each response.
+ * Samples are in milliseconds and drawn from the stub's seeded random source
+ * so a run can be replayed exactly.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    long sampleMillis(Random random);
+
+    static LatencyModel none() {
+        return random -> 0L;
+    }
+
+    static LatencyModel fixed(long millis) {
+        return random -> millis;
+    }
+
+    static LatencyModel uniform(long minMillis, long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("maxMillis must be >= minMillis");
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+    }
+
+    /**
+     * Log-normal latency described by its median and 99th percentile, which is
+     * how ElectionGuard call timings are usually reported. Samples are capped at
+     * ten times the p99 so a single draw cannot stall a test.
+     */
+    static LatencyModel logNormal(long medianMillis, long p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Require 0 < median <= p99");
+        }
+        double mu = Math.log(medianMillis);
+        double sigma = (Math.log(p99Millis) - mu) / 2.326;
+        long cap = p99Millis * 10;
+        return random -> Math.min(cap, Math.round(Math.exp(mu + sigma * random.nextGaussian())));
+    }
+}
@@ -0,0 +1,135 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal SMTP server that accepts and discards every message. Election
+ * creation mails guardian credentials through {@code EmailService}, so
+ * offline runs point {@code spring.mail.host}/{@code spring.mail.port} here.
+ * Supports just enough of the protocol for JavaMail: EHLO, AUTH PLAIN/LOGIN,
+ * MAIL, RCPT, DATA, RSET, NOOP and QUIT.
+ */
+public class SmtpSinkServer implements AutoCloseable {
+
+    private final AtomicLong messagesAccepted = new AtomicLong();
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    public SmtpSinkServer start() {
+        try {
+            serverSocket = new ServerSocket(0, 256, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not bind SMTP sink", e);
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "SmtpSinkServer-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.submit(this::acceptLoop);
+        return this;
+    }
+
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getMessagesAccepted() {
+        return messagesAccepted.get();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> session(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            reply(out, "220 amarvote-smtp-sink ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> {
+                        reply(out, "250-amarvote-smtp-sink");
+                        reply(out, "250 AUTH PLAIN LOGIN");
+                    }
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "AUTH" -> authenticate(line, in, out);
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard message body
+                        }
+                        messagesAccepted.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException ignored) {
+            // client went away
+        }
+    }
+
+    private static void authenticate(String line, BufferedReader in, PrintWriter out) throws IOException {
+        String[] parts = line.split(" ");
+        if (parts.length >= 2 && "LOGIN".equalsIgnoreCase(parts[1])) {
+            if (parts.length < 3) {
+                reply(out, "334 VXNlcm5hbWU6");
+                in.readLine();
+            }
+            reply(out, "334 UGFzc3dvcmQ6");
+            in.readLine();
+        } else if (parts.length == 2) {
+            reply(out, "334 ");
+            in.readLine();
+        }
+        reply(out, "235 Authentication successful");
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,37 @@
+package com.amarvote.amarvote.support.stub;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Per-server knobs for the stub ElectionGuard and blockchain services.
+ */
+@Getter
+@Builder
+public class StubBehaviour {
+
+    @Builder.Default
+    private LatencyModel latency = LatencyModel.none();
+
+    /** Probability (0..1) that a request is answered with an HTTP 500 error body. */
+    @Builder.Default
+    private double errorRate = 0.0;
+
+    /** Maximum number of requests processed at once, like the worker count of the Python service. */
+    @Builder.Default
+    private int maxConcurrency = 4;
+
+    /**
+     * When true, requests over the concurrency cap get an immediate 503;
+     * otherwise they queue until a slot frees up.
+     */
+    @Builder.Default
+    private boolean rejectWhenSaturated = false;
+
+    @Builder.Default
+    private long seed = 42L;
+
+    public static StubBehaviour instant() {
+        return StubBehaviour.builder().build();
+    }
+}
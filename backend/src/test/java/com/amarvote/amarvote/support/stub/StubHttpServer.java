@@ -0,0 +1,200 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Base class for the in-JVM stand-ins of the external services. Binds to an
+ * ephemeral loopback port, applies the configured latency, error rate and
+ * concurrency cap to every route, and keeps simple counters that tests can
+ * assert on.
+ */
+public abstract class StubHttpServer implements AutoCloseable {
+
+    /** Produces the JSON response for a request; path is the full request path. */
+    @FunctionalInterface
+    protected interface Route {
+        Object handle(String path, JsonNode body) throws Exception;
+    }
+
+    /** Lets a route answer with a status other than 200. */
+    protected record Reply(int status, Object body) {
+    }
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+    protected final StubBehaviour behaviour;
+
+    private final Random random;
+    private final Semaphore slots;
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    protected StubHttpServer(StubBehaviour behaviour) {
+        this.behaviour = behaviour;
+        this.random = new Random(behaviour.getSeed());
+        this.slots = new Semaphore(Math.max(1, behaviour.getMaxConcurrency()), true);
+    }
+
+    /** Registers the routes served by this stub. */
+    protected abstract void registerRoutes();
+
+    public StubHttpServer start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not bind stub server", e);
+        }
+        // Accept threads are not the bottleneck: the semaphore models service capacity.
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, getClass().getSimpleName() + "-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        registerRoutes();
+        server.start();
+        return this;
+    }
+
+    protected void route(String pathPrefix, Route route) {
+        server.createContext(pathPrefix, exchange -> serve(exchange, pathPrefix, route));
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount(String pathPrefix) {
+        AtomicLong count = requestCounts.get(pathPrefix);
+        return count == null ? 0 : count.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void serve(HttpExchange exchange, String pathPrefix, Route route) throws IOException {
+        requestCounts.computeIfAbsent(pathPrefix, k -> new AtomicLong()).incrementAndGet();
+        try (exchange) {
+            byte[] requestBody = readBody(exchange.getRequestBody());
+
+            boolean acquired;
+            if (behaviour.isRejectWhenSaturated()) {
+                acquired = slots.tryAcquire();
+            } else {
+                slots.acquireUninterruptibly();
+                acquired = true;
+            }
+            if (!acquired) {
+                rejectedCount.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                send(exchange, 503, errorBody("Service saturated"));
+                return;
+            }
+
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            try {
+                long delay;
+                boolean fail;
+                synchronized (random) {
+                    delay = behaviour.getLatency().sampleMillis(random);
+                    fail = random.nextDouble() < behaviour.getErrorRate();
+                }
+                if (delay > 0) {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                }
+                if (fail) {
+                    errorCount.incrementAndGet();
+                    send(exchange, 500, errorBody("Injected stub failure"));
+                    return;
+                }
+
+                JsonNode body = requestBody.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(requestBody);
+                Object response = route.handle(exchange.getRequestURI().getPath(), body);
+                int status = 200;
+                if (response instanceof Reply reply) {
+                    status = reply.status();
+                    response = reply.body();
+                }
+                byte[] payload = response instanceof String s
+                        ? s.getBytes(StandardCharsets.UTF_8)
+                        : objectMapper.writeValueAsBytes(response);
+                send(exchange, status, payload);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, errorBody("Interrupted"));
+            } catch (Exception e) {
+                errorCount.incrementAndGet();
+                send(exchange, 500, errorBody(e.getMessage()));
+            } finally {
+                inFlight.decrementAndGet();
+                slots.release();
+            }
+        }
+    }
+
+    private byte[] errorBody(String message) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("status", "error");
+        node.put("message", message);
+        return objectMapper.writeValueAsBytes(node);
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] payload) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+}
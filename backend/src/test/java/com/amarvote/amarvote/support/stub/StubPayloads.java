@@ -0,0 +1,261 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds ElectionGuard-shaped JSON documents with the same structure and
+ * roughly the same size as the Python service produces. The values are random
+ * hex of the right width (1024 hex digits for a 4096-bit ElementModP, 64 for
+ * an ElementModQ), so payloads exercise serialization, storage and transport
+ * realistically but carry no cryptographic meaning.
+ */
+public final class StubPayloads {
+
+    static final int P_HEX_DIGITS = 1024;
+    static final int Q_HEX_DIGITS = 64;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final ObjectMapper objectMapper;
+    private final Random random;
+
+    public StubPayloads(ObjectMapper objectMapper, long seed) {
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+    }
+
+    public String elementModP() {
+        return hex(P_HEX_DIGITS);
+    }
+
+    public String elementModQ() {
+        return hex(Q_HEX_DIGITS);
+    }
+
+    /** Decimal form used for {@code joint_public_key} in requests to the service. */
+    public String decimalModP() {
+        return new BigInteger(elementModP(), 16).toString();
+    }
+
+    /** Decimal form used for {@code commitment_hash} in requests to the service. */
+    public String decimalModQ() {
+        return new BigInteger(elementModQ(), 16).toString();
+    }
+
+    /** Guardian {@code ElectionPolynomial} with {@code quorum} coefficients. */
+    public ObjectNode polynomial(int quorum) {
+        ObjectNode polynomial = objectMapper.createObjectNode();
+        ArrayNode coefficients = polynomial.putArray("coefficients");
+        for (int i = 0; i < quorum; i++) {
+            ObjectNode coefficient = coefficients.addObject();
+            coefficient.put("value", elementModQ());
+            coefficient.put("commitment", elementModP());
+            ObjectNode proof = coefficient.putObject("proof");
+            proof.put("public_key", elementModP());
+            proof.put("commitment", elementModP());
+            proof.put("challenge", elementModQ());
+            proof.put("response", elementModQ());
+            proof.put("usage", "Prove knowledge of secret key");
+        }
+        return polynomial;
+    }
+
+    /**
+     * Encrypted ballot in the layout of {@code CiphertextBallot.to_json()} as
+     * published by the service: one contest and one selection per candidate
+     * (placeholder selections are not part of the published ballot).
+     */
+    public ObjectNode encryptedBallot(String ballotId, List<String> candidateNames, boolean withNonces) {
+        ObjectNode ballot = objectMapper.createObjectNode();
+        ballot.put("object_id", ballotId);
+        ballot.put("style_id", "ballot-style-1");
+        ballot.put("manifest_hash", elementModQ());
+        ballot.put("code_seed", elementModQ());
+
+        ObjectNode contest = ballot.putArray("contests").addObject();
+        contest.put("object_id", "contest-1");
+        contest.put("sequence_order", 1);
+        contest.put("description_hash", elementModQ());
+        ArrayNode selections = contest.putArray("ballot_selections");
+        for (int i = 0; i < candidateNames.size(); i++) {
+            addSelection(selections, candidateNames.get(i), i, withNonces);
+        }
+        contest.set("ciphertext_accumulation", ciphertext());
+        contest.put("crypto_hash", elementModQ());
+        nonce(contest, withNonces);
+        ObjectNode proof = contest.putObject("proof");
+        proof.put("pad", elementModP());
+        proof.put("data", elementModP());
+        proof.put("challenge", elementModQ());
+        proof.put("response", elementModQ());
+        proof.put("constant", 1);
+        proof.put("usage", "Prove value within selection's limit");
+        ObjectNode extended = contest.putObject("extended_data");
+        extended.put("pad", elementModP());
+        extended.put("data", elementModP());
+        extended.put("mac", elementModQ());
+
+        ballot.put("code", elementModQ());
+        ballot.put("timestamp", System.currentTimeMillis() / 1000);
+        ballot.put("crypto_hash", elementModQ());
+        nonce(ballot, withNonces);
+        return ballot;
+    }
+
+    /** {@code CiphertextTally} with one accumulated ciphertext per candidate. */
+    public ObjectNode ciphertextTally(List<String> candidateNames) {
+        ObjectNode tally = objectMapper.createObjectNode();
+        tally.put("object_id", "election-results");
+        ObjectNode contest = tally.putObject("contests").putObject("contest-1");
+        contest.put("object_id", "contest-1");
+        contest.put("sequence_order", 0);
+        contest.put("description_hash", elementModQ());
+        ObjectNode selections = contest.putObject("selections");
+        for (int i = 0; i < candidateNames.size(); i++) {
+            ObjectNode selection = selections.putObject(candidateNames.get(i));
+            selection.put("object_id", candidateNames.get(i));
+            selection.put("sequence_order", i);
+            selection.put("description_hash", elementModQ());
+            selection.set("ciphertext", ciphertext());
+        }
+        return tally;
+    }
+
+    /** Guardian's {@code DecryptionShare} for the tally, with a Chaum-Pedersen proof per selection. */
+    public ObjectNode tallyShare(String guardianId, List<String> candidateNames) {
+        ObjectNode share = objectMapper.createObjectNode();
+        share.put("object_id", "election-results");
+        share.put("guardian_id", guardianId);
+        share.put("public_key", elementModP());
+        ObjectNode contest = share.putObject("contests").putObject("contest-1");
+        contest.put("object_id", "contest-1");
+        contest.put("guardian_id", guardianId);
+        contest.put("description_hash", elementModQ());
+        ObjectNode selections = contest.putObject("selections");
+        for (String name : candidateNames) {
+            ObjectNode selection = selections.putObject(name);
+            selection.put("object_id", name);
+            selection.put("guardian_id", guardianId);
+            selection.put("share", elementModP());
+            ObjectNode proof = selection.putObject("proof");
+            proof.put("pad", elementModP());
+            proof.put("data", elementModP());
+            proof.put("challenge", elementModQ());
+            proof.put("response", elementModQ());
+            proof.put("usage", "Prove equality between two discrete logs");
+            selection.putNull("recovered_parts");
+        }
+        return share;
+    }
+
+    public ObjectNode electionPublicKey(String guardianId, int sequenceOrder, int quorum) {
+        ObjectNode key = objectMapper.createObjectNode();
+        key.put("owner_id", guardianId);
+        key.put("sequence_order", sequenceOrder);
+        key.put("key", elementModP());
+        ArrayNode commitments = key.putArray("coefficient_commitments");
+        ArrayNode proofs = key.putArray("coefficient_proofs");
+        for (int i = 0; i < quorum; i++) {
+            commitments.add(elementModP());
+            ObjectNode proof = proofs.addObject();
+            proof.put("public_key", elementModP());
+            proof.put("commitment", elementModP());
+            proof.put("challenge", elementModQ());
+            proof.put("response", elementModQ());
+            proof.put("usage", "Prove knowledge of secret key");
+        }
+        return key;
+    }
+
+    /**
+     * Combined results in the shape {@code combine_decryption_shares} returns and
+     * {@code PartialDecryptionService} reads ({@code results.candidates.<name>.votes}).
+     */
+    public ObjectNode results(Map<String, Integer> votesByCandidate, List<String> ballotIds) {
+        int total = votesByCandidate.values().stream().mapToInt(Integer::intValue).sum();
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode election = root.putObject("election");
+        election.put("name", "Test Election");
+        election.put("scope_id", "election-1");
+        ArrayNode electionCandidates = election.putArray("candidates");
+        votesByCandidate.keySet().forEach(name -> electionCandidates.addObject().put("id", name).put("name", name));
+
+        ObjectNode results = root.putObject("results");
+        results.put("total_ballots_cast", ballotIds.size());
+        results.put("total_valid_ballots", ballotIds.size());
+        results.put("total_spoiled_ballots", 0);
+        ObjectNode candidates = results.putObject("candidates");
+        votesByCandidate.forEach((name, votes) -> {
+            ObjectNode candidate = candidates.putObject(name);
+            candidate.put("votes", String.valueOf(votes));
+            candidate.put("percentage", total == 0 ? "0" : String.valueOf(Math.round(votes * 10000.0 / total) / 100.0));
+        });
+        results.putArray("spoiled_ballots");
+
+        ObjectNode verification = root.putObject("verification");
+        ArrayNode ballots = verification.putArray("ballots");
+        for (String ballotId : ballotIds) {
+            String hash = elementModQ();
+            ballots.addObject()
+                    .put("ballot_id", ballotId)
+                    .put("initial_hash", hash)
+                    .put("decrypted_hash", hash)
+                    .put("status", "cast")
+                    .put("verification", "success");
+        }
+        verification.putArray("guardians");
+        return root;
+    }
+
+    private void addSelection(ArrayNode selections, String objectId, int sequenceOrder, boolean withNonces) {
+        ObjectNode selection = selections.addObject();
+        selection.put("object_id", objectId);
+        selection.put("sequence_order", sequenceOrder);
+        selection.put("description_hash", elementModQ());
+        selection.set("ciphertext", ciphertext());
+        selection.put("crypto_hash", elementModQ());
+        selection.put("is_placeholder_selection", false);
+        nonce(selection, withNonces);
+        ObjectNode proof = selection.putObject("proof");
+        proof.put("proof_zero_pad", elementModP());
+        proof.put("proof_zero_data", elementModP());
+        proof.put("proof_one_pad", elementModP());
+        proof.put("proof_one_data", elementModP());
+        proof.put("proof_zero_challenge", elementModQ());
+        proof.put("proof_one_challenge", elementModQ());
+        proof.put("challenge", elementModQ());
+        proof.put("proof_zero_response", elementModQ());
+        proof.put("proof_one_response", elementModQ());
+        proof.put("usage", "Prove selection's value (0 or 1)");
+    }
+
+    private ObjectNode ciphertext() {
+        ObjectNode ciphertext = objectMapper.createObjectNode();
+        ciphertext.put("pad", elementModP());
+        ciphertext.put("data", elementModP());
+        return ciphertext;
+    }
+
+    private void nonce(ObjectNode node, boolean withNonces) {
+        if (withNonces) {
+            node.put("nonce", elementModQ());
+        } else {
+            node.putNull("nonce");
+        }
+    }
+
+    private synchronized String hex(int digits) {
+        char[] chars = new char[digits];
+        for (int i = 0; i < digits; i++) {
+            chars[i] = HEX[random.nextInt(16)];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,263 @@
+package com.amarvote.amarvote.support.stub;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.amarvote.amarvote.dto.BlockchainBallotInfoResponse;
+import com.amarvote.amarvote.dto.BlockchainRecordBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardBallotRequest;
+import com.amarvote.amarvote.dto.ElectionGuardBallotResponse;
+import com.amarvote.amarvote.dto.ElectionGuardianSetupRequest;
+import com.amarvote.amarvote.dto.ElectionGuardianSetupResponse;
+import com.amarvote.amarvote.service.BlockchainService;
+import com.amarvote.amarvote.service.ElectionGuardCryptoService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks that the stub servers speak the same wire format the backend services
+ * parse, and that the latency, error and concurrency knobs behave as configured.
+ */
+class StubServersTest {
+
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob", "Carol");
+
+    // Spring Boot's mapper ignores unknown properties such as "nonces_available".
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void createEncryptedBallot_ReturnsRealisticallySizedBallot() throws Exception {
+        try (ElectionGuardStubServer stub = new ElectionGuardStubServer(StubBehaviour.instant()).start()) {
+            ElectionGuardBallotResponse response = objectMapper.readValue(
+                    post(stub, "/create_encrypted_ballot", ballotRequest("ballot-1", "Bob")),
+                    ElectionGuardBallotResponse.class);
+
+            assertEquals("success", response.getStatus());
+            assertEquals("ballot-1", response.getBallot_id());
+            // The Python service produces ~28 KB for a three-candidate ballot.
+            assertTrue(response.getEncrypted_ballot().length() > 25_000);
+            JsonNode ballot = objectMapper.readTree(response.getEncrypted_ballot());
+            assertEquals(3, ballot.path("contests").get(0).path("ballot_selections").size());
+            assertTrue(ballot.path("nonce").isNull());
+            assertFalse(objectMapper.readTree(response.getEncrypted_ballot_with_nonce()).path("nonce").isNull());
+        }
+    }
+
+    @Test
+    void setupGuardians_ReturnsOneEntryPerGuardian() throws Exception {
+        try (ElectionGuardStubServer stub = new ElectionGuardStubServer(StubBehaviour.instant()).start()) {
+            ElectionGuardianSetupResponse response = objectMapper.readValue(
+                    post(stub, "/setup_guardians", new ElectionGuardianSetupRequest(3, 2, List.of("P1", "P2"), CANDIDATES)),
+                    ElectionGuardianSetupResponse.class);
+
+            assertEquals("success", response.status());
+            assertEquals(3, response.private_keys().size());
+            assertEquals(3, response.polynomials().size());
+            assertEquals(3, response.guardian_data().size());
+            assertTrue(new BigInteger(response.joint_public_key()).bitLength() > 4000);
+        }
+    }
+
+    @Test
+    void smtpSink_AcceptsAuthenticatedMail() {
+        try (SmtpSinkServer smtp = new SmtpSinkServer().start()) {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost(smtp.getHost());
+            sender.setPort(smtp.getPort());
+            sender.setUsername("amarvote2025@gmail.com");
+            sender.setPassword("unused");
+            sender.getJavaMailProperties().put("mail.smtp.auth", "true");
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("amarvote2025@gmail.com");
+            message.setTo("guardian@example.com");
+            message.setSubject("Guardian credentials");
+            message.setText("body");
+
+            sender.send(message);
+
+            assertEquals(1, smtp.getMessagesAccepted());
+        }
+    }
+
+    @Test
+    void combineDecryptionShares_CountsBallotsCreatedThroughStub() throws Exception {
+        try (ElectionGuardStubServer stub = new ElectionGuardStubServer(StubBehaviour.instant()).start()) {
+            List<String> ballots = new ArrayList<>();
+            String[] choices = {"Alice", "Bob", "Bob"};
+            for (int i = 0; i < choices.length; i++) {
+                JsonNode created = objectMapper.readTree(
+                        post(stub, "/create_encrypted_ballot", ballotRequest("ballot-" + i, choices[i])));
+                ballots.add(created.path("encrypted_ballot").asText());
+            }
+
+            String response = post(stub, "/combine_decryption_shares",
+                    Map.of("candidate_names", CANDIDATES, "submitted_ballots", ballots));
+            JsonNode results = objectMapper.readTree(objectMapper.readTree(response).path("results").asText());
+
+            JsonNode candidates = results.path("results").path("candidates");
+            assertEquals("1", candidates.path("Alice").path("votes").asText());
+            assertEquals("2", candidates.path("Bob").path("votes").asText());
+            assertEquals("0", candidates.path("Carol").path("votes").asText());
+        }
+    }
+
+    @Test
+    void guardianCredentials_RoundTripThroughCryptoService() {
+        try (ElectionGuardStubServer stub = new ElectionGuardStubServer(StubBehaviour.instant()).start()) {
+            ElectionGuardCryptoService cryptoService = new ElectionGuardCryptoService(webClient(stub), objectMapper);
+
+            ElectionGuardCryptoService.EncryptionResult encrypted =
+                    cryptoService.encryptGuardianData("{\"key\":\"secret\"}", "{\"coefficients\":[]}");
+            ElectionGuardCryptoService.GuardianDecryptionResult decrypted =
+                    cryptoService.decryptGuardianData(encrypted.getEncryptedData(), encrypted.getCredentials());
+
+            assertEquals("{\"key\":\"secret\"}", decrypted.getPrivateKey());
+            assertEquals("{\"coefficients\":[]}", decrypted.getPolynomial());
+        }
+    }
+
+    @Test
+    void blockchainService_RecordsAndReadsBackBallot() {
+        try (BlockchainStubServer stub = new BlockchainStubServer(StubBehaviour.instant()).start()) {
+            BlockchainService blockchainService = new BlockchainService(new RestTemplate(), objectMapper);
+            ReflectionTestUtils.setField(blockchainService, "blockchainServiceUrl", stub.getBaseUrl());
+
+            BlockchainRecordBallotResponse recorded = blockchainService.recordBallot("42", "track-1", "hash-1");
+            BlockchainBallotInfoResponse info = blockchainService.getBallotInfo("42", "track-1");
+            BlockchainBallotInfoResponse missing = blockchainService.getBallotInfo("42", "track-2");
+
+            assertTrue(recorded.isSuccess());
+            assertTrue(info.isSuccess());
+            assertEquals("hash-1", info.getBallotHash());
+            assertFalse(missing.isSuccess());
+            assertEquals(1, stub.getRecordedBallotCount());
+        }
+    }
+
+    @Test
+    void errorRate_InjectsServerErrors() {
+        StubBehaviour failing = StubBehaviour.builder().errorRate(1.0).build();
+        try (ElectionGuardStubServer stub = new ElectionGuardStubServer(failing).start()) {
+            WebClientResponseException error = assertThrows(WebClientResponseException.class,
+                    () -> post(stub, "/create_encrypted_ballot", ballotRequest("ballot-1", "Alice")));
+
+            assertEquals(500, error.getStatusCode().value());
+            assertEquals(1, stub.getErrorCount());
+        }
+    }
+
+    @Test
+    void concurrencyCap_QueuesExcessRequests() throws Exception {
+        StubBehaviour capped = StubBehaviour.builder()
+                .latency(LatencyModel.fixed(50))
+                .maxConcurrency(2)
+                .build();
+        try (BlockchainStubServer stub = new BlockchainStubServer(capped).start()) {
+            runConcurrently(stub, 8);
+
+            assertEquals(8, stub.getRequestCount("/health"));
+            assertTrue(stub.getPeakInFlight() <= 2);
+            assertEquals(0, stub.getRejectedCount());
+        }
+    }
+
+    @Test
+    void concurrencyCap_RejectsWhenConfigured() throws Exception {
+        StubBehaviour rejecting = StubBehaviour.builder()
+                .latency(LatencyModel.fixed(200))
+                .maxConcurrency(1)
+                .rejectWhenSaturated(true)
+                .build();
+        try (BlockchainStubServer stub = new BlockchainStubServer(rejecting).start()) {
+            runConcurrently(stub, 6);
+
+            assertTrue(stub.getRejectedCount() > 0);
+        }
+    }
+
+    @Test
+    void logNormalLatency_IsDeterministicForSeed() {
+        LatencyModel model = LatencyModel.logNormal(100, 400);
+
+        long[] first = sample(model, 7L);
+        long[] second = sample(model, 7L);
+
+        assertEquals(List.of(first[0], first[1], first[2]), List.of(second[0], second[1], second[2]));
+    }
+
+    private void runConcurrently(StubHttpServer stub, int requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(pool.submit(() -> webClient(stub).get().uri("/health")
+                        .exchangeToMono(response -> response.releaseBody())
+                        .block()));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long[] sample(LatencyModel model, long seed) {
+        Random random = new Random(seed);
+        return new long[] {model.sampleMillis(random), model.sampleMillis(random), model.sampleMillis(random)};
+    }
+
+    private String post(StubHttpServer stub, String uri, Object body) {
+        return webClient(stub).post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+    }
+
+    private static ElectionGuardBallotRequest ballotRequest(String ballotId, String candidate) {
+        return ElectionGuardBallotRequest.builder()
+                .party_names(List.of("party-1", "party-2", "party-3"))
+                .candidate_names(CANDIDATES)
+                .candidate_name(candidate)
+                .ballot_id(ballotId)
+                .joint_public_key("123")
+                .commitment_hash("456")
+                .number_of_guardians(3)
+                .quorum(2)
+                .build();
+    }
+
+    private static WebClient webClient(StubHttpServer stub) {
+        return WebClient.builder()
+                .baseUrl(stub.getBaseUrl())
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
+                        .build())
+                .build();
+    }
+}
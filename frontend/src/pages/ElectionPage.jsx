@@ -1495,6 +1495,9 @@ export default function ElectionPage() {
   // const [tallyCreated, setTallyCreated] = useState(false);
   const [creatingTally, setCreatingTally] = useState(false);
 
+  // The ciphertext tally is large, so it is only fetched for the verification tab
+  const [encryptedTally, setEncryptedTally] = useState(null);
+
   // Load election data and optionally create tally
   useEffect(() => {
     const fetchElectionData = async () => {
@@ -1510,7 +1513,7 @@ export default function ElectionPage() {
           // Auto-create tally if election has ended and tally doesn't exist yet
           const electionStatus = getElectionStatusFromData(data);
 
-          if (electionStatus === 'Ended' && !data.encryptedTally) {
+          if (electionStatus === 'Ended' && !data.hasEncryptedTally) {
             console.log('Election has ended - creating tally automatically');
             await createTallyForElection(id);
           }
@@ -1568,6 +1571,16 @@ export default function ElectionPage() {
     }
   }, [id]);
 
+  // Load the ciphertext tally when the verification tab is opened
+  useEffect(() => {
+    if (activeTab !== 'verification' || !electionData?.hasEncryptedTally || encryptedTally !== null) {
+      return;
+    }
+    electionApi.getElectionEncryptedTally(id)
+      .then(data => setEncryptedTally(data.encryptedTally))
+      .catch(err => console.error('Error loading encrypted tally:', err));
+  }, [activeTab, electionData, encryptedTally, id]);
+
   // Initialize bot detection on component mount
   useEffect(() => {
     console.log('🚀 [BOT DETECTION] Initializing bot detection for voting...');
@@ -3827,7 +3840,7 @@ Party: ${voteResult.votedCandidate?.partyName || 'N/A'}
 
                   <DataDisplay
                     title="Encrypted Tally"
-                    data={electionData.encryptedTally || "Not available"}
+                    data={encryptedTally || "Not available"}
                   />
 
                   {electionData.sampleEncryptedBallots && (
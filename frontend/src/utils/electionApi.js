@@ -517,6 +517,31 @@ export const electionApi = {
     }
   },
 
+  /**
+   * Get the ciphertext tally for verification tab
+   */
+  async getElectionEncryptedTally(electionId) {
+    try {
+      const response = await fetch(`/api/election/${electionId}/encrypted-tally`, {
+        method: 'GET',
+        credentials: 'include',
+        headers: {
+          'Content-Type': 'application/json',
+        },
+      });
+
+      if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+      }
+
+      const data = await response.json();
+      return data;
+    } catch (error) {
+      console.error('Error fetching encrypted tally:', error);
+      throw error;
+    }
+  },
+
   /**
    * Get compensated decryption information for verification tab
    */
@@ -0,0 +1,132 @@
+package com.amarvote.amarvote.verifier;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.amarvote.amarvote.electionguard.BallotCodec;
+
+/**
+ * Reads an election record straight from the AmarVote Postgres database. Ballots come through a
+ * server-side cursor ({@code fetchSize} rows per round trip inside a read-only transaction), so
+ * a million ballots never sit in memory at once.
+ */
+public final class DatabaseElectionRecordSource implements ElectionRecordSource {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final long electionId;
+
+    public DatabaseElectionRecordSource(String url, String user, String password, long electionId)
+            throws SQLException {
+        this.connection = DriverManager.getConnection(url, user, password);
+        this.connection.setReadOnly(true);
+        this.electionId = electionId;
+    }
+
+    @Override
+    public ElectionRecord election() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT e.number_of_guardians, e.election_quorum, e.joint_public_key, e.base_hash, a.encrypted_tally"
+                        + " FROM elections e LEFT JOIN election_crypto_artifacts a ON a.election_id = e.election_id"
+                        + " WHERE e.election_id = ?")) {
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    throw new IllegalArgumentException("Election " + electionId + " does not exist");
+                }
+                return new ElectionRecord(electionId, row.getInt(1), row.getInt(2), row.getString(3),
+                        row.getString(4), row.getString(5), choices(), guardians(), compensatedShares());
+            }
+        }
+    }
+
+    private List<ElectionRecord.Choice> choices() throws SQLException {
+        List<ElectionRecord.Choice> choices = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT option_title, party_name, total_votes FROM election_choices"
+                        + " WHERE election_id = ? ORDER BY choice_id")) {
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                while (row.next()) {
+                    choices.add(new ElectionRecord.Choice(row.getString(1), row.getString(2), row.getInt(3)));
+                }
+            }
+        }
+        return choices;
+    }
+
+    private List<ElectionRecord.Guardian> guardians() throws SQLException {
+        List<ElectionRecord.Guardian> guardians = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT sequence_order, decrypted_or_not, guardian_decryption_key, tally_share, key_backup"
+                        + " FROM guardians WHERE election_id = ? ORDER BY sequence_order")) {
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                while (row.next()) {
+                    guardians.add(new ElectionRecord.Guardian(row.getInt(1), row.getBoolean(2), row.getString(3),
+                            row.getString(4), row.getString(5)));
+                }
+            }
+        }
+        return guardians;
+    }
+
+    private List<ElectionRecord.CompensatedShare> compensatedShares() throws SQLException {
+        List<ElectionRecord.CompensatedShare> shares = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT missing_guardian_sequence, compensating_guardian_sequence, compensated_tally_share"
+                        + " FROM compensated_decryptions WHERE election_id = ?"
+                        + " ORDER BY missing_guardian_sequence, compensating_guardian_sequence")) {
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                while (row.next()) {
+                    shares.add(new ElectionRecord.CompensatedShare(row.getInt(1), row.getInt(2), row.getString(3)));
+                }
+            }
+        }
+        return shares;
+    }
+
+    @Override
+    public long ballotCount() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT count(*) FROM submitted_ballots WHERE election_id = ?")) {
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                row.next();
+                return row.getLong(1);
+            }
+        }
+    }
+
+    @Override
+    public void forEachBallot(BallotConsumer consumer) throws SQLException, InterruptedException {
+        // the Postgres driver only honours the fetch size outside auto-commit
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT submitted_ballot_id, cipher_text FROM submitted_ballots"
+                        + " WHERE election_id = ? ORDER BY submitted_ballot_id")) {
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, electionId);
+            try (ResultSet row = statement.executeQuery()) {
+                while (row.next()) {
+                    consumer.accept(row.getLong(1), BallotCodec.decode(row.getBytes(2)));
+                }
+            }
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+}
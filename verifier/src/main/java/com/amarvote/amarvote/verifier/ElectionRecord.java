@@ -0,0 +1,35 @@
+package com.amarvote.amarvote.verifier;
+
+import java.util.List;
+
+/**
+ * Everything of a published election except its ballots, with the columns of
+ * {@code elections}, {@code election_choices}, {@code guardians} and
+ * {@code compensated_decryptions} that verification reads. The JSON columns are kept as the
+ * ElectionGuard service wrote them.
+ */
+public record ElectionRecord(
+        long electionId,
+        int numberOfGuardians,
+        int quorum,
+        String jointPublicKey,
+        String baseHash,
+        String encryptedTally,
+        List<Choice> choices,
+        List<Guardian> guardians,
+        List<CompensatedShare> compensatedShares) {
+
+    /** An {@code election_choices} row, in {@code choice_id} order. */
+    public record Choice(String optionTitle, String partyName, int totalVotes) {
+    }
+
+    /** A {@code guardians} row, in {@code sequence_order} order. */
+    public record Guardian(int sequenceOrder, boolean decrypted, String guardianDecryptionKey, String tallyShare,
+            String keyBackup) {
+    }
+
+    /** A {@code compensated_decryptions} row. */
+    public record CompensatedShare(int missingGuardianSequence, int compensatingGuardianSequence,
+            String compensatedTallyShare) {
+    }
+}
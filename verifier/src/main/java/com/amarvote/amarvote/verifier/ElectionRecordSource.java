@@ -0,0 +1,24 @@
+package com.amarvote.amarvote.verifier;
+
+/**
+ * Where an election record is read from. Ballots are streamed rather than loaded, so a source
+ * holds at most one fetch of them at a time whatever the size of the election.
+ */
+public interface ElectionRecordSource extends AutoCloseable {
+
+    @FunctionalInterface
+    interface BallotConsumer {
+        void accept(long submittedBallotId, String cipherText) throws InterruptedException;
+    }
+
+    ElectionRecord election() throws Exception;
+
+    /** Number of submitted ballots, for progress reporting. */
+    long ballotCount() throws Exception;
+
+    /** Every submitted ballot in {@code submitted_ballot_id} order. */
+    void forEachBallot(BallotConsumer consumer) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
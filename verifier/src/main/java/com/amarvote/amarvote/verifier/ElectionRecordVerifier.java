@@ -0,0 +1,367 @@
+package com.amarvote.amarvote.verifier;
+
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.BallotVerifier;
+import com.amarvote.amarvote.electionguard.BatchProofVerifier;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.DecryptionShareCombiner;
+import com.amarvote.amarvote.electionguard.DiscreteLogTable;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.electionguard.TallyAccumulator;
+import com.amarvote.amarvote.verifier.VerificationReport.Check;
+import com.amarvote.amarvote.verifier.VerificationReport.Failure;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Re-checks a published election from its record alone:
+ *
+ * <ol>
+ * <li>every submitted ballot is well formed and its proofs verify, in {@link BatchProofVerifier}
+ * batches spread over a pool of workers while the source streams the next ballots;</li>
+ * <li>the ciphertext tally is the product of the cast ballots, accumulated per worker in a
+ * {@link TallyAccumulator} and merged once the stream ends;</li>
+ * <li>every guardian and compensated decryption share carries a valid proof and the shares
+ * combine, per selection in parallel, to a count of at most the number of cast ballots;</li>
+ * <li>that count is the {@code total_votes} of the matching {@code election_choices} row.</li>
+ * </ol>
+ *
+ * At most two batches per worker are in flight, so memory stays flat however many ballots the
+ * election has.
+ */
+public final class ElectionRecordVerifier {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Row(long submittedBallotId, String cipherText) {
+    }
+
+    /** Per-thread state: proof batches draw their own randomness, tallies are merged at the end. */
+    private record Worker(BatchProofVerifier proofs, TallyAccumulator tally) {
+    }
+
+    /**
+     * Cuts the ballot stream into batches for the pool, blocking the stream while two batches per
+     * worker are waiting.
+     */
+    private final class Dispatcher implements ElectionRecordSource.BallotConsumer {
+
+        private final ExecutorService pool;
+        private final Consumer<List<Row>> task;
+        private final Semaphore inFlight = new Semaphore(2 * threads);
+        private final List<Future<?>> batches = new ArrayList<>();
+        private List<Row> batch = new ArrayList<>(batchSize);
+
+        Dispatcher(ExecutorService pool, Consumer<List<Row>> task) {
+            this.pool = pool;
+            this.task = task;
+        }
+
+        @Override
+        public void accept(long submittedBallotId, String cipherText) throws InterruptedException {
+            batch.add(new Row(submittedBallotId, cipherText));
+            if (batch.size() == batchSize) {
+                submit();
+            }
+        }
+
+        void finish() throws InterruptedException {
+            if (!batch.isEmpty()) {
+                submit();
+            }
+            for (Future<?> future : batches) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Verifying a batch of ballots failed", e.getCause());
+                }
+            }
+        }
+
+        private void submit() throws InterruptedException {
+            List<Row> rows = batch;
+            batch = new ArrayList<>(batchSize);
+            inFlight.acquire();
+            batches.add(pool.submit(() -> {
+                try {
+                    task.accept(rows);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+    }
+
+    private final int threads;
+    private final int batchSize;
+    private final Duration progressInterval;
+    private final PrintStream out;
+
+    public ElectionRecordVerifier(int threads, int batchSize, Duration progressInterval, PrintStream out) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+        this.out = out;
+    }
+
+    public VerificationReport verify(ElectionRecordSource source) throws Exception {
+        long start = System.nanoTime();
+        ElectionRecord election = source.election();
+        if (election.jointPublicKey() == null || election.baseHash() == null) {
+            throw new IllegalArgumentException("Election " + election.electionId() + " has no joint public key yet");
+        }
+        ElectionManifest manifest = ElectionManifest.create(
+                election.choices().stream().map(ElectionRecord.Choice::partyName).toList(),
+                election.choices().stream().map(ElectionRecord.Choice::optionTitle).toList());
+        ElectionContext context = ElectionContext.create(election.numberOfGuardians(), election.quorum(),
+                new BigInteger(election.jointPublicKey()), new BigInteger(election.baseHash()),
+                manifest.getManifestHash());
+
+        Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+        List<String> notes = new ArrayList<>();
+        JsonNode tally = election.encryptedTally() == null ? null : read(election.encryptedTally());
+        Set<String> cast = tally == null ? Set.of() : ids(tally.path("cast_ballot_ids"));
+        Set<String> spoiled = tally == null ? Set.of() : ids(tally.path("spoiled_ballot_ids"));
+        if (tally == null) {
+            notes.add("the election has not been tallied; tally, share and count checks skipped");
+        }
+
+        long total = source.ballotCount();
+        AtomicLong verified = new AtomicLong();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "verifier-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifier-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, progressInterval.toMillis());
+        progress.scheduleAtFixedRate(() -> {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            out.printf("Verified %d/%d ballots (%.0f ballots/s), %d failures%n", verified.get(), total,
+                    verified.get() / seconds, failures.size());
+        }, interval, interval, TimeUnit.MILLISECONDS);
+
+        try {
+            Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+            ThreadLocal<Worker> worker = ThreadLocal.withInitial(() -> {
+                Worker created = new Worker(new BatchProofVerifier(context), new TallyAccumulator());
+                workers.add(created);
+                return created;
+            });
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            Dispatcher dispatcher = new Dispatcher(pool, rows -> {
+                verifyBatch(rows, worker.get(), manifest, context, tally != null, cast, spoiled, seen, failures);
+                verified.addAndGet(rows.size());
+            });
+            source.forEachBallot(dispatcher);
+            dispatcher.finish();
+
+            if (tally != null) {
+                TallyAccumulator product = new TallyAccumulator();
+                workers.forEach(each -> product.merge(each.tally()));
+                checkTally(election, product, cast, seen, failures);
+                checkShares(election, context, cast.size(), spoiled.size(), pool, failures, notes);
+            }
+        } finally {
+            progress.shutdownNow();
+            pool.shutdownNow();
+        }
+
+        return new VerificationReport(election.electionId(), verified.get(),
+                (System.nanoTime() - start) / 1_000_000, List.copyOf(failures), notes);
+    }
+
+    private static void verifyBatch(List<Row> rows, Worker worker, ElectionManifest manifest,
+            ElectionContext context, boolean tallied, Set<String> cast, Set<String> spoiled, Set<String> seen,
+            Queue<Failure> failures) {
+        List<CiphertextBallot> wellFormed = new ArrayList<>(rows.size());
+        List<String> subjects = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            CiphertextBallot ballot;
+            try {
+                ballot = BallotJson.fromJson(row.cipherText());
+            } catch (RuntimeException e) {
+                failures.add(new Failure(Check.BALLOT, "submitted ballot " + row.submittedBallotId(),
+                        "unreadable: " + e.getMessage()));
+                continue;
+            }
+            String subject = "submitted ballot " + row.submittedBallotId() + " (" + ballot.objectId() + ")";
+            if (!seen.add(ballot.objectId())) {
+                failures.add(new Failure(Check.BALLOT, subject, "another submitted ballot has the same id"));
+            }
+            if (cast.contains(ballot.objectId())) {
+                worker.tally().add(ballot);
+            } else if (tallied && !spoiled.contains(ballot.objectId())) {
+                failures.add(new Failure(Check.TALLY, subject, "not among the tally's cast or spoiled ballots"));
+            }
+            Optional<String> error = BallotVerifier.structuralError(ballot, manifest, context);
+            if (error.isPresent()) {
+                failures.add(new Failure(Check.BALLOT, subject, error.get()));
+                continue;
+            }
+            wellFormed.add(ballot);
+            subjects.add(subject);
+        }
+        for (int index : worker.proofs().findInvalid(wellFormed)) {
+            failures.add(new Failure(Check.BALLOT, subjects.get(index), "a proof does not verify"));
+        }
+    }
+
+    private static void checkTally(ElectionRecord election, TallyAccumulator product, Set<String> cast,
+            Set<String> seen, Queue<Failure> failures) {
+        for (String ballotId : cast) {
+            if (!seen.contains(ballotId)) {
+                failures.add(new Failure(Check.TALLY, ballotId, "cast in the tally but never submitted"));
+            }
+        }
+        for (DecryptionShareCombiner.Selection selection : DecryptionShareCombiner.selections(
+                election.encryptedTally(), Map.of(), Map.of())) {
+            if (!selection.ciphertext().equals(product.ciphertext(selection.contestId(), selection.selectionId()))) {
+                failures.add(new Failure(Check.TALLY, selection.contestId() + "/" + selection.selectionId(),
+                        "ciphertext tally is not the product of the cast ballots"));
+            }
+        }
+    }
+
+    private void checkShares(ElectionRecord election, ElectionContext context, int castBallots,
+            int spoiledBallots, ExecutorService pool, Queue<Failure> failures, List<String> notes)
+            throws InterruptedException {
+        Map<Integer, BigInteger> guardianKeys = new LinkedHashMap<>();
+        Map<Integer, String> tallyShares = new LinkedHashMap<>();
+        DecryptionShareCombiner combiner;
+        List<DecryptionShareCombiner.Selection> selections;
+        try {
+            for (ElectionRecord.Guardian guardian : election.guardians()) {
+                if (guardian.decrypted() && guardian.tallyShare() != null) {
+                    guardianKeys.put(guardian.sequenceOrder(),
+                            Group.fromHex(read(guardian.guardianDecryptionKey()).path("key").asText()));
+                    tallyShares.put(guardian.sequenceOrder(), guardian.tallyShare());
+                }
+            }
+            if (guardianKeys.isEmpty()) {
+                notes.add("no guardian has decrypted the tally; share and count checks skipped");
+                return;
+            }
+            if (spoiledBallots > 0) {
+                notes.add("the decryptions of " + spoiledBallots + " spoiled ballots are not checked");
+            }
+
+            Map<Integer, List<BigInteger>> missingCommitments = new LinkedHashMap<>();
+            Map<Integer, Map<Integer, String>> compensatedShares = new LinkedHashMap<>();
+            for (ElectionRecord.Guardian guardian : election.guardians()) {
+                if (!guardianKeys.containsKey(guardian.sequenceOrder())) {
+                    missingCommitments.put(guardian.sequenceOrder(), coefficientCommitments(guardian));
+                    compensatedShares.put(guardian.sequenceOrder(), new LinkedHashMap<>());
+                }
+            }
+            for (ElectionRecord.CompensatedShare share : election.compensatedShares()) {
+                Map<Integer, String> byGuardian = compensatedShares.get(share.missingGuardianSequence());
+                if (byGuardian != null && guardianKeys.containsKey(share.compensatingGuardianSequence())) {
+                    byGuardian.put(share.compensatingGuardianSequence(), share.compensatedTallyShare());
+                }
+            }
+
+            combiner = new DecryptionShareCombiner(context.cryptoExtendedBaseHash(),
+                    guardianKeys, missingCommitments);
+            selections = DecryptionShareCombiner.selections(
+                    election.encryptedTally(), tallyShares, compensatedShares);
+        } catch (IllegalArgumentException e) {
+            failures.add(new Failure(Check.SHARE, "guardians", e.getMessage()));
+            return;
+        }
+        // counts are at most the number of cast ballots, so about sqrt(cast) baby steps suffice
+        DiscreteLogTable table = DiscreteLogTable.build(Math.max(16, (int) Math.ceil(Math.sqrt(castBallots + 1.0))));
+        List<Future<Long>> counts = new ArrayList<>(selections.size());
+        for (DecryptionShareCombiner.Selection selection : selections) {
+            counts.add(pool.submit(() -> table.log(combiner.decrypt(selection), castBallots)));
+        }
+
+        Map<String, ElectionRecord.Choice> choices = new LinkedHashMap<>();
+        election.choices().forEach(choice -> choices.put(choice.optionTitle(), choice));
+        for (int i = 0; i < selections.size(); i++) {
+            DecryptionShareCombiner.Selection selection = selections.get(i);
+            String subject = selection.contestId() + "/" + selection.selectionId();
+            long count;
+            try {
+                count = counts.get(i).get();
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof IllegalArgumentException cause)) {
+                    throw new IllegalStateException("Checking the shares of " + subject + " failed", e.getCause());
+                }
+                failures.add(new Failure(Check.SHARE, subject, cause.getMessage()));
+                continue;
+            }
+            ElectionRecord.Choice choice = choices.remove(selection.selectionId());
+            if (count < 0) {
+                failures.add(new Failure(Check.COUNT, subject,
+                        "shares do not decrypt to a count of at most " + castBallots + " ballots"));
+            } else if (choice == null) {
+                failures.add(new Failure(Check.COUNT, subject, "no election choice for this selection"));
+            } else if (choice.totalVotes() != count) {
+                failures.add(new Failure(Check.COUNT, subject,
+                        "total_votes is " + choice.totalVotes() + " but the tally decrypts to " + count));
+            }
+        }
+        choices.keySet().forEach(title -> failures.add(
+                new Failure(Check.COUNT, title, "election choice has no selection in the tally")));
+    }
+
+    private static List<BigInteger> coefficientCommitments(ElectionRecord.Guardian guardian) {
+        JsonNode key = read(guardian.keyBackup()).path("election_public_key");
+        if (key.isTextual()) {
+            key = read(key.asText());
+        }
+        List<BigInteger> commitments = new ArrayList<>();
+        key.path("coefficient_commitments").forEach(commitment -> commitments.add(Group.fromHex(commitment.asText())));
+        return commitments;
+    }
+
+    private static Set<String> ids(JsonNode array) {
+        Set<String> ids = new HashSet<>();
+        array.forEach(id -> ids.add(id.asText()));
+        return ids;
+    }
+
+    private static JsonNode read(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Election record is missing a JSON column");
+        }
+        try {
+            return MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Election record holds invalid JSON", e);
+        }
+    }
+}
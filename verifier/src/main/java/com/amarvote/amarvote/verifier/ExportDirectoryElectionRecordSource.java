@@ -0,0 +1,83 @@
+package com.amarvote.amarvote.verifier;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An election record exported to a directory, for observers without database access:
+ * {@code election.json} holds the {@link ElectionRecord} and {@code submitted_ballots.jsonl}
+ * one {@code {"submitted_ballot_id": ..., "cipher_text": ...}} object per line.
+ */
+public final class ExportDirectoryElectionRecordSource implements ElectionRecordSource {
+
+    static final String ELECTION_FILE = "election.json";
+    static final String BALLOTS_FILE = "submitted_ballots.jsonl";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path directory;
+
+    public ExportDirectoryElectionRecordSource(Path directory) {
+        this.directory = directory;
+    }
+
+    /** Writes everything {@code source} holds to {@code directory}; returns the number of ballots. */
+    public static long export(ElectionRecordSource source, Path directory) throws Exception {
+        Files.createDirectories(directory);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(directory.resolve(ELECTION_FILE).toFile(), source.election());
+        long[] ballots = { 0 };
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(BALLOTS_FILE), StandardCharsets.UTF_8)) {
+            source.forEachBallot((submittedBallotId, cipherText) -> {
+                ObjectNode line = MAPPER.createObjectNode();
+                line.put("submitted_ballot_id", submittedBallotId);
+                line.put("cipher_text", cipherText);
+                try {
+                    out.write(MAPPER.writeValueAsString(line));
+                    out.newLine();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to write " + BALLOTS_FILE, e);
+                }
+                ballots[0]++;
+            });
+        }
+        return ballots[0];
+    }
+
+    @Override
+    public ElectionRecord election() throws IOException {
+        return MAPPER.readValue(directory.resolve(ELECTION_FILE).toFile(), ElectionRecord.class);
+    }
+
+    @Override
+    public long ballotCount() throws IOException {
+        try (Stream<String> lines = Files.lines(directory.resolve(BALLOTS_FILE), StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    @Override
+    public void forEachBallot(BallotConsumer consumer) throws IOException, InterruptedException {
+        try (BufferedReader in = Files.newBufferedReader(directory.resolve(BALLOTS_FILE), StandardCharsets.UTF_8)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode ballot = MAPPER.readTree(line);
+                consumer.accept(ballot.path("submitted_ballot_id").asLong(), ballot.path("cipher_text").asText());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,49 @@
+package com.amarvote.amarvote.verifier;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Outcome of verifying one election record. The election verifies if there are no failures;
+ * {@code notes} name the checks that could not run, such as share checks before decryption.
+ */
+public record VerificationReport(long electionId, long ballots, long elapsedMillis, List<Failure> failures,
+        List<String> notes) {
+
+    public enum Check {
+        BALLOT, TALLY, SHARE, COUNT
+    }
+
+    /** {@code subject} is a submitted ballot id, a tally selection or a candidate. */
+    public record Failure(Check check, String subject, String reason) {
+    }
+
+    private static final int PRINTED_FAILURES = 50;
+
+    public boolean passed() {
+        return failures.isEmpty();
+    }
+
+    public double ballotsPerSecond() {
+        return elapsedMillis == 0 ? ballots * 1000.0 : ballots * 1000.0 / elapsedMillis;
+    }
+
+    public long count(Check check) {
+        return failures.stream().filter(failure -> failure.check() == check).count();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Election %d: %d ballots in %.1f s (%.1f ballots/s)%n", electionId, ballots,
+                elapsedMillis / 1000.0, ballotsPerSecond());
+        for (Check check : Check.values()) {
+            out.printf("  %-6s %s%n", check, count(check) == 0 ? "ok" : count(check) + " failures");
+        }
+        notes.forEach(note -> out.println("  note: " + note));
+        failures.stream().limit(PRINTED_FAILURES).forEach(failure -> out.printf("  FAIL %s %s: %s%n",
+                failure.check(), failure.subject(), failure.reason()));
+        if (failures.size() > PRINTED_FAILURES) {
+            out.println("  ... and " + (failures.size() - PRINTED_FAILURES) + " more failures");
+        }
+        out.println(passed() ? "VERIFIED" : "NOT VERIFIED");
+    }
+}
@@ -0,0 +1,107 @@
+package com.amarvote.amarvote.verifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point.
+ *
+ * <pre>
+ * java -jar verifier.jar verify --election 42 --db-url jdbc:postgresql://host/db --db-user amarvote
+ * java -jar verifier.jar export --election 42 --db-url ... --dir election-42
+ * java -jar verifier.jar verify --dir election-42 [--threads 16] [--batch-size 256] [--progress-seconds 10]
+ * </pre>
+ *
+ * The database password is read from {@code --db-password} or {@code PGPASSWORD}. Exits with 0
+ * if the election verifies, 1 if any check fails and 2 on a usage or input error.
+ */
+public final class VerifierCli {
+
+    private VerifierCli() {
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(2);
+        } catch (Exception e) {
+            System.err.println("Verification could not complete: " + e);
+            System.exit(2);
+        }
+    }
+
+    static int run(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("No command given");
+        }
+        Map<String, String> options = options(args);
+        switch (args[0]) {
+            case "verify" -> {
+                ElectionRecordVerifier verifier = new ElectionRecordVerifier(
+                        Integer.parseInt(options.getOrDefault("threads", "0")),
+                        Integer.parseInt(options.getOrDefault("batch-size", "256")),
+                        Duration.ofSeconds(Long.parseLong(options.getOrDefault("progress-seconds", "10"))),
+                        System.out);
+                try (ElectionRecordSource source = source(options)) {
+                    VerificationReport report = verifier.verify(source);
+                    report.print(System.out);
+                    return report.passed() ? 0 : 1;
+                }
+            }
+            case "export" -> {
+                Path directory = Path.of(required(options, "dir"));
+                try (ElectionRecordSource source = database(options)) {
+                    long ballots = ExportDirectoryElectionRecordSource.export(source, directory);
+                    System.out.println("Exported election " + options.get("election") + " with " + ballots
+                            + " ballots to " + directory.toAbsolutePath());
+                    return 0;
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown command " + args[0]);
+        }
+    }
+
+    private static ElectionRecordSource source(Map<String, String> options) throws Exception {
+        if (options.containsKey("dir")) {
+            return new ExportDirectoryElectionRecordSource(Path.of(options.get("dir")));
+        }
+        return database(options);
+    }
+
+    private static ElectionRecordSource database(Map<String, String> options) throws Exception {
+        String password = options.getOrDefault("db-password", System.getenv("PGPASSWORD"));
+        return new DatabaseElectionRecordSource(required(options, "db-url"), options.get("db-user"), password,
+                Long.parseLong(required(options, "election")));
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static String usage() {
+        return """
+                usage: verify (--dir DIR | --election ID --db-url URL [--db-user USER] [--db-password PASSWORD])
+                              [--threads N] [--batch-size N] [--progress-seconds N]
+                       export --election ID --db-url URL [--db-user USER] [--db-password PASSWORD] --dir DIR""";
+    }
+}
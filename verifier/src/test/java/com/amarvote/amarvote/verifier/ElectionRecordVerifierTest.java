@@ -0,0 +1,201 @@
+package com.amarvote.amarvote.verifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.amarvote.amarvote.electionguard.BallotEncryptor;
+import com.amarvote.amarvote.electionguard.BallotJson;
+import com.amarvote.amarvote.electionguard.ChaumPedersenProof;
+import com.amarvote.amarvote.electionguard.CiphertextBallot;
+import com.amarvote.amarvote.electionguard.CryptoHash;
+import com.amarvote.amarvote.electionguard.ElGamalCiphertext;
+import com.amarvote.amarvote.electionguard.ElectionContext;
+import com.amarvote.amarvote.electionguard.ElectionManifest;
+import com.amarvote.amarvote.electionguard.Group;
+import com.amarvote.amarvote.electionguard.TallyAccumulator;
+import com.amarvote.amarvote.verifier.VerificationReport.Check;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A three-guardian, quorum-two election of twelve ballots for Alice and Bob, decrypted by
+ * guardians 1 and 2 with guardian 3 compensated, laid out the way the backend stores it.
+ */
+class ElectionRecordVerifierTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> CANDIDATES = List.of("Alice", "Bob");
+    private static final BigInteger COMMITMENT_HASH = CryptoHash.hashElems("verifier-test-commitments");
+
+    /** a_i0 + a_i1 x for guardians 1 to 3 */
+    private final BigInteger[][] polynomials = {
+            { Group.randQ(), Group.randQ() },
+            { Group.randQ(), Group.randQ() },
+            { Group.randQ(), Group.randQ() } };
+
+    private ElectionRecord election;
+    private List<String> ballots;
+
+    @BeforeEach
+    void publishElection() {
+        ElectionManifest manifest = ElectionManifest.create(List.of("Party A", "Party B"), CANDIDATES);
+        BigInteger jointKey = Group.multP(Group.gPowP(polynomials[0][0]), Group.gPowP(polynomials[1][0]),
+                Group.gPowP(polynomials[2][0]));
+        ElectionContext context = ElectionContext.create(3, 2, jointKey, COMMITMENT_HASH, manifest.getManifestHash());
+
+        ballots = new ArrayList<>();
+        TallyAccumulator tally = new TallyAccumulator();
+        ObjectNode tallyJson = MAPPER.createObjectNode();
+        ArrayNode castIds = tallyJson.putArray("cast_ballot_ids");
+        for (int i = 0; i < 12; i++) {
+            CiphertextBallot ballot = BallotEncryptor.encrypt(manifest, context, "ballot-" + i,
+                    CANDIDATES.get(i % 3 == 0 ? 1 : 0)).withoutNonces();
+            tally.add(ballot);
+            castIds.add(ballot.objectId());
+            ballots.add(BallotJson.toJson(ballot));
+        }
+        tallyJson.putArray("spoiled_ballot_ids");
+
+        Map<Integer, ObjectNode> shares = new LinkedHashMap<>();
+        Map<Integer, ObjectNode> compensated = new LinkedHashMap<>();
+        for (int guardian = 1; guardian <= 2; guardian++) {
+            shares.put(guardian, MAPPER.createObjectNode());
+            compensated.put(guardian, MAPPER.createObjectNode());
+        }
+        ObjectNode tallySelections = tallyJson.putObject("contests").putObject(ElectionManifest.CONTEST_ID)
+                .putObject("selections");
+        for (String candidate : CANDIDATES) {
+            ElGamalCiphertext ciphertext = tally.ciphertext(ElectionManifest.CONTEST_ID, candidate);
+            tallySelections.putObject(candidate).set("ciphertext", ciphertext(ciphertext));
+            for (int guardian = 1; guardian <= 2; guardian++) {
+                selections(shares.get(guardian)).set(candidate,
+                        share(ciphertext, polynomials[guardian - 1][0], false, context));
+                selections(compensated.get(guardian)).set(candidate,
+                        share(ciphertext, evaluate(polynomials[2], guardian), true, context));
+            }
+        }
+
+        List<ElectionRecord.Guardian> guardians = new ArrayList<>();
+        for (int guardian = 1; guardian <= 3; guardian++) {
+            BigInteger[] polynomial = polynomials[guardian - 1];
+            ObjectNode backup = MAPPER.createObjectNode();
+            backup.putObject("election_public_key").putArray("coefficient_commitments")
+                    .add(Group.toHex(Group.gPowP(polynomial[0]))).add(Group.toHex(Group.gPowP(polynomial[1])));
+            boolean decrypted = guardian < 3;
+            guardians.add(new ElectionRecord.Guardian(guardian, decrypted,
+                    decrypted ? "{\"key\": \"" + Group.toHex(Group.gPowP(polynomial[0])) + "\"}" : null,
+                    decrypted ? shares.get(guardian).toString() : null, backup.toString()));
+        }
+        List<ElectionRecord.CompensatedShare> compensatedShares = List.of(
+                new ElectionRecord.CompensatedShare(3, 1, compensated.get(1).toString()),
+                new ElectionRecord.CompensatedShare(3, 2, compensated.get(2).toString()));
+
+        election = new ElectionRecord(7L, 3, 2, jointKey.toString(), COMMITMENT_HASH.toString(), tallyJson.toString(),
+                List.of(new ElectionRecord.Choice("Alice", "Party A", 8), new ElectionRecord.Choice("Bob", "Party B", 4)),
+                guardians, compensatedShares);
+    }
+
+    @Test
+    void verify_AcceptsAnHonestElectionFromTheExportDirectory(@TempDir Path directory) throws Exception {
+        assertEquals(12, ExportDirectoryElectionRecordSource.export(new MemorySource(election, ballots), directory));
+
+        VerificationReport report = verifier().verify(new ExportDirectoryElectionRecordSource(directory));
+
+        assertTrue(report.passed(), report.failures().toString());
+        assertEquals(12, report.ballots());
+        assertEquals(List.of(), report.notes());
+    }
+
+    @Test
+    void verify_ReportsEveryKindOfFailure() throws Exception {
+        List<String> submitted = new ArrayList<>(ballots.subList(1, ballots.size()));
+        submitted.add("{\"object_id\": \"ballot-x\"");
+        ElectionRecord miscounted = new ElectionRecord(election.electionId(), 3, 2, election.jointPublicKey(),
+                election.baseHash(), election.encryptedTally(),
+                List.of(new ElectionRecord.Choice("Alice", "Party A", 9), new ElectionRecord.Choice("Bob", "Party B", 4)),
+                election.guardians(), election.compensatedShares());
+
+        VerificationReport report = verifier().verify(new MemorySource(miscounted, submitted));
+
+        assertFalse(report.passed());
+        assertEquals(12, report.ballots());
+        assertEquals(1, report.count(Check.BALLOT));
+        // ballot-0 was cast but is gone, so neither of its selections multiplies to the tally
+        assertEquals(3, report.count(Check.TALLY));
+        assertEquals(0, report.count(Check.SHARE));
+        assertEquals(1, report.count(Check.COUNT));
+        assertTrue(report.failures().stream().anyMatch(failure -> failure.reason().equals(
+                "total_votes is 9 but the tally decrypts to 8")), report.failures().toString());
+    }
+
+    private static ElectionRecordVerifier verifier() {
+        return new ElectionRecordVerifier(2, 5, Duration.ofMinutes(1), new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    private static ObjectNode selections(ObjectNode share) {
+        return share.withObject("/contests/" + ElectionManifest.CONTEST_ID + "/selections");
+    }
+
+    private static ObjectNode share(ElGamalCiphertext ciphertext, BigInteger secret, boolean compensated,
+            ElectionContext context) {
+        BigInteger share = Group.powP(ciphertext.pad(), secret);
+        ChaumPedersenProof proof = ChaumPedersenProof.make(ciphertext, secret, share, Group.randQ(),
+                context.cryptoExtendedBaseHash());
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("share", Group.toHex(share));
+        if (compensated) {
+            node.put("recovery_key", Group.toHex(Group.gPowP(secret)));
+        }
+        ObjectNode proofNode = node.putObject("proof");
+        proofNode.put("pad", Group.toHex(proof.pad()));
+        proofNode.put("data", Group.toHex(proof.data()));
+        proofNode.put("challenge", Group.toHex(proof.challenge()));
+        proofNode.put("response", Group.toHex(proof.response()));
+        return node;
+    }
+
+    private static ObjectNode ciphertext(ElGamalCiphertext ciphertext) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("pad", Group.toHex(ciphertext.pad()));
+        node.put("data", Group.toHex(ciphertext.data()));
+        return node;
+    }
+
+    private static BigInteger evaluate(BigInteger[] polynomial, int x) {
+        return Group.addQ(polynomial[0], polynomial[1].multiply(BigInteger.valueOf(x)).mod(Group.Q));
+    }
+
+    private record MemorySource(ElectionRecord election, List<String> ballots) implements ElectionRecordSource {
+
+        @Override
+        public long ballotCount() {
+            return ballots.size();
+        }
+
+        @Override
+        public void forEachBallot(BallotConsumer consumer) throws InterruptedException {
+            for (int i = 0; i < ballots.size(); i++) {
+                consumer.accept(i + 1, ballots.get(i));
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}